@@ -0,0 +1,61 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.querybuilder.textsearch.MatchAgainstFunctionContributor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Context of the DAO layer for benchmarks. Only DAOs and query builders are scanned, {@code com.epam.esm.config.DaoConfig}
+ * is not used because it scans services and controllers of the classpath too.
+ * Properties are read from benchmark.properties, the database is an in-memory H2 in MySQL mode
+ * unless another one is chosen by {@link BenchmarkDatabase}.
+ *
+ * @since 5.0
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {SecurityAutoConfiguration.class, UserDetailsServiceAutoConfiguration.class})
+@ComponentScan({"com.epam.esm.dao", "com.epam.esm.querybuilder"})
+@EnableJpaRepositories("com.epam.esm.dao.domain")
+@EntityScan(basePackages = {"com.epam.esm.entity"})
+public class BenchmarkConfig {
+
+    /**
+     * The same batching as in the application, see {@code com.epam.esm.config.DaoConfig}.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, ApplicationConstants.JDBC_BATCH_SIZE);
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+
+    /**
+     * Timers of DAOs are recorded in memory, benchmarks measure them by JMH.
+     */
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    /**
+     * The same text search functions as in the application, see {@code com.epam.esm.config.DaoConfig}.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer textSearchFunctionsCustomizer() {
+        return properties -> properties.put(JpaSettings.METADATA_BUILDER_CONTRIBUTOR, new MatchAgainstFunctionContributor());
+    }
+}
@@ -0,0 +1,86 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.benchmarks.fixture.FixtureSeeder;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Context of the DAO layer with seeded database, it is started once per fork and shared by all threads.
+ * The database is an in-memory H2 by default, MySQL is used when the {@value #DATABASE_PROPERTY} system property
+ * is mysql, its connection is configured in benchmark-mysql.properties.
+ *
+ * @since 5.0
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    public static final String DATABASE_PROPERTY = "benchmark.database";
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate rolledBackTransaction;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(BenchmarkConfig.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .profiles(System.getProperty(DATABASE_PROPERTY, "h2"))
+                .run("--spring.config.name=benchmark");
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        rolledBackTransaction = new TransactionTemplate(transactionManager);
+        new FixtureSeeder(context.getBean(JdbcTemplate.class)).seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public <T> T getBean(String name, Class<T> type) {
+        return context.getBean(name, type);
+    }
+
+    /**
+     * This method runs the action in a read-only transaction, like reads of services do.
+     *
+     * @param action action which reads the database.
+     * @param <T>    type of result.
+     * @return result of the action.
+     */
+    public <T> T read(Supplier<T> action) {
+        return readOnlyTransaction.execute(status -> action.get());
+    }
+
+    /**
+     * This method runs the action in a transaction which is rolled back, so the fixture stays the same.
+     *
+     * @param action action which changes the database.
+     * @param <T>    type of result.
+     * @return result of the action.
+     */
+    public <T> T writeAndRollback(Supplier<T> action) {
+        return rolledBackTransaction.execute(status -> {
+            T result = action.get();
+            status.setRollbackOnly();
+            return result;
+        });
+    }
+}
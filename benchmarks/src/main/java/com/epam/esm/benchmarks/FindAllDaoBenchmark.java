@@ -0,0 +1,107 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.dao.domain.CriteriaFindAllDao;
+import com.epam.esm.dao.domain.page.KeysetPage;
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.querybuilder.QueryBuilder;
+import com.epam.esm.querybuilder.keyset.KeysetCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads of GiftCertificates from the seeded database: a deep page by offset and by keyset cursor,
+ * counts and filtered pages. Counts are executed directly, without the cache of counts of the DAO.
+ *
+ * @since 5.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindAllDaoBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Benchmark
+    public List<GiftCertificate> deepPageByOffset(BenchmarkDatabase database, Page page) {
+        return database.read(() -> page.findAllDao.findBy(page.offsetParams, PAGE_SIZE, page.depth));
+    }
+
+    @Benchmark
+    public KeysetPage<GiftCertificate> deepPageByKeyset(BenchmarkDatabase database, Page page) {
+        return database.read(() -> page.findAllDao.findByKeyset(page.keysetParams, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<GiftCertificate> filteredPage(BenchmarkDatabase database, Filter filter) {
+        return database.read(() -> filter.findAllDao.findBy(filter.reqParams, PAGE_SIZE, 0));
+    }
+
+    @Benchmark
+    public Long filteredCount(BenchmarkDatabase database, Filter filter) {
+        return database.read(() -> filter.queryBuilder.buildCountQuery(filter.reqParams).getSingleResult());
+    }
+
+    /**
+     * Page at the given offset, the keyset request starts after the last row of the previous page.
+     */
+    @State(Scope.Thread)
+    public static class Page {
+
+        @Param({"100", "15000"})
+        public int depth;
+
+        private CriteriaFindAllDao<GiftCertificate> findAllDao;
+        private final Map<String, String[]> offsetParams = new HashMap<>();
+        private final Map<String, String[]> keysetParams = new HashMap<>();
+
+        @Setup(Level.Trial)
+        @SuppressWarnings("unchecked")
+        public void setUp(BenchmarkDatabase database) {
+            findAllDao = database.getBean("giftCertificateCriteriaFindAllDao", CriteriaFindAllDao.class);
+            QueryBuilder<GiftCertificate> queryBuilder = database.getBean("giftCertificateQueryBuilder", QueryBuilder.class);
+            String sortField = queryBuilder.getKeysetSortField(offsetParams);
+            List<GiftCertificate> previous = database.read(() -> findAllDao.findBy(offsetParams, 1, depth - 1));
+            keysetParams.put(ApplicationConstants.AFTER_KEY, new String[]{KeysetCursor.of(previous.get(0), sortField).encode()});
+        }
+    }
+
+    /**
+     * Filters of {@link QueryBuilderBenchmark}.
+     */
+    @State(Scope.Thread)
+    public static class Filter {
+
+        @Param({"names", "tags", "sortedTextSearch"})
+        public String request;
+
+        private CriteriaFindAllDao<GiftCertificate> findAllDao;
+        private QueryBuilder<GiftCertificate> queryBuilder;
+        private Map<String, String[]> reqParams;
+
+        @Setup(Level.Trial)
+        @SuppressWarnings("unchecked")
+        public void setUp(BenchmarkDatabase database) {
+            findAllDao = database.getBean("giftCertificateCriteriaFindAllDao", CriteriaFindAllDao.class);
+            queryBuilder = database.getBean("giftCertificateQueryBuilder", QueryBuilder.class);
+            reqParams = QueryBuilderBenchmark.requestParameters(request);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.security.filters.JwtTokenAuthenticationFilter;
+import com.epam.esm.security.route.RouteClassifier;
+import com.epam.esm.security.token.JwtTokenProvider;
+import com.epam.esm.security.token.parser.JwtTokenParser;
+import com.epam.esm.security.token.validator.JwtTokenValidator;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.ReflectionUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication of a request with an access token: parsing and verification of the signature on every request,
+ * claims cached by the validator after the first request with the token and the whole
+ * {@link JwtTokenAuthenticationFilter} with a cold and a warm cache of claims.
+ *
+ * @since 5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String ACCESS_SECRET = "benchmarkAccessSecret";
+    private static final String PATH = "/api/orders";
+
+    private final JwtTokenParser tokenParser = new JwtTokenParser();
+    private final JwtTokenValidator tokenValidator = new JwtTokenValidator(new SimpleMeterRegistry());
+    private final JwtTokenAuthenticationFilter filter = new JwtTokenAuthenticationFilter(
+            new JwtTokenProvider(tokenValidator, tokenParser), (request, response, handler, ex) -> null,
+            tokenValidator, new RouteClassifier());
+    private Cache<?, ?> claimsCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        Field accessSecret = ReflectionUtils.findField(JwtTokenValidator.class, "accessSecret");
+        ReflectionUtils.makeAccessible(accessSecret);
+        ReflectionUtils.setField(accessSecret, tokenValidator, ACCESS_SECRET);
+        Field accessTokenClaims = ReflectionUtils.findField(JwtTokenValidator.class, "accessTokenClaims");
+        ReflectionUtils.makeAccessible(accessTokenClaims);
+        claimsCache = (Cache<?, ?>) ReflectionUtils.getField(accessTokenClaims, tokenValidator);
+        token = Jwts.builder()
+                .setSubject("user1")
+                .setId("1")
+                .claim("roles", "ROLE_USER")
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(SignatureAlgorithm.HS256, ACCESS_SECRET)
+                .compact();
+    }
+
+    @Benchmark
+    public Set<GrantedAuthority> parseToken() {
+        return tokenParser.getGrantedAuthoritiesFromToken(token, ACCESS_SECRET);
+    }
+
+    @Benchmark
+    public Set<GrantedAuthority> cachedClaims() {
+        return tokenParser.getGrantedAuthorities(tokenValidator.getAccessTokenClaims(token));
+    }
+
+    /**
+     * The token is sent for the first time, its claims are not cached yet.
+     */
+    @Benchmark
+    public Authentication filterColdCache(Blackhole blackhole) throws ServletException, IOException {
+        claimsCache.invalidateAll();
+        return doFilter(blackhole);
+    }
+
+    /**
+     * The token was sent before, its claims are taken from the cache.
+     */
+    @Benchmark
+    public Authentication filterWarmCache(Blackhole blackhole) throws ServletException, IOException {
+        return doFilter(blackhole);
+    }
+
+    /**
+     * Every request is new because the filter marks a request as filtered, the chain only consumes the request.
+     */
+    private Authentication doFilter(Blackhole blackhole) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.setServletPath(PATH);
+        request.addHeader(ApplicationConstants.AUTH_HEADER, ApplicationConstants.BEARER_PREFIX + " " + token);
+        FilterChain chain = (chainRequest, chainResponse) -> blackhole.consume(chainRequest);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.benchmarks.fixture.Fixtures;
+import com.epam.esm.domain.dto.GiftCertificateDto;
+import com.epam.esm.domain.mapper.GiftCertificateMapper;
+import com.epam.esm.domain.mapper.TagMapper;
+import com.epam.esm.entity.GiftCertificate;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mapping of a page of certificates with tags to DTOs. ModelMapper is the reflective mapper which was used
+ * before the hand-written mappers, it is kept as a reference.
+ *
+ * @since 5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final List<GiftCertificate> certificates = Fixtures.certificates(PAGE_SIZE);
+    private final GiftCertificateMapper certificateMapper = new GiftCertificateMapper(new TagMapper());
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Benchmark
+    public List<GiftCertificateDto> handWrittenMapper() {
+        return certificates.stream()
+                .map(certificateMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<GiftCertificateDto> modelMapper() {
+        return certificates.stream()
+                .map(certificate -> modelMapper.map(certificate, GiftCertificateDto.class))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,73 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.assemblers.GiftCertificateModelAssembler;
+import com.epam.esm.benchmarks.fixture.Fixtures;
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.constants.WebLayerConstants;
+import com.epam.esm.domain.dto.GiftCertificateDto;
+import com.epam.esm.domain.mapper.GiftCertificateMapper;
+import com.epam.esm.domain.mapper.TagMapper;
+import com.epam.esm.uri_builder.DefaultUriBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Links of a page of certificates, like GET /certificates adds them: links of every certificate and links of the page.
+ * Links are built outside of a request, so they are relative.
+ *
+ * @since 5.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelAssemblerBenchmark {
+
+    @Param({"10", "1000"})
+    public int pageSize;
+
+    private final GiftCertificateModelAssembler assembler = new GiftCertificateModelAssembler(new DefaultUriBuilder(),
+            new SimpleMeterRegistry());
+    private final Map<String, String[]> reqParams = new HashMap<>();
+    private List<GiftCertificateDto> page;
+
+    @Setup
+    public void setUp() {
+        GiftCertificateMapper mapper = new GiftCertificateMapper(new TagMapper());
+        page = Fixtures.certificates(pageSize).stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
+        reqParams.put(WebLayerConstants.LIMIT, new String[]{String.valueOf(pageSize)});
+        reqParams.put(WebLayerConstants.OFFSET, new String[]{String.valueOf(pageSize)});
+        reqParams.put(ApplicationConstants.NAMES_PART_KEY, new String[]{"certificate"});
+    }
+
+    @Benchmark
+    public CollectionModel<GiftCertificateDto> toCollectionModel() {
+        for (GiftCertificateDto certificate : page) {
+            //links of the previous invocation
+            certificate.removeLinks();
+            assembler.toModel(certificate);
+        }
+        return assembler.toCollectionModel(page, pageSize, Fixtures.CERTIFICATE_COUNT, reqParams);
+    }
+}
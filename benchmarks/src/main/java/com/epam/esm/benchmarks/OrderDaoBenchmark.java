@@ -0,0 +1,87 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.benchmarks.fixture.Fixtures;
+import com.epam.esm.dao.aggregate.UserTagUsageDao;
+import com.epam.esm.dao.domain.GiftCertificateDao;
+import com.epam.esm.dao.domain.OrderDao;
+import com.epam.esm.dao.domain.UserDao;
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Order;
+import com.epam.esm.entity.OrderLine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Saving of an order with many lines and large quantities, the same DAO calls as
+ * {@code com.epam.esm.domain.service.impl.OrderServiceImpl#save} makes. An order keeps one line per certificate,
+ * so the time must depend on the count of lines only, not on the quantity of each line.
+ *
+ * @since 5.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderDaoBenchmark {
+
+    @Benchmark
+    public long saveOrder(BenchmarkDatabase database, Orders orders) {
+        return database.writeAndRollback(() -> {
+            List<GiftCertificate> certificates = orders.giftCertificateDao.findAllById(orders.certificateIds);
+            Order order = new Order();
+            order.setUser(orders.userDao.getOne(orders.userId));
+            certificates.forEach(certificate -> order.addLine(certificate, orders.quantity));
+            order.setCost(order.getOrderLines().stream()
+                    .map(OrderLine::getCost)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add));
+            Order savedOrder = orders.orderDao.saveAndFlush(order);
+            orders.userTagUsageDao.addOrder(savedOrder.getId());
+            return savedOrder.getId();
+        });
+    }
+
+    @State(Scope.Thread)
+    public static class Orders {
+
+        @Param({"1", "100"})
+        public int lines;
+
+        @Param({"1", "10000"})
+        public int quantity;
+
+        private GiftCertificateDao giftCertificateDao;
+        private OrderDao orderDao;
+        private UserDao userDao;
+        private UserTagUsageDao userTagUsageDao;
+        private List<Long> certificateIds;
+        private final long userId = Fixtures.USER_COUNT;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkDatabase database) {
+            giftCertificateDao = database.getBean(GiftCertificateDao.class);
+            orderDao = database.getBean(OrderDao.class);
+            userDao = database.getBean(UserDao.class);
+            userTagUsageDao = database.getBean(UserTagUsageDao.class);
+            certificateIds = LongStream.rangeClosed(1, lines)
+                    .boxed()
+                    .collect(Collectors.toList());
+        }
+    }
+}
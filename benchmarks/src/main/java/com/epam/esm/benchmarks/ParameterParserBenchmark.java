@@ -0,0 +1,41 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.querybuilder.parameterparser.DefaultParameterParser;
+import com.epam.esm.querybuilder.parameterparser.ParameterParser;
+import com.epam.esm.querybuilder.parameterparser.parserresult.ParserResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a request parameter with an operator and values.
+ *
+ * @since 5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterParserBenchmark {
+
+    @Param({"certificate", "or:tag1,tag2,tag3", "and:tag1, tag2, tag3, tag4, tag5, tag6, tag7, tag8, tag9, tag10"})
+    public String parameter;
+
+    private final ParameterParser parser = new DefaultParameterParser();
+
+    @Benchmark
+    public ParserResult parseRequestParameter() {
+        return parser.parseRequestParameter(parameter);
+    }
+}
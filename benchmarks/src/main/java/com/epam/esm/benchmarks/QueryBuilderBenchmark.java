@@ -0,0 +1,117 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.benchmarks.fixture.Fixtures;
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.querybuilder.GiftCertificateQueryBuilder;
+import com.epam.esm.querybuilder.QueryBuilder;
+import com.epam.esm.querybuilder.parameterparser.ParameterParser;
+import com.epam.esm.querybuilder.textsearch.TextSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.TypedQuery;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building of GiftCertificate queries, queries are built but not executed.
+ * Plans of the shared builder are cached after the first request, a new builder compiles the criteria query every time.
+ *
+ * @since 5.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBuilderBenchmark {
+
+    @Param({"names", "tags", "sortedTextSearch"})
+    public String request;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private QueryBuilder<GiftCertificate> queryBuilder;
+    private ParameterParser parser;
+    private TextSearch textSearch;
+    private Map<String, String[]> reqParams;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp(BenchmarkDatabase database) {
+        entityManagerFactory = database.getBean(EntityManagerFactory.class);
+        entityManager = entityManagerFactory.createEntityManager();
+        //the shared entity manager of builders uses the entity manager of the thread
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        queryBuilder = database.getBean("giftCertificateQueryBuilder", QueryBuilder.class);
+        parser = database.getBean(ParameterParser.class);
+        textSearch = database.getBean(TextSearch.class);
+        reqParams = requestParameters(request);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        entityManager.close();
+    }
+
+    @Benchmark
+    public TypedQuery<GiftCertificate> buildQuery() {
+        return queryBuilder.buildQuery(reqParams, 10, 0);
+    }
+
+    @Benchmark
+    public TypedQuery<GiftCertificate> buildQueryWithoutPlanCache() {
+        return new GiftCertificateQueryBuilder(entityManager, parser, textSearch).buildQuery(reqParams, 10, 0);
+    }
+
+    @Benchmark
+    public TypedQuery<Long> buildCountQuery() {
+        return queryBuilder.buildCountQuery(reqParams);
+    }
+
+    @Benchmark
+    public TypedQuery<GiftCertificate> buildKeysetQuery() {
+        return queryBuilder.buildKeysetQuery(reqParams, 10, null, false);
+    }
+
+    static Map<String, String[]> requestParameters(String request) {
+        Map<String, String[]> reqParams = new HashMap<>();
+        switch (request) {
+            case "names":
+                reqParams.put(ApplicationConstants.NAMES_PART_KEY, new String[]{"certificate 1"});
+                break;
+            case "tags":
+                reqParams.put(ApplicationConstants.TAG_NAMES_KEY,
+                        new String[]{"and:" + String.join(",", Fixtures.tagNames(Fixtures.COMMON_TAG_COUNT))});
+                break;
+            case "sortedTextSearch":
+                reqParams.put(ApplicationConstants.DESCRIPTION_PART_KEY,
+                        new String[]{"and:" + Fixtures.word(0) + "," + Fixtures.word(3)});
+                reqParams.put(ApplicationConstants.SORT_FIELDS_KEY, new String[]{ApplicationConstants.PRICE_FIELD});
+                reqParams.put(ApplicationConstants.ORDER_KEY, new String[]{ApplicationConstants.DESC_ORDER});
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown request " + request);
+        }
+        return reqParams;
+    }
+}
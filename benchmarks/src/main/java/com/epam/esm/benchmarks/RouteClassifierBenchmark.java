@@ -0,0 +1,50 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.security.route.Route;
+import com.epam.esm.security.route.RouteClassifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classification of requests by the security filter chain, it runs for every request.
+ *
+ * @since 5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteClassifierBenchmark {
+
+    @Param({"GET /certificates", "GET /users/1/orders/2", "DELETE /tags/1"})
+    public String request;
+
+    private final RouteClassifier routeClassifier = new RouteClassifier();
+    private String method;
+    private String path;
+
+    @Setup
+    public void setUp() {
+        int separator = request.indexOf(' ');
+        method = request.substring(0, separator);
+        path = request.substring(separator + 1);
+    }
+
+    @Benchmark
+    public Route classify() {
+        return routeClassifier.classify(method, path);
+    }
+}
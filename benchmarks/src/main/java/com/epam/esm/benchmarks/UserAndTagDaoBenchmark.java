@@ -0,0 +1,96 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.benchmarks.fixture.Fixtures;
+import com.epam.esm.dao.domain.TagDao;
+import com.epam.esm.dao.domain.UserDao;
+import com.epam.esm.dao.domain.projection.UserProjection;
+import com.epam.esm.dao.relation.CertificateTagsDao;
+import com.epam.esm.entity.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Lookup of a user on authentication, which must not depend on the count of orders of the user,
+ * and batch resolution and linking of many tags on saving of a certificate.
+ *
+ * @since 5.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserAndTagDaoBenchmark {
+
+    private static final int TAGS_OF_CERTIFICATE = 100;
+
+    @Benchmark
+    public Optional<UserProjection> findUserProjectionByLogin(BenchmarkDatabase database, Users users) {
+        return database.read(() -> users.userDao.findProjectionByLogin(users.login));
+    }
+
+    @Benchmark
+    public List<Tag> findTagsByNames(BenchmarkDatabase database, Tags tags) {
+        return database.read(() -> tags.tagDao.findAllByNameIn(tags.names));
+    }
+
+    @Benchmark
+    public int linkTagsToCertificate(BenchmarkDatabase database, Tags tags) {
+        return database.writeAndRollback(() -> {
+            List<Long> tagIds = tags.tagDao.findAllByNameIn(tags.names).stream()
+                    .map(Tag::getId)
+                    .collect(Collectors.toList());
+            tags.certificateTagsDao.saveAll(Fixtures.UNTAGGED_CERTIFICATE_ID, tagIds);
+            return tagIds.size();
+        });
+    }
+
+    /**
+     * The heavy user has {@value Fixtures#ORDERS_OF_HEAVY_USER} orders, the light one has {@value Fixtures#ORDERS_PER_USER}.
+     */
+    @State(Scope.Thread)
+    public static class Users {
+
+        @Param({"heavy", "light"})
+        public String user;
+
+        private UserDao userDao;
+        private String login;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkDatabase database) {
+            userDao = database.getBean(UserDao.class);
+            login = "heavy".equals(user) ? Fixtures.HEAVY_USER_LOGIN : Fixtures.LIGHT_USER_LOGIN;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Tags {
+
+        private TagDao tagDao;
+        private CertificateTagsDao certificateTagsDao;
+        private List<String> names;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkDatabase database) {
+            tagDao = database.getBean(TagDao.class);
+            certificateTagsDao = database.getBean(CertificateTagsDao.class);
+            names = Fixtures.tagNames(TAGS_OF_CERTIFICATE);
+        }
+    }
+}
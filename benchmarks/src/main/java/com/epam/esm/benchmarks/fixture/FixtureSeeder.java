@@ -0,0 +1,128 @@
+package com.epam.esm.benchmarks.fixture;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class seeds {@link Fixtures} into the schema created by Hibernate. Rows are inserted with explicit ids
+ * by JDBC batches of {@value #SEED_BATCH_SIZE} rows, identity columns are restarted after the last seeded id.
+ * On MySQL FULLTEXT indexes of the text search are created after certificates are seeded, Hibernate doesn't
+ * create them and building them once is faster than updating them on every insert.
+ *
+ * @since 5.0
+ */
+public class FixtureSeeder {
+
+    private static final String PASSWORD = "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchma";
+    private static final String ROLE = "USER";
+    private static final int SEED_BATCH_SIZE = 10_000;
+    private static final String MYSQL = "MySQL";
+    private static final String INSERT_TAG = "INSERT INTO tag (id, name) VALUES (?, ?)";
+    private static final String INSERT_CERTIFICATE = "INSERT INTO gift_certificate (id, name, description, price, "
+            + "duration, create_date, last_update_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CERTIFICATE_TAG = "INSERT INTO certificates_tags (certificate_id, tag_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean mySql;
+
+    public FixtureSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mySql = MYSQL.equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+    }
+
+    /**
+     * This method seeds tags, certificates with their tags, users and orders of users.
+     */
+    public void seed() {
+        seedTags();
+        seedCertificates();
+        seedUsersAndOrders();
+    }
+
+    private void seedTags() {
+        List<Object[]> tags = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int index = 1; index <= Fixtures.TAG_COUNT; index++) {
+            tags.add(new Object[]{index, Fixtures.tagName(index)});
+            if (tags.size() == SEED_BATCH_SIZE) {
+                insert(INSERT_TAG, tags);
+            }
+        }
+        insert(INSERT_TAG, tags);
+        restartIdentity("tag", Fixtures.TAG_COUNT);
+    }
+
+    private void seedCertificates() {
+        List<Object[]> certificates = new ArrayList<>(SEED_BATCH_SIZE);
+        List<Object[]> links = new ArrayList<>();
+        for (int index = 1; index <= Fixtures.CERTIFICATE_COUNT; index++) {
+            certificates.add(new Object[]{index, Fixtures.certificateName(index), Fixtures.description(index),
+                    Fixtures.price(index), Fixtures.duration(index), Fixtures.date(index), Fixtures.date(index)});
+            for (int tagIndex : Fixtures.tagIndexes(index)) {
+                links.add(new Object[]{index, tagIndex});
+            }
+            if (certificates.size() == SEED_BATCH_SIZE) {
+                insert(INSERT_CERTIFICATE, certificates);
+                insert(INSERT_CERTIFICATE_TAG, links);
+            }
+        }
+        insert(INSERT_CERTIFICATE, certificates);
+        insert(INSERT_CERTIFICATE_TAG, links);
+        restartIdentity("gift_certificate", Fixtures.CERTIFICATE_COUNT);
+        if (mySql) {
+            jdbcTemplate.execute("CREATE FULLTEXT INDEX gift_certificate_name_ftidx ON gift_certificate (name)");
+            jdbcTemplate.execute("CREATE FULLTEXT INDEX gift_certificate_description_ftidx ON gift_certificate (description)");
+        }
+    }
+
+    private void seedUsersAndOrders() {
+        List<Object[]> users = new ArrayList<>(Fixtures.USER_COUNT);
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> usersOrders = new ArrayList<>();
+        List<Object[]> orderLines = new ArrayList<>();
+        int orderId = 0;
+        for (int userId = 1; userId <= Fixtures.USER_COUNT; userId++) {
+            users.add(new Object[]{userId, Fixtures.login(userId), PASSWORD, ROLE});
+            int orderCount = userId == 1 ? Fixtures.ORDERS_OF_HEAVY_USER : Fixtures.ORDERS_PER_USER;
+            for (int i = 0; i < orderCount; i++) {
+                orderId++;
+                int certificateIndex = 1 + orderId % (Fixtures.CERTIFICATE_COUNT - 1);
+                int quantity = 1 + orderId % 5;
+                orders.add(new Object[]{orderId, Fixtures.price(certificateIndex).multiply(BigDecimal.valueOf(quantity)),
+                        Fixtures.date(orderId)});
+                usersOrders.add(new Object[]{orderId, userId});
+                orderLines.add(new Object[]{orderId, certificateIndex, quantity, Fixtures.price(certificateIndex)});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user (id, login, password, role) VALUES (?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, cost, creation_date) VALUES (?, ?, ?)", orders);
+        jdbcTemplate.batchUpdate("INSERT INTO users_orders (order_id, user_id) VALUES (?, ?)", usersOrders);
+        jdbcTemplate.batchUpdate("INSERT INTO orders_certificates (order_id, certificate_id, quantity, unit_price) "
+                + "VALUES (?, ?, ?, ?)", orderLines);
+        restartIdentity("user", Fixtures.USER_COUNT);
+        restartIdentity("orders", orderId);
+    }
+
+    /**
+     * This method inserts rows by one JDBC batch and clears them, so at most one batch of a large fixture
+     * is kept in memory.
+     */
+    private void insert(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private void restartIdentity(String table, int lastId) {
+        if (mySql) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " AUTO_INCREMENT = " + (lastId + 1));
+        } else {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (lastId + 1));
+        }
+    }
+}
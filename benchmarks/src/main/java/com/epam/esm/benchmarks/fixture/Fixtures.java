@@ -0,0 +1,144 @@
+package com.epam.esm.benchmarks.fixture;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Tag;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic data of benchmarks. The same values are seeded into the database by {@link FixtureSeeder}
+ * and built in memory for benchmarks which don't need the database.
+ * <p>
+ * Counts of tags and certificates can be scaled by the {@value #TAG_COUNT_PROPERTY} and
+ * {@value #CERTIFICATE_COUNT_PROPERTY} system properties, e.g. -Dbenchmark.certificates=1000000.
+ *
+ * @since 5.0
+ */
+public final class Fixtures {
+
+    public static final String TAG_COUNT_PROPERTY = "benchmark.tags";
+    public static final String CERTIFICATE_COUNT_PROPERTY = "benchmark.certificates";
+
+    public static final int TAG_COUNT = Integer.getInteger(TAG_COUNT_PROPERTY, 1_000);
+    public static final int CERTIFICATE_COUNT = Integer.getInteger(CERTIFICATE_COUNT_PROPERTY, 20_000);
+    public static final int TAGS_PER_CERTIFICATE = 5;
+    public static final int USER_COUNT = 100;
+    public static final int ORDERS_PER_USER = 10;
+    public static final int ORDERS_OF_HEAVY_USER = 10_000;
+
+    /**
+     * Tags which are linked to every tenth certificate, filters by all of them still find certificates.
+     */
+    public static final int COMMON_TAG_COUNT = 10;
+
+    /**
+     * The last certificate has no tags, so tags can be linked to it without duplicates.
+     */
+    public static final long UNTAGGED_CERTIFICATE_ID = CERTIFICATE_COUNT;
+
+    /**
+     * The first user has {@link #ORDERS_OF_HEAVY_USER} orders, other users have {@link #ORDERS_PER_USER}.
+     */
+    public static final String HEAVY_USER_LOGIN = login(1);
+    public static final String LIGHT_USER_LOGIN = login(2);
+
+    private static final String[] WORDS = {"spa", "dinner", "cinema", "travel", "sport", "music", "book", "coffee",
+            "theatre", "museum", "pool", "yoga", "massage", "wine", "pizza", "sushi", "bowling", "karting", "quest",
+            "concert", "gallery", "dance", "horse", "flight", "boat", "photo", "cooking", "climbing", "skating", "golf"};
+    private static final LocalDateTime START_DATE = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    private Fixtures() {
+    }
+
+    public static String tagName(int index) {
+        return "tag" + index;
+    }
+
+    public static String word(int index) {
+        return WORDS[index % WORDS.length];
+    }
+
+    public static String login(long userId) {
+        return "user" + userId;
+    }
+
+    public static String certificateName(int index) {
+        return "certificate " + index;
+    }
+
+    public static String description(int index) {
+        return word(index) + " and " + word(index * 7 + 3) + " for two with " + word(index * 13 + 5) + " included";
+    }
+
+    public static BigDecimal price(int index) {
+        return BigDecimal.valueOf(1 + index % 1000);
+    }
+
+    public static int duration(int index) {
+        return 1 + index % 100;
+    }
+
+    public static LocalDateTime date(int index) {
+        return START_DATE.plusMinutes(index);
+    }
+
+    /**
+     * @param index index of the certificate, starting from 1.
+     * @return indexes of tags of the certificate, starting from 1.
+     */
+    public static Set<Integer> tagIndexes(int index) {
+        Set<Integer> indexes = new LinkedHashSet<>();
+        if (index == UNTAGGED_CERTIFICATE_ID) {
+            return indexes;
+        }
+        for (int i = 0; i < TAGS_PER_CERTIFICATE; i++) {
+            indexes.add(1 + (index + i * 197) % TAG_COUNT);
+        }
+        if (index % 10 == 0) {
+            IntStream.rangeClosed(1, COMMON_TAG_COUNT).forEach(indexes::add);
+        }
+        return indexes;
+    }
+
+    /**
+     * @param count count of tag names.
+     * @return names of the first tags.
+     */
+    public static List<String> tagNames(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(Fixtures::tagName)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * This method builds detached certificates with tags, the same as the seeded ones.
+     *
+     * @param count count of certificates.
+     * @return certificates.
+     */
+    public static List<GiftCertificate> certificates(int count) {
+        List<GiftCertificate> certificates = new ArrayList<>(count);
+        for (int index = 1; index <= count; index++) {
+            GiftCertificate certificate = new GiftCertificate();
+            certificate.setId((long) index);
+            certificate.setName(certificateName(index));
+            certificate.setDescription(description(index));
+            certificate.setPrice(price(index));
+            certificate.setDuration(duration(index));
+            certificate.setCreateDate(date(index));
+            certificate.setLastUpdateDate(date(index));
+            certificate.setTags(tagIndexes(index).stream()
+                    .map(tagIndex -> new Tag((long) tagIndex, tagName(tagIndex), null))
+                    .collect(Collectors.toList()));
+            certificates.add(certificate);
+        }
+        return certificates;
+    }
+}
@@ -1,12 +1,31 @@
 package com.epam.esm.config;
 
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.dao.routing.DataSourceType;
+import com.epam.esm.dao.routing.ReadWriteRoutingDataSource;
+import com.epam.esm.dao.routing.ReplicaLagGuard;
+import com.epam.esm.dao.statement.CountingStatementInspector;
+import com.epam.esm.dao.statement.JdbcTimeSessionEventListener;
+import com.epam.esm.querybuilder.textsearch.MatchAgainstFunctionContributor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 @ComponentScan("com.epam.esm")
@@ -18,8 +37,83 @@ public class DaoConfig {
         return new DataSourceProperties();
     }
 
+    /**
+     * Connection properties of the read replica, "spring.datasource.replica.url" etc.
+     */
     @Bean
-    public DataSource dataSource() {
-        return getDatasourceProperties().initializeDataSourceBuilder().build();
+    @ConfigurationProperties("spring.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(
+            @Value("${spring.datasource.replica-lag-millis:" + ApplicationConstants.DEFAULT_REPLICA_LAG_MILLIS + "}") long lagMillis) {
+        return new ReplicaLagGuard(lagMillis);
+    }
+
+    /**
+     * Without a replica all connections are taken from one pool of the primary. With a replica read-only
+     * transactions are routed to its own pool, see {@link ReadWriteRoutingDataSource}.
+     */
+    @Bean
+    public DataSource dataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties replicaProperties,
+                                 ReplicaLagGuard replicaLagGuard, ObjectProvider<MeterRegistry> meterRegistry) {
+        if (replicaProperties.getUrl() == null) {
+            return getDatasourceProperties().initializeDataSourceBuilder().build();
+        }
+        Map<Object, Object> pools = new HashMap<>();
+        HikariDataSource primary = createPool(getDatasourceProperties(), ApplicationConstants.PRIMARY_POOL_NAME, meterRegistry);
+        pools.put(DataSourceType.PRIMARY, primary);
+        pools.put(DataSourceType.REPLICA, createPool(replicaProperties, ApplicationConstants.REPLICA_POOL_NAME, meterRegistry));
+
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(replicaLagGuard);
+        routingDataSource.setTargetDataSources(pools);
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Pools behind the routing data source are not beans, so their metrics are bound here.
+     */
+    private HikariDataSource createPool(DataSourceProperties properties, String poolName,
+                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(poolName);
+        meterRegistry.ifAvailable(pool::setMetricRegistry);
+        return pool;
+    }
+
+    /**
+     * Enables JDBC batching of inserts and updates which are flushed by Hibernate, e.g. cascaded new tags.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, ApplicationConstants.JDBC_BATCH_SIZE);
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+
+    /**
+     * Collects statements and their JDBC time into {@link com.epam.esm.dao.statement.StatementScope}
+     * of the current thread, e.g. to check the statement budget of a request.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementScopeCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimeSessionEventListener.class.getName());
+        };
+    }
+
+    /**
+     * Registers SQL functions of text search, see {@link com.epam.esm.querybuilder.textsearch.TextSearch}.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer textSearchFunctionsCustomizer() {
+        return properties -> properties.put(JpaSettings.METADATA_BUILDER_CONTRIBUTOR, new MatchAgainstFunctionContributor());
     }
 }
@@ -10,34 +10,41 @@ public final class ApplicationConstants {
     public final static int MAX_LIMIT = Integer.MAX_VALUE;
     public final static int DEFAULT_LIMIT = 5;
     public final static int DEFAULT_OFFSET = 0;
+    public final static int BATCH_FETCH_SIZE = 50;
+    public final static int JDBC_BATCH_SIZE = 50;
+    public final static int EXPORT_FETCH_SIZE = 500;
+    public final static int EXPORT_CHUNK_SIZE = 500;
 
     //table names
     public final static String CERTIFICATE_TAGS_TABLE_NAME = "certificates_tags";
     public final static String USERS_ORDERS_TABLE_NAME = "users_orders";
+    public final static String USER_TAG_USAGE_TABLE_NAME = "user_tag_usage";
 
     //GiftCertificate queries
     public final static String FIND_GC_BY_NAME_QUERY = "SELECT gc FROM GiftCertificate gc WHERE gc.name = :name";
     public final static String COUNT_GC_QUERY = "SELECT count(gc.id) FROM GiftCertificate gc";
+    public final static String FIND_GC_WITH_TAGS_BY_IDS_QUERY = "SELECT DISTINCT gc FROM GiftCertificate gc " +
+            "LEFT JOIN FETCH gc.tags WHERE gc.id IN :ids";
+    public final static String FIND_GC_NAMES_IN_QUERY = "SELECT gc.name FROM GiftCertificate gc WHERE gc.name IN :names";
+    public final static String FIND_GC_LAST_UPDATE_DATE_BY_ID_QUERY = "SELECT gc.lastUpdateDate FROM GiftCertificate gc WHERE gc.id = :id";
 
     //Tag queries
     public final static String GET_TAG_BY_NAME = "SELECT t FROM Tag t WHERE t.name =:name";
     public final static String COUNT_TAG_QUERY = "SELECT count(t.id) FROM Tag t";
 
-    public final static String FIND_MAX_WIDELY_USED_QUERY = "SELECT t.id, t.name from tag t " +
-            "JOIN certificates_tags ct on t.id = ct.tag_id " +
-            "JOIN orders_certificates oc on ct.certificate_id = oc.certificate_id " +
-            "JOIN users_orders uo on oc.order_id = uo.order_id " +
-            "WHERE uo.user_id = :userId " +
-            "GROUP BY t.id " +
-            "HAVING count(t.id)  = (SELECT count(t.id) as c from tag t " +
-            "JOIN certificates_tags ct on t.id = ct.tag_id " +
-            "JOIN orders_certificates oc on ct.certificate_id = oc.certificate_id " +
-            "JOIN users_orders uo on oc.order_id = uo.order_id " +
-            "WHERE uo.user_id = :userId " +
-            "GROUP BY t.id order by c desc LIMIT 1)";
+    public final static String FIND_MAX_WIDELY_USED_QUERY = "SELECT t.id, t.name FROM tag t " +
+            "JOIN " + USER_TAG_USAGE_TABLE_NAME + " u ON u.tag_id = t.id " +
+            "WHERE u.user_id = :userId AND u.cnt = (SELECT max(cnt) FROM " + USER_TAG_USAGE_TABLE_NAME +
+            " WHERE user_id = :userId)";
 
     //User queries
     public final static String GET_USER_BY_LOGIN = "SELECT u FROM User u WHERE u.login =:login";
+    public final static String SELECT_USER_PROJECTION = "SELECT new com.epam.esm.dao.domain.projection.UserProjection" +
+            "(u.id, u.login, u.password, u.role) FROM User u ";
+    public final static String FIND_USER_PROJECTION_BY_ID = SELECT_USER_PROJECTION + "WHERE u.id = :id";
+    public final static String FIND_USER_PROJECTION_BY_LOGIN = SELECT_USER_PROJECTION + "WHERE u.login = :login";
+    public final static String FIND_USER_PROJECTION_BY_LOGIN_AND_PASSWORD = SELECT_USER_PROJECTION +
+            "WHERE u.login = :login AND u.password = :password";
     public final static String COUNT_USER_QUERY = "SELECT count(u.id) FROM User u";
 
     //Order queries
@@ -54,6 +61,55 @@ public final class ApplicationConstants {
             " WHERE certificate_id = ?";
     public final static String DELETE_ALL_CERTIFICATES_FOR_TAG = "DELETE FROM " + CERTIFICATE_TAGS_TABLE_NAME +
             " WHERE tag_id = ?";
+    public final static String TOUCH_CERTIFICATES_FOR_TAG = "UPDATE gift_certificate SET last_update_date = CURRENT_TIMESTAMP " +
+            "WHERE id IN (SELECT certificate_id FROM " + CERTIFICATE_TAGS_TABLE_NAME + " WHERE tag_id = ?)";
+
+    //user_tag_usage queries
+    public final static int USER_TAG_USAGE_REBUILD_CHUNK_SIZE = 500;
+    public final static String SELECT_USER_TAG_USAGE = "SELECT uo.user_id AS user_id, ct.tag_id AS tag_id, " +
+            "sum(oc.quantity) AS cnt FROM " + USERS_ORDERS_TABLE_NAME + " uo " +
+            "JOIN orders_certificates oc ON oc.order_id = uo.order_id " +
+            "JOIN " + CERTIFICATE_TAGS_TABLE_NAME + " ct ON ct.certificate_id = oc.certificate_id ";
+    public final static String GROUP_USER_TAG_USAGE = " GROUP BY uo.user_id, ct.tag_id";
+    public final static String INSERT_USER_TAG_USAGE = "INSERT INTO " + USER_TAG_USAGE_TABLE_NAME + " (user_id, tag_id, cnt) ";
+    public final static String UPDATE_USER_TAG_USAGE_BY_ORDER = "UPDATE " + USER_TAG_USAGE_TABLE_NAME + " u " +
+            "SET cnt = cnt + :sign * (SELECT sum(oc.quantity) FROM orders_certificates oc " +
+            "JOIN " + CERTIFICATE_TAGS_TABLE_NAME + " ct ON ct.certificate_id = oc.certificate_id " +
+            "WHERE oc.order_id = :orderId AND ct.tag_id = u.tag_id) " +
+            "WHERE u.user_id = (SELECT uo.user_id FROM " + USERS_ORDERS_TABLE_NAME + " uo WHERE uo.order_id = :orderId) " +
+            "AND u.tag_id IN (SELECT ct.tag_id FROM orders_certificates oc " +
+            "JOIN " + CERTIFICATE_TAGS_TABLE_NAME + " ct ON ct.certificate_id = oc.certificate_id WHERE oc.order_id = :orderId)";
+    public final static String UPSERT_USER_TAG_USAGE_BY_ORDER = INSERT_USER_TAG_USAGE + SELECT_USER_TAG_USAGE +
+            "WHERE uo.order_id = :orderId" + GROUP_USER_TAG_USAGE +
+            " ON DUPLICATE KEY UPDATE cnt = " + USER_TAG_USAGE_TABLE_NAME + ".cnt + VALUES(cnt)";
+    public final static String DELETE_UNUSED_USER_TAG_USAGE_BY_ORDER = "DELETE FROM " + USER_TAG_USAGE_TABLE_NAME +
+            " WHERE cnt <= 0 AND user_id = (SELECT uo.user_id FROM " + USERS_ORDERS_TABLE_NAME + " uo WHERE uo.order_id = :orderId)";
+    public final static String FIND_USER_IDS_BY_CERTIFICATE_ID = "SELECT DISTINCT uo.user_id FROM " + USERS_ORDERS_TABLE_NAME + " uo " +
+            "JOIN orders_certificates oc ON oc.order_id = uo.order_id WHERE oc.certificate_id = :certificateId";
+    public final static String DELETE_USER_TAG_USAGE_BY_USER_IDS = "DELETE FROM " + USER_TAG_USAGE_TABLE_NAME +
+            " WHERE user_id IN (:userIds)";
+    public final static String INSERT_USER_TAG_USAGE_BY_USER_IDS = INSERT_USER_TAG_USAGE + SELECT_USER_TAG_USAGE +
+            "WHERE uo.user_id IN (:userIds)" + GROUP_USER_TAG_USAGE;
+    public final static String DELETE_ALL_USER_TAG_USAGE = "DELETE FROM " + USER_TAG_USAGE_TABLE_NAME;
+    public final static String INSERT_ALL_USER_TAG_USAGE = INSERT_USER_TAG_USAGE + SELECT_USER_TAG_USAGE + GROUP_USER_TAG_USAGE;
+    public final static String FIND_INCONSISTENT_USER_TAG_USAGE_USER_IDS = "SELECT a.user_id FROM (" +
+            SELECT_USER_TAG_USAGE + GROUP_USER_TAG_USAGE + ") a " +
+            "LEFT JOIN " + USER_TAG_USAGE_TABLE_NAME + " u ON u.user_id = a.user_id AND u.tag_id = a.tag_id " +
+            "WHERE u.cnt IS NULL OR u.cnt <> a.cnt " +
+            "UNION SELECT u.user_id FROM " + USER_TAG_USAGE_TABLE_NAME + " u " +
+            "LEFT JOIN (" + SELECT_USER_TAG_USAGE + GROUP_USER_TAG_USAGE + ") a ON a.user_id = u.user_id AND a.tag_id = u.tag_id " +
+            "WHERE a.cnt IS NULL " +
+            "ORDER BY user_id";
+
+    //analytics queries
+    public final static int TOP_SPENDERS_MAX_LIMIT = 100;
+    public final static String ANALYTICS_REFRESH_DELAY = "${analytics.refresh-delay-millis:300000}";
+    public final static String FIND_TOP_SPENDERS_QUERY = "SELECT new com.epam.esm.dao.domain.projection.UserSpendProjection" +
+            "(u.id, u.login, sum(o.cost)) FROM Order o JOIN o.user u GROUP BY u.id, u.login ORDER BY sum(o.cost) DESC, u.id";
+    public final static String FIND_MAX_WIDELY_USED_TAGS_OF_USERS_QUERY = "SELECT u.user_id, t.id, t.name FROM " +
+            USER_TAG_USAGE_TABLE_NAME + " u JOIN tag t ON t.id = u.tag_id " +
+            "WHERE u.user_id IN (:userIds) AND u.cnt = (SELECT max(m.cnt) FROM " + USER_TAG_USAGE_TABLE_NAME + " m " +
+            "WHERE m.user_id = u.user_id) ORDER BY u.user_id, t.id";
 
     //QueryBuilders
     public final static String USER_ID_KEY = "userId";
@@ -78,6 +134,12 @@ public final class ApplicationConstants {
     public final static String TAG_NAMES_KEY = "tagNames";
     public final static String TAGS_ATTRIBUTE_NAME = "tags";
 
+    //GiftCertificate text search
+    public final static String TEXT_SEARCH_PROPERTY = "gift.search.text";
+    public final static String LIKE_TEXT_SEARCH = "like";
+    public final static String FULLTEXT_TEXT_SEARCH = "fulltext";
+    public final static String MATCH_AGAINST_FUNCTION = "match_against";
+
     //Tag QueryBuilder
     public final static String TAG_ID_FIELD = "id";
     public final static String TAG_NAME_FIELD = "name";
@@ -94,11 +156,36 @@ public final class ApplicationConstants {
     public final static String DESC_ORDER = "desc";
     public final static String ASC_ORDER = "asc";
 
+    //QueryBuilders keyset pagination
+    public final static String AFTER_KEY = "after";
+    public final static String BEFORE_KEY = "before";
+    public final static long UNKNOWN_COUNT = -1;
+
+    //QueryBuilders count
+    public final static String LIMIT_KEY = "limit";
+    public final static String OFFSET_KEY = "offset";
+    public final static String WITH_COUNT_KEY = "withCount";
+    public final static long COUNT_CACHE_TTL_SECONDS = 10;
+    public final static long COUNT_CACHE_MAX_SIZE = 1000;
+
+    //QueryBuilders query plans
+    public final static long QUERY_PLAN_CACHE_MAX_SIZE = 500;
+    public final static String QUERY_PARAMETER_PREFIX = "p";
+    public final static String CURSOR_ID_PARAMETER = "cursorId";
+    public final static String CURSOR_VALUE_PARAMETER = "cursorValue";
+
     //QueryBuilders order
     public final static String ORDER_ID_FIELD = "id";
     public final static String ORDER_COST_FIELD = "cost";
     public final static String ORDER_CREATION_DATE_FIELD = "creationDate";
 
+    //Caches
+    public final static String CERTIFICATES_CACHE = "certificates";
+    public final static String TAGS_CACHE = "tags";
+    public final static String TAGS_BY_NAME_CACHE = "tagsByName";
+    public final static long CACHE_MAX_SIZE = 10000;
+    public final static long CACHE_TTL_MINUTES = 10;
+
     //Codes
     public final static int CERTIFICATE_NOT_FOUND_CODE = 40401;
     public final static int TAG_NOT_FOUND_ERROR_CODE = 40402;
@@ -114,6 +201,8 @@ public final class ApplicationConstants {
     public final static int ACCESS_DENIED_ERROR_CODE = 40343;
     public final static int UNAUTHORIZED_ERROR_CODE = 40141;
     public final static int INVALID_CREDENTIALS_ERROR_CODE = 40000;
+    public final static int INVALID_CURSOR_ERROR_CODE = 50002;
+    public final static int ORDER_QUANTITY_TOO_LARGE_ERROR_CODE = 50005;
     //Parameter parser
     public static final String REGEX_FOR_SPLIT_PARAMETERS = ",(?!$)";
 
@@ -122,12 +211,42 @@ public final class ApplicationConstants {
     public static final String REFRESH_TOKEN_SECRET = "$2a$04$a3SxC0GgQv0srAfaOeDdO..qM6QD0CAfApBhbhhBz5dSMXP0gElHG";
     public static final long ACCESS_TOKEN_EXPIRED_TIME_IN_MILLISECONDS = 600000;
     public static final long REFRESH_TOKEN_EXPIRED_TIME_IN_MILLISECONDS = 3600000;
+    public static final long TOKEN_CLAIMS_CACHE_MAX_SIZE = 10000;
+    public static final String TOKEN_HASH_ALGORITHM = "SHA-256";
 
     public static final String AUTH_HEADER = "Authorization";
     public static final String BEARER_PREFIX = "Bearer";
 
-    //filters
-    public static final String MAKE_ORDER_URI = "/users/*/orders";
-    public static final String USER_ID_MAKE_ORDER_REGEX = "(?<=users/)\\d+(?=/orders)";
-    public static final String ACCESSIBLE_URLS_REGEX = "/certificates/?-?\\d*";
+    //metrics
+    public static final String DAO_FIND_TIMER = "dao.find";
+    public static final String TOKEN_VALIDATION_TIMER = "token.validation";
+    public static final String ENTITY_TAG = "entity";
+    public static final String FILTERS_TAG = "filters";
+    public static final String PAGINATION_TAG = "pagination";
+    public static final String OUTCOME_TAG = "outcome";
+    public static final String NO_FILTERS_SHAPE = "none";
+    public static final String SQL_STATEMENTS_SUMMARY = "http.sql.statements";
+    public static final String SQL_TIME_TIMER = "http.sql.time";
+    public static final String SQL_BUDGET_EXCEEDED_COUNTER = "http.sql.budget.exceeded";
+    public static final String URI_TAG = "uri";
+    public static final String HTTP_METHOD_TAG = "method";
+    public static final String UNKNOWN_URI = "UNKNOWN";
+
+    //statement budget
+    public static final int MAX_RECORDED_STATEMENTS = 100;
+    public static final int LOGGED_STATEMENT_FINGERPRINTS = 10;
+
+    //datasource routing
+    public static final long DEFAULT_REPLICA_LAG_MILLIS = 2000;
+    public static final long REPLICA_LAG_GUARD_MAX_SIZE = 100000;
+    public static final String PRIMARY_POOL_NAME = "primary";
+    public static final String REPLICA_POOL_NAME = "replica";
+
+    //routes
+    public static final String ROUTE_ATTRIBUTE = "com.epam.esm.security.route.Route";
+    public static final String CERTIFICATES_SEGMENT = "certificates";
+    public static final String USERS_SEGMENT = "users";
+    public static final String ORDERS_SEGMENT = "orders";
+    public static final String TAGS_SEGMENT = "tags";
+    public static final String EXPORT_SEGMENT = "export";
 }
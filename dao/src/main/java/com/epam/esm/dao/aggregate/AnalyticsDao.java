@@ -0,0 +1,37 @@
+package com.epam.esm.dao.aggregate;
+
+import com.epam.esm.dao.aggregate.impl.AnalyticsDaoImpl;
+import com.epam.esm.dao.domain.projection.UserSpendProjection;
+import com.epam.esm.dao.domain.projection.UserTagProjection;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This interface represents an api of aggregated queries across all Users.
+ * <p>
+ * Implementations : {@link AnalyticsDaoImpl} classes.
+ *
+ * @since 5.0
+ */
+public interface AnalyticsDao {
+
+    /**
+     * This method finds Users with the highest total cost of Orders by one aggregated query.
+     *
+     * @param limit max count of Users.
+     * @return Users with total cost of their Orders, ordered by the cost descending.
+     * @since 5.0
+     */
+    List<UserSpendProjection> findTopSpenders(int limit);
+
+    /**
+     * This method finds the most widely used Tags of all given Users by one query.
+     * A User has several Tags if they are used equally.
+     *
+     * @param userIds ids of User entities.
+     * @return Tags of the Users ordered by User id and Tag id.
+     * @since 5.0
+     */
+    List<UserTagProjection> findMostWidelyUsedTags(Collection<Long> userIds);
+}
@@ -0,0 +1,66 @@
+package com.epam.esm.dao.aggregate;
+
+import com.epam.esm.dao.aggregate.impl.UserTagUsageDaoImpl;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This interface represents an api to maintain the user_tag_usage table. The table stores how many units
+ * of GiftCertificates with a Tag each User has ordered, so the most widely used Tags of a User are found by an index.
+ * <p>
+ * Implementations : {@link UserTagUsageDaoImpl} classes.
+ *
+ * @since 5.0
+ */
+public interface UserTagUsageDao {
+
+    /**
+     * This method adds Tag usage of the saved Order to the counters of its User.
+     *
+     * @param orderId id of Order entity, the Order must be linked with its User.
+     * @since 5.0
+     */
+    void addOrder(long orderId);
+
+    /**
+     * This method subtracts Tag usage of the Order from the counters of its User.
+     * It must be called before the Order is deleted.
+     *
+     * @param orderId id of Order entity.
+     * @since 5.0
+     */
+    void subtractOrder(long orderId);
+
+    /**
+     * This method finds all Users who have ordered the GiftCertificate.
+     *
+     * @param certificateId id of GiftCertificate entity.
+     * @return ids of User entities.
+     * @since 5.0
+     */
+    List<Long> findUserIdsByCertificateId(long certificateId);
+
+    /**
+     * This method calculates counters of given Users from their Orders again.
+     *
+     * @param userIds ids of User entities.
+     * @since 5.0
+     */
+    void rebuild(Collection<Long> userIds);
+
+    /**
+     * This method calculates counters of all Users from their Orders again.
+     *
+     * @since 5.0
+     */
+    void rebuildAll();
+
+    /**
+     * This method finds Users whose counters differ from the ones calculated from their Orders.
+     *
+     * @return ids of User entities.
+     * @since 5.0
+     */
+    List<Long> findInconsistentUserIds();
+}
@@ -0,0 +1,58 @@
+package com.epam.esm.dao.aggregate.impl;
+
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.dao.aggregate.AnalyticsDao;
+import com.epam.esm.dao.domain.projection.UserSpendProjection;
+import com.epam.esm.dao.domain.projection.UserTagProjection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Default implementation of {@link AnalyticsDao} interface.
+ *
+ * @since 5.0
+ */
+@Repository
+public class AnalyticsDaoImpl implements AnalyticsDao {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public AnalyticsDaoImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<UserSpendProjection> findTopSpenders(int limit) {
+        return entityManager.createQuery(ApplicationConstants.FIND_TOP_SPENDERS_QUERY, UserSpendProjection.class)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * This method reads the precomputed counters of user_tag_usage table, so only index entries of given Users are read.
+     *
+     * @param userIds ids of User entities.
+     * @return Tags of the Users ordered by User id and Tag id.
+     * @since 5.0
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UserTagProjection> findMostWidelyUsedTags(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object[]> rows = entityManager.createNativeQuery(ApplicationConstants.FIND_MAX_WIDELY_USED_TAGS_OF_USERS_QUERY)
+                .setParameter("userIds", userIds)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new UserTagProjection(((Number) row[0]).longValue(), ((Number) row[1]).longValue(), (String) row[2]))
+                .collect(Collectors.toList());
+    }
+}
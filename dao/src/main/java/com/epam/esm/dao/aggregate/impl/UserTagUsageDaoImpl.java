@@ -0,0 +1,120 @@
+package com.epam.esm.dao.aggregate.impl;
+
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.dao.aggregate.UserTagUsageDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Default implementation of {@link UserTagUsageDao} interface. Counters are changed by native queries,
+ * pending changes of the persistence context are flushed before each of them.
+ *
+ * @since 5.0
+ */
+@Repository
+public class UserTagUsageDaoImpl implements UserTagUsageDao {
+
+    private static final int SUBTRACT = -1;
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public UserTagUsageDaoImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * This method increments counters of the User and inserts counters of Tags used for the first time
+     * by a single upsert statement, so concurrent orders of the same User can not lose increments
+     * or insert the same counter twice. H2 databases must run in MySQL mode for ON DUPLICATE KEY UPDATE.
+     *
+     * @param orderId id of Order entity, the Order must be linked with its User.
+     * @since 5.0
+     */
+    @Override
+    public void addOrder(long orderId) {
+        entityManager.createNativeQuery(ApplicationConstants.UPSERT_USER_TAG_USAGE_BY_ORDER)
+                .setParameter("orderId", orderId)
+                .executeUpdate();
+    }
+
+    /**
+     * This method decrements counters of the User and removes counters which become zero.
+     *
+     * @param orderId id of Order entity.
+     * @since 5.0
+     */
+    @Override
+    public void subtractOrder(long orderId) {
+        updateByOrder(orderId, SUBTRACT);
+        entityManager.createNativeQuery(ApplicationConstants.DELETE_UNUSED_USER_TAG_USAGE_BY_ORDER)
+                .setParameter("orderId", orderId)
+                .executeUpdate();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> findUserIdsByCertificateId(long certificateId) {
+        List<Number> userIds = entityManager.createNativeQuery(ApplicationConstants.FIND_USER_IDS_BY_CERTIFICATE_ID)
+                .setParameter("certificateId", certificateId)
+                .getResultList();
+        return toLongs(userIds);
+    }
+
+    /**
+     * This method deletes and inserts counters of the Users by chunks
+     * of {@link ApplicationConstants#USER_TAG_USAGE_REBUILD_CHUNK_SIZE} Users.
+     *
+     * @param userIds ids of User entities.
+     * @since 5.0
+     */
+    @Override
+    public void rebuild(Collection<Long> userIds) {
+        List<Long> ids = new ArrayList<>(userIds);
+        for (int from = 0; from < ids.size(); from += ApplicationConstants.USER_TAG_USAGE_REBUILD_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + ApplicationConstants.USER_TAG_USAGE_REBUILD_CHUNK_SIZE, ids.size()));
+            entityManager.createNativeQuery(ApplicationConstants.DELETE_USER_TAG_USAGE_BY_USER_IDS)
+                    .setParameter("userIds", chunk)
+                    .executeUpdate();
+            entityManager.createNativeQuery(ApplicationConstants.INSERT_USER_TAG_USAGE_BY_USER_IDS)
+                    .setParameter("userIds", chunk)
+                    .executeUpdate();
+        }
+    }
+
+    @Override
+    public void rebuildAll() {
+        entityManager.createNativeQuery(ApplicationConstants.DELETE_ALL_USER_TAG_USAGE).executeUpdate();
+        entityManager.createNativeQuery(ApplicationConstants.INSERT_ALL_USER_TAG_USAGE).executeUpdate();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> findInconsistentUserIds() {
+        List<Number> userIds = entityManager.createNativeQuery(ApplicationConstants.FIND_INCONSISTENT_USER_TAG_USAGE_USER_IDS)
+                .getResultList();
+        return toLongs(userIds);
+    }
+
+    private void updateByOrder(long orderId, int sign) {
+        entityManager.createNativeQuery(ApplicationConstants.UPDATE_USER_TAG_USAGE_BY_ORDER)
+                .setParameter("sign", sign)
+                .setParameter("orderId", orderId)
+                .executeUpdate();
+    }
+
+    /**
+     * Type of numbers returned by a native query depends on the database, e.g. BigInteger or Long.
+     */
+    private List<Long> toLongs(List<Number> numbers) {
+        return numbers.stream()
+                .map(Number::longValue)
+                .collect(Collectors.toList());
+    }
+}
@@ -1,7 +1,11 @@
 package com.epam.esm.dao.domain;
 
+import com.epam.esm.dao.domain.page.KeysetPage;
+import com.epam.esm.dao.domain.projection.VersionProjection;
+
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface CriteriaFindAllDao<T> {
 
@@ -15,4 +19,50 @@ public interface CriteriaFindAllDao<T> {
      * @since 4.0
      */
     List<T> findBy(Map<String, String[]> reqParams, int limit, int offset);
+
+    /**
+     * This method counts entities which match the filters of the request. Sorting and pagination parameters
+     * are ignored. The result is cached for a short time per normalized set of the filters.
+     *
+     * @param reqParams is a map of all request parameters.
+     * @return number of entities matching the filters.
+     * @since 5.0
+     */
+    long countBy(Map<String, String[]> reqParams);
+
+    /**
+     * This method gets the version of entities which match the filters of the request, it's cheaper than
+     * finding the page. Sorting and pagination parameters are ignored. The version is not cached.
+     *
+     * @param reqParams    is a map of all request parameters.
+     * @param versionField field of the entity which is changed on each update of the entity.
+     * @return number of entities matching the filters and the max value of the version field.
+     * @since 5.0
+     */
+    VersionProjection findVersionBy(Map<String, String[]> reqParams, String versionField);
+
+    /**
+     * This method combines all getList queries with keyset (seek) pagination.
+     * Position of the page is taken from 'after' or 'before' request parameter, empty value means
+     * the first or the last page respectively.
+     *
+     * @param reqParams is a map of all request parameters.
+     * @param limit     for pagination
+     * @return page of entities with cursors of the next and the previous pages.
+     * @throws com.epam.esm.querybuilder.keyset.InvalidCursorException if passed cursor is invalid.
+     * @since 5.0
+     */
+    KeysetPage<T> findByKeyset(Map<String, String[]> reqParams, int limit);
+
+    /**
+     * This method passes all entities matching the filters of the request to the action one by one.
+     * Entities are read by a forward-only scrolled query and processed by chunks, associations are loaded for each
+     * chunk and the persistence context is cleared after it, so memory usage doesn't depend on the number of entities.
+     * Entities are detached after their chunk is processed. The method must be called inside a transaction.
+     *
+     * @param reqParams is a map of all request parameters.
+     * @param action    action for each entity.
+     * @since 5.0
+     */
+    void forEachBy(Map<String, String[]> reqParams, Consumer<T> action);
 }
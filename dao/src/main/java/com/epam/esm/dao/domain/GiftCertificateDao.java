@@ -1,8 +1,16 @@
 package com.epam.esm.dao.domain;
 
+import com.epam.esm.constants.ApplicationConstants;
 import com.epam.esm.entity.GiftCertificate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -20,4 +28,37 @@ public interface GiftCertificateDao extends JpaRepository<GiftCertificate, Long>
      * @since 4.0
      */
     Optional<GiftCertificate> findByName(String name);
+
+    /**
+     * This method gets names of GiftCertificate entities which are present in db among given names.
+     *
+     * @param names names for checking.
+     * @return list of names of existing GiftCertificate entities.
+     * @since 5.0
+     */
+    @Query(ApplicationConstants.FIND_GC_NAMES_IN_QUERY)
+    List<String> findNamesByNameIn(@Param("names") Collection<String> names);
+
+    /**
+     * This method gets GiftCertificate entities with given ids together with their tags in one query.
+     * Duplicates produced by joining the tags are removed in memory, DISTINCT is not passed to SQL.
+     *
+     * @param ids ids of GiftCertificate entities.
+     * @return list of GiftCertificate entities with initialized tags, order of entities is not defined.
+     * @since 5.0
+     */
+    @Query(ApplicationConstants.FIND_GC_WITH_TAGS_BY_IDS_QUERY)
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    List<GiftCertificate> findAllWithTagsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * This method gets the last update date of GiftCertificate entity without loading the entity.
+     * The date changes with every change of the certificate, so it's used as a version of the certificate.
+     *
+     * @param id GiftCertificate entity's id.
+     * @return Optional of the last update date. If there is no GiftCertificate with given id, return Optional.empty().
+     * @since 5.0
+     */
+    @Query(ApplicationConstants.FIND_GC_LAST_UPDATE_DATE_BY_ID_QUERY)
+    Optional<LocalDateTime> findLastUpdateDateById(@Param("id") long id);
 }
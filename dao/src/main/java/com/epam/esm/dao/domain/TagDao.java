@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,8 +26,18 @@ public interface TagDao extends JpaRepository<Tag, Long> {
      */
     Optional<Tag> findByName(String name);
 
+    /**
+     * This method gets all Tag entities with given names by one query.
+     *
+     * @param names names of Tag entities.
+     * @return list of found Tag entities, names without Tag entity are skipped.
+     * @since 5.0
+     */
+    List<Tag> findAllByNameIn(Collection<String> names);
+
     /**
      * Find Tag the most widely used tags of user with given id.
+     * Tags are found by the precomputed counters of user_tag_usage table.
      *
      * @return List with Tags entity.
      * @since 2.0
@@ -1,7 +1,11 @@
 package com.epam.esm.dao.domain;
 
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.dao.domain.projection.UserProjection;
 import com.epam.esm.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -29,4 +33,44 @@ public interface UserDao extends JpaRepository<User, Long> {
      * @since 4.0
      */
     Optional<User> findByLoginAndPassword(String login, String password);
+
+    /**
+     * This method checks if User entity with given login exists.
+     *
+     * @param login User entity's login.
+     * @return true if User entity with given login exists.
+     * @since 5.0
+     */
+    boolean existsByLogin(String login);
+
+    /**
+     * This method gets User projection by id. Orders of the user are not loaded.
+     *
+     * @param id User entity's id.
+     * @return Optional of UserProjection. If there is no User with given id, return Optional.empty().
+     * @since 5.0
+     */
+    @Query(ApplicationConstants.FIND_USER_PROJECTION_BY_ID)
+    Optional<UserProjection> findProjectionById(@Param("id") long id);
+
+    /**
+     * This method gets User projection by login. Orders of the user are not loaded.
+     *
+     * @param login User entity's login.
+     * @return Optional of UserProjection. If there is no User with given login, return Optional.empty().
+     * @since 5.0
+     */
+    @Query(ApplicationConstants.FIND_USER_PROJECTION_BY_LOGIN)
+    Optional<UserProjection> findProjectionByLogin(@Param("login") String login);
+
+    /**
+     * This method gets User projection by login and password. Orders of the user are not loaded.
+     *
+     * @param login    User entity's login.
+     * @param password User entity's password.
+     * @return Optional of UserProjection. If there is no such User, return Optional.empty().
+     * @since 5.0
+     */
+    @Query(ApplicationConstants.FIND_USER_PROJECTION_BY_LOGIN_AND_PASSWORD)
+    Optional<UserProjection> findProjectionByLoginAndPassword(@Param("login") String login, @Param("password") String password);
 }
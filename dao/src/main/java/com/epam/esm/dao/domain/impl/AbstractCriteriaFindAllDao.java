@@ -1,19 +1,57 @@
 package com.epam.esm.dao.domain.impl;
 
+import com.epam.esm.constants.ApplicationConstants;
 import com.epam.esm.dao.domain.CriteriaFindAllDao;
+import com.epam.esm.dao.domain.page.KeysetPage;
+import com.epam.esm.dao.domain.projection.VersionProjection;
 import com.epam.esm.querybuilder.QueryBuilder;
+import com.epam.esm.querybuilder.keyset.KeysetCursor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public abstract class AbstractCriteriaFindAllDao<T> implements CriteriaFindAllDao<T> {
 
+    private static final String OFFSET_PAGINATION = "offset";
+    private static final String KEYSET_PAGINATION = "keyset";
+
     private final QueryBuilder<T> queryBuilder;
+    /**
+     * Timers of find queries by pagination and filter shape, they are looked up once per shape.
+     */
+    private final ConcurrentMap<String, Timer> findTimers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    /**
+     * Counts of entities by filter signature. Stale counts are acceptable for pagination links,
+     * so entries are not evicted on writes and just expire.
+     */
+    private final Cache<String, Long> countCache = Caffeine.newBuilder()
+            .expireAfterWrite(ApplicationConstants.COUNT_CACHE_TTL_SECONDS, TimeUnit.SECONDS)
+            .maximumSize(ApplicationConstants.COUNT_CACHE_MAX_SIZE)
+            .build();
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    protected AbstractCriteriaFindAllDao(QueryBuilder<T> queryBuilder) {
+    protected AbstractCriteriaFindAllDao(QueryBuilder<T> queryBuilder, MeterRegistry meterRegistry) {
         this.queryBuilder = queryBuilder;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -27,10 +65,154 @@ public abstract class AbstractCriteriaFindAllDao<T> implements CriteriaFindAllDa
      */
     @Override
     public List<T> findBy(Map<String, String[]> reqParams, int limit, int offset) {
-        TypedQuery<T> query = queryBuilder.buildQuery(reqParams, limit, offset);
-        return query.getResultList()
-                .stream()
-                .distinct()
-                .collect(Collectors.toList());
+        return getFindTimer(OFFSET_PAGINATION, reqParams).record(() -> {
+            TypedQuery<T> query = queryBuilder.buildQuery(reqParams, limit, offset);
+            return fetchAssociations(query.getResultList());
+        });
+    }
+
+    /**
+     * This method counts entities which match the filters of the request.
+     * Count is taken from the cache if the same filters were counted recently.
+     *
+     * @param reqParams is a map of all request parameters.
+     * @return number of entities matching the filters.
+     * @since 5.0
+     */
+    @Override
+    public long countBy(Map<String, String[]> reqParams) {
+        String signature = queryBuilder.getFilterSignature(reqParams);
+        return countCache.get(signature, key -> queryBuilder.buildCountQuery(reqParams).getSingleResult());
+    }
+
+    /**
+     * This method gets the version of entities which match the filters of the request by one aggregate query.
+     *
+     * @param reqParams    is a map of all request parameters.
+     * @param versionField field of the entity which is changed on each update of the entity.
+     * @return number of entities matching the filters and the max value of the version field.
+     * @since 5.0
+     */
+    @Override
+    public VersionProjection findVersionBy(Map<String, String[]> reqParams, String versionField) {
+        Object[] version = queryBuilder.buildVersionQuery(reqParams, versionField).getSingleResult();
+        return new VersionProjection(((Number) version[0]).longValue(), (LocalDateTime) version[1]);
+    }
+
+    /**
+     * This method combines all getList queries with keyset (seek) pagination.
+     * One extra row is selected to find out if there is one more page in the requested direction.
+     *
+     * @param reqParams is a map of all request parameters.
+     * @param limit     for pagination
+     * @return page of entities with cursors of the next and the previous pages.
+     * @since 5.0
+     */
+    @Override
+    public KeysetPage<T> findByKeyset(Map<String, String[]> reqParams, int limit) {
+        return getFindTimer(KEYSET_PAGINATION, reqParams).record(() -> findPageByKeyset(reqParams, limit));
+    }
+
+    private KeysetPage<T> findPageByKeyset(Map<String, String[]> reqParams, int limit) {
+        String[] before = reqParams.get(ApplicationConstants.BEFORE_KEY);
+        boolean backward = before != null;
+        String[] cursorValues = backward ? before : reqParams.get(ApplicationConstants.AFTER_KEY);
+        KeysetCursor cursor = cursorValues == null || cursorValues.length == 0 ? null : KeysetCursor.decode(cursorValues[0]);
+
+        TypedQuery<T> query = queryBuilder.buildKeysetQuery(reqParams, limit + 1, cursor, backward);
+        List<T> rows = query.getResultList();
+
+        boolean hasMore = rows.size() > limit;
+        List<T> content = hasMore ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        if (backward) {
+            Collections.reverse(content);
+        }
+        if (content.isEmpty()) {
+            return new KeysetPage<>(content, null, null);
+        }
+        content = fetchAssociations(content);
+
+        String sortField = queryBuilder.getKeysetSortField(reqParams);
+        //moving forward there is a previous page only if we came from it and vice versa
+        boolean hasNext = backward ? cursor != null : hasMore;
+        boolean hasPrevious = backward ? hasMore : cursor != null;
+        String nextCursor = hasNext ? KeysetCursor.of(content.get(content.size() - 1), sortField).encode() : null;
+        String previousCursor = hasPrevious ? KeysetCursor.of(content.get(0), sortField).encode() : null;
+        return new KeysetPage<>(content, nextCursor, previousCursor);
+    }
+
+    /**
+     * This method passes all entities matching the filters of the request to the action one by one.
+     * Rows are fetched from the database by {@link ApplicationConstants#EXPORT_FETCH_SIZE} and entities are read only.
+     * Every {@link ApplicationConstants#EXPORT_CHUNK_SIZE} entities their associations are loaded, the action is applied
+     * and the persistence context is cleared.
+     *
+     * @param reqParams is a map of all request parameters.
+     * @param action    action for each entity.
+     * @since 5.0
+     */
+    @Override
+    public void forEachBy(Map<String, String[]> reqParams, Consumer<T> action) {
+        TypedQuery<T> query = queryBuilder.buildQuery(reqParams);
+        query.setHint(org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, ApplicationConstants.EXPORT_FETCH_SIZE);
+        query.setHint(org.hibernate.jpa.QueryHints.HINT_READONLY, true);
+
+        List<T> chunk = new ArrayList<>(ApplicationConstants.EXPORT_CHUNK_SIZE);
+        try (Stream<T> entities = query.getResultStream()) {
+            Iterator<T> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == ApplicationConstants.EXPORT_CHUNK_SIZE) {
+                    processChunk(chunk, action);
+                }
+            }
+            processChunk(chunk, action);
+        }
+    }
+
+    /**
+     * This method gets the timer of find queries of the entity which is tagged by pagination and filter shape.
+     * Values of filters are not tags, so the number of timers stays small.
+     *
+     * @param pagination kind of pagination.
+     * @param reqParams  request parameters.
+     * @return timer of find queries.
+     * @since 5.0
+     */
+    private Timer getFindTimer(String pagination, Map<String, String[]> reqParams) {
+        String shape = queryBuilder.getFilterShape(reqParams);
+        String key = pagination + "|" + shape;
+        Timer timer = findTimers.get(key);
+        if (timer == null) {
+            timer = findTimers.computeIfAbsent(key, k -> Timer.builder(ApplicationConstants.DAO_FIND_TIMER)
+                    .description("Time of find queries with loading of associations")
+                    .tag(ApplicationConstants.ENTITY_TAG, queryBuilder.getEntityName())
+                    .tag(ApplicationConstants.PAGINATION_TAG, pagination)
+                    .tag(ApplicationConstants.FILTERS_TAG, shape)
+                    .register(meterRegistry));
+        }
+        return timer;
+    }
+
+    private void processChunk(List<T> chunk, Consumer<T> action) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        fetchAssociations(chunk).forEach(action);
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    /**
+     * This method loads associations of the found page of entities which are needed by clients.
+     * The page query doesn't join the associations, so it doesn't multiply rows and limit is applied in SQL.
+     * By default nothing is loaded.
+     *
+     * @param entities found page of entities.
+     * @return entities with loaded associations in the same order.
+     * @since 5.0
+     */
+    protected List<T> fetchAssociations(List<T> entities) {
+        return entities;
     }
 }
@@ -1,15 +1,53 @@
 package com.epam.esm.dao.domain.impl;
 
+import com.epam.esm.dao.domain.GiftCertificateDao;
+import com.epam.esm.entity.GiftCertificate;
 import com.epam.esm.querybuilder.QueryBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Repository("giftCertificateCriteriaFindAllDao")
-public class GiftCertificateCriteriaFindAllDao<GiftCertificate> extends AbstractCriteriaFindAllDao<GiftCertificate> {
+public class GiftCertificateCriteriaFindAllDao extends AbstractCriteriaFindAllDao<GiftCertificate> {
+
+    private final GiftCertificateDao giftCertificateDao;
 
     @Autowired
-    protected GiftCertificateCriteriaFindAllDao(@Qualifier("giftCertificateQueryBuilder") QueryBuilder<GiftCertificate> queryBuilder) {
-        super(queryBuilder);
+    protected GiftCertificateCriteriaFindAllDao(@Qualifier("giftCertificateQueryBuilder") QueryBuilder<GiftCertificate> queryBuilder,
+                                                GiftCertificateDao giftCertificateDao, MeterRegistry meterRegistry) {
+        super(queryBuilder, meterRegistry);
+        this.giftCertificateDao = giftCertificateDao;
+    }
+
+    /**
+     * This method loads tags of the found GiftCertificates with one query by their ids
+     * instead of one query per GiftCertificate.
+     *
+     * @param entities found page of GiftCertificates.
+     * @return GiftCertificates with loaded tags in the same order.
+     * @since 5.0
+     */
+    @Override
+    protected List<GiftCertificate> fetchAssociations(List<GiftCertificate> entities) {
+        if (entities.isEmpty()) {
+            return entities;
+        }
+        List<Long> ids = entities.stream()
+                .map(GiftCertificate::getId)
+                .collect(Collectors.toList());
+        Map<Long, GiftCertificate> certificatesWithTags = giftCertificateDao.findAllWithTagsByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(GiftCertificate::getId, Function.identity()));
+        return ids.stream()
+                .map(certificatesWithTags::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 }
@@ -1,6 +1,7 @@
 package com.epam.esm.dao.domain.impl;
 
 import com.epam.esm.querybuilder.QueryBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
@@ -8,7 +9,8 @@ import org.springframework.stereotype.Repository;
 @Repository("tagCriteriaFindAllDao")
 public class TagCriteriaFindAllDao<Tag> extends AbstractCriteriaFindAllDao<Tag> {
 
-    protected TagCriteriaFindAllDao(@Qualifier("tagQueryBuilder") QueryBuilder<Tag> queryBuilder) {
-        super(queryBuilder);
+    protected TagCriteriaFindAllDao(@Qualifier("tagQueryBuilder") QueryBuilder<Tag> queryBuilder,
+                                    MeterRegistry meterRegistry) {
+        super(queryBuilder, meterRegistry);
     }
 }
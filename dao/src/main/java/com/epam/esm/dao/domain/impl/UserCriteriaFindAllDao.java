@@ -1,6 +1,7 @@
 package com.epam.esm.dao.domain.impl;
 
 import com.epam.esm.querybuilder.QueryBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
@@ -9,7 +10,8 @@ import org.springframework.stereotype.Repository;
 public class UserCriteriaFindAllDao<User> extends AbstractCriteriaFindAllDao<User> {
 
     @Autowired
-    protected UserCriteriaFindAllDao(@Qualifier("userQueryBuilder") QueryBuilder<User> queryBuilder) {
-        super(queryBuilder);
+    protected UserCriteriaFindAllDao(@Qualifier("userQueryBuilder") QueryBuilder<User> queryBuilder,
+                                     MeterRegistry meterRegistry) {
+        super(queryBuilder, meterRegistry);
     }
 }
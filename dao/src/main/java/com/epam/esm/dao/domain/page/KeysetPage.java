@@ -0,0 +1,19 @@
+package com.epam.esm.dao.domain.page;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Page of entities received with keyset (seek) pagination.
+ * Cursors are null when there is no next or previous page.
+ *
+ * @param <T> entity class.
+ * @since 5.0
+ */
+@Data
+public class KeysetPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+    private final String previousCursor;
+}
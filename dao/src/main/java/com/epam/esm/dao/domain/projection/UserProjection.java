@@ -0,0 +1,17 @@
+package com.epam.esm.dao.domain.projection;
+
+import lombok.Data;
+
+/**
+ * Read-only view of the User entity without orders. It is selected with JPQL constructor expression,
+ * so the persistence context doesn't manage it and associations of the user are never loaded.
+ *
+ * @since 5.0
+ */
+@Data
+public class UserProjection {
+    private final Long id;
+    private final String login;
+    private final String password;
+    private final String role;
+}
@@ -0,0 +1,17 @@
+package com.epam.esm.dao.domain.projection;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only view of a User with the total cost of the User's Orders. It is selected with JPQL constructor expression.
+ *
+ * @since 5.0
+ */
+@Data
+public class UserSpendProjection {
+    private final Long userId;
+    private final String login;
+    private final BigDecimal totalCost;
+}
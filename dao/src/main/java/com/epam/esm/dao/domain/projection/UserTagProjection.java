@@ -0,0 +1,15 @@
+package com.epam.esm.dao.domain.projection;
+
+import lombok.Data;
+
+/**
+ * Read-only view of a Tag used by a User.
+ *
+ * @since 5.0
+ */
+@Data
+public class UserTagProjection {
+    private final Long userId;
+    private final Long tagId;
+    private final String tagName;
+}
@@ -0,0 +1,17 @@
+package com.epam.esm.dao.domain.projection;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version of entities matching filters of a request: their count and the max value of their version field.
+ * A change of any matching entity, a new matching entity or a removed one changes the version.
+ *
+ * @since 5.0
+ */
+@Data
+public class VersionProjection {
+    private final long count;
+    private final LocalDateTime lastUpdateDate;
+}
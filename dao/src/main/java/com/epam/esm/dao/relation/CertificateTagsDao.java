@@ -3,6 +3,8 @@ package com.epam.esm.dao.relation;
 
 import com.epam.esm.dao.relation.impl.CertificateTagsDaoImpl;
 
+import java.util.Collection;
+
 /**
  * This interface represents an api to interact with the link between GiftCertificate entity
  * and Tag entity in database.
@@ -22,6 +24,15 @@ public interface CertificateTagsDao {
      */
     void save(long certificateId, long tagId);
 
+    /**
+     * This method saves links between GiftCertificate entity and all given Tag entities by batches.
+     *
+     * @param certificateId id of GiftCertificate entity
+     * @param tagIds        ids of Tag entities
+     * @since 5.0
+     */
+    void saveAll(long certificateId, Collection<Long> tagIds);
+
     /**
      * This method removes all links between GiftCertificate entity and Tag entity for a specific GiftCertificate.
      *
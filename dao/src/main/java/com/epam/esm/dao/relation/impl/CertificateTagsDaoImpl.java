@@ -2,11 +2,14 @@ package com.epam.esm.dao.relation.impl;
 
 import com.epam.esm.constants.ApplicationConstants;
 import com.epam.esm.dao.relation.CertificateTagsDao;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
+import java.sql.PreparedStatement;
+import java.util.Collection;
 
 /**
  * Default implementation of {@link CertificateTagsDao} interface.
@@ -38,6 +41,41 @@ public class CertificateTagsDaoImpl implements CertificateTagsDao {
         nativeQuery.executeUpdate();
     }
 
+    /**
+     * This method saves links between GiftCertificate entity and all given Tag entities with JDBC batches
+     * of {@link ApplicationConstants#JDBC_BATCH_SIZE} statements. Pending changes of the persistence context
+     * are flushed first like before any native query.
+     *
+     * @param certificateId id of GiftCertificate entity
+     * @param tagIds        ids of Tag entities
+     * @since 5.0
+     */
+    @Override
+    public void saveAll(long certificateId, Collection<Long> tagIds) {
+        if (tagIds.isEmpty()) {
+            return;
+        }
+
+        Session session = entityManager.unwrap(Session.class);
+        session.flush();
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(ApplicationConstants.SAVE_CERTIFICATE_TAGS_QUERY)) {
+                int batchedCount = 0;
+                for (Long tagId : tagIds) {
+                    statement.setLong(1, certificateId);
+                    statement.setLong(2, tagId);
+                    statement.addBatch();
+                    if (++batchedCount % ApplicationConstants.JDBC_BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                if (batchedCount % ApplicationConstants.JDBC_BATCH_SIZE != 0) {
+                    statement.executeBatch();
+                }
+            }
+        });
+    }
+
     /**
      * This method removes all links between GiftCertificate entity and Tag entity for a specific GiftCertificate.
      *
@@ -52,12 +90,15 @@ public class CertificateTagsDaoImpl implements CertificateTagsDao {
 
     /**
      * This method removes all links between Tag entity and GiftCertificate entity for a specific Tag.
+     * Last update date of the linked certificates is changed first, so their versions change with their tags.
      *
      * @param tagId id of Tag entity
      * @since 2.0
      */
     @Override
     public void deleteAllCertificateLinksForTagId(long tagId) {
+        entityManager.createNativeQuery(ApplicationConstants.TOUCH_CERTIFICATES_FOR_TAG)
+                .setParameter(1, tagId).executeUpdate();
         entityManager.createNativeQuery(ApplicationConstants.DELETE_ALL_CERTIFICATES_FOR_TAG)
                 .setParameter(1, tagId).executeUpdate();
     }
@@ -0,0 +1,10 @@
+package com.epam.esm.dao.routing;
+
+/**
+ * Target pools of {@link ReadWriteRoutingDataSource}.
+ *
+ * @since 5.0
+ */
+public enum DataSourceType {
+    PRIMARY, REPLICA
+}
@@ -0,0 +1,57 @@
+package com.epam.esm.dao.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * This data source routes connections of read-only transactions, i.e. {@code @Transactional(readOnly = true)},
+ * to the replica and all other connections to the primary. Reads of a client which has written recently
+ * and reads forced by {@link RoutingContext#onPrimary(java.util.function.Supplier)} go to the primary too.
+ * <p>
+ * The transaction is known only when its connection is taken, so the data source must be wrapped by
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which takes the connection
+ * at the first statement. An entity manager holds its connection until it is closed, so it must not outlive
+ * the transaction, i.e. {@code spring.jpa.open-in-view} must be false.
+ *
+ * @since 5.0
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagGuard replicaLagGuard;
+
+    public ReadWriteRoutingDataSource(ReplicaLagGuard replicaLagGuard) {
+        this.replicaLagGuard = replicaLagGuard;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String client = RoutingContext.currentClient();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (client != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                pinToPrimary(client);
+            }
+            return DataSourceType.PRIMARY;
+        }
+        if (RoutingContext.isPrimaryForced() || client != null && replicaLagGuard.isPinned(client)) {
+            return DataSourceType.PRIMARY;
+        }
+        return DataSourceType.REPLICA;
+    }
+
+    /**
+     * The client is pinned when the write starts and once more when it completes, so the lag is counted
+     * from the commit even for long transactions.
+     */
+    private void pinToPrimary(String client) {
+        replicaLagGuard.markWrite(client);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    replicaLagGuard.markWrite(client);
+                }
+            });
+        }
+    }
+}
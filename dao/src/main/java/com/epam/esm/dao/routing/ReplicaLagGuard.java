@@ -0,0 +1,45 @@
+package com.epam.esm.dao.routing;
+
+import com.epam.esm.constants.ApplicationConstants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class remembers clients which have written to the primary recently. Their reads go to the primary
+ * until the replica is expected to catch up, so a client always reads its own writes.
+ *
+ * @since 5.0
+ */
+public class ReplicaLagGuard {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    /**
+     * @param lagMillis expected max lag of the replica in milliseconds.
+     */
+    public ReplicaLagGuard(long lagMillis) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(lagMillis, TimeUnit.MILLISECONDS)
+                .maximumSize(ApplicationConstants.REPLICA_LAG_GUARD_MAX_SIZE)
+                .build();
+    }
+
+    /**
+     * This method pins reads of the client to the primary for the lag of the replica.
+     *
+     * @param client key of the client.
+     */
+    public void markWrite(String client) {
+        recentWriters.put(client, Boolean.TRUE);
+    }
+
+    /**
+     * @param client key of the client.
+     * @return true if the client has written recently and must read from the primary.
+     */
+    public boolean isPinned(String client) {
+        return recentWriters.getIfPresent(client) != null;
+    }
+}
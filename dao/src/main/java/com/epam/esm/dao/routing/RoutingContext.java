@@ -0,0 +1,60 @@
+package com.epam.esm.dao.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Routing state of the current thread: the client on whose behalf statements are executed, e.g. the authenticated
+ * user of the request, and whether reads are forced to the primary.
+ *
+ * @since 5.0
+ */
+public final class RoutingContext {
+
+    private static final ThreadLocal<String> CLIENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    /**
+     * This method binds the client to the current thread, its writes pin its reads to the primary for a while.
+     *
+     * @param client key of the client.
+     */
+    public static void bindClient(String client) {
+        CLIENT.set(client);
+    }
+
+    public static void unbindClient() {
+        CLIENT.remove();
+    }
+
+    static String currentClient() {
+        return CLIENT.get();
+    }
+
+    /**
+     * This method runs the action with reads on the primary, e.g. loading of values which are cached until they
+     * are changed, so a lagging replica can't put a stale value into the cache. Routing is decided when a transaction
+     * takes its connection, so the action should be the first to read in the transaction.
+     *
+     * @param action action which reads from the database.
+     * @param <T>    type of the result.
+     * @return result of the action.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (Boolean.TRUE.equals(PRIMARY_FORCED.get())) {
+            return action.get();
+        }
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY_FORCED.remove();
+        }
+    }
+
+    static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(PRIMARY_FORCED.get());
+    }
+}
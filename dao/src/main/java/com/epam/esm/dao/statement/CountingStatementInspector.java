@@ -0,0 +1,18 @@
+package com.epam.esm.dao.statement;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * This inspector adds every statement which Hibernate prepares to the current {@link StatementScope}.
+ * Statements are not changed.
+ *
+ * @since 5.0
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        StatementScope.recordStatement(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,34 @@
+package com.epam.esm.dao.statement;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * This listener adds the time of JDBC executions of a session to the current {@link StatementScope}.
+ * Hibernate creates a listener for every session, so the start of an execution is kept in a field.
+ *
+ * @since 5.0
+ */
+public class JdbcTimeSessionEventListener extends BaseSessionEventListener {
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        StatementScope.recordJdbcTime(System.nanoTime() - executionStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        StatementScope.recordJdbcTime(System.nanoTime() - executionStart);
+    }
+}
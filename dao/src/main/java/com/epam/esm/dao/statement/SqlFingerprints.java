@@ -0,0 +1,35 @@
+package com.epam.esm.dao.statement;
+
+import java.util.regex.Pattern;
+
+/**
+ * This class normalizes SQL statements to fingerprints: literals are replaced by "?", lists of parameters
+ * are collapsed and whitespace is squeezed, so statements which differ only in values have the same fingerprint.
+ *
+ * @since 5.0
+ */
+public final class SqlFingerprints {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprints() {
+    }
+
+    /**
+     * This method gets the fingerprint of the statement.
+     *
+     * @param sql SQL statement.
+     * @return fingerprint of the statement.
+     */
+    public static String of(String sql) {
+        String fingerprint = COMMENT.matcher(sql).replaceAll(" ");
+        fingerprint = STRING_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = PARAMETER_LIST.matcher(fingerprint).replaceAll("(?...)");
+        return WHITESPACE.matcher(fingerprint).replaceAll(" ").trim();
+    }
+}
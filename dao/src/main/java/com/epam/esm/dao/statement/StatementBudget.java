@@ -0,0 +1,74 @@
+package com.epam.esm.dao.statement;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assertions of tests on the number of statements which a code path executes. For example, a page of certificates
+ * with their tags must be loaded by two statements regardless of the page size:
+ * <pre>{@code
+ * StatementBudget.assertAtMost(2, () -> criteriaFindAllDao.findBy(reqParams, limit, offset));
+ * }</pre>
+ * Failures list fingerprints of executed statements, so an N+1 select is visible at once.
+ *
+ * @since 5.0
+ */
+public final class StatementBudget {
+
+    private static final int REPORTED_FINGERPRINTS = 20;
+
+    private StatementBudget() {
+    }
+
+    /**
+     * This method runs the action and collects its statements.
+     *
+     * @param action code path under test.
+     * @return statements of the action.
+     */
+    public static StatementStats record(Runnable action) {
+        try (StatementScope scope = StatementScope.open()) {
+            action.run();
+            return scope.getStats();
+        }
+    }
+
+    /**
+     * This method runs the action and checks that it doesn't execute more statements than the budget.
+     *
+     * @param maxStatements budget of statements.
+     * @param action        code path under test.
+     * @return statements of the action.
+     * @throws AssertionError if the action executes more statements.
+     */
+    public static StatementStats assertAtMost(int maxStatements, Runnable action) {
+        StatementStats stats = record(action);
+        if (stats.getStatementCount() > maxStatements) {
+            throw new AssertionError(describe("Expected at most " + maxStatements + " statements", stats));
+        }
+        return stats;
+    }
+
+    /**
+     * This method runs the action and checks that it executes exactly the expected number of statements.
+     *
+     * @param expectedStatements expected number of statements.
+     * @param action             code path under test.
+     * @return statements of the action.
+     * @throws AssertionError if the action executes another number of statements.
+     */
+    public static StatementStats assertExactly(int expectedStatements, Runnable action) {
+        StatementStats stats = record(action);
+        if (stats.getStatementCount() != expectedStatements) {
+            throw new AssertionError(describe("Expected " + expectedStatements + " statements", stats));
+        }
+        return stats;
+    }
+
+    private static String describe(String expectation, StatementStats stats) {
+        StringBuilder message = new StringBuilder(expectation)
+                .append(" but ").append(stats.getStatementCount()).append(" were executed in ")
+                .append(stats.getJdbcTime(TimeUnit.MILLISECONDS)).append(" ms:");
+        stats.getTopFingerprints(REPORTED_FINGERPRINTS).forEach(fingerprint -> message.append("\n  ").append(fingerprint));
+        return message.toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.epam.esm.dao.statement;
+
+/**
+ * This class collects statements which Hibernate executes in the current thread, e.g. during one HTTP request
+ * or one block of a test. Scopes may be nested, a statement is added to the current scope and all outer ones.
+ * Statements which are executed outside of any scope are not collected.
+ * <p>
+ * Statements are reported by {@link CountingStatementInspector} and {@link JdbcTimeSessionEventListener}.
+ *
+ * @since 5.0
+ */
+public class StatementScope implements AutoCloseable {
+
+    private static final ThreadLocal<StatementScope> CURRENT = new ThreadLocal<>();
+
+    private final StatementScope parent;
+    private final StatementStats stats = new StatementStats();
+    private boolean closed;
+
+    private StatementScope(StatementScope parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * This method opens a new scope in the current thread, it must be closed in the same thread.
+     *
+     * @return opened scope.
+     */
+    public static StatementScope open() {
+        StatementScope scope = new StatementScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void recordStatement(String sql) {
+        for (StatementScope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.stats.addStatement(sql);
+        }
+    }
+
+    static void recordJdbcTime(long nanos) {
+        for (StatementScope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.stats.addJdbcTime(nanos);
+        }
+    }
+
+    public StatementStats getStats() {
+        return stats;
+    }
+
+    /**
+     * This method closes the scope and makes the outer scope current again.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
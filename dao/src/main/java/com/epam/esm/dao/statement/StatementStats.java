@@ -0,0 +1,69 @@
+package com.epam.esm.dao.statement;
+
+import com.epam.esm.constants.ApplicationConstants;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Statements which were executed in one {@link StatementScope}: their count, total JDBC time and counts
+ * of statements by their SQL. Only the first {@link ApplicationConstants#MAX_RECORDED_STATEMENTS} distinct
+ * statements are kept, other statements are only counted. Statements are recorded as they are and normalized
+ * to fingerprints only when fingerprints are requested, e.g. when the budget is exceeded, so recording stays cheap.
+ *
+ * @since 5.0
+ */
+public class StatementStats {
+
+    private int statementCount;
+    private long jdbcNanos;
+    private final Map<String, Integer> statements = new LinkedHashMap<>();
+
+    void addStatement(String sql) {
+        statementCount++;
+        if (statements.size() < ApplicationConstants.MAX_RECORDED_STATEMENTS || statements.containsKey(sql)) {
+            statements.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void addJdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getJdbcTime(TimeUnit unit) {
+        return unit.convert(jdbcNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * This method normalizes recorded statements to fingerprints.
+     *
+     * @return counts of statements by fingerprint in order of the first execution.
+     */
+    public Map<String, Integer> getFingerprints() {
+        Map<String, Integer> fingerprints = new LinkedHashMap<>();
+        statements.forEach((sql, count) -> fingerprints.merge(SqlFingerprints.of(sql), count, Integer::sum));
+        return Collections.unmodifiableMap(fingerprints);
+    }
+
+    /**
+     * This method gets the most frequent fingerprints, which usually point to N+1 selects.
+     *
+     * @param limit max number of fingerprints.
+     * @return fingerprints with counts like {@code 12 x select ...}, the most frequent first.
+     */
+    public List<String> getTopFingerprints(int limit) {
+        return getFingerprints().entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .map(entry -> entry.getValue() + " x " + entry.getKey())
+                .collect(Collectors.toList());
+    }
+}
@@ -1,9 +1,11 @@
 package com.epam.esm.entity;
 
+import com.epam.esm.constants.ApplicationConstants;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.envers.Audited;
@@ -34,6 +36,7 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @Audited
+@BatchSize(size = ApplicationConstants.BATCH_FETCH_SIZE)
 public class GiftCertificate {
 
     @Id
@@ -67,6 +70,7 @@ public class GiftCertificate {
     @EqualsAndHashCode.Exclude
     @OneToMany(fetch = FetchType.LAZY,
             cascade = {CascadeType.DETACH, CascadeType.PERSIST, CascadeType.REFRESH})
+    @BatchSize(size = ApplicationConstants.BATCH_FETCH_SIZE)
     @JoinTable(name = "certificates_tags",
             joinColumns = @JoinColumn(name = "certificate_id", referencedColumnName = "id"),
             inverseJoinColumns = @JoinColumn(name = "tag_id", referencedColumnName = "id"))
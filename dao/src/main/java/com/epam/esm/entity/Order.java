@@ -1,13 +1,16 @@
 package com.epam.esm.entity;
 
+import com.epam.esm.constants.ApplicationConstants;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.envers.Audited;
 import org.hibernate.envers.NotAudited;
 
+import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
@@ -21,6 +24,7 @@ import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -50,11 +54,9 @@ public class Order {
     @NotAudited
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
-    @OneToMany(fetch = FetchType.EAGER)
-    @JoinTable(name = "orders_certificates",
-            joinColumns = @JoinColumn(name = "order_id", referencedColumnName = "id"),
-            inverseJoinColumns = @JoinColumn(name = "certificate_id", referencedColumnName = "id"))
-    private List<GiftCertificate> giftCertificates;
+    @OneToMany(mappedBy = "order", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = ApplicationConstants.BATCH_FETCH_SIZE)
+    private List<OrderLine> orderLines = new ArrayList<>();
 
     @NotAudited
     @ToString.Exclude
@@ -64,4 +66,15 @@ public class Order {
             joinColumns = @JoinColumn(name = "order_id", referencedColumnName = "id"),
             inverseJoinColumns = @JoinColumn(name = "user_id", referencedColumnName = "id"))
     private User user;
+
+    /**
+     * Add a line with given quantity of the GiftCertificate to the order.
+     *
+     * @param giftCertificate ordered GiftCertificate.
+     * @param quantity        count of ordered units.
+     * @since 5.0
+     */
+    public void addLine(GiftCertificate giftCertificate, int quantity) {
+        orderLines.add(new OrderLine(this, giftCertificate, quantity));
+    }
 }
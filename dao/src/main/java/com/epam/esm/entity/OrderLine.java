@@ -0,0 +1,75 @@
+package com.epam.esm.entity;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.MapsId;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+
+/**
+ * OrderLine entity. It stores how many units of a GiftCertificate are ordered
+ * and the price of a unit at the moment of the order.
+ *
+ * @since 5.0
+ */
+@Entity
+@Table(name = "orders_certificates")
+@Data
+@NoArgsConstructor
+public class OrderLine {
+
+    @EmbeddedId
+    private OrderLineId id = new OrderLineId();
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @MapsId("orderId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id")
+    private Order order;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @MapsId("certificateId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "certificate_id")
+    private GiftCertificate giftCertificate;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(name = "unit_price", nullable = false)
+    private BigDecimal unitPrice;
+
+    /**
+     * Create a line of the order, the unit price is taken from the current price of the certificate.
+     *
+     * @param order           Order of the line.
+     * @param giftCertificate ordered GiftCertificate.
+     * @param quantity        count of ordered units.
+     * @since 5.0
+     */
+    public OrderLine(Order order, GiftCertificate giftCertificate, int quantity) {
+        this.order = order;
+        this.giftCertificate = giftCertificate;
+        this.quantity = quantity;
+        this.unitPrice = giftCertificate.getPrice();
+    }
+
+    /**
+     * @return cost of all units of the line.
+     * @since 5.0
+     */
+    public BigDecimal getCost() {
+        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+}
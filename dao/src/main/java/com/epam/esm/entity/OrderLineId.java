@@ -0,0 +1,29 @@
+package com.epam.esm.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+
+/**
+ * Id of the OrderLine entity. An Order has one line per GiftCertificate.
+ *
+ * @since 5.0
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLineId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "certificate_id")
+    private Long certificateId;
+}
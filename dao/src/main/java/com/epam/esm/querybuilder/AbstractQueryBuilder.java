@@ -1,30 +1,74 @@
 package com.epam.esm.querybuilder;
 
 import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.querybuilder.keyset.InvalidCursorException;
+import com.epam.esm.querybuilder.keyset.KeysetCursor;
 import com.epam.esm.querybuilder.parameterparser.ParameterParser;
 import com.epam.esm.querybuilder.parameterparser.enums.Operators;
 import com.epam.esm.querybuilder.parameterparser.parserresult.ParserResult;
+import com.epam.esm.querybuilder.plan.ParameterSource;
+import com.epam.esm.querybuilder.plan.QueryParameters;
+import com.epam.esm.querybuilder.plan.QueryPlan;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import javax.persistence.criteria.AbstractQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
  * Abstract QueryBuilder which uses template method with common logic.
+ * <p>
+ * Built queries are cached by the shape of request parameters: filters, operators, counts of values and sorting.
+ * Values of the request are added to criteria queries as parameters only, so a query is built and rendered once
+ * for each shape and queries of other requests of the same shape are bound with their values.
  *
  * @since 2.0
  */
 public abstract class AbstractQueryBuilder<T> {
 
+    private static final Set<String> NON_FILTER_KEYS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            ApplicationConstants.LIMIT_KEY,
+            ApplicationConstants.OFFSET_KEY,
+            ApplicationConstants.SORT_FIELDS_KEY,
+            ApplicationConstants.ORDER_KEY,
+            ApplicationConstants.AFTER_KEY,
+            ApplicationConstants.BEFORE_KEY,
+            ApplicationConstants.WITH_COUNT_KEY)));
+
     protected final EntityManager entityManager;
     protected final ParameterParser parser;
+    private final Cache<List<Object>, QueryPlan<?>> planCache = Caffeine.newBuilder()
+            .maximumSize(ApplicationConstants.QUERY_PLAN_CACHE_MAX_SIZE)
+            .recordStats()
+            .build();
 
     protected AbstractQueryBuilder(EntityManager entityManager, ParameterParser parser) {
         this.entityManager = entityManager;
@@ -35,81 +79,178 @@ public abstract class AbstractQueryBuilder<T> {
      * This method parses parameters and constructs LIKE statement according to passed operator.
      *
      * @param predicates all predicates of current creating query.
+     * @param parameters parameters of current creating query.
      * @param params     parameters of request
+     * @param key        key of the parameters of request.
      * @param field      field for Like query.
      * @since 2.0
      */
-    protected void likeProcess(CriteriaBuilder criteriaBuilder, Root<T> root, List<Predicate> predicates, String[] params,
-                               String field) {
-        Stream.of(params).forEach(param -> {
-            ParserResult parserResult = parser.parseRequestParameter(param);
+    protected void likeProcess(CriteriaBuilder criteriaBuilder, Root<T> root, List<Predicate> predicates,
+                               QueryParameters parameters, String[] params, String key, String field) {
+        for (int occurrence = 0; occurrence < params.length; occurrence++) {
+            ParserResult parserResult = parser.parseRequestParameter(params[occurrence]);
             Operators operator = parserResult.getOperator();
-            String[] values = parserResult.getParameters();
+            ParameterSource<String[]> valuesSource = getValuesSource(key, occurrence);
+            Stream<Predicate> valuePredicates = IntStream.range(0, parserResult.getParameters().length)
+                    .mapToObj(index -> getLikePredicate(parameters.add(criteriaBuilder, String.class,
+                            reqParams -> "%" + valuesSource.get(reqParams)[index] + "%"), field, criteriaBuilder, root));
             if (ApplicationConstants.AND_OPERATOR_NAME.equals(operator.name())) {
-                Stream.of(values)
-                        .map(value -> getLikePredicate(value, field, criteriaBuilder, root))
-                        .reduce(criteriaBuilder::and).ifPresent(predicates::add);
+                valuePredicates.reduce(criteriaBuilder::and).ifPresent(predicates::add);
             } else {
-                Stream.of(values)
-                        .map(value -> getLikePredicate(value, field, criteriaBuilder, root))
-                        .reduce(criteriaBuilder::or).ifPresent(predicates::add);
+                valuePredicates.reduce(criteriaBuilder::or).ifPresent(predicates::add);
             }
-        });
+        }
+    }
+
+    /**
+     * This method gets a source of the values which are passed in the given occurrence of the request parameter.
+     *
+     * @param key        key of the request parameter.
+     * @param occurrence index of the occurrence, a parameter may be passed several times.
+     * @return source of parsed values.
+     * @since 5.0
+     */
+    protected ParameterSource<String[]> getValuesSource(String key, int occurrence) {
+        return reqParams -> parser.parseRequestParameter(reqParams.get(key)[occurrence]).getParameters();
     }
 
 
     /**
-     * This method parses parameters and constructs JOIN statement according to passed operator.
+     * This method parses parameters and constructs predicate by the field of associated entities according to passed
+     * operator. Values of one parameter are compared with one IN statement, i.e. one join for any count of values.
+     * <p>
+     * Entities of a collection attribute are matched with a semi-join, so rows of the root entity are never multiplied:
+     * <pre>
+     * root.id IN (SELECT e.id FROM Entity e JOIN e.attribute a WHERE a.field IN (:values)
+     *             [GROUP BY e.id HAVING count(DISTINCT a.field) = :valuesCount])
+     * </pre>
+     * where GROUP BY is added for AND operator only. A single-valued attribute is joined directly.
      *
      * @param predicates    all predicates of current creating query.
+     * @param parameters    parameters of current creating query.
      * @param params        parameters of request
-     * @param field         field for JOIN query.
-     * @param attributeName field for JOIN query.
+     * @param key           key of the parameters of request.
+     * @param field         field of associated entity for comparing.
+     * @param attributeName attribute of entity for joining.
      * @since 2.0
      */
-    protected void joinProcess(CriteriaBuilder criteriaBuilder, Root<T> root, List<Predicate> predicates, String[] params,
-                               String field, String attributeName) {
-        Stream.of(params).forEach(param -> {
-            ParserResult parserResult = parser.parseRequestParameter(param);
+    protected void joinProcess(CriteriaBuilder criteriaBuilder, AbstractQuery<?> query, Root<T> root, List<Predicate> predicates,
+                               QueryParameters parameters, String[] params, String key, String field, String attributeName) {
+        boolean isCollection = root.getModel().getAttribute(attributeName).isCollection();
+        for (int occurrence = 0; occurrence < params.length; occurrence++) {
+            ParserResult parserResult = parser.parseRequestParameter(params[occurrence]);
             Operators operator = parserResult.getOperator();
-            String[] values = parserResult.getParameters();
+            int valuesCount = getDistinctValues(parserResult.getParameters()).size();
+            boolean matchAll = ApplicationConstants.AND_OPERATOR_NAME.equals(operator.name());
+            ParameterSource<String[]> valuesSource = getValuesSource(key, occurrence);
+            ParameterSource<List<String>> distinctValuesSource = reqParams -> getDistinctValues(valuesSource.get(reqParams));
 
-            if (ApplicationConstants.AND_OPERATOR_NAME.equals(operator.name())) {
-                Stream.of(values)
-                        .map(value -> getJoinPredicate(value, field, attributeName, criteriaBuilder, root))
-                        .reduce(criteriaBuilder::and).ifPresent(predicates::add);
+            if (isCollection) {
+                predicates.add(getSemiJoinPredicate(distinctValuesSource, valuesCount, matchAll, field, attributeName,
+                        criteriaBuilder, query, root, parameters));
+            } else if (matchAll && valuesCount > 1) {
+                //single-valued attribute can't be equal to different values
+                predicates.add(criteriaBuilder.disjunction());
             } else {
-                Stream.of(values)
-                        .map(value -> getJoinPredicate(value, field, attributeName, criteriaBuilder, root))
-                        .reduce(criteriaBuilder::or).ifPresent(predicates::add);
+                Path<Object> path = root.join(attributeName).get(field);
+                predicates.add(path.in(getValueParameters(path.getJavaType(), distinctValuesSource, valuesCount,
+                        criteriaBuilder, parameters)));
             }
-        });
+        }
+    }
+
+    /**
+     * This method gets predicate which selects root entities associated with entities whose field is in the passed values.
+     *
+     * @param valuesSource  source of distinct passed values.
+     * @param valuesCount   count of distinct passed values.
+     * @param matchAll      true if the root entity must be associated with all values, otherwise any of them.
+     * @param fieldName     the field with which to compare.
+     * @param attributeName collection attribute of entity for joining.
+     * @return IN predicate with subquery.
+     * @since 5.0
+     */
+    private Predicate getSemiJoinPredicate(ParameterSource<List<String>> valuesSource, int valuesCount, boolean matchAll,
+                                           String fieldName, String attributeName, CriteriaBuilder criteriaBuilder,
+                                           AbstractQuery<?> query, Root<T> root, QueryParameters parameters) {
+        Subquery<Object> subquery = query.subquery(Object.class);
+        Root<T> subRoot = subquery.from(getGenericClass());
+        Path<Object> path = subRoot.join(attributeName).get(fieldName);
+        subquery.select(subRoot.get(ApplicationConstants.ID_FIELD))
+                .where(path.in(getValueParameters(path.getJavaType(), valuesSource, valuesCount, criteriaBuilder, parameters)));
+        if (matchAll && valuesCount > 1) {
+            subquery.groupBy(subRoot.get(ApplicationConstants.ID_FIELD))
+                    .having(criteriaBuilder.equal(criteriaBuilder.countDistinct(path), (long) valuesCount));
+        }
+        return root.get(ApplicationConstants.ID_FIELD).in(subquery);
+    }
+
+    /**
+     * This method adds a parameter for each of the passed values, values are converted to the java type of the field.
+     *
+     * @param javaType     java type of the field.
+     * @param valuesSource source of passed values.
+     * @param valuesCount  count of passed values.
+     * @return parameters for IN statement.
+     * @since 5.0
+     */
+    private Expression<?>[] getValueParameters(Class<?> javaType, ParameterSource<List<String>> valuesSource, int valuesCount,
+                                               CriteriaBuilder criteriaBuilder, QueryParameters parameters) {
+        return IntStream.range(0, valuesCount)
+                .<Expression<?>>mapToObj(index -> parameters.add(criteriaBuilder, javaType,
+                        reqParams -> convertParameter(javaType, valuesSource.get(reqParams).get(index))))
+                .toArray(Expression<?>[]::new);
+    }
+
+    private List<String> getDistinctValues(String[] values) {
+        return new ArrayList<>(new LinkedHashSet<>(Arrays.asList(values)));
+    }
+
+    /**
+     * This method converts string value of request parameter to the java type of the field, IN statement
+     * doesn't convert it itself.
+     *
+     * @param javaType java type of the field.
+     * @param value    string value.
+     * @return converted value.
+     * @throws NumberFormatException if the field is numeric and the value is not a number.
+     * @since 5.0
+     */
+    private Object convertParameter(Class<?> javaType, String value) {
+        if (Long.class.equals(javaType) || long.class.equals(javaType)) {
+            return Long.valueOf(value);
+        }
+        if (Integer.class.equals(javaType) || int.class.equals(javaType)) {
+            return Integer.valueOf(value);
+        }
+        return value;
     }
 
     /**
      * This method parses parameters and constructs EQUAL statement according to passed operator.
      *
      * @param predicates all predicates of current creating query.
+     * @param parameters parameters of current creating query.
      * @param params     parameters of request
+     * @param key        key of the parameters of request.
      * @param field      field for EQUAL query.
      * @since 2.0
      */
-    protected void equalProcess(CriteriaBuilder criteriaBuilder, Root<T> root, List<Predicate> predicates, String[] params,
-                                String field) {
-        Stream.of(params).forEach(param -> {
-            ParserResult parserResult = parser.parseRequestParameter(param);
+    protected void equalProcess(CriteriaBuilder criteriaBuilder, Root<T> root, List<Predicate> predicates,
+                                QueryParameters parameters, String[] params, String key, String field) {
+        for (int occurrence = 0; occurrence < params.length; occurrence++) {
+            ParserResult parserResult = parser.parseRequestParameter(params[occurrence]);
             Operators operator = parserResult.getOperator();
-            String[] values = parserResult.getParameters();
+            ParameterSource<String[]> valuesSource = getValuesSource(key, occurrence);
+            Stream<Predicate> valuePredicates = IntStream.range(0, parserResult.getParameters().length)
+                    .mapToObj(index -> getEqualsPredicate(parameters.add(criteriaBuilder, String.class,
+                            reqParams -> valuesSource.get(reqParams)[index]), field, criteriaBuilder, root));
             if (ApplicationConstants.AND_OPERATOR_NAME.equals(operator.name())) {
-                Stream.of(values)
-                        .map(value -> getEqualsPredicate(value, field, criteriaBuilder, root))
-                        .reduce(criteriaBuilder::and).ifPresent(predicates::add);
+                valuePredicates.reduce(criteriaBuilder::and).ifPresent(predicates::add);
             } else {
-                Stream.of(values)
-                        .map(value -> getEqualsPredicate(value, field, criteriaBuilder, root))
-                        .reduce(criteriaBuilder::or).ifPresent(predicates::add);
+                valuePredicates.reduce(criteriaBuilder::or).ifPresent(predicates::add);
             }
-        });
+        }
     }
 
 
@@ -123,12 +264,45 @@ public abstract class AbstractQueryBuilder<T> {
      * @since 2.0
      */
     public TypedQuery<T> buildQuery(Map<String, String[]> reqParams, int limit, int offset) {
+        TypedQuery<T> query = buildQuery(reqParams);
+
+        //limit&offset
+        query.setMaxResults(limit);
+        query.setFirstResult(offset);
+
+        return query;
+    }
+
+    /**
+     * This method constructs query for all entities matching given request parameters without pagination.
+     *
+     * @param reqParams request parameters.
+     * @return query for executing.
+     * @since 5.0
+     */
+    public TypedQuery<T> buildQuery(Map<String, String[]> reqParams) {
+        String[] sortFields = reqParams.get(ApplicationConstants.SORT_FIELDS_KEY);
+        List<Object> shape = getShape(QueryKind.LIST, reqParams,
+                sortFields == null ? null : Arrays.asList(sortFields), isDescOrder(reqParams));
+        return getPlan(shape, () -> compileQuery(reqParams)).createQuery(entityManager, reqParams);
+    }
+
+    /**
+     * This method builds criteria query for all entities matching given request parameters and compiles it to a plan
+     * for requests of the same shape.
+     *
+     * @param reqParams request parameters.
+     * @return compiled query plan.
+     * @since 5.0
+     */
+    private QueryPlan<T> compileQuery(Map<String, String[]> reqParams) {
         CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
         CriteriaQuery<T> criteriaQuery = criteriaBuilder.createQuery(getGenericClass());
         Root<T> root = criteriaQuery.from(getGenericClass());
+        QueryParameters parameters = new QueryParameters();
 
         //where
-        List<Predicate> wherePredicates = getWherePredicates(reqParams, criteriaBuilder, root);
+        List<Predicate> wherePredicates = getWherePredicates(reqParams, criteriaBuilder, criteriaQuery, root, parameters);
         wherePredicates.stream()
                 .reduce(criteriaBuilder::or)
                 .ifPresent(criteriaQuery::where);
@@ -147,64 +321,450 @@ public abstract class AbstractQueryBuilder<T> {
             }
         }
 
-        //limit&offset
-        criteriaQuery.distinct(true);
-        TypedQuery<T> query = entityManager.createQuery(criteriaQuery);
+        //only joined collections duplicate rows, without them DISTINCT isn't needed and can't be sorted by not selected expressions
+        boolean isDistinct = hasCollectionJoins(root);
+        if (params == null && !isDistinct) {
+            List<Order> defaultOrders = getDefaultOrders(reqParams, criteriaBuilder, root, parameters);
+            if (!defaultOrders.isEmpty()) {
+                criteriaQuery.orderBy(defaultOrders);
+            }
+        }
 
+        criteriaQuery.distinct(isDistinct);
+        return QueryPlan.of(entityManager, criteriaQuery, parameters);
+    }
+
+    /**
+     * This method checks if the query joins collections of the root entity, i.e. if rows of the root entity
+     * may be duplicated.
+     *
+     * @return true if any joined attribute is a collection.
+     * @since 5.0
+     */
+    private boolean hasCollectionJoins(Root<T> root) {
+        return root.getJoins().stream()
+                .anyMatch(join -> join.getAttribute().isCollection());
+    }
+
+    /**
+     * This method gets orders which are used if sort fields aren't passed, e.g. by relevance of text search.
+     * They are applied only when the query doesn't join collections.
+     *
+     * @param reqParams  request parameters.
+     * @param parameters parameters of current creating query.
+     * @return list of orders, empty list means that rows are not sorted.
+     * @since 5.0
+     */
+    protected List<Order> getDefaultOrders(Map<String, String[]> reqParams, CriteriaBuilder criteriaBuilder, Root<T> root,
+                                           QueryParameters parameters) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * This method constructs count query for entity according to given request parameters.
+     * Where predicates are the same as in {@link #buildQuery(Map, int, int)}, joined rows are counted once.
+     *
+     * @param reqParams request parameters.
+     * @return query which returns the number of entities matching the filters.
+     * @since 5.0
+     */
+    public TypedQuery<Long> buildCountQuery(Map<String, String[]> reqParams) {
+        List<Object> shape = getShape(QueryKind.COUNT, reqParams);
+        return getPlan(shape, () -> compileCountQuery(reqParams)).createQuery(entityManager, reqParams);
+    }
+
+    private QueryPlan<Long> compileCountQuery(Map<String, String[]> reqParams) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = criteriaBuilder.createQuery(Long.class);
+        Root<T> root = criteriaQuery.from(getGenericClass());
+        QueryParameters parameters = new QueryParameters();
+
+        //where
+        List<Predicate> wherePredicates = getWherePredicates(reqParams, criteriaBuilder, criteriaQuery, root, parameters);
+        wherePredicates.stream()
+                .reduce(criteriaBuilder::or)
+                .ifPresent(criteriaQuery::where);
+
+        criteriaQuery.select(hasCollectionJoins(root) ? criteriaBuilder.countDistinct(root) : criteriaBuilder.count(root));
+        return QueryPlan.of(entityManager, criteriaQuery, parameters);
+    }
+
+    /**
+     * This method constructs version query for entity according to given request parameters.
+     * Where predicates are the same as in {@link #buildQuery(Map, int, int)}, joined rows are counted once.
+     *
+     * @param reqParams    request parameters.
+     * @param versionField field of the entity which is changed on each update of the entity.
+     * @return query which returns the number of entities matching the filters and the max value of the version field.
+     * @since 5.0
+     */
+    public TypedQuery<Object[]> buildVersionQuery(Map<String, String[]> reqParams, String versionField) {
+        List<Object> shape = getShape(QueryKind.VERSION, reqParams, versionField);
+        return getPlan(shape, () -> compileVersionQuery(reqParams, versionField)).createQuery(entityManager, reqParams);
+    }
+
+    private QueryPlan<Object[]> compileVersionQuery(Map<String, String[]> reqParams, String versionField) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> criteriaQuery = criteriaBuilder.createQuery(Object[].class);
+        Root<T> root = criteriaQuery.from(getGenericClass());
+        QueryParameters parameters = new QueryParameters();
+
+        //where
+        List<Predicate> wherePredicates = getWherePredicates(reqParams, criteriaBuilder, criteriaQuery, root, parameters);
+        wherePredicates.stream()
+                .reduce(criteriaBuilder::or)
+                .ifPresent(criteriaQuery::where);
+
+        criteriaQuery.multiselect(hasCollectionJoins(root) ? criteriaBuilder.countDistinct(root) : criteriaBuilder.count(root),
+                criteriaBuilder.greatest(root.<LocalDateTime>get(versionField)));
+        return QueryPlan.of(entityManager, criteriaQuery, parameters);
+    }
+
+    /**
+     * This method gets the shape of given request parameters: the kind of the query, filters with operators and
+     * counts of values of each passed parameter and options of the query kind, e.g. sorting. Requests of the same shape
+     * use the same query plan.
+     *
+     * @param kind      kind of the query.
+     * @param reqParams request parameters.
+     * @param options   options of the query which change its structure.
+     * @return shape of the request.
+     * @since 5.0
+     */
+    private List<Object> getShape(QueryKind kind, Map<String, String[]> reqParams, Object... options) {
+        Map<String, List<String>> filters = new TreeMap<>();
+        reqParams.forEach((key, values) -> {
+            if (!NON_FILTER_KEYS.contains(key) && values != null) {
+                filters.put(key, Stream.of(values)
+                        .map(value -> getParameterShape(key, parser.parseRequestParameter(value)))
+                        .collect(Collectors.toList()));
+            }
+        });
+        List<Object> shape = new ArrayList<>(options.length + 2);
+        shape.add(kind);
+        shape.add(filters);
+        shape.addAll(Arrays.asList(options));
+        return shape;
+    }
+
+    /**
+     * This method gets the shape of one passed request parameter. By default it is the operator, the count of values
+     * and the count of distinct values.
+     *
+     * @param key          key of the request parameter.
+     * @param parserResult parsed request parameter.
+     * @return shape of the parameter.
+     * @since 5.0
+     */
+    protected String getParameterShape(String key, ParserResult parserResult) {
+        String[] values = parserResult.getParameters();
+        return parserResult.getOperator().name() + values.length + "/" + getDistinctValues(values).size();
+    }
+
+    /**
+     * This method gets the query plan of the shape from the cache or compiles it.
+     *
+     * @param shape    shape of request parameters.
+     * @param compiler function which compiles the plan for the current request.
+     * @return query plan.
+     * @since 5.0
+     */
+    @SuppressWarnings("unchecked")
+    private <R> QueryPlan<R> getPlan(List<Object> shape, Supplier<QueryPlan<R>> compiler) {
+        return (QueryPlan<R>) planCache.get(shape, key -> compiler.get());
+    }
+
+    /**
+     * This method gets statistics of the query plan cache, e.g. its hit rate.
+     *
+     * @return statistics of the cache.
+     * @since 5.0
+     */
+    public CacheStats getPlanCacheStats() {
+        return planCache.stats();
+    }
+
+    /**
+     * This method gets a normalized signature of the filters from given request parameters.
+     * Sorting and pagination parameters are skipped, keys and values are sorted.
+     *
+     * @param reqParams request parameters.
+     * @return signature of the filters.
+     * @since 5.0
+     */
+    public String getFilterSignature(Map<String, String[]> reqParams) {
+        Map<String, String> filters = new TreeMap<>();
+        reqParams.forEach((key, values) -> {
+            if (!NON_FILTER_KEYS.contains(key) && values != null) {
+                filters.put(key, Stream.of(values)
+                        .map(String::trim)
+                        .sorted()
+                        .collect(Collectors.joining("&", "[", "]")));
+            }
+        });
+        return getGenericClass().getSimpleName() + filters;
+    }
+
+    /**
+     * This method gets the shape of the filters from given request parameters: supported filter keys with operators of
+     * their first values, e.g. {@code namesPart:NONE,tagNames:OR}. Values, unknown keys, sorting and pagination
+     * are skipped, so the number of distinct shapes is small and shapes can be used as tags of metrics.
+     *
+     * @param reqParams request parameters.
+     * @return shape of the filters, {@value ApplicationConstants#NO_FILTERS_SHAPE} if there are no filters.
+     * @since 5.0
+     */
+    public String getFilterShape(Map<String, String[]> reqParams) {
+        Map<String, Operators> filters = new TreeMap<>();
+        reqParams.forEach((key, values) -> {
+            if (getFilterKeys().contains(key) && values != null && values.length > 0) {
+                filters.put(key, parser.parseRequestParameter(values[0]).getOperator());
+            }
+        });
+        if (filters.isEmpty()) {
+            return ApplicationConstants.NO_FILTERS_SHAPE;
+        }
+        return filters.entrySet().stream()
+                .map(filter -> filter.getKey() + ":" + filter.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * This method gets the name of the entity of built queries.
+     *
+     * @return simple name of the entity class.
+     * @since 5.0
+     */
+    public String getEntityName() {
+        return getGenericClass().getSimpleName();
+    }
+
+    /**
+     * This method constructs keyset (seek) query for entity according to given request parameters.
+     * Instead of skipping offset rows the query seeks directly to the cursor position using the sort field and id.
+     *
+     * @param reqParams request parameters.
+     * @param limit     for pagination.
+     * @param cursor    position of the row after(or before) which rows are selected,
+     *                  null means the start(or the end) of the result set.
+     * @param backward  true if rows before the cursor are selected, such rows are returned in reversed order.
+     * @return query for executing.
+     * @throws InvalidCursorException if the cursor doesn't match the sort field of the query.
+     * @since 5.0
+     */
+    public TypedQuery<T> buildKeysetQuery(Map<String, String[]> reqParams, int limit, KeysetCursor cursor, boolean backward) {
+        String sortField = getKeysetSortField(reqParams);
+        //rows before the cursor are selected in reversed order
+        boolean isDesc = isDescOrder(reqParams) != backward;
+        boolean hasCursor = cursor != null;
+
+        List<Object> shape = getShape(QueryKind.KEYSET, reqParams, sortField, isDesc, hasCursor);
+        TypedQuery<T> query = getPlan(shape, () -> compileKeysetQuery(reqParams, sortField, isDesc, hasCursor))
+                .createQuery(entityManager, reqParams);
+        if (hasCursor) {
+            bindCursor(query, cursor, sortField);
+        }
+
+        //limit
         query.setMaxResults(limit);
-        query.setFirstResult(offset);
 
         return query;
     }
 
+    private QueryPlan<T> compileKeysetQuery(Map<String, String[]> reqParams, String sortField, boolean isDesc, boolean hasCursor) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> criteriaQuery = criteriaBuilder.createQuery(getGenericClass());
+        Root<T> root = criteriaQuery.from(getGenericClass());
+        QueryParameters parameters = new QueryParameters();
+
+        //where
+        List<Predicate> wherePredicates = getWherePredicates(reqParams, criteriaBuilder, criteriaQuery, root, parameters);
+        Optional<Predicate> filterPredicate = wherePredicates.stream()
+                .reduce(criteriaBuilder::or);
+        if (hasCursor) {
+            Predicate seekPredicate = getSeekPredicate(sortField, isDesc, criteriaBuilder, root);
+            filterPredicate = Optional.of(filterPredicate
+                    .map(predicate -> criteriaBuilder.and(predicate, seekPredicate))
+                    .orElse(seekPredicate));
+        }
+        filterPredicate.ifPresent(criteriaQuery::where);
+
+        //sort with id as a tiebreaker
+        criteriaQuery.orderBy(getKeysetOrders(sortField, isDesc, criteriaBuilder, root));
+
+        criteriaQuery.distinct(hasCollectionJoins(root));
+        return QueryPlan.of(entityManager, criteriaQuery, parameters);
+    }
+
+    /**
+     * This method gets the field which is used for keyset pagination. It is the first passed sort field
+     * if the entity can be sorted by it, otherwise id.
+     *
+     * @param reqParams request parameters.
+     * @return name of the sort field.
+     * @since 5.0
+     */
+    public String getKeysetSortField(Map<String, String[]> reqParams) {
+        String[] sortFields = reqParams.get(ApplicationConstants.SORT_FIELDS_KEY);
+        if (sortFields != null && sortFields.length > 0 && sortFields[0] != null
+                && getSortFields().contains(sortFields[0].trim())) {
+            return sortFields[0].trim();
+        }
+        return ApplicationConstants.ID_FIELD;
+    }
+
+    /**
+     * This method checks if descending order is requested.
+     *
+     * @param reqParams request parameters.
+     * @return true if descending order is requested.
+     * @since 5.0
+     */
+    private boolean isDescOrder(Map<String, String[]> reqParams) {
+        String[] orderValues = reqParams.get(ApplicationConstants.ORDER_KEY);
+        return orderValues != null && orderValues.length > 0 && orderValues[0] != null
+                && ApplicationConstants.DESC_ORDER.equalsIgnoreCase(orderValues[0].trim());
+    }
+
+    /**
+     * This method gets predicate which selects rows located after the cursor in the given sort order.
+     * Values of the cursor are parameters which are bound by {@link #bindCursor(TypedQuery, KeysetCursor, String)}.
+     *
+     * @param sortField field which is used for sorting.
+     * @param isDesc    true if rows are sorted in descending order.
+     * @return seek predicate.
+     * @since 5.0
+     */
+    private <Y extends Comparable<? super Y>> Predicate getSeekPredicate(String sortField, boolean isDesc,
+                                                                         CriteriaBuilder criteriaBuilder, Root<T> root) {
+        Path<Long> idPath = root.get(ApplicationConstants.ID_FIELD);
+        ParameterExpression<Long> id = criteriaBuilder.parameter(Long.class, ApplicationConstants.CURSOR_ID_PARAMETER);
+        Predicate idPredicate = isDesc ? criteriaBuilder.lessThan(idPath, id) : criteriaBuilder.greaterThan(idPath, id);
+        if (ApplicationConstants.ID_FIELD.equals(sortField)) {
+            return idPredicate;
+        }
+
+        Path<Y> sortPath = root.get(sortField);
+        ParameterExpression<? extends Y> value = criteriaBuilder.parameter(sortPath.getJavaType(),
+                ApplicationConstants.CURSOR_VALUE_PARAMETER);
+        Predicate beyondPredicate = isDesc ? criteriaBuilder.lessThan(sortPath, value)
+                : criteriaBuilder.greaterThan(sortPath, value);
+        return criteriaBuilder.or(beyondPredicate, criteriaBuilder.and(criteriaBuilder.equal(sortPath, value), idPredicate));
+    }
+
+    /**
+     * This method binds values of the cursor to the parameters of the seek predicate.
+     *
+     * @param query     keyset query with seek predicate.
+     * @param cursor    position of the last seen row.
+     * @param sortField field which is used for sorting.
+     * @throws InvalidCursorException if the cursor doesn't match the sort field or contains invalid value.
+     * @since 5.0
+     */
+    private void bindCursor(TypedQuery<T> query, KeysetCursor cursor, String sortField) {
+        if (!sortField.equals(cursor.getSortField())) {
+            throw new InvalidCursorException(String.format("Cursor is built for the field %s but the query is sorted by %s",
+                    cursor.getSortField(), sortField));
+        }
+        query.setParameter(ApplicationConstants.CURSOR_ID_PARAMETER, cursor.getId());
+        if (!ApplicationConstants.ID_FIELD.equals(sortField)) {
+            if (cursor.getSortValue() == null) {
+                throw new InvalidCursorException(String.format("Cursor doesn't contain a value of the field %s", sortField));
+            }
+            Class<?> javaType = entityManager.getMetamodel().entity(getGenericClass()).getAttribute(sortField).getJavaType();
+            query.setParameter(ApplicationConstants.CURSOR_VALUE_PARAMETER, convertValue(javaType, cursor.getSortValue()));
+        }
+    }
+
+    /**
+     * This method gets orders for keyset query: the sort field and id as a tiebreaker.
+     *
+     * @param sortField field which is used for sorting.
+     * @param isDesc    true if rows are sorted in descending order.
+     * @return list of orders.
+     * @since 5.0
+     */
+    private List<Order> getKeysetOrders(String sortField, boolean isDesc, CriteriaBuilder criteriaBuilder, Root<T> root) {
+        List<Order> orders = new ArrayList<>();
+        if (!ApplicationConstants.ID_FIELD.equals(sortField)) {
+            orders.add(isDesc ? criteriaBuilder.desc(root.get(sortField)) : criteriaBuilder.asc(root.get(sortField)));
+        }
+        Path<Object> idPath = root.get(ApplicationConstants.ID_FIELD);
+        orders.add(isDesc ? criteriaBuilder.desc(idPath) : criteriaBuilder.asc(idPath));
+        return orders;
+    }
+
+    /**
+     * This method converts a string value from the cursor to the java type of the sort field.
+     *
+     * @param javaType java type of the sort field.
+     * @param value    string value from the cursor.
+     * @return converted value.
+     * @throws InvalidCursorException if the value can't be converted.
+     * @since 5.0
+     */
+    @SuppressWarnings("unchecked")
+    private <Y> Y convertValue(Class<? extends Y> javaType, String value) {
+        try {
+            Object converted;
+            if (String.class.equals(javaType)) {
+                converted = value;
+            } else if (Long.class.equals(javaType) || long.class.equals(javaType)) {
+                converted = Long.valueOf(value);
+            } else if (Integer.class.equals(javaType) || int.class.equals(javaType)) {
+                converted = Integer.valueOf(value);
+            } else if (BigDecimal.class.equals(javaType)) {
+                converted = new BigDecimal(value);
+            } else if (LocalDateTime.class.equals(javaType)) {
+                converted = LocalDateTime.parse(value);
+            } else {
+                throw new InvalidCursorException(String.format("Can't use the field of type %s in a cursor", javaType));
+            }
+            return (Y) converted;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new InvalidCursorException(String.format("Cursor contains invalid value: %s", value), e);
+        }
+    }
+
     /**
      * This method gets predicate for equals operation.
      *
-     * @param param     passed param for equals.
+     * @param param     parameter with passed value for equals.
      * @param fieldName the field with which to compare.
      * @return reduced predicate with equals operations.
      * @since 2.0
      */
-    protected Predicate getEqualsPredicate(String param, String fieldName, CriteriaBuilder criteriaBuilder, Root<T> root) {
+    protected Predicate getEqualsPredicate(Expression<String> param, String fieldName, CriteriaBuilder criteriaBuilder,
+                                           Root<T> root) {
         return criteriaBuilder.equal(root.get(fieldName), param);
     }
 
     /**
      * This method gets predicate for like operation.
      *
-     * @param param     passed param for like.
+     * @param pattern   parameter with pattern for like, i.e. passed value surrounded by '%'.
      * @param fieldName the field with which to compare.
      * @return reduced predicate with like operations.
      * @since 2.0
      */
-    protected Predicate getLikePredicate(String param, String fieldName, CriteriaBuilder criteriaBuilder, Root<T> root) {
-        return criteriaBuilder.like(root.get(fieldName), "%" + param + "%");
+    protected Predicate getLikePredicate(Expression<String> pattern, String fieldName, CriteriaBuilder criteriaBuilder,
+                                         Root<T> root) {
+        return criteriaBuilder.like(root.get(fieldName), pattern);
 
     }
 
     /**
-     * This method gets predicate for where operation.
+     * This method gets predicate for where operation. Passed values must be added to the query as parameters,
+     * the structure of the predicates may depend only on the shape of request parameters.
      *
-     * @param reqParams all passed request params.
+     * @param reqParams  all passed request params.
+     * @param query      query which the predicates are built for, it is used to create subqueries.
+     * @param parameters parameters of the query.
      * @return list of all predicates for where operation.
      * @since 2.0
      */
-    protected abstract List<Predicate> getWherePredicates(Map<String, String[]> reqParams, CriteriaBuilder criteriaBuilder, Root<T> root);
-
-    /**
-     * This method gets predicate for equal operation with joining between two tables.
-     * All predicates reduces as OR statement.
-     *
-     * @param param         passed param for join.
-     * @param attributeName attribute of entity for joining.
-     * @param fieldName     the field with which to compare.
-     * @return reduced predicate with equal operations.
-     * @since 2.0
-     */
-    protected Predicate getJoinPredicate(String param, String fieldName, String attributeName, CriteriaBuilder criteriaBuilder, Root<T> root) {
-        Join<?, ?> join = root.join(attributeName);
-        return criteriaBuilder.equal(join.get(fieldName), param);
-    }
+    protected abstract List<Predicate> getWherePredicates(Map<String, String[]> reqParams, CriteriaBuilder criteriaBuilder,
+                                                          AbstractQuery<?> query, Root<T> root, QueryParameters parameters);
 
     /**
      * This method sets an order for result set.
@@ -223,4 +783,27 @@ public abstract class AbstractQueryBuilder<T> {
      * @return class of entity.
      */
     protected abstract Class<T> getGenericClass();
+
+    /**
+     * This method gets fields by which the entity can be sorted.
+     *
+     * @return set of field names.
+     * @since 5.0
+     */
+    protected abstract Set<String> getSortFields();
+
+    /**
+     * This method gets keys of request parameters by which the entity can be filtered.
+     *
+     * @return set of filter keys.
+     * @since 5.0
+     */
+    protected abstract Set<String> getFilterKeys();
+
+    /**
+     * Kinds of built queries, queries of different kinds never share a plan.
+     */
+    private enum QueryKind {
+        LIST, COUNT, VERSION, KEYSET
+    }
 }
@@ -3,17 +3,32 @@ package com.epam.esm.querybuilder;
 import com.epam.esm.constants.ApplicationConstants;
 import com.epam.esm.entity.GiftCertificate;
 import com.epam.esm.querybuilder.parameterparser.ParameterParser;
+import com.epam.esm.querybuilder.parameterparser.enums.Operators;
+import com.epam.esm.querybuilder.parameterparser.parserresult.ParserResult;
+import com.epam.esm.querybuilder.plan.ParameterSource;
+import com.epam.esm.querybuilder.plan.QueryParameters;
+import com.epam.esm.querybuilder.textsearch.TextSearch;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.persistence.EntityManager;
+import javax.persistence.criteria.AbstractQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of {@link com.epam.esm.querybuilder.QueryBuilder} interface
@@ -24,9 +39,25 @@ import java.util.Map;
 @Component("giftCertificateQueryBuilder")
 public class GiftCertificateQueryBuilder extends AbstractQueryBuilder<GiftCertificate> implements QueryBuilder<GiftCertificate> {
 
+    private static final Set<String> SORT_FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            ApplicationConstants.ID_FIELD,
+            ApplicationConstants.NAME_FIELD,
+            ApplicationConstants.DESCRIPTION_FIELD,
+            ApplicationConstants.PRICE_FIELD,
+            ApplicationConstants.DURATION_FIELD,
+            ApplicationConstants.CREATE_DATE_FIELD,
+            ApplicationConstants.LAST_UPDATE_DATE_FIELD)));
+    private static final Set<String> FILTER_KEYS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            ApplicationConstants.NAMES_PART_KEY,
+            ApplicationConstants.DESCRIPTION_PART_KEY,
+            ApplicationConstants.TAG_NAMES_KEY)));
+
+    private final TextSearch textSearch;
+
     @Autowired
-    public GiftCertificateQueryBuilder(EntityManager entityManager, ParameterParser parser) {
+    public GiftCertificateQueryBuilder(EntityManager entityManager, ParameterParser parser, TextSearch textSearch) {
         super(entityManager, parser);
+        this.textSearch = textSearch;
     }
 
     /**
@@ -38,32 +69,123 @@ public class GiftCertificateQueryBuilder extends AbstractQueryBuilder<GiftCertif
     }
 
     /**
-     * {@link AbstractQueryBuilder#getWherePredicates(Map, CriteriaBuilder, Root)} ()}
+     * {@link AbstractQueryBuilder#getSortFields()}
      */
     @Override
-    protected List<Predicate> getWherePredicates(Map<String, String[]> reqParams, CriteriaBuilder criteriaBuilder, Root<GiftCertificate> root) {
+    protected Set<String> getSortFields() {
+        return SORT_FIELDS;
+    }
+
+    /**
+     * {@link AbstractQueryBuilder#getFilterKeys()}
+     */
+    @Override
+    protected Set<String> getFilterKeys() {
+        return FILTER_KEYS;
+    }
+
+    /**
+     * {@link AbstractQueryBuilder#getWherePredicates(Map, CriteriaBuilder, AbstractQuery, Root, QueryParameters)}
+     */
+    @Override
+    protected List<Predicate> getWherePredicates(Map<String, String[]> reqParams, CriteriaBuilder criteriaBuilder,
+                                                 AbstractQuery<?> query, Root<GiftCertificate> root, QueryParameters parameters) {
         List<Predicate> predicates = new ArrayList<>();
         String[] params;
         params = reqParams.get(ApplicationConstants.NAMES_PART_KEY);
         if (params != null) {
             //example of the parameter ?namesPart=and:firstNamePart,secondNamePart
-            likeProcess(criteriaBuilder, root, predicates, params, ApplicationConstants.NAME_FIELD);
+            textSearchProcess(criteriaBuilder, root, predicates, parameters, params, ApplicationConstants.NAMES_PART_KEY,
+                    ApplicationConstants.NAME_FIELD);
 
         }
         params = reqParams.get(ApplicationConstants.DESCRIPTION_PART_KEY);
         if (params != null) {
             //example of the parameter ?descriptionsPart=and:firstPart,secondPart
-            likeProcess(criteriaBuilder, root, predicates, params, ApplicationConstants.DESCRIPTION_FIELD);
+            textSearchProcess(criteriaBuilder, root, predicates, parameters, params, ApplicationConstants.DESCRIPTION_PART_KEY,
+                    ApplicationConstants.DESCRIPTION_FIELD);
         }
         params = reqParams.get(ApplicationConstants.TAG_NAMES_KEY);
         if (params != null) {
             //example of the parameter ?tagNames=and:tag1,tag2
-            joinProcess(criteriaBuilder, root, predicates, params, ApplicationConstants.TAG_NAME_FIELD, ApplicationConstants.TAGS_ATTRIBUTE_NAME);
+            joinProcess(criteriaBuilder, query, root, predicates, parameters, params, ApplicationConstants.TAG_NAMES_KEY,
+                    ApplicationConstants.TAG_NAME_FIELD, ApplicationConstants.TAGS_ATTRIBUTE_NAME);
         }
 
         return predicates;
     }
 
+    /**
+     * Rows found by text search are sorted by relevance to the searched parts of name and description
+     * if the text search backend can rank them, otherwise they aren't sorted.
+     * {@link AbstractQueryBuilder#getDefaultOrders(Map, CriteriaBuilder, Root, QueryParameters)}
+     */
+    @Override
+    protected List<Order> getDefaultOrders(Map<String, String[]> reqParams, CriteriaBuilder criteriaBuilder,
+                                           Root<GiftCertificate> root, QueryParameters parameters) {
+        Optional<Expression<Double>> relevance = Stream.of(
+                getRelevance(reqParams, ApplicationConstants.NAMES_PART_KEY, ApplicationConstants.NAME_FIELD,
+                        criteriaBuilder, root, parameters),
+                getRelevance(reqParams, ApplicationConstants.DESCRIPTION_PART_KEY, ApplicationConstants.DESCRIPTION_FIELD,
+                        criteriaBuilder, root, parameters))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .reduce(criteriaBuilder::sum);
+        return relevance
+                .map(expression -> Arrays.asList(criteriaBuilder.desc(expression),
+                        criteriaBuilder.asc(root.get(ApplicationConstants.ID_FIELD))))
+                .orElse(Collections.emptyList());
+    }
+
+    /**
+     * This method parses parameters and constructs text search predicate according to passed operator.
+     *
+     * @param predicates all predicates of current creating query.
+     * @param parameters parameters of current creating query.
+     * @param params     parameters of request
+     * @param key        key of the parameters of request.
+     * @param field      text field for searching.
+     * @since 5.0
+     */
+    private void textSearchProcess(CriteriaBuilder criteriaBuilder, Root<GiftCertificate> root, List<Predicate> predicates,
+                                   QueryParameters parameters, String[] params, String key, String field) {
+        for (int occurrence = 0; occurrence < params.length; occurrence++) {
+            ParserResult parserResult = parser.parseRequestParameter(params[occurrence]);
+            boolean matchAll = parserResult.getOperator() == Operators.AND;
+            ParameterSource<String[]> valuesSource = getValuesSource(key, occurrence);
+            predicates.add(textSearch.getMatchPredicate(root.<String>get(field), Arrays.asList(parserResult.getParameters()),
+                    reqParams -> Arrays.asList(valuesSource.get(reqParams)), matchAll, criteriaBuilder, parameters));
+        }
+    }
+
+    private Optional<Expression<Double>> getRelevance(Map<String, String[]> reqParams, String key, String field,
+                                                      CriteriaBuilder criteriaBuilder, Root<GiftCertificate> root,
+                                                      QueryParameters parameters) {
+        if (reqParams.get(key) == null) {
+            return Optional.empty();
+        }
+        return textSearch.getRelevance(root.<String>get(field), getWords(reqParams.get(key)),
+                boundParams -> getWords(boundParams.get(key)), criteriaBuilder, parameters);
+    }
+
+    private List<String> getWords(String[] params) {
+        return Stream.of(params)
+                .flatMap(param -> Stream.of(parser.parseRequestParameter(param).getParameters()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Shape of text search parameters is described by the text search backend.
+     * {@link AbstractQueryBuilder#getParameterShape(String, ParserResult)}
+     */
+    @Override
+    protected String getParameterShape(String key, ParserResult parserResult) {
+        if (ApplicationConstants.NAMES_PART_KEY.equals(key) || ApplicationConstants.DESCRIPTION_PART_KEY.equals(key)) {
+            return parserResult.getOperator().name() + textSearch.getShape(Arrays.asList(parserResult.getParameters()));
+        }
+        return super.getParameterShape(key, parserResult);
+    }
+
     /**
      * {@link AbstractQueryBuilder#setOrder(String, String, CriteriaQuery, Root, CriteriaBuilder)} ()}
      */
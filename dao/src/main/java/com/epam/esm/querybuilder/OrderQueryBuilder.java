@@ -3,17 +3,23 @@ package com.epam.esm.querybuilder;
 import com.epam.esm.constants.ApplicationConstants;
 import com.epam.esm.entity.Order;
 import com.epam.esm.querybuilder.parameterparser.ParameterParser;
+import com.epam.esm.querybuilder.plan.QueryParameters;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.persistence.EntityManager;
+import javax.persistence.criteria.AbstractQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Implementation of {@link com.epam.esm.querybuilder.QueryBuilder} interface
@@ -24,6 +30,13 @@ import java.util.Map;
 @Component("orderQueryBuilder")
 public class OrderQueryBuilder extends AbstractQueryBuilder<Order> implements QueryBuilder<Order> {
 
+    private static final Set<String> SORT_FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            ApplicationConstants.ORDER_ID_FIELD,
+            ApplicationConstants.ORDER_COST_FIELD,
+            ApplicationConstants.ORDER_CREATION_DATE_FIELD)));
+    private static final Set<String> FILTER_KEYS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            ApplicationConstants.USER_ID_KEY)));
+
     @Autowired
     public OrderQueryBuilder(EntityManager entityManager, ParameterParser parser) {
         super(entityManager, parser);
@@ -38,16 +51,34 @@ public class OrderQueryBuilder extends AbstractQueryBuilder<Order> implements Qu
     }
 
     /**
-     * {@link AbstractQueryBuilder#getWherePredicates(Map, CriteriaBuilder, Root)} ()}
+     * {@link AbstractQueryBuilder#getSortFields()}
+     */
+    @Override
+    protected Set<String> getSortFields() {
+        return SORT_FIELDS;
+    }
+
+    /**
+     * {@link AbstractQueryBuilder#getFilterKeys()}
+     */
+    @Override
+    protected Set<String> getFilterKeys() {
+        return FILTER_KEYS;
+    }
+
+    /**
+     * {@link AbstractQueryBuilder#getWherePredicates(Map, CriteriaBuilder, AbstractQuery, Root, QueryParameters)}
      */
     @Override
-    protected List<Predicate> getWherePredicates(Map<String, String[]> reqParams, CriteriaBuilder criteriaBuilder, Root<Order> root) {
+    protected List<Predicate> getWherePredicates(Map<String, String[]> reqParams, CriteriaBuilder criteriaBuilder,
+                                                 AbstractQuery<?> query, Root<Order> root, QueryParameters parameters) {
         List<Predicate> predicates = new ArrayList<>();
         String[] params;
         params = reqParams.get(ApplicationConstants.USER_ID_KEY);
         if (params != null) {
             //example of the parameter ?userId=or:id1,id2
-            joinProcess(criteriaBuilder, root, predicates, params, ApplicationConstants.USER_ID_FIELD, ApplicationConstants.USER_ATTRIBUTE_NAME);
+            joinProcess(criteriaBuilder, query, root, predicates, parameters, params, ApplicationConstants.USER_ID_KEY,
+                    ApplicationConstants.USER_ID_FIELD, ApplicationConstants.USER_ATTRIBUTE_NAME);
         }
 
         return predicates;
@@ -1,5 +1,8 @@
 package com.epam.esm.querybuilder;
 
+import com.epam.esm.querybuilder.keyset.KeysetCursor;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
 import javax.persistence.TypedQuery;
 import java.util.Map;
 
@@ -27,4 +30,94 @@ public interface QueryBuilder<T> {
      * @since 2.0
      */
     TypedQuery<T> buildQuery(Map<String, String[]> reqParams, int limit, int offset);
+
+    /**
+     * This method construct query for all entities matching given request parameters without pagination.
+     *
+     * @param reqParams request parameters.
+     * @return query for executing.
+     * @since 5.0
+     */
+    TypedQuery<T> buildQuery(Map<String, String[]> reqParams);
+
+    /**
+     * This method construct count query for entity which uses the same filters as
+     * {@link #buildQuery(Map, int, int)} but ignores sorting and pagination.
+     *
+     * @param reqParams request parameters.
+     * @return query which returns the number of entities matching the filters.
+     * @since 5.0
+     */
+    TypedQuery<Long> buildCountQuery(Map<String, String[]> reqParams);
+
+    /**
+     * This method construct version query for entity which uses the same filters as
+     * {@link #buildQuery(Map, int, int)} but ignores sorting and pagination.
+     *
+     * @param reqParams    request parameters.
+     * @param versionField field of the entity which is changed on each update of the entity.
+     * @return query which returns the number of entities matching the filters and the max value of the version field.
+     * @since 5.0
+     */
+    TypedQuery<Object[]> buildVersionQuery(Map<String, String[]> reqParams, String versionField);
+
+    /**
+     * This method gets a normalized signature of the filters from given request parameters.
+     * Requests which differ only in sorting, pagination or order of parameters have the same signature.
+     *
+     * @param reqParams request parameters.
+     * @return signature of the filters.
+     * @since 5.0
+     */
+    String getFilterSignature(Map<String, String[]> reqParams);
+
+    /**
+     * This method gets the shape of the filters from given request parameters: filter keys with their operators
+     * but without values. Unlike the signature, the number of distinct shapes is small.
+     *
+     * @param reqParams request parameters.
+     * @return shape of the filters.
+     * @since 5.0
+     */
+    String getFilterShape(Map<String, String[]> reqParams);
+
+    /**
+     * This method gets the name of the entity of built queries.
+     *
+     * @return name of the entity.
+     * @since 5.0
+     */
+    String getEntityName();
+
+    /**
+     * This method construct keyset (seek) query for entity according to given request parameters.
+     * Rows are sorted by the first sort field with id as a tiebreaker and the cursor is used instead of an offset.
+     *
+     * @param reqParams request parameters.
+     * @param limit     for pagination.
+     * @param cursor    position of the row after(or before) which rows are selected,
+     *                  null means the start(or the end) of the result set.
+     * @param backward  true if rows before the cursor are selected, such rows are returned in reversed order.
+     * @return query for executing.
+     * @since 5.0
+     */
+    TypedQuery<T> buildKeysetQuery(Map<String, String[]> reqParams, int limit, KeysetCursor cursor, boolean backward);
+
+    /**
+     * This method gets the field which is used for keyset pagination according to given request parameters.
+     *
+     * @param reqParams request parameters.
+     * @return name of the sort field.
+     * @since 5.0
+     */
+    String getKeysetSortField(Map<String, String[]> reqParams);
+
+    /**
+     * This method gets statistics of the cache of query plans, which are compiled once for each shape of request
+     * parameters, e.g. its hit rate.
+     *
+     * @return statistics of the cache.
+     * @since 5.0
+     */
+    CacheStats getPlanCacheStats();
 }
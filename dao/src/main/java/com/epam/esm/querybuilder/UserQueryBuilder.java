@@ -3,16 +3,22 @@ package com.epam.esm.querybuilder;
 import com.epam.esm.constants.ApplicationConstants;
 import com.epam.esm.entity.User;
 import com.epam.esm.querybuilder.parameterparser.ParameterParser;
+import com.epam.esm.querybuilder.plan.QueryParameters;
 import org.springframework.stereotype.Component;
 
 import javax.persistence.EntityManager;
+import javax.persistence.criteria.AbstractQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Implementation of {@link com.epam.esm.querybuilder.QueryBuilder} interface
@@ -23,6 +29,12 @@ import java.util.Map;
 @Component("userQueryBuilder")
 public class UserQueryBuilder extends AbstractQueryBuilder<User> implements QueryBuilder<User> {
 
+    private static final Set<String> SORT_FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            ApplicationConstants.USER_ID_FIELD,
+            ApplicationConstants.USER_ROLE_FIELD)));
+    private static final Set<String> FILTER_KEYS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            ApplicationConstants.ROLE_KEY)));
+
     public UserQueryBuilder(EntityManager entityManager, ParameterParser parser) {
         super(entityManager, parser);
     }
@@ -36,16 +48,34 @@ public class UserQueryBuilder extends AbstractQueryBuilder<User> implements Quer
     }
 
     /**
-     * {@link AbstractQueryBuilder#getWherePredicates(Map, CriteriaBuilder, Root)} ()}
+     * {@link AbstractQueryBuilder#getSortFields()}
+     */
+    @Override
+    protected Set<String> getSortFields() {
+        return SORT_FIELDS;
+    }
+
+    /**
+     * {@link AbstractQueryBuilder#getFilterKeys()}
+     */
+    @Override
+    protected Set<String> getFilterKeys() {
+        return FILTER_KEYS;
+    }
+
+    /**
+     * {@link AbstractQueryBuilder#getWherePredicates(Map, CriteriaBuilder, AbstractQuery, Root, QueryParameters)}
      */
     @Override
-    protected List<Predicate> getWherePredicates(Map<String, String[]> reqParams, CriteriaBuilder criteriaBuilder, Root<User> root) {
+    protected List<Predicate> getWherePredicates(Map<String, String[]> reqParams, CriteriaBuilder criteriaBuilder,
+                                                 AbstractQuery<?> query, Root<User> root, QueryParameters parameters) {
         List<Predicate> predicates = new ArrayList<>();
         String[] params;
         params = reqParams.get(ApplicationConstants.ROLE_KEY);
         if (params != null) {
             //example of the parameter ?role=and:ADMIN,USER
-            equalProcess(criteriaBuilder, root, predicates, params, ApplicationConstants.USER_ROLE_FIELD);
+            equalProcess(criteriaBuilder, root, predicates, parameters, params, ApplicationConstants.ROLE_KEY,
+                    ApplicationConstants.USER_ROLE_FIELD);
         }
 
         return predicates;
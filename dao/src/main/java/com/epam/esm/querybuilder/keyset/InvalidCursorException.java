@@ -0,0 +1,17 @@
+package com.epam.esm.querybuilder.keyset;
+
+/**
+ * This exception is thrown when a keyset cursor can't be decoded or doesn't match a current query.
+ *
+ * @since 5.0
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
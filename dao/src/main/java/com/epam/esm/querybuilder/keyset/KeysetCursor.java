@@ -0,0 +1,125 @@
+package com.epam.esm.querybuilder.keyset;
+
+import com.epam.esm.constants.ApplicationConstants;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Opaque position of a row in a keyset (seek) paginated result set.
+ * Cursor stores the sort field, the value of the sort field and the id of the row which is used as a tiebreaker.
+ * A null sort value is encoded by omitting the value part, so it differs from the string "null".
+ * Cursor is passed to a client as URL-safe Base64 string.
+ *
+ * @since 5.0
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = ":";
+    private static final int PARTS_COUNT = 3;
+    private static final int PARTS_COUNT_WITHOUT_VALUE = 2;
+
+    private final String sortField;
+    private final long id;
+    private final String sortValue;
+
+    public KeysetCursor(String sortField, long id, String sortValue) {
+        this.sortField = sortField;
+        this.id = id;
+        this.sortValue = sortValue;
+    }
+
+    /**
+     * This method creates a cursor which points to the given entity.
+     *
+     * @param entity    entity from the result set.
+     * @param sortField field which is used for sorting.
+     * @return cursor of the entity.
+     * @since 5.0
+     */
+    public static KeysetCursor of(Object entity, String sortField) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        Number id = (Number) wrapper.getPropertyValue(ApplicationConstants.ID_FIELD);
+        Object value = wrapper.getPropertyValue(sortField);
+        String sortValue;
+        if (value == null) {
+            sortValue = null;
+        } else {
+            sortValue = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+        }
+        return new KeysetCursor(sortField, id.longValue(), sortValue);
+    }
+
+    /**
+     * This method decodes a cursor from the string which was received from a client.
+     *
+     * @param encoded encoded cursor.
+     * @return decoded cursor or null if passed string is empty which means a start(or an end) of the result set.
+     * @throws InvalidCursorException if passed string is not a valid cursor.
+     * @since 5.0
+     */
+    public static KeysetCursor decode(String encoded) {
+        if (encoded == null || encoded.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(encoded.trim()), StandardCharsets.UTF_8);
+            //the sort value goes last because it may contain the separator
+            String[] parts = decoded.split(SEPARATOR, PARTS_COUNT);
+            if (parts.length < PARTS_COUNT_WITHOUT_VALUE || parts[0].isEmpty()) {
+                throw new InvalidCursorException(String.format("Cursor %s has invalid format", encoded));
+            }
+            String sortValue = parts.length == PARTS_COUNT ? parts[2] : null;
+            return new KeysetCursor(parts[0], Long.parseLong(parts[1]), sortValue);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(String.format("Cursor %s has invalid format", encoded), e);
+        }
+    }
+
+    /**
+     * This method encodes the cursor to the string which can be passed to a client.
+     *
+     * @return URL-safe Base64 string.
+     * @since 5.0
+     */
+    public String encode() {
+        String raw = sortField + SEPARATOR + id;
+        if (sortValue != null) {
+            raw += SEPARATOR + sortValue;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getSortField() {
+        return sortField;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getSortValue() {
+        return sortValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        KeysetCursor that = (KeysetCursor) o;
+        return id == that.id && sortField.equals(that.sortField) && Objects.equals(sortValue, that.sortValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sortField, id, sortValue);
+    }
+}
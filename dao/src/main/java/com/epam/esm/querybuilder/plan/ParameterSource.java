@@ -0,0 +1,22 @@
+package com.epam.esm.querybuilder.plan;
+
+import java.util.Map;
+
+/**
+ * This interface represents a function which extracts a value of query parameter from request parameters.
+ *
+ * @param <V> type of the value.
+ * @since 5.0
+ */
+@FunctionalInterface
+public interface ParameterSource<V> {
+
+    /**
+     * This method extracts the value from given request parameters.
+     *
+     * @param reqParams request parameters.
+     * @return value of query parameter.
+     * @since 5.0
+     */
+    V get(Map<String, String[]> reqParams);
+}
@@ -0,0 +1,48 @@
+package com.epam.esm.querybuilder.plan;
+
+import com.epam.esm.constants.ApplicationConstants;
+
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.ParameterExpression;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class collects parameters of {@link QueryPlan} while its criteria query is built.
+ * <p>
+ * Values of the request are never inlined into the query. Each of them is added as a named parameter with
+ * a {@link ParameterSource} which extracts the value, so the query can be bound to any request of the same shape.
+ *
+ * @since 5.0
+ */
+public class QueryParameters {
+
+    private final Map<String, ParameterSource<?>> sources = new LinkedHashMap<>();
+
+    /**
+     * This method adds a parameter whose value is extracted from request parameters.
+     *
+     * @param type   java type of the parameter.
+     * @param source function which extracts the value from request parameters.
+     * @param <Y>    type of the parameter.
+     * @return parameter expression for the criteria query.
+     * @since 5.0
+     */
+    public <Y> ParameterExpression<Y> add(CriteriaBuilder criteriaBuilder, Class<Y> type, ParameterSource<?> source) {
+        String name = ApplicationConstants.QUERY_PARAMETER_PREFIX + sources.size();
+        sources.put(name, source);
+        return criteriaBuilder.parameter(type, name);
+    }
+
+    /**
+     * This method binds values of all added parameters extracted from given request parameters to the query.
+     *
+     * @param query     query created from the plan.
+     * @param reqParams request parameters.
+     * @since 5.0
+     */
+    public void bind(Query query, Map<String, String[]> reqParams) {
+        sources.forEach((name, source) -> query.setParameter(name, source.get(reqParams)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.epam.esm.querybuilder.plan;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaQuery;
+import java.util.Map;
+
+/**
+ * This class is a compiled query for requests of one shape, i.e. requests with the same filters, operators,
+ * counts of values and sort fields.
+ * <p>
+ * The criteria query is rendered to a query string once. Queries of other requests are created from the string,
+ * so Hibernate takes their plan from its own plan cache, and only values of parameters are bound.
+ *
+ * @param <R> type of the query result.
+ * @since 5.0
+ */
+public class QueryPlan<R> {
+
+    private final String queryString;
+    private final Class<R> resultClass;
+    private final QueryParameters parameters;
+
+    private QueryPlan(String queryString, Class<R> resultClass, QueryParameters parameters) {
+        this.queryString = queryString;
+        this.resultClass = resultClass;
+        this.parameters = parameters;
+    }
+
+    /**
+     * This method renders the criteria query to a query string.
+     *
+     * @param criteriaQuery criteria query whose values are parameters only.
+     * @param parameters    parameters of the criteria query.
+     * @param <R>           type of the query result.
+     * @return compiled query plan.
+     * @since 5.0
+     */
+    public static <R> QueryPlan<R> of(EntityManager entityManager, CriteriaQuery<R> criteriaQuery, QueryParameters parameters) {
+        String queryString = entityManager.createQuery(criteriaQuery)
+                .unwrap(org.hibernate.query.Query.class)
+                .getQueryString();
+        return new QueryPlan<>(queryString, criteriaQuery.getResultType(), parameters);
+    }
+
+    /**
+     * This method creates query of the plan and binds values extracted from given request parameters.
+     *
+     * @param reqParams request parameters of the same shape as the plan.
+     * @return query for executing.
+     * @since 5.0
+     */
+    public TypedQuery<R> createQuery(EntityManager entityManager, Map<String, String[]> reqParams) {
+        TypedQuery<R> query = entityManager.createQuery(queryString, resultClass);
+        parameters.bind(query, reqParams);
+        return query;
+    }
+
+    public String getQueryString() {
+        return queryString;
+    }
+}
@@ -0,0 +1,84 @@
+package com.epam.esm.querybuilder.textsearch;
+
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.querybuilder.plan.ParameterSource;
+import com.epam.esm.querybuilder.plan.QueryParameters;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link TextSearch} interface which uses MySQL FULLTEXT indexes, i.e. MATCH ... AGAINST
+ * in boolean mode. Every searched field must have its own FULLTEXT index. The index is maintained by the database,
+ * so saved and updated rows are found at once.
+ * <p>
+ * A word is searched as a prefix of indexed words, a word with spaces is searched as a phrase.
+ * Words shorter than innodb_ft_min_token_size and stopwords are not indexed by MySQL.
+ *
+ * @since 5.0
+ */
+@Component
+@ConditionalOnProperty(name = ApplicationConstants.TEXT_SEARCH_PROPERTY, havingValue = ApplicationConstants.FULLTEXT_TEXT_SEARCH)
+public class FullTextSearch implements TextSearch {
+
+    private static final String BOOLEAN_MODE_OPERATORS = "[+\\-<>()~*\"@]";
+    private static final String WHITESPACES = "\\s+";
+
+    @Override
+    public Predicate getMatchPredicate(Path<String> field, List<String> words, ParameterSource<List<String>> wordsSource,
+                                       boolean matchAll, CriteriaBuilder criteriaBuilder, QueryParameters parameters) {
+        if (toBooleanQuery(words, matchAll).isEmpty()) {
+            //nothing can be searched, like '%%' it matches all rows
+            return criteriaBuilder.conjunction();
+        }
+        return criteriaBuilder.greaterThan(matchAgainst(field, wordsSource, matchAll, criteriaBuilder, parameters), 0.0);
+    }
+
+    @Override
+    public Optional<Expression<Double>> getRelevance(Path<String> field, List<String> words, ParameterSource<List<String>> wordsSource,
+                                                     CriteriaBuilder criteriaBuilder, QueryParameters parameters) {
+        return toBooleanQuery(words, false).isEmpty() ? Optional.empty()
+                : Optional.of(matchAgainst(field, wordsSource, false, criteriaBuilder, parameters));
+    }
+
+    /**
+     * All words are searched with one MATCH ... AGAINST, so the shape only tells if there is anything to search.
+     */
+    @Override
+    public String getShape(List<String> words) {
+        return toBooleanQuery(words, false).isEmpty() ? "none" : "match";
+    }
+
+    /**
+     * This method converts passed words to a search string of boolean mode. Operators of boolean mode are removed
+     * from the words, so they are always searched literally.
+     *
+     * @param words    passed words.
+     * @param matchAll true if all words are required.
+     * @return search string or empty string if there is nothing to search.
+     * @since 5.0
+     */
+    String toBooleanQuery(List<String> words, boolean matchAll) {
+        String prefix = matchAll ? "+" : "";
+        return words.stream()
+                .filter(Objects::nonNull)
+                .map(word -> word.replaceAll(BOOLEAN_MODE_OPERATORS, " ").trim().replaceAll(WHITESPACES, " "))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word.contains(" ") ? prefix + '"' + word + '"' : prefix + word + '*')
+                .collect(Collectors.joining(" "));
+    }
+
+    private Expression<Double> matchAgainst(Path<String> field, ParameterSource<List<String>> wordsSource, boolean matchAll,
+                                            CriteriaBuilder criteriaBuilder, QueryParameters parameters) {
+        return criteriaBuilder.function(ApplicationConstants.MATCH_AGAINST_FUNCTION, Double.class, field,
+                parameters.add(criteriaBuilder, String.class, reqParams -> toBooleanQuery(wordsSource.get(reqParams), matchAll)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.epam.esm.querybuilder.textsearch;
+
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.querybuilder.plan.ParameterSource;
+import com.epam.esm.querybuilder.plan.QueryParameters;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Default implementation of {@link TextSearch} interface which uses LIKE '%word%' statements.
+ * It works with any database but can't use indexes and doesn't rank rows.
+ *
+ * @since 5.0
+ */
+@Component
+@ConditionalOnProperty(name = ApplicationConstants.TEXT_SEARCH_PROPERTY, havingValue = ApplicationConstants.LIKE_TEXT_SEARCH,
+        matchIfMissing = true)
+public class LikeTextSearch implements TextSearch {
+
+    @Override
+    public Predicate getMatchPredicate(Path<String> field, List<String> words, ParameterSource<List<String>> wordsSource,
+                                       boolean matchAll, CriteriaBuilder criteriaBuilder, QueryParameters parameters) {
+        Predicate[] predicates = IntStream.range(0, words.size())
+                .mapToObj(index -> criteriaBuilder.like(field, parameters.add(criteriaBuilder, String.class,
+                        reqParams -> "%" + wordsSource.get(reqParams).get(index) + "%")))
+                .toArray(Predicate[]::new);
+        return matchAll ? criteriaBuilder.and(predicates) : criteriaBuilder.or(predicates);
+    }
+
+    @Override
+    public Optional<Expression<Double>> getRelevance(Path<String> field, List<String> words, ParameterSource<List<String>> wordsSource,
+                                                     CriteriaBuilder criteriaBuilder, QueryParameters parameters) {
+        return Optional.empty();
+    }
+
+    /**
+     * Every word is compared with its own LIKE statement, so the shape is the count of words.
+     */
+    @Override
+    public String getShape(List<String> words) {
+        return String.valueOf(words.size());
+    }
+}
@@ -0,0 +1,22 @@
+package com.epam.esm.querybuilder.textsearch;
+
+import com.epam.esm.constants.ApplicationConstants;
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * This class registers MATCH ... AGAINST of MySQL as a function which is used by {@link FullTextSearch}.
+ * It isn't rendered unless the function is called, so it is safe for other databases.
+ *
+ * @since 5.0
+ */
+public class MatchAgainstFunctionContributor implements MetadataBuilderContributor {
+
+    @Override
+    public void contribute(MetadataBuilder metadataBuilder) {
+        metadataBuilder.applySqlFunction(ApplicationConstants.MATCH_AGAINST_FUNCTION,
+                new SQLFunctionTemplate(StandardBasicTypes.DOUBLE, "match(?1) against (?2 in boolean mode)"));
+    }
+}
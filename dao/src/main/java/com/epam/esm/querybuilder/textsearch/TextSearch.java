@@ -0,0 +1,61 @@
+package com.epam.esm.querybuilder.textsearch;
+
+import com.epam.esm.querybuilder.plan.ParameterSource;
+import com.epam.esm.querybuilder.plan.QueryParameters;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * This interface represents a backend of text search by parts of text fields, e.g. name and description
+ * of GiftCertificate. The backend is chosen by the property
+ * {@link com.epam.esm.constants.ApplicationConstants#TEXT_SEARCH_PROPERTY}.
+ * <p>
+ * Searched words are added to the query as parameters, so the query can be cached for requests of the same shape.
+ * The structure of the query may depend on the words only as far as it is described by {@link #getShape(List)}.
+ *
+ * @since 5.0
+ */
+public interface TextSearch {
+
+    /**
+     * This method gets predicate which selects rows whose field contains the passed words.
+     *
+     * @param field    text field for searching.
+     * @param words       passed words, a word may contain spaces.
+     * @param wordsSource function which extracts the words from request parameters of the same shape.
+     * @param matchAll    true if the field must contain all words, otherwise any of them.
+     * @param parameters  parameters of the built query.
+     * @return predicate for where clause.
+     * @since 5.0
+     */
+    Predicate getMatchPredicate(Path<String> field, List<String> words, ParameterSource<List<String>> wordsSource,
+                                boolean matchAll, CriteriaBuilder criteriaBuilder, QueryParameters parameters);
+
+    /**
+     * This method gets relevance of the field to the passed words. The greater value is the more relevant row.
+     *
+     * @param field text field for searching.
+     * @param words       passed words.
+     * @param wordsSource function which extracts the words from request parameters of the same shape.
+     * @param parameters  parameters of the built query.
+     * @return relevance expression or empty optional if the backend can't rank rows.
+     * @since 5.0
+     */
+    Optional<Expression<Double>> getRelevance(Path<String> field, List<String> words, ParameterSource<List<String>> wordsSource,
+                                              CriteriaBuilder criteriaBuilder, QueryParameters parameters);
+
+    /**
+     * This method gets the part of the query shape which depends on the passed words. Queries built for words
+     * with equal shapes differ in values of parameters only.
+     *
+     * @param words passed words.
+     * @return shape of the words.
+     * @since 5.0
+     */
+    String getShape(List<String> words);
+}
@@ -10,6 +10,12 @@ create table gifts.gift_certificate
     last_update_date datetime default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP
 );
 
+create fulltext index gift_certificate_name_ftidx
+    on gifts.gift_certificate (name);
+
+create fulltext index gift_certificate_description_ftidx
+    on gifts.gift_certificate (description);
+
 create table gifts.orders
 (
     id            bigint auto_increment
@@ -20,8 +26,11 @@ create table gifts.orders
 
 create table gifts.orders_certificates
 (
-    order_id       bigint not null,
-    certificate_id bigint not null,
+    order_id       bigint         not null,
+    certificate_id bigint         not null,
+    quantity       int            not null,
+    unit_price     decimal(19, 2) not null,
+    primary key (order_id, certificate_id),
     constraint certificate_order_fk
         foreign key (certificate_id) references gifts.gift_certificate (id)
             on delete cascade,
@@ -32,9 +41,6 @@ create table gifts.orders_certificates
 create index certificate_order_fk_idx
     on gifts.orders_certificates (certificate_id);
 
-create index order_certificate_fk_idx
-    on gifts.orders_certificates (order_id);
-
 create table gifts.revinfo
 (
     rev      int auto_increment
@@ -154,4 +160,3 @@ create index order_user_fk_idx
 
 create index user_order_fk_idx
     on gifts.users_orders (user_id);
-
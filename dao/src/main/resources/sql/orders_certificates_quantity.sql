@@ -0,0 +1,28 @@
+create table gifts.orders_certificates_lines
+(
+    order_id       bigint         not null,
+    certificate_id bigint         not null,
+    quantity       int            not null,
+    unit_price     decimal(19, 2) not null,
+    primary key (order_id, certificate_id)
+);
+
+insert into gifts.orders_certificates_lines (order_id, certificate_id, quantity, unit_price)
+select oc.order_id, oc.certificate_id, count(*), gc.price
+from gifts.orders_certificates oc
+         join gifts.gift_certificate gc on gc.id = oc.certificate_id
+group by oc.order_id, oc.certificate_id, gc.price;
+
+drop table gifts.orders_certificates;
+
+rename table gifts.orders_certificates_lines to gifts.orders_certificates;
+
+alter table gifts.orders_certificates
+    add constraint certificate_order_fk
+        foreign key (certificate_id) references gifts.gift_certificate (id)
+            on delete cascade,
+    add constraint order_certificate_fk
+        foreign key (order_id) references gifts.orders (id);
+
+create index certificate_order_fk_idx
+    on gifts.orders_certificates (certificate_id);
@@ -0,0 +1,14 @@
+create table if not exists user_tag_usage
+(
+    user_id bigint not null,
+    tag_id  bigint not null,
+    cnt     bigint not null,
+    primary key (user_id, tag_id),
+    index user_tag_usage_cnt_idx (user_id, cnt),
+    constraint user_tag_usage_user_fk
+        foreign key (user_id) references user (id)
+            on delete cascade,
+    constraint user_tag_usage_tag_fk
+        foreign key (tag_id) references tag (id)
+            on delete cascade
+);
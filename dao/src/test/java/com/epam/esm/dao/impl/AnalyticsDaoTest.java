@@ -0,0 +1,64 @@
+package com.epam.esm.dao.impl;
+
+import com.epam.esm.dao.aggregate.AnalyticsDao;
+import com.epam.esm.dao.config.DaoTestConfig;
+import com.epam.esm.dao.domain.projection.UserSpendProjection;
+import com.epam.esm.dao.domain.projection.UserTagProjection;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = DaoTestConfig.class)
+@ActiveProfiles("test")
+@Transactional
+public class AnalyticsDaoTest {
+
+    private final AnalyticsDao analyticsDao;
+
+    @Autowired
+    public AnalyticsDaoTest(AnalyticsDao analyticsDao) {
+        this.analyticsDao = analyticsDao;
+    }
+
+    @Test
+    public void testFindTopSpenders_OrderedByTotalCostDescending() {
+        //when
+        List<UserSpendProjection> result = analyticsDao.findTopSpenders(5);
+        //then
+        assertFalse(result.isEmpty());
+        assertTrue(result.size() <= 5);
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue(result.get(i - 1).getTotalCost().compareTo(result.get(i).getTotalCost()) >= 0);
+        }
+    }
+
+    @Test
+    public void testFindMostWidelyUsedTags_TagsOfGivenUsersOnly() {
+        //given
+        List<Long> userIds = analyticsDao.findTopSpenders(3).stream()
+                .map(UserSpendProjection::getUserId)
+                .collect(Collectors.toList());
+        //when
+        List<UserTagProjection> result = analyticsDao.findMostWidelyUsedTags(userIds);
+        //then
+        assertTrue(result.stream().allMatch(tag -> userIds.contains(tag.getUserId())));
+    }
+
+    @Test
+    public void testFindMostWidelyUsedTags_EmptyList_WhenUserIdsAreEmpty() {
+        //when
+        List<UserTagProjection> result = analyticsDao.findMostWidelyUsedTags(Collections.emptyList());
+        //then
+        assertEquals(Collections.emptyList(), result);
+    }
+}
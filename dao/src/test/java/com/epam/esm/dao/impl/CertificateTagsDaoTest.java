@@ -13,9 +13,12 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(classes = DaoTestConfig.class)
@@ -48,6 +51,26 @@ public class CertificateTagsDaoTest {
         });
     }
 
+    @Test
+    @Rollback
+    public void testSaveAll_ShouldSaveAllRelations() {
+        //given
+        long certificateId = 1;
+        List<Long> tagIds = Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L);
+        certificateTagsDao.deleteAllTagLinksForCertificateId(certificateId);
+        //when
+        certificateTagsDao.saveAll(certificateId, tagIds);
+        //then
+        Optional<GiftCertificate> certificateWithNewTagsOpt = giftCertificateDao.findById(certificateId);
+        certificateWithNewTagsOpt.ifPresent(certificate -> {
+            List<Long> savedTagIds = certificate.getTags().stream()
+                    .map(Tag::getId)
+                    .sorted()
+                    .collect(Collectors.toList());
+            assertEquals(tagIds, savedTagIds);
+        });
+    }
+
     @Test
     @Rollback
     public void testDeleteAllTagLinksForCertificateId_ShouldDeleteAllRelationsBetweenTagsAndCertificateWithGivenCertificateId() {
@@ -4,7 +4,17 @@ import com.epam.esm.constants.ApplicationConstants;
 import com.epam.esm.dao.config.DaoTestConfig;
 import com.epam.esm.dao.domain.CriteriaFindAllDao;
 import com.epam.esm.dao.domain.GiftCertificateDao;
+import com.epam.esm.dao.domain.page.KeysetPage;
+import com.epam.esm.dao.domain.projection.VersionProjection;
+import com.epam.esm.dao.statement.StatementBudget;
+import com.epam.esm.dao.statement.StatementStats;
 import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.querybuilder.QueryBuilder;
+import com.epam.esm.querybuilder.keyset.InvalidCursorException;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,17 +24,27 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(classes = DaoTestConfig.class)
@@ -34,12 +54,21 @@ public class GiftCertificateDaoTest {
 
     private GiftCertificateDao giftCertificateDao;
     private CriteriaFindAllDao<GiftCertificate> criteriaFindAllDao;
+    private EntityManagerFactory entityManagerFactory;
+    private QueryBuilder<GiftCertificate> queryBuilder;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
     public GiftCertificateDaoTest(GiftCertificateDao giftCertificateDao,
-                                  @Qualifier("giftCertificateCriteriaFindAllDao") CriteriaFindAllDao<GiftCertificate> criteriaFindAllDao) {
+                                  @Qualifier("giftCertificateCriteriaFindAllDao") CriteriaFindAllDao<GiftCertificate> criteriaFindAllDao,
+                                  EntityManagerFactory entityManagerFactory,
+                                  @Qualifier("giftCertificateQueryBuilder") QueryBuilder<GiftCertificate> queryBuilder) {
         this.giftCertificateDao = giftCertificateDao;
         this.criteriaFindAllDao = criteriaFindAllDao;
+        this.entityManagerFactory = entityManagerFactory;
+        this.queryBuilder = queryBuilder;
     }
 
     private static GiftCertificate certificate1;
@@ -175,6 +204,17 @@ public class GiftCertificateDaoTest {
         assertEquals(results.size(), expectedSize);
     }
 
+    @Test
+    public void testFindBy_EntityContainingAllParts_WhenAndOperatorIsPassedForPartsOfName() {
+        //given
+        Map<String, String[]> reqParams = Collections.singletonMap(ApplicationConstants.NAMES_PART_KEY, new String[]{"and:1n,name"});
+        //when
+        List<GiftCertificate> results = criteriaFindAllDao.findBy(reqParams, ApplicationConstants.MAX_LIMIT, ApplicationConstants.DEFAULT_OFFSET);
+        //then
+        assertAll(() -> assertEquals(1, results.size()),
+                () -> assertEquals(certificate1.getName(), results.get(0).getName()));
+    }
+
     @Test
     public void testFindBy_ListOfEntitiesWithGivenPartOfDescription_ThereAreEntitiesWithGivenPartOfDescriptionInDb() {
         //given
@@ -211,4 +251,259 @@ public class GiftCertificateDaoTest {
         assertEquals(results.size(), expectedSize);
     }
 
+    @Test
+    public void testFindBy_EntitiesWithAllGivenTags_WhenAndOperatorIsPassedForTagNames() {
+        //given
+        Map<String, String[]> reqParams = Collections.singletonMap(ApplicationConstants.TAG_NAMES_KEY, new String[]{"and:tag1,tag2,tag2"});
+        Set<Long> expectedIds = findIdsByTagName("tag1");
+        expectedIds.retainAll(findIdsByTagName("tag2"));
+        //when
+        List<GiftCertificate> results = criteriaFindAllDao.findBy(reqParams, ApplicationConstants.MAX_LIMIT, ApplicationConstants.DEFAULT_OFFSET);
+        long count = criteriaFindAllDao.countBy(reqParams);
+        //then
+        Set<Long> resultIds = results.stream().map(GiftCertificate::getId).collect(Collectors.toSet());
+        assertAll(() -> assertEquals(expectedIds, resultIds),
+                () -> assertEquals(expectedIds.size(), results.size()),
+                () -> assertEquals(expectedIds.size(), count));
+    }
+
+    @Test
+    public void testFindBy_QueryPlanIsReusedWithNewValues_WhenRequestsHaveTheSameShape() {
+        //given
+        Map<String, String[]> firstParams = Collections.singletonMap(ApplicationConstants.NAMES_PART_KEY, new String[]{"1n"});
+        Map<String, String[]> secondParams = Collections.singletonMap(ApplicationConstants.NAMES_PART_KEY, new String[]{"2n"});
+        CacheStats statsBefore = queryBuilder.getPlanCacheStats();
+        //when
+        List<GiftCertificate> firstResults = criteriaFindAllDao.findBy(firstParams, ApplicationConstants.MAX_LIMIT,
+                ApplicationConstants.DEFAULT_OFFSET);
+        List<GiftCertificate> secondResults = criteriaFindAllDao.findBy(secondParams, ApplicationConstants.MAX_LIMIT,
+                ApplicationConstants.DEFAULT_OFFSET);
+        CacheStats stats = queryBuilder.getPlanCacheStats().minus(statsBefore);
+        //then
+        assertAll(() -> assertFalse(firstResults.isEmpty()),
+                () -> assertFalse(secondResults.isEmpty()),
+                () -> assertTrue(firstResults.stream().allMatch(certificate -> certificate.getName().contains("1n"))),
+                () -> assertTrue(secondResults.stream().allMatch(certificate -> certificate.getName().contains("2n"))),
+                () -> assertEquals(2, stats.requestCount()),
+                () -> assertTrue(stats.hitCount() >= 1));
+    }
+
+    @Test
+    public void testGetFilterShape_SameShape_WhenRequestsDifferOnlyInValuesAndPagination() {
+        //given
+        Map<String, String[]> firstParams = new HashMap<>();
+        firstParams.put(ApplicationConstants.TAG_NAMES_KEY, new String[]{"or:tag1,tag2"});
+        firstParams.put(ApplicationConstants.NAMES_PART_KEY, new String[]{"1n"});
+        firstParams.put(ApplicationConstants.LIMIT_KEY, new String[]{"5"});
+        firstParams.put("unknownKey", new String[]{"value"});
+        Map<String, String[]> secondParams = new HashMap<>();
+        secondParams.put(ApplicationConstants.NAMES_PART_KEY, new String[]{"2n"});
+        secondParams.put(ApplicationConstants.TAG_NAMES_KEY, new String[]{"or:tag3"});
+        //when
+        String firstShape = queryBuilder.getFilterShape(firstParams);
+        String secondShape = queryBuilder.getFilterShape(secondParams);
+        //then
+        assertAll(() -> assertEquals(ApplicationConstants.NAMES_PART_KEY + ":NONE," + ApplicationConstants.TAG_NAMES_KEY + ":OR", firstShape),
+                () -> assertEquals(firstShape, secondShape),
+                () -> assertEquals(ApplicationConstants.NO_FILTERS_SHAPE, queryBuilder.getFilterShape(Collections.emptyMap())));
+    }
+
+    @Test
+    public void testFindBy_SameNumberOfStatements_RegardlessOfPageSize() {
+        //given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        //page query and tags query
+        long expectedStatements = 2;
+        //when
+        long smallPageStatements = countStatementsForPage(statistics, 2);
+        long fullPageStatements = countStatementsForPage(statistics, ApplicationConstants.MAX_LIMIT);
+        //then
+        assertAll(() -> assertEquals(expectedStatements, smallPageStatements),
+                () -> assertEquals(expectedStatements, fullPageStatements));
+    }
+
+    @Test
+    public void testFindBy_TagsAreLoaded_WhenPageIsFound() {
+        //given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+        //when
+        List<GiftCertificate> results = criteriaFindAllDao.findBy(Collections.emptyMap(), ApplicationConstants.MAX_LIMIT,
+                ApplicationConstants.DEFAULT_OFFSET);
+        results.forEach(certificate -> certificate.getTags().size());
+        //then
+        assertAll(() -> assertFalse(results.isEmpty()),
+                () -> assertEquals(0, statistics.getCollectionFetchCount()));
+    }
+
+    @Test
+    public void testCountBy_NumberOfEntitiesWithGivenTagNames_ThereAreEntitiesWithGivenTagNamesInDb() {
+        //given
+        Map<String, String[]> reqParams = new HashMap<>();
+        reqParams.put(ApplicationConstants.TAG_NAMES_KEY, new String[]{"or:tag1,tag2"});
+        reqParams.put(ApplicationConstants.LIMIT_KEY, new String[]{"1"});
+        long expectedCount = 4;
+        //when
+        long result = criteriaFindAllDao.countBy(reqParams);
+        //then
+        assertEquals(expectedCount, result);
+    }
+
+    @Test
+    public void testCountBy_NumberOfAllEntities_WhenThereAreNoFilters() {
+        //given
+        Map<String, String[]> reqParams = Collections.singletonMap(ApplicationConstants.SORT_FIELDS_KEY,
+                new String[]{ApplicationConstants.NAME_FIELD});
+        long expectedCount = giftCertificateDao.count();
+        //when
+        long result = criteriaFindAllDao.countBy(reqParams);
+        //then
+        assertEquals(expectedCount, result);
+    }
+
+    @Test
+    public void testFindVersionBy_CountAndMaxLastUpdateDateOfMatchingEntities_WhenTagNamesArePassed() {
+        //given
+        Map<String, String[]> reqParams = new HashMap<>();
+        reqParams.put(ApplicationConstants.TAG_NAMES_KEY, new String[]{"or:tag1,tag2"});
+        reqParams.put(ApplicationConstants.LIMIT_KEY, new String[]{"1"});
+        long expectedCount = criteriaFindAllDao.countBy(reqParams);
+        List<GiftCertificate> matching = new ArrayList<>();
+        criteriaFindAllDao.forEachBy(reqParams, matching::add);
+        LocalDateTime expectedDate = matching.stream()
+                .map(GiftCertificate::getLastUpdateDate)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        //when
+        VersionProjection result = criteriaFindAllDao.findVersionBy(reqParams, ApplicationConstants.LAST_UPDATE_DATE_FIELD);
+        //then
+        assertAll(() -> assertEquals(expectedCount, result.getCount()),
+                () -> assertEquals(expectedDate, result.getLastUpdateDate()));
+    }
+
+    @Test
+    public void testForEachBy_VisitEachCertificateWithTags_WhenTagNameIsPassed() {
+        //given
+        Map<String, String[]> reqParams = Collections.singletonMap(ApplicationConstants.TAG_NAMES_KEY, new String[]{"tag2"});
+        long expectedCount = criteriaFindAllDao.countBy(reqParams);
+        List<GiftCertificate> visited = new ArrayList<>();
+        //when
+        criteriaFindAllDao.forEachBy(reqParams, visited::add);
+        //then
+        assertAll(() -> assertEquals(expectedCount, visited.size()),
+                () -> assertEquals(expectedCount, visited.stream().map(GiftCertificate::getId).distinct().count()),
+                () -> assertTrue(visited.stream().allMatch(certificate -> Hibernate.isInitialized(certificate.getTags()))));
+    }
+
+    @Test
+    public void testFindByKeyset_FirstPageWithNextCursor_WhenAfterCursorIsEmpty() {
+        //given
+        Map<String, String[]> reqParams = Collections.singletonMap(ApplicationConstants.AFTER_KEY, new String[]{""});
+        int limit = 4;
+        //when
+        KeysetPage<GiftCertificate> result = criteriaFindAllDao.findByKeyset(reqParams, limit);
+        //then
+        assertAll(() -> assertEquals(limit, result.getContent().size()),
+                () -> assertEquals(certificate1.getId(), result.getContent().get(0).getId()),
+                () -> assertNotNull(result.getNextCursor()),
+                () -> assertNull(result.getPreviousCursor()));
+    }
+
+    @Test
+    public void testFindByKeyset_AllEntitiesInRequestedOrder_WhenAllPagesAreWalkedThrough() {
+        //given
+        int limit = 4;
+        long expectedCount = giftCertificateDao.count();
+        Map<String, String[]> reqParams = new HashMap<>();
+        reqParams.put(ApplicationConstants.SORT_FIELDS_KEY, new String[]{ApplicationConstants.PRICE_FIELD});
+        reqParams.put(ApplicationConstants.ORDER_KEY, new String[]{ApplicationConstants.DESC_ORDER});
+        reqParams.put(ApplicationConstants.AFTER_KEY, new String[]{""});
+        //when
+        KeysetPage<GiftCertificate> firstPage = criteriaFindAllDao.findByKeyset(reqParams, limit);
+        reqParams.put(ApplicationConstants.AFTER_KEY, new String[]{firstPage.getNextCursor()});
+        KeysetPage<GiftCertificate> secondPage = criteriaFindAllDao.findByKeyset(reqParams, limit);
+        //then
+        List<GiftCertificate> result = new ArrayList<>(firstPage.getContent());
+        result.addAll(secondPage.getContent());
+        List<BigDecimal> prices = result.stream().map(GiftCertificate::getPrice).collect(Collectors.toList());
+        List<BigDecimal> sortedPrices = prices.stream().sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        assertAll(() -> assertEquals(expectedCount, result.stream().map(GiftCertificate::getId).distinct().count()),
+                () -> assertEquals(sortedPrices, prices),
+                () -> assertNull(secondPage.getNextCursor()),
+                () -> assertNotNull(secondPage.getPreviousCursor()));
+    }
+
+    @Test
+    public void testFindByKeyset_LastPageInAscendingOrder_WhenBeforeCursorIsEmpty() {
+        //given
+        Map<String, String[]> reqParams = Collections.singletonMap(ApplicationConstants.BEFORE_KEY, new String[]{""});
+        int limit = 4;
+        List<Long> allIds = criteriaFindAllDao.findBy(Collections.emptyMap(), ApplicationConstants.MAX_LIMIT,
+                ApplicationConstants.DEFAULT_OFFSET)
+                .stream()
+                .map(GiftCertificate::getId)
+                .sorted()
+                .collect(Collectors.toList());
+        List<Long> expectedIds = allIds.subList(allIds.size() - limit, allIds.size());
+        //when
+        KeysetPage<GiftCertificate> result = criteriaFindAllDao.findByKeyset(reqParams, limit);
+        //then
+        List<Long> resultIds = result.getContent().stream().map(GiftCertificate::getId).collect(Collectors.toList());
+        assertAll(() -> assertEquals(expectedIds, resultIds),
+                () -> assertNull(result.getNextCursor()),
+                () -> assertNotNull(result.getPreviousCursor()));
+    }
+
+    @Test
+    public void testFindByKeyset_ThrowException_WhenCursorIsInvalid() {
+        //given
+        Map<String, String[]> reqParams = Collections.singletonMap(ApplicationConstants.AFTER_KEY, new String[]{"invalid"});
+        //when
+        //then
+        assertThrows(InvalidCursorException.class, () -> criteriaFindAllDao.findByKeyset(reqParams, ApplicationConstants.DEFAULT_LIMIT));
+    }
+
+    private Set<Long> findIdsByTagName(String tagName) {
+        Map<String, String[]> reqParams = Collections.singletonMap(ApplicationConstants.TAG_NAMES_KEY, new String[]{tagName});
+        return criteriaFindAllDao.findBy(reqParams, ApplicationConstants.MAX_LIMIT, ApplicationConstants.DEFAULT_OFFSET)
+                .stream()
+                .map(GiftCertificate::getId)
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    public void testFindBy_WithinStatementBudget_WhenTagsOfPageAreLoaded() {
+        //given
+        entityManager.clear();
+        //when
+        StatementStats stats = StatementBudget.assertAtMost(2, () -> criteriaFindAllDao.findBy(Collections.emptyMap(),
+                ApplicationConstants.MAX_LIMIT, ApplicationConstants.DEFAULT_OFFSET)
+                .forEach(certificate -> certificate.getTags().size()));
+        //then
+        assertEquals(2, stats.getFingerprints().size());
+    }
+
+    @Test
+    public void testFindById_ThrowAssertionError_WhenStatementBudgetIsExceeded() {
+        //given
+        entityManager.clear();
+        //when
+        AssertionError error = assertThrows(AssertionError.class, () -> StatementBudget.assertAtMost(1, () -> {
+            entityManager.clear();
+            giftCertificateDao.findById(1L);
+            entityManager.clear();
+            giftCertificateDao.findById(2L);
+        }));
+        //then
+        assertTrue(error.getMessage().contains("2 x "));
+    }
+
+    private long countStatementsForPage(Statistics statistics, int limit) {
+        entityManager.clear();
+        statistics.clear();
+        List<GiftCertificate> page = criteriaFindAllDao.findBy(Collections.emptyMap(), limit, ApplicationConstants.DEFAULT_OFFSET);
+        page.forEach(certificate -> certificate.getTags().size());
+        return statistics.getPrepareStatementCount();
+    }
 }
@@ -3,8 +3,11 @@ package com.epam.esm.dao.impl;
 import com.epam.esm.constants.ApplicationConstants;
 import com.epam.esm.dao.config.DaoTestConfig;
 import com.epam.esm.dao.domain.CriteriaFindAllDao;
+import com.epam.esm.dao.domain.GiftCertificateDao;
 import com.epam.esm.dao.domain.OrderDao;
+import com.epam.esm.entity.GiftCertificate;
 import com.epam.esm.entity.Order;
+import com.epam.esm.entity.OrderLine;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +18,7 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.HashMap;
@@ -37,13 +41,18 @@ public class OrderDaoTest {
 
 
     private final OrderDao orderDao;
+    private final GiftCertificateDao giftCertificateDao;
     private final CriteriaFindAllDao<Order> criteriaFindAllDao;
+    private final EntityManager entityManager;
 
     @Autowired
-    public OrderDaoTest(OrderDao orderDao,
-                        @Qualifier("orderCriteriaFindAllDao") CriteriaFindAllDao<Order> criteriaFindAllDao) {
+    public OrderDaoTest(OrderDao orderDao, GiftCertificateDao giftCertificateDao,
+                        @Qualifier("orderCriteriaFindAllDao") CriteriaFindAllDao<Order> criteriaFindAllDao,
+                        EntityManager entityManager) {
         this.orderDao = orderDao;
+        this.giftCertificateDao = giftCertificateDao;
         this.criteriaFindAllDao = criteriaFindAllDao;
+        this.entityManager = entityManager;
     }
 
     private static Order order1;
@@ -103,6 +112,27 @@ public class OrderDaoTest {
                 () -> assertEquals(resultOrder.getCost(), savingOrder.getCost()));
     }
 
+    @Test
+    @Rollback
+    public void testSave_SaveLinesWithQuantityAndUnitPrice_WhenOrderHasLines() {
+        //given
+        GiftCertificate giftCertificate = giftCertificateDao.findById(1L).orElseThrow(IllegalStateException::new);
+        Order savingOrder = new Order();
+        savingOrder.addLine(giftCertificate, 1000);
+        savingOrder.setCost(savingOrder.getOrderLines().get(0).getCost());
+        //when
+        long orderId = orderDao.save(savingOrder).getId();
+        entityManager.flush();
+        entityManager.clear();
+        //then
+        Order result = orderDao.findById(orderId).orElseThrow(IllegalStateException::new);
+        assertEquals(1, result.getOrderLines().size());
+        OrderLine line = result.getOrderLines().get(0);
+        assertAll(() -> assertEquals(1000, line.getQuantity()),
+                () -> assertEquals(0, giftCertificate.getPrice().compareTo(line.getUnitPrice())),
+                () -> assertEquals(giftCertificate.getId(), line.getGiftCertificate().getId()));
+    }
+
     @Test
     @Rollback
     public void testDeleteById_NotThrowExceptions_WhenEntityWasDeleted() {
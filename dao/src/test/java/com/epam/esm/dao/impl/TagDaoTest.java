@@ -15,6 +15,7 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(classes = DaoTestConfig.class)
 @ActiveProfiles("test")
@@ -106,6 +108,17 @@ public class TagDaoTest {
         assertFalse(result.isPresent());
     }
 
+    @Test
+    public void testFindAllByNameIn_OnlyExistingEntities_SomeOfGivenNamesArePresentInDb() {
+        //given
+        List<String> testNames = Arrays.asList("tag1", "tag2", "testName");
+        //when
+        List<Tag> result = tagDao.findAllByNameIn(testNames);
+        //then
+        assertEquals(2, result.size());
+        assertTrue(result.stream().map(Tag::getName).allMatch(Arrays.asList("tag1", "tag2")::contains));
+    }
+
     @Test
     @Rollback
     public void testSave_Entity() {
@@ -5,6 +5,7 @@ import com.epam.esm.constants.ApplicationConstants;
 import com.epam.esm.dao.config.DaoTestConfig;
 import com.epam.esm.dao.domain.CriteriaFindAllDao;
 import com.epam.esm.dao.domain.UserDao;
+import com.epam.esm.dao.domain.projection.UserProjection;
 import com.epam.esm.entity.User;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -82,6 +83,39 @@ public class UserDaoTest {
         assertFalse(result.isPresent());
     }
 
+    @Test
+    public void testFindProjectionByLogin_ShouldReturnOptionalWithProjection_WhenUserExistsInDb() {
+        //given
+        String login = user3.getLogin();
+        //when
+        Optional<UserProjection> result = userDao.findProjectionByLogin(login);
+        //then
+        assertTrue(result.isPresent());
+        result.ifPresent(projection -> assertAll(() -> assertEquals(user3.getId(), projection.getId()),
+                () -> assertEquals(user3.getPassword(), projection.getPassword()),
+                () -> assertEquals(user3.getRole(), projection.getRole())));
+    }
+
+    @Test
+    public void testFindProjectionById_ShouldReturnEmptyOptional_WhenUserDoesNotExistInDb() {
+        //given
+        long id = -1;
+        //when
+        Optional<UserProjection> result = userDao.findProjectionById(id);
+        //then
+        assertFalse(result.isPresent());
+    }
+
+    @Test
+    public void testExistsByLogin_ShouldReturnTrue_WhenUserExistsInDb() {
+        //given
+        String login = user3.getLogin();
+        //when
+        boolean result = userDao.existsByLogin(login);
+        //then
+        assertTrue(result);
+    }
+
     @Test
     public void testCount_ShouldReturnNumberOfEntity_WhenThereAreEntitiesInDb() {
         //given
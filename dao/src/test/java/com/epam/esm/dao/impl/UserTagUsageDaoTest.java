@@ -0,0 +1,152 @@
+package com.epam.esm.dao.impl;
+
+import com.epam.esm.dao.aggregate.UserTagUsageDao;
+import com.epam.esm.dao.config.DaoTestConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = DaoTestConfig.class)
+@ActiveProfiles("test")
+@Transactional
+public class UserTagUsageDaoTest {
+
+    private final UserTagUsageDao userTagUsageDao;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public UserTagUsageDaoTest(UserTagUsageDao userTagUsageDao, EntityManager entityManager,
+                               PlatformTransactionManager transactionManager) {
+        this.userTagUsageDao = userTagUsageDao;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    public void testFindInconsistentUserIds_EmptyList_WhenCountersAreBuiltFromOrders() {
+        //when
+        List<Long> result = userTagUsageDao.findInconsistentUserIds();
+        //then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    @Rollback
+    public void testSubtractOrderAndAddOrder_CountersAreConsistent_WhenOrderIsSubtractedAndAddedBack() {
+        //given
+        Object[] userOrder = (Object[]) entityManager
+                .createNativeQuery("SELECT uo.user_id, uo.order_id FROM users_orders uo " +
+                        "JOIN orders_certificates oc ON oc.order_id = uo.order_id " +
+                        "JOIN certificates_tags ct ON ct.certificate_id = oc.certificate_id")
+                .setMaxResults(1)
+                .getSingleResult();
+        long userId = ((Number) userOrder[0]).longValue();
+        long orderId = ((Number) userOrder[1]).longValue();
+        //when
+        userTagUsageDao.subtractOrder(orderId);
+        List<Long> afterSubtract = userTagUsageDao.findInconsistentUserIds();
+        userTagUsageDao.addOrder(orderId);
+        List<Long> afterAdd = userTagUsageDao.findInconsistentUserIds();
+        //then
+        assertEquals(Collections.singletonList(userId), afterSubtract);
+        assertTrue(afterAdd.isEmpty());
+    }
+
+    /**
+     * Both Orders share a Tag and are subtracted first, so both transactions race to insert the same counter.
+     * Transactions are committed, counters of the User are rebuilt afterwards.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void testAddOrder_CountersAreConsistent_WhenOrdersOfSameUserAreAddedConcurrently() throws Exception {
+        //given
+        Object[] userOrders = transactionTemplate.execute(status -> (Object[]) entityManager
+                .createNativeQuery("SELECT uo1.user_id, uo1.order_id, uo2.order_id FROM users_orders uo1 " +
+                        "JOIN users_orders uo2 ON uo2.user_id = uo1.user_id AND uo2.order_id > uo1.order_id " +
+                        "JOIN orders_certificates oc1 ON oc1.order_id = uo1.order_id " +
+                        "JOIN orders_certificates oc2 ON oc2.order_id = uo2.order_id " +
+                        "JOIN certificates_tags ct1 ON ct1.certificate_id = oc1.certificate_id " +
+                        "JOIN certificates_tags ct2 ON ct2.certificate_id = oc2.certificate_id AND ct2.tag_id = ct1.tag_id")
+                .setMaxResults(1)
+                .getSingleResult());
+        long userId = ((Number) userOrders[0]).longValue();
+        List<Long> orderIds = Arrays.asList(((Number) userOrders[1]).longValue(), ((Number) userOrders[2]).longValue());
+        transactionTemplate.execute(status -> {
+            orderIds.forEach(userTagUsageDao::subtractOrder);
+            return null;
+        });
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(orderIds.size());
+        try {
+            //when
+            CompletableFuture<?>[] additions = orderIds.stream()
+                    .map(orderId -> CompletableFuture.runAsync(() -> {
+                        awaitQuietly(start);
+                        transactionTemplate.execute(status -> {
+                            userTagUsageDao.addOrder(orderId);
+                            return null;
+                        });
+                    }, executor))
+                    .toArray(CompletableFuture[]::new);
+            start.countDown();
+            CompletableFuture.allOf(additions).get(30, TimeUnit.SECONDS);
+            List<Long> inconsistentUserIds = transactionTemplate.execute(status -> userTagUsageDao.findInconsistentUserIds());
+            //then
+            assertFalse(inconsistentUserIds.contains(userId));
+        } finally {
+            executor.shutdownNow();
+            transactionTemplate.execute(status -> {
+                userTagUsageDao.rebuild(Collections.singletonList(userId));
+                return null;
+            });
+        }
+    }
+
+    @Test
+    @Rollback
+    public void testRebuild_CountersAreConsistent_WhenCountersOfUserAreWrong() {
+        //given
+        long userId = ((Number) entityManager.createNativeQuery("SELECT user_id FROM user_tag_usage")
+                .setMaxResults(1)
+                .getSingleResult()).longValue();
+        entityManager.createNativeQuery("UPDATE user_tag_usage SET cnt = cnt + 1 WHERE user_id = :userId")
+                .setParameter("userId", userId)
+                .executeUpdate();
+        //when
+        List<Long> beforeRebuild = userTagUsageDao.findInconsistentUserIds();
+        userTagUsageDao.rebuild(Collections.singletonList(userId));
+        List<Long> afterRebuild = userTagUsageDao.findInconsistentUserIds();
+        //then
+        assertEquals(Collections.singletonList(userId), beforeRebuild);
+        assertTrue(afterRebuild.isEmpty());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.epam.esm.dao.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica, each of them knows its own name.
+ */
+public class ReadWriteRoutingDataSourceTest {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+    private static final String SELECT_NAME_QUERY = "SELECT name FROM node";
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @BeforeEach
+    void init() {
+        Map<Object, Object> pools = new HashMap<>();
+        DataSource primary = createDatabase(PRIMARY);
+        pools.put(DataSourceType.PRIMARY, primary);
+        pools.put(DataSourceType.REPLICA, createDatabase(REPLICA));
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(new ReplicaLagGuard(60000));
+        routingDataSource.setTargetDataSources(pools);
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.unbindClient();
+    }
+
+    @Test
+    public void testDetermineCurrentLookupKey_Replica_WhenTransactionIsReadOnly() {
+        //given
+        //when
+        String name = readOnlyTransaction.execute(status -> selectName());
+        //then
+        assertEquals(REPLICA, name);
+    }
+
+    @Test
+    public void testDetermineCurrentLookupKey_Primary_WhenTransactionIsReadWriteOrAbsent() {
+        //given
+        //when
+        String transactionalName = readWriteTransaction.execute(status -> selectName());
+        String name = selectName();
+        //then
+        assertAll(() -> assertEquals(PRIMARY, transactionalName),
+                () -> assertEquals(PRIMARY, name));
+    }
+
+    @Test
+    public void testDetermineCurrentLookupKey_Primary_WhenClientHasWrittenRecently() {
+        //given
+        RoutingContext.bindClient("user:writer");
+        readWriteTransaction.execute(status -> jdbcTemplate.update("UPDATE node SET writes = writes + 1"));
+        //when
+        String writerName = readOnlyTransaction.execute(status -> selectName());
+        RoutingContext.bindClient("user:reader");
+        String readerName = readOnlyTransaction.execute(status -> selectName());
+        //then
+        assertAll(() -> assertEquals(PRIMARY, writerName),
+                () -> assertEquals(REPLICA, readerName));
+    }
+
+    @Test
+    public void testDetermineCurrentLookupKey_Primary_WhenPrimaryIsForced() {
+        //given
+        //when
+        String name = readOnlyTransaction.execute(status -> RoutingContext.onPrimary(this::selectName));
+        //then
+        assertEquals(PRIMARY, name);
+    }
+
+    private String selectName() {
+        return jdbcTemplate.queryForObject(SELECT_NAME_QUERY, String.class);
+    }
+
+    private DataSource createDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("DROP TABLE IF EXISTS node");
+        template.execute("CREATE TABLE node (name VARCHAR(20), writes INT)");
+        template.update("INSERT INTO node (name, writes) VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,46 @@
+package com.epam.esm.querybuilder.keyset;
+
+import com.epam.esm.entity.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class KeysetCursorTest {
+
+    @Test
+    public void testDecode_SameCursor_WhenCursorWasEncoded() {
+        //given
+        KeysetCursor cursor = new KeysetCursor("name", 7, "spa:massage");
+        //when
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+        //then
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    public void testDecode_NullSortValue_WhenSortValueOfEntityIsNull() {
+        //given
+        Tag tag = new Tag();
+        tag.setId(3L);
+        KeysetCursor cursor = KeysetCursor.of(tag, "name");
+        //when
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+        //then
+        assertAll(
+                () -> assertNull(decoded.getSortValue()),
+                () -> assertEquals(3L, decoded.getId())
+        );
+    }
+
+    @Test
+    public void testDecode_StringNullSortValue_WhenSortValueIsStringNull() {
+        //given
+        KeysetCursor cursor = new KeysetCursor("name", 3, "null");
+        //when
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+        //then
+        assertEquals("null", decoded.getSortValue());
+    }
+}
@@ -0,0 +1,49 @@
+package com.epam.esm.querybuilder.textsearch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FullTextSearchTest {
+
+    private final FullTextSearch fullTextSearch = new FullTextSearch();
+
+    @Test
+    public void testToBooleanQuery_RequiredPrefixes_WhenAllWordsMustMatch() {
+        //given
+        //when
+        String result = fullTextSearch.toBooleanQuery(Arrays.asList("spa", "massage"), true);
+        //then
+        assertEquals("+spa* +massage*", result);
+    }
+
+    @Test
+    public void testToBooleanQuery_OptionalPrefixes_WhenAnyWordMayMatch() {
+        //given
+        //when
+        String result = fullTextSearch.toBooleanQuery(Arrays.asList("spa", "massage"), false);
+        //then
+        assertEquals("spa* massage*", result);
+    }
+
+    @Test
+    public void testToBooleanQuery_PhraseWithoutOperators_WhenWordContainsSpacesAndOperators() {
+        //given
+        //when
+        String result = fullTextSearch.toBooleanQuery(Arrays.asList("-hot  (stone)* \"massage\"", "+@~"), true);
+        //then
+        assertEquals("+\"hot stone massage\"", result);
+    }
+
+    @Test
+    public void testToBooleanQuery_EmptyQuery_WhenThereAreNoWords() {
+        //given
+        //when
+        String result = fullTextSearch.toBooleanQuery(Collections.singletonList(" "), false);
+        //then
+        assertEquals("", result);
+    }
+}
@@ -0,0 +1,72 @@
+insert into tag (id, name)
+values (1, 'tag1'),
+       (2, 'tag2'),
+       (3, 'tag3'),
+       (4, 'tag4'),
+       (5, 'tag5'),
+       (6, 'tag6');
+
+insert into gift_certificate (id, name, description, price, duration, create_date, last_update_date)
+values (1, '1name', '1description20Symbols', 100.00, 10, '2021-04-25 09:22:27.633', '2021-04-25 09:22:27.633'),
+       (2, '2name', '2description20Symbols', 200.00, 20, '2021-04-25 09:22:27.633', '2021-04-25 09:22:27.633'),
+       (3, '3name', '3description20Symbols', 300.00, 30, '2021-04-25 09:22:27.633', '2021-04-25 09:22:27.633'),
+       (4, '4name', '4description20Symbols', 400.00, 40, '2021-04-25 09:22:27.633', '2021-04-25 09:22:27.633'),
+       (5, '5name', '5description20Symbols', 500.00, 50, '2021-04-25 09:22:27.633', '2021-04-25 09:22:27.633'),
+       (6, '6name', '6description20Symbols', 600.00, 60, '2021-04-25 09:22:27.633', '2021-04-25 09:22:27.633');
+
+insert into certificates_tags (certificate_id, tag_id)
+values (1, 1),
+       (1, 2),
+       (2, 2),
+       (2, 3),
+       (3, 3),
+       (3, 4),
+       (4, 4),
+       (4, 5),
+       (5, 5),
+       (5, 6),
+       (6, 6),
+       (6, 1),
+       (2, 5),
+       (5, 3),
+       (4, 1);
+
+insert into user (id, login, password, role)
+values (1, 'aLogin', 'aPass', 'ADMIN'),
+       (2, 'u1Login', 'u1Pass', 'USER'),
+       (3, 'u2Login', 'u2Pass', 'USER');
+
+insert into orders (id, cost, creation_date)
+values (1, 300.00, '2021-04-25 09:25:41.702'),
+       (2, 500.00, '2021-04-25 09:25:41.702'),
+       (3, 700.00, '2021-04-25 09:25:41.702'),
+       (4, 900.00, '2021-04-25 09:25:41.702');
+
+insert into orders_certificates (order_id, certificate_id, quantity, unit_price)
+values (1, 1, 1, 100.00),
+       (1, 2, 1, 200.00),
+       (2, 2, 1, 200.00),
+       (2, 3, 1, 300.00),
+       (3, 3, 1, 300.00),
+       (3, 4, 1, 400.00),
+       (4, 4, 1, 400.00),
+       (4, 5, 1, 500.00);
+
+insert into users_orders (user_id, order_id)
+values (1, 1),
+       (2, 2),
+       (3, 3),
+       (3, 4);
+
+-- identity of H2 doesn't move after explicit ids
+alter table tag alter column id restart with 7;
+alter table gift_certificate alter column id restart with 7;
+alter table user alter column id restart with 4;
+alter table orders alter column id restart with 5;
+
+insert into user_tag_usage (user_id, tag_id, cnt)
+select uo.user_id, ct.tag_id, sum(oc.quantity)
+from users_orders uo
+         join orders_certificates oc on oc.order_id = uo.order_id
+         join certificates_tags ct on ct.certificate_id = oc.certificate_id
+group by uo.user_id, ct.tag_id;
@@ -0,0 +1,203 @@
+package com.epam.esm.loadtest;
+
+import com.epam.esm.domain.service.UserTagUsageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * This class fills the database with the {@link Dataset}. The same seed and scale always give the same rows.
+ * Rows are inserted with explicit ids by JDBC batches of {@value #CHUNK_SIZE} rows, so memory doesn't depend on the scale.
+ * The user_tag_usage table isn't an entity, it is created by the same script as in the application database
+ * and its counters are rebuilt after orders are inserted.
+ *
+ * @since 5.0
+ */
+public class DataGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataGenerator.class);
+    private static final int CHUNK_SIZE = 10_000;
+    private static final int MAX_TAGS_PER_CERTIFICATE = 5;
+    private static final int MAX_LINES_PER_ORDER = 3;
+    private static final int MAX_QUANTITY = 3;
+    private static final String USER_ROLE = "USER";
+    private static final String ADMIN_ROLE = "ADMIN";
+    private static final String USER_TAG_USAGE_SCRIPT = "sql/user_tag_usage.sql";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final UserTagUsageService userTagUsageService;
+
+    public DataGenerator(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, UserTagUsageService userTagUsageService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.userTagUsageService = userTagUsageService;
+    }
+
+    /**
+     * This method generates all rows of the dataset.
+     *
+     * @param dataset dataset for generation.
+     * @param seed    seed of random values.
+     * @throws IllegalStateException if the database already has certificates.
+     */
+    public void generate(Dataset dataset, long seed) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM gift_certificate", Integer.class);
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("The database already has " + existing + " certificates, the load test needs empty tables");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        long start = System.currentTimeMillis();
+        generateTags(dataset);
+        generateCertificates(dataset, random.split());
+        generateUsers(dataset);
+        generateOrders(dataset, random.split());
+        if (isH2()) {
+            restartIdentity("tag", dataset.getTagCount());
+            restartIdentity("gift_certificate", dataset.getCertificateCount());
+            restartIdentity("user", dataset.getAdminId());
+            restartIdentity("orders", dataset.getOrderCount());
+        }
+        new ResourceDatabasePopulator(new ClassPathResource(USER_TAG_USAGE_SCRIPT)).execute(jdbcTemplate.getDataSource());
+        userTagUsageService.rebuildAll();
+        LOGGER.info("Generated {} certificates, {} tags, {} users and {} orders in {} ms", dataset.getCertificateCount(),
+                dataset.getTagCount(), dataset.getUserCount(), dataset.getOrderCount(), System.currentTimeMillis() - start);
+    }
+
+    private void generateTags(Dataset dataset) {
+        Batch tags = new Batch("INSERT INTO tag (id, name) VALUES (?, ?)");
+        for (int index = 1; index <= dataset.getTagCount(); index++) {
+            tags.add(index, dataset.tagName(index));
+        }
+        tags.flush();
+    }
+
+    private void generateCertificates(Dataset dataset, SplittableRandom random) {
+        Batch certificates = new Batch("INSERT INTO gift_certificate (id, name, description, price, duration, create_date, "
+                + "last_update_date) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        Batch links = new Batch("INSERT INTO certificates_tags (certificate_id, tag_id) VALUES (?, ?)", certificates);
+        for (int index = 1; index <= dataset.getCertificateCount(); index++) {
+            String description = dataset.word(random.nextInt(dataset.wordCount())) + " and "
+                    + dataset.word(random.nextInt(dataset.wordCount())) + " for two with "
+                    + dataset.word(random.nextInt(dataset.wordCount())) + " included";
+            certificates.add(index, dataset.certificateName(index), description, dataset.price(index),
+                    dataset.duration(index), dataset.date(index), dataset.date(index));
+
+            Set<Integer> tagIndexes = new LinkedHashSet<>();
+            int tagCount = 1 + random.nextInt(MAX_TAGS_PER_CERTIFICATE);
+            while (tagIndexes.size() < tagCount) {
+                tagIndexes.add(dataset.popularTag(random));
+            }
+            for (int tagIndex : tagIndexes) {
+                links.add(index, tagIndex);
+            }
+        }
+        certificates.flush();
+        links.flush();
+    }
+
+    private void generateUsers(Dataset dataset) {
+        //all users have the same password, it is hashed once with the configured encoder
+        String password = passwordEncoder.encode(Dataset.PASSWORD);
+        Batch users = new Batch("INSERT INTO user (id, login, password, role) VALUES (?, ?, ?, ?)");
+        for (int index = 1; index <= dataset.getUserCount(); index++) {
+            users.add(index, dataset.login(index), password, USER_ROLE);
+        }
+        users.add(dataset.getAdminId(), Dataset.ADMIN_LOGIN, password, ADMIN_ROLE);
+        users.flush();
+    }
+
+    private void generateOrders(Dataset dataset, SplittableRandom random) {
+        Batch orders = new Batch("INSERT INTO orders (id, cost, creation_date) VALUES (?, ?, ?)");
+        Batch usersOrders = new Batch("INSERT INTO users_orders (order_id, user_id) VALUES (?, ?)", orders);
+        Batch orderLines = new Batch("INSERT INTO orders_certificates (order_id, certificate_id, quantity, unit_price) "
+                + "VALUES (?, ?, ?, ?)", orders);
+        for (int index = 1; index <= dataset.getOrderCount(); index++) {
+            Set<Integer> certificateIndexes = new LinkedHashSet<>();
+            int lineCount = 1 + random.nextInt(MAX_LINES_PER_ORDER);
+            while (certificateIndexes.size() < lineCount) {
+                certificateIndexes.add(dataset.anyCertificate(random));
+            }
+            List<Object[]> lines = new ArrayList<>(lineCount);
+            BigDecimal cost = BigDecimal.ZERO;
+            for (int certificateIndex : certificateIndexes) {
+                int quantity = 1 + random.nextInt(MAX_QUANTITY);
+                BigDecimal unitPrice = dataset.price(certificateIndex);
+                cost = cost.add(unitPrice.multiply(BigDecimal.valueOf(quantity)));
+                lines.add(new Object[]{index, certificateIndex, quantity, unitPrice});
+            }
+            orders.add(index, cost, dataset.date(index));
+            usersOrders.add(index, dataset.activeUser(random));
+            lines.forEach(orderLines::add);
+        }
+        orders.flush();
+        usersOrders.flush();
+        orderLines.flush();
+    }
+
+    private boolean isH2() {
+        return jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return "H2".equals(JdbcUtils.commonDatabaseName(metaData.getDatabaseProductName()));
+        });
+    }
+
+    /**
+     * Identity of H2 doesn't move after explicit ids, unlike AUTO_INCREMENT of MySQL.
+     */
+    private void restartIdentity(String table, long lastId) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (lastId + 1));
+    }
+
+    /**
+     * Rows of one statement which are inserted by chunks.
+     */
+    private class Batch {
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(CHUNK_SIZE);
+
+        private final Batch parent;
+
+        private Batch(String sql) {
+            this(sql, null);
+        }
+
+        /**
+         * @param parent batch of rows which are referenced by rows of this batch, it is flushed first.
+         */
+        private Batch(String sql, Batch parent) {
+            this.sql = sql;
+            this.parent = parent;
+        }
+
+        private void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
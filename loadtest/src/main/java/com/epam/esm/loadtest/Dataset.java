@@ -0,0 +1,122 @@
+package com.epam.esm.loadtest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic data of the given scale. Values are functions of indexes, so the generator and clients of the load
+ * agree on them without reading the database. Indexes start from 1 and are equal to ids of generated rows.
+ *
+ * @since 5.0
+ */
+public class Dataset {
+
+    public static final String PASSWORD = "password";
+    public static final String ADMIN_LOGIN = "admin";
+
+    private static final String[] WORDS = {"spa", "dinner", "cinema", "travel", "sport", "music", "book", "coffee",
+            "theatre", "museum", "pool", "yoga", "massage", "wine", "pizza", "sushi", "bowling", "karting", "quest",
+            "concert", "gallery", "dance", "horse", "flight", "boat", "photo", "cooking", "climbing", "skating", "golf",
+            "tennis", "surfing", "diving", "sauna", "tea", "chocolate", "cheese", "burger", "steak", "balloon"};
+    private static final LocalDateTime START_DATE = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private final int certificateCount;
+    private final int tagCount;
+    private final int userCount;
+    private final int orderCount;
+
+    /**
+     * @param scale count of certificates, counts of other rows are proportional to it.
+     */
+    public Dataset(int scale) {
+        this.certificateCount = scale;
+        this.tagCount = Math.max(10, scale / 20);
+        this.userCount = Math.max(10, scale / 10);
+        this.orderCount = scale;
+    }
+
+    public int getCertificateCount() {
+        return certificateCount;
+    }
+
+    public int getTagCount() {
+        return tagCount;
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    /**
+     * @return id of the admin, who is created after all users.
+     */
+    public long getAdminId() {
+        return userCount + 1L;
+    }
+
+    public String tagName(int index) {
+        return "tag" + index;
+    }
+
+    public String login(int index) {
+        return "user" + index;
+    }
+
+    public String certificateName(int index) {
+        return "certificate " + index;
+    }
+
+    public String word(int index) {
+        return WORDS[Math.floorMod(index, WORDS.length)];
+    }
+
+    public int wordCount() {
+        return WORDS.length;
+    }
+
+    public BigDecimal price(int certificateIndex) {
+        return BigDecimal.valueOf(5 + (certificateIndex * 7919L) % 995);
+    }
+
+    public int duration(int certificateIndex) {
+        return 1 + (certificateIndex * 31) % 100;
+    }
+
+    public LocalDateTime date(int index) {
+        return START_DATE.plusMinutes(index);
+    }
+
+    /**
+     * Popular tags are used much more often, like in real catalogs.
+     *
+     * @param random random of the caller.
+     * @return index of a tag.
+     */
+    public int popularTag(SplittableRandom random) {
+        return skewed(random, tagCount);
+    }
+
+    /**
+     * Active users make most of orders.
+     *
+     * @param random random of the caller.
+     * @return index of a user.
+     */
+    public int activeUser(SplittableRandom random) {
+        return skewed(random, userCount);
+    }
+
+    public int anyCertificate(SplittableRandom random) {
+        return 1 + random.nextInt(certificateCount);
+    }
+
+    private int skewed(SplittableRandom random, int count) {
+        double point = random.nextDouble();
+        return 1 + (int) (point * point * count);
+    }
+}
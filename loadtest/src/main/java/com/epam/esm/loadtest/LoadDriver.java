@@ -0,0 +1,218 @@
+package com.epam.esm.loadtest;
+
+import com.epam.esm.constants.ApplicationConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class drives the mix of requests against the server by concurrent clients. Every client is a user
+ * of the dataset, it logs in before its first order. Requests of the warmup are not measured.
+ *
+ * @since 5.0
+ */
+public class LoadDriver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadDriver.class);
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_ORDER_QUANTITY = 3;
+
+    private final String baseUrl;
+    private final Dataset dataset;
+    private final LoadTestOptions options;
+    private final RestTemplate restTemplate;
+    private final Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+    private volatile String adminToken;
+
+    public LoadDriver(String baseUrl, Dataset dataset, LoadTestOptions options) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.options = options;
+        this.restTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
+        this.restTemplate.setErrorHandler(new StatusOnlyErrorHandler());
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new ScenarioStats());
+        }
+    }
+
+    /**
+     * This method runs the warmup and the measured load.
+     *
+     * @return report of the measured load.
+     * @throws InterruptedException if the thread is interrupted while clients are running.
+     */
+    public LoadReport run() throws InterruptedException {
+        adminToken = authenticate(Dataset.ADMIN_LOGIN);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.getWarmupSeconds());
+        long measureTo = measureFrom + TimeUnit.SECONDS.toNanos(options.getDurationSeconds());
+        LOGGER.info("Running mix {} by {} clients: {} s of warmup and {} s of measurement", options.getMix(),
+                options.getThreads(), options.getWarmupSeconds(), options.getDurationSeconds());
+
+        ExecutorService clients = Executors.newFixedThreadPool(options.getThreads());
+        SplittableRandom random = new SplittableRandom(options.getSeed());
+        for (int i = 0; i < options.getThreads(); i++) {
+            Client client = new Client(random.split(), measureFrom, measureTo);
+            clients.execute(client);
+        }
+        clients.shutdown();
+        if (!clients.awaitTermination(options.getWarmupSeconds() + options.getDurationSeconds() + 60L, TimeUnit.SECONDS)) {
+            clients.shutdownNow();
+        }
+        return new LoadReport(options, dataset, stats, options.getDurationSeconds());
+    }
+
+    private String authenticate(String login) {
+        Map<String, String> body = new HashMap<>();
+        body.put("login", login);
+        body.put("password", Dataset.PASSWORD);
+        ResponseEntity<Map> response = restTemplate.postForEntity(baseUrl + "/auth/authenticate", body, Map.class);
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new IllegalStateException("Login of " + login + " failed with status " + response.getStatusCode());
+        }
+        return (String) response.getBody().get("accessToken");
+    }
+
+    private HttpHeaders headers(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(Collections.singletonList(MediaType.ALL));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (token != null) {
+            headers.set(ApplicationConstants.AUTH_HEADER, ApplicationConstants.BEARER_PREFIX + " " + token);
+        }
+        return headers;
+    }
+
+    /**
+     * One client of the load. Requests are sent one by one without think time, so the load is closed:
+     * the slower the server is, the less requests are sent.
+     */
+    private class Client implements Runnable {
+        private final SplittableRandom random;
+        private final long measureFrom;
+        private final long measureTo;
+        private final int userIndex;
+        private String token;
+
+        private Client(SplittableRandom random, long measureFrom, long measureTo) {
+            this.random = random;
+            this.measureFrom = measureFrom;
+            this.measureTo = measureTo;
+            this.userIndex = dataset.activeUser(random);
+        }
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            while (now < measureTo && !Thread.currentThread().isInterrupted()) {
+                Scenario scenario = options.getMix().next(random);
+                HttpStatus status;
+                try {
+                    status = execute(scenario);
+                } catch (RuntimeException e) {
+                    LOGGER.debug("Request of {} failed", scenario, e);
+                    status = null;
+                }
+                long finished = System.nanoTime();
+                if (now >= measureFrom && finished <= measureTo) {
+                    record(scenario, status, finished - now);
+                }
+                now = finished;
+            }
+        }
+
+        private void record(Scenario scenario, HttpStatus status, long latency) {
+            ScenarioStats scenarioStats = stats.get(scenario);
+            if (status != null && status.is2xxSuccessful()) {
+                scenarioStats.succeeded(latency);
+            } else if (status == HttpStatus.SERVICE_UNAVAILABLE || status == HttpStatus.TOO_MANY_REQUESTS) {
+                scenarioStats.rejected();
+            } else {
+                scenarioStats.failed();
+            }
+        }
+
+        private HttpStatus execute(Scenario scenario) {
+            switch (scenario) {
+                case SEARCH_CERTIFICATES:
+                    return exchange(HttpMethod.GET, "/certificates?" + searchQuery(), null, null);
+                case AUTHENTICATE:
+                    Map<String, String> body = new HashMap<>();
+                    body.put("login", dataset.login(dataset.activeUser(random)));
+                    body.put("password", Dataset.PASSWORD);
+                    return exchange(HttpMethod.POST, "/auth/authenticate", body, null);
+                case CREATE_ORDER:
+                    if (token == null) {
+                        token = authenticate(dataset.login(userIndex));
+                    }
+                    Map<String, Object> line = new HashMap<>();
+                    line.put("certificateId", dataset.anyCertificate(random));
+                    line.put("count", 1 + random.nextInt(MAX_ORDER_QUANTITY));
+                    return exchange(HttpMethod.POST, "/users/" + userIndex + "/orders", Collections.singletonList(line), token);
+                case MOST_WIDELY_USED_TAG:
+                    return exchange(HttpMethod.GET, "/users/" + dataset.activeUser(random) + "/most_widely_used_tag", null,
+                            adminToken);
+                default:
+                    throw new IllegalArgumentException("Unknown scenario " + scenario);
+            }
+        }
+
+        private HttpStatus exchange(HttpMethod method, String path, Object body, String token) {
+            return restTemplate.exchange(baseUrl + path, method, new HttpEntity<>(body, headers(token)), String.class)
+                    .getStatusCode();
+        }
+
+        /**
+         * Searches of the catalog: by popular tags, by parts of names and descriptions, sorted and deep pages.
+         */
+        private String searchQuery() {
+            switch (random.nextInt(5)) {
+                case 0:
+                    return "tagNames=or:" + dataset.tagName(dataset.popularTag(random)) + ","
+                            + dataset.tagName(dataset.popularTag(random)) + "&limit=" + PAGE_SIZE;
+                case 1:
+                    return "namesPart=certificate " + random.nextInt(100) + "&limit=" + PAGE_SIZE;
+                case 2:
+                    return "descriptionsPart=and:" + dataset.word(random.nextInt(dataset.wordCount())) + ","
+                            + dataset.word(random.nextInt(dataset.wordCount())) + "&limit=" + PAGE_SIZE;
+                case 3:
+                    return "sortFields=price&order=desc&limit=" + PAGE_SIZE + "&offset="
+                            + random.nextInt(Math.max(1, dataset.getCertificateCount() - PAGE_SIZE));
+                default:
+                    return "sortFields=createDate&after=&limit=" + PAGE_SIZE;
+            }
+        }
+    }
+
+    /**
+     * Statuses of responses are recorded, not thrown.
+     */
+    private static class StatusOnlyErrorHandler implements ResponseErrorHandler {
+        @Override
+        public boolean hasError(ClientHttpResponse response) {
+            return false;
+        }
+
+        @Override
+        public void handleError(ClientHttpResponse response) {
+        }
+    }
+}
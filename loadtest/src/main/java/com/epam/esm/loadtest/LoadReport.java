@@ -0,0 +1,92 @@
+package com.epam.esm.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles of scenarios of the measured period of the load test.
+ *
+ * @since 5.0
+ */
+public class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 100};
+    private static final String ROW_FORMAT = "%-22s %9s %9s %9s %11s %9s %9s %9s %9s %9s%n";
+
+    private final LoadTestOptions options;
+    private final Dataset dataset;
+    private final Map<Scenario, ScenarioStats> stats;
+    private final double seconds;
+
+    public LoadReport(LoadTestOptions options, Dataset dataset, Map<Scenario, ScenarioStats> stats, double seconds) {
+        this.options = options;
+        this.dataset = dataset;
+        this.stats = stats;
+        this.seconds = seconds;
+    }
+
+    /**
+     * This method prints the table of scenarios, latencies are in milliseconds.
+     */
+    public String toTable() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "Mix %s, %d threads, %d certificates, %.1f s measured%n",
+                options.getMix(), options.getThreads(), dataset.getCertificateCount(), seconds));
+        table.append(String.format(Locale.ROOT, ROW_FORMAT, "scenario", "ok", "rejected", "failed", "req/s",
+                "p50", "p90", "p99", "p99.9", "max"));
+        for (Map<String, Object> row : getRows()) {
+            List<Object> values = new ArrayList<>(row.values());
+            table.append(String.format(Locale.ROOT, ROW_FORMAT, values.stream()
+                    .map(value -> value instanceof Double ? String.format(Locale.ROOT, "%.2f", (Double) value) : String.valueOf(value))
+                    .toArray()));
+        }
+        return table.toString();
+    }
+
+    /**
+     * This method writes the report as JSON.
+     *
+     * @param file target file, its directories are created.
+     * @throws IOException if the file can't be written.
+     */
+    public void writeJson(File file) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Directory of the report can't be created: " + directory);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("target", options.getTarget());
+        report.put("mix", options.getMix());
+        report.put("threads", options.getThreads());
+        report.put("scale", options.getScale());
+        report.put("seed", options.getSeed());
+        report.put("measuredSeconds", seconds);
+        report.put("scenarios", getRows());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+    }
+
+    private List<Map<String, Object>> getRows() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        stats.forEach((scenario, scenarioStats) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("scenario", scenario);
+            row.put("succeeded", scenarioStats.getSucceeded());
+            row.put("rejected", scenarioStats.getRejected());
+            row.put("failed", scenarioStats.getFailed());
+            row.put("throughput", scenarioStats.getSucceeded() / seconds);
+            for (double percentile : PERCENTILES) {
+                String name = percentile == 100 ? "max" : "p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile));
+                row.put(name, scenarioStats.getLatencyMillis(percentile));
+            }
+            rows.add(row);
+        });
+        return rows;
+    }
+}
@@ -0,0 +1,134 @@
+package com.epam.esm.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Options of the load test, they are passed as {@code --name=value} arguments. Other arguments, e.g.
+ * {@code --spring.datasource.url=...}, are passed to the application.
+ * <ul>
+ *     <li>target - database: h2 (in-memory, default) or mysql (local database of the dev profile, tables must be empty).</li>
+ *     <li>scale - count of generated certificates, 10000 by default. About 8 rows are generated per certificate,
+ *     so scale from 125 to 1250000 gives from 1k to 10M rows.</li>
+ *     <li>seed - seed of the data generator and the load, 42 by default.</li>
+ *     <li>mix - mix of requests, see {@link Mix}, default by default.</li>
+ *     <li>threads - count of concurrent clients, 16 by default.</li>
+ *     <li>warmup - seconds of load before measurement, 10 by default.</li>
+ *     <li>duration - seconds of measured load, 60 by default.</li>
+ *     <li>report - file of the JSON report, build/reports/loadtest/report.json by default.</li>
+ * </ul>
+ *
+ * @since 5.0
+ */
+public class LoadTestOptions {
+
+    private static final String PREFIX = "--";
+
+    private String target = "h2";
+    private int scale = 10_000;
+    private long seed = 42;
+    private Mix mix = Mix.DEFAULT;
+    private int threads = 16;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 60;
+    private String report = "build/reports/loadtest/report.json";
+    private final List<String> applicationArgs = new ArrayList<>();
+
+    /**
+     * @param args arguments of the command line.
+     * @return parsed options.
+     * @throws IllegalArgumentException if a value of an option is invalid.
+     */
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith(PREFIX) || separator < 0 || !options.set(arg.substring(PREFIX.length(), separator),
+                    arg.substring(separator + 1))) {
+                options.applicationArgs.add(arg);
+            }
+        }
+        if (!"h2".equals(options.target) && !"mysql".equals(options.target)) {
+            throw new IllegalArgumentException("Unknown target " + options.target + ", h2 or mysql are supported");
+        }
+        if (options.scale < 1 || options.threads < 1 || options.warmupSeconds < 0 || options.durationSeconds < 1) {
+            throw new IllegalArgumentException("Scale, threads and duration must be positive, warmup must not be negative");
+        }
+        return options;
+    }
+
+    private boolean set(String name, String value) {
+        switch (name) {
+            case "target":
+                target = value.toLowerCase();
+                return true;
+            case "scale":
+                scale = Integer.parseInt(value);
+                return true;
+            case "seed":
+                seed = Long.parseLong(value);
+                return true;
+            case "mix":
+                mix = Mix.of(value);
+                return true;
+            case "threads":
+                threads = Integer.parseInt(value);
+                return true;
+            case "warmup":
+                warmupSeconds = Integer.parseInt(value);
+                return true;
+            case "duration":
+                durationSeconds = Integer.parseInt(value);
+                return true;
+            case "report":
+                report = value;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return profiles of the application for the target database.
+     */
+    public String getProfiles() {
+        return "h2".equals(target) ? "loadtest,loadtest-h2" : "dev,loadtest";
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Mix getMix() {
+        return mix;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public String getReport() {
+        return report;
+    }
+
+    public List<String> getApplicationArgs() {
+        return Collections.unmodifiableList(applicationArgs);
+    }
+}
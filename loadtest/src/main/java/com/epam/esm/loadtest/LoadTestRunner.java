@@ -0,0 +1,49 @@
+package com.epam.esm.loadtest;
+
+import com.epam.esm.ApplicationRunner;
+import com.epam.esm.domain.service.UserTagUsageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of the load test. The application is started in-process on a random port with the target database,
+ * the database is filled by {@link DataGenerator}, then {@link LoadDriver} sends the mix of requests
+ * and the report is printed and written as JSON. Options are described in {@link LoadTestOptions}.
+ *
+ * @since 5.0
+ */
+public class LoadTestRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        List<String> applicationArgs = new ArrayList<>();
+        applicationArgs.add("--server.port=0");
+        applicationArgs.add("--spring.profiles.active=" + options.getProfiles());
+        applicationArgs.addAll(options.getApplicationArgs());
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ApplicationRunner.class)
+                .run(applicationArgs.toArray(new String[0]))) {
+            Dataset dataset = new Dataset(options.getScale());
+            new DataGenerator(context.getBean(JdbcTemplate.class), context.getBean(PasswordEncoder.class),
+                    context.getBean(UserTagUsageService.class)).generate(dataset, options.getSeed());
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadReport report = new LoadDriver("http://localhost:" + port, dataset, options).run();
+            System.out.print(report.toTable());
+            File reportFile = new File(options.getReport());
+            report.writeJson(reportFile);
+            LOGGER.info("Report is written to {}", reportFile.getAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.epam.esm.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weights of scenarios in the load.
+ *
+ * @since 5.0
+ */
+public enum Mix {
+    /**
+     * Catalog reads dominate, logins and orders are occasional.
+     */
+    DEFAULT(70, 10, 10, 10),
+    /**
+     * Burst of logins next to catalog reads, latency of catalog reads shows isolation of password hashing.
+     */
+    LOGIN_STORM(30, 70, 0, 0);
+
+    private final Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+    private final int totalWeight;
+
+    Mix(int search, int authenticate, int createOrder, int mostWidelyUsedTag) {
+        weights.put(Scenario.SEARCH_CERTIFICATES, search);
+        weights.put(Scenario.AUTHENTICATE, authenticate);
+        weights.put(Scenario.CREATE_ORDER, createOrder);
+        weights.put(Scenario.MOST_WIDELY_USED_TAG, mostWidelyUsedTag);
+        totalWeight = search + authenticate + createOrder + mostWidelyUsedTag;
+    }
+
+    /**
+     * @param name name of the mix, e.g. login-storm.
+     * @return mix.
+     * @throws IllegalArgumentException if there is no such mix.
+     */
+    public static Mix of(String name) {
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+
+    /**
+     * @param random random of the client.
+     * @return the next scenario according to weights.
+     */
+    public Scenario next(SplittableRandom random) {
+        int point = random.nextInt(totalWeight);
+        for (Map.Entry<Scenario, Integer> weight : weights.entrySet()) {
+            point -= weight.getValue();
+            if (point < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Weights of the mix are empty");
+    }
+}
@@ -0,0 +1,25 @@
+package com.epam.esm.loadtest;
+
+/**
+ * Requests of the load test.
+ *
+ * @since 5.0
+ */
+public enum Scenario {
+    /**
+     * GET /certificates with filters, sorting and pagination of the catalog.
+     */
+    SEARCH_CERTIFICATES,
+    /**
+     * POST /auth/authenticate of a random user.
+     */
+    AUTHENTICATE,
+    /**
+     * POST /users/{id}/orders by the owner of the orders.
+     */
+    CREATE_ORDER,
+    /**
+     * GET /users/{id}/most_widely_used_tag by the admin.
+     */
+    MOST_WIDELY_USED_TAG
+}
@@ -0,0 +1,58 @@
+package com.epam.esm.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Measured requests of one scenario. Latencies of successful requests are kept to calculate exact percentiles,
+ * rejected (503) and failed requests are only counted.
+ *
+ * @since 5.0
+ */
+public class ScenarioStats {
+
+    private long[] latencies = new long[1024];
+    private int succeeded;
+    private int rejected;
+    private int failed;
+
+    public synchronized void succeeded(long latencyNanos) {
+        if (succeeded == latencies.length) {
+            latencies = Arrays.copyOf(latencies, latencies.length * 2);
+        }
+        latencies[succeeded++] = latencyNanos;
+    }
+
+    public synchronized void rejected() {
+        rejected++;
+    }
+
+    public synchronized void failed() {
+        failed++;
+    }
+
+    public synchronized int getSucceeded() {
+        return succeeded;
+    }
+
+    public synchronized int getRejected() {
+        return rejected;
+    }
+
+    public synchronized int getFailed() {
+        return failed;
+    }
+
+    /**
+     * @param percentile percentile from 0 to 100.
+     * @return latency of successful requests in milliseconds, 0 if there are no such requests.
+     */
+    public synchronized double getLatencyMillis(double percentile) {
+        if (succeeded == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, succeeded);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * succeeded) - 1;
+        return sorted[Math.max(0, Math.min(index, succeeded - 1))] / 1_000_000d;
+    }
+}
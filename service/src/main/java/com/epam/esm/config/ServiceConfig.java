@@ -1,28 +1,42 @@
 package com.epam.esm.config;
 
+import com.epam.esm.constants.ApplicationConstants;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ser.FilterProvider;
 import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import org.modelmapper.ModelMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @ComponentScan(basePackages = {"com.epam.esm"})
+@EnableScheduling
 public class ServiceConfig {
 
+    /**
+     * Caches of certificates and tags. Caches are created eagerly, so their hit, miss and eviction
+     * statistics are bound to the metrics registry on startup.
+     */
     @Bean
-    public ModelMapper getModelMapper() {
-        return new ModelMapper();
-       /* Converter<String, UserRole> userRoleConverter = context -> context.getSource() == null ? null : UserRole.searchRole(context.getSource());
-
-        modelMapper.typeMap(UserDto.class, User.class)
-                .addMappings(mapper -> mapper.using(userRoleConverter).map(UserDto::getRole, User::setRole));*/
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(ApplicationConstants.CERTIFICATES_CACHE,
+                ApplicationConstants.TAGS_CACHE, ApplicationConstants.TAGS_BY_NAME_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(ApplicationConstants.CACHE_MAX_SIZE)
+                .expireAfterWrite(ApplicationConstants.CACHE_TTL_MINUTES, TimeUnit.MINUTES)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
     }
 
     @Bean
@@ -0,0 +1,46 @@
+package com.epam.esm.domain.cache;
+
+import com.epam.esm.domain.dto.GiftCertificateDto;
+import com.epam.esm.domain.dto.TagDto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * This class makes copies of cached DTOs. Links of DTOs are not copied because they are added
+ * by the web layer to every returned DTO.
+ *
+ * @since 5.0
+ */
+public final class CachedDtoCopier {
+
+    private CachedDtoCopier() {
+    }
+
+    /**
+     * This method makes a copy of TagDto.
+     *
+     * @param tagDto cached TagDto.
+     * @return copy of TagDto without links.
+     * @since 5.0
+     */
+    public static TagDto copyOf(TagDto tagDto) {
+        return new TagDto(tagDto.getId(), tagDto.getName());
+    }
+
+    /**
+     * This method makes a deep copy of GiftCertificateDto, its tags are copied too.
+     *
+     * @param certificateDto cached GiftCertificateDto.
+     * @return copy of GiftCertificateDto without links.
+     * @since 5.0
+     */
+    public static GiftCertificateDto copyOf(GiftCertificateDto certificateDto) {
+        List<TagDto> tags = certificateDto.getTags();
+        return certificateDto.toBuilder()
+                .tags(tags == null ? null : tags.stream()
+                        .map(CachedDtoCopier::copyOf)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
@@ -0,0 +1,209 @@
+package com.epam.esm.domain.cache;
+
+import com.epam.esm.dao.routing.RoutingContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache over caches of {@link org.springframework.cache.CacheManager} which is aware of transactions.
+ * <p>
+ * Every cache has a generation which is incremented on each eviction. A loaded value is put into the cache only if
+ * the generation didn't change while the value was loaded, so a reader which has read a row before a concurrent
+ * update was committed can't put the stale value after the eviction. Values loaded inside a read-write transaction
+ * are put after the commit. Evictions are made immediately and once more after the transaction completes.
+ * Values are loaded from the primary database even in read-only transactions, a lagging replica could return
+ * a row which was changed before the eviction.
+ * <p>
+ * Cached values are never returned to callers directly, a copy is returned instead because callers may change them.
+ *
+ * @since 5.0
+ */
+@Component
+public class ReadThroughCache {
+
+    private final CacheManager cacheManager;
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReadThroughCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * This method gets a value from the cache or loads it if it is absent. Null values are not cached.
+     *
+     * @param cacheName name of the cache.
+     * @param key       key of the value.
+     * @param loader    loads the value if it is absent in the cache.
+     * @param copier    makes a copy of the value which is returned to the caller.
+     * @param <V>       type of the value.
+     * @return copy of the cached or loaded value, null if the loader returned null.
+     * @since 5.0
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(String cacheName, Object key, Supplier<V> loader, UnaryOperator<V> copier) {
+        Cache cache = getCache(cacheName);
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null && cached.get() != null) {
+            return copier.apply((V) cached.get());
+        }
+
+        AtomicLong generation = getGeneration(cacheName);
+        long loadGeneration = generation.get();
+        V value = RoutingContext.onPrimary(loader);
+        if (value == null) {
+            return null;
+        }
+
+        putAfterCommit(cache, key, value, generation, loadGeneration);
+        return copier.apply(value);
+    }
+
+    /**
+     * This method gets values from the cache and loads all absent values with one call of the loader.
+     *
+     * @param cacheName name of the cache.
+     * @param keys      keys of the values.
+     * @param loader    loads absent values by their keys, keys without a value are skipped.
+     * @param copier    makes a copy of the value which is returned to the caller.
+     * @param <K>       type of the key.
+     * @param <V>       type of the value.
+     * @return map of keys to copies of the found values in order of given keys.
+     * @since 5.0
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> getAll(String cacheName, Collection<K> keys, Function<List<K>, Map<K, V>> loader,
+                                   UnaryOperator<V> copier) {
+        Cache cache = getCache(cacheName);
+        Map<K, V> values = new LinkedHashMap<>();
+        List<K> absentKeys = new ArrayList<>();
+        for (K key : keys) {
+            Cache.ValueWrapper cached = cache.get(key);
+            if (cached != null && cached.get() != null) {
+                values.put(key, (V) cached.get());
+            } else {
+                absentKeys.add(key);
+            }
+        }
+
+        if (!absentKeys.isEmpty()) {
+            AtomicLong generation = getGeneration(cacheName);
+            long loadGeneration = generation.get();
+            Map<K, V> loadedValues = RoutingContext.onPrimary(() -> loader.apply(absentKeys));
+            for (K key : absentKeys) {
+                V value = loadedValues.get(key);
+                if (value != null) {
+                    values.put(key, value);
+                    putAfterCommit(cache, key, value, generation, loadGeneration);
+                }
+            }
+        }
+
+        Map<K, V> copies = new LinkedHashMap<>();
+        keys.stream()
+                .filter(values::containsKey)
+                .forEach(key -> copies.put(key, copier.apply(values.get(key))));
+        return copies;
+    }
+
+    /**
+     * This method evicts the value from the cache now and after the current transaction completes.
+     *
+     * @param cacheName name of the cache.
+     * @param key       key of the value.
+     * @since 5.0
+     */
+    public void evictAfterCommit(String cacheName, Object key) {
+        Cache cache = getCache(cacheName);
+        AtomicLong generation = getGeneration(cacheName);
+        runNowAndAfterCompletion(() -> {
+            generation.incrementAndGet();
+            cache.evict(key);
+        });
+    }
+
+    /**
+     * This method removes all values from the cache now and after the current transaction completes.
+     *
+     * @param cacheName name of the cache.
+     * @since 5.0
+     */
+    public void clearAfterCommit(String cacheName) {
+        Cache cache = getCache(cacheName);
+        AtomicLong generation = getGeneration(cacheName);
+        runNowAndAfterCompletion(() -> {
+            generation.incrementAndGet();
+            cache.clear();
+        });
+    }
+
+    private void putAfterCommit(Cache cache, Object key, Object value, AtomicLong generation, long loadGeneration) {
+        if (isReadWriteTransaction()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    putIfNotEvicted(cache, key, value, generation, loadGeneration);
+                }
+            });
+        } else {
+            putIfNotEvicted(cache, key, value, generation, loadGeneration);
+        }
+    }
+
+    private void putIfNotEvicted(Cache cache, Object key, Object value, AtomicLong generation, long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return;
+        }
+        cache.put(key, value);
+        //eviction could happen between the check and the put
+        if (generation.get() != loadGeneration) {
+            cache.evict(key);
+        }
+    }
+
+    private void runNowAndAfterCompletion(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private boolean isReadWriteTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private AtomicLong getGeneration(String cacheName) {
+        return generations.computeIfAbsent(cacheName, name -> new AtomicLong());
+    }
+
+    private Cache getCache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            throw new IllegalStateException(String.format("Cache %s is not configured", cacheName));
+        }
+        return cache;
+    }
+}
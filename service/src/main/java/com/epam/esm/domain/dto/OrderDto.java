@@ -27,5 +27,5 @@ public class OrderDto extends RepresentationModel<OrderDto>{
     private Long id;
     private BigDecimal cost;
     private String creationDate;
-    private List<GiftCertificateDto> giftCertificates;
+    private List<OrderLineDto> orderLines;
 }
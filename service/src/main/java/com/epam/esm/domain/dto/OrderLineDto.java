@@ -0,0 +1,22 @@
+package com.epam.esm.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Order line DTO. It stores the ordered GiftCertificate, count of its units and the price of a unit at the moment of the order.
+ *
+ * @since 5.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLineDto {
+
+    private GiftCertificateDto giftCertificate;
+    private Integer quantity;
+    private BigDecimal unitPrice;
+}
@@ -0,0 +1,24 @@
+package com.epam.esm.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Top spender DTO. It stores a User, the total cost of the User's Orders and the most widely used Tags of the User.
+ *
+ * @since 5.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopSpenderDto {
+
+    private Long userId;
+    private String login;
+    private BigDecimal totalCost;
+    private List<TagDto> tags;
+}
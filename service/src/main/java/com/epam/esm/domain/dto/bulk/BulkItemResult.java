@@ -0,0 +1,39 @@
+package com.epam.esm.domain.dto.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of saving one item of a bulk request.
+ *
+ * @since 5.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+
+    /**
+     * Position of the item in the bulk request.
+     */
+    private int index;
+    private BulkItemStatus status;
+    /**
+     * Id of the saved entity, it is set only for saved items.
+     */
+    private Long id;
+    /**
+     * Error code and message, they are set only for failed items.
+     */
+    private Integer errorCode;
+    private String message;
+
+    public static BulkItemResult created(long id) {
+        return new BulkItemResult(0, BulkItemStatus.CREATED, id, null, null);
+    }
+
+    public static BulkItemResult failed(int errorCode, String message) {
+        return new BulkItemResult(0, BulkItemStatus.FAILED, null, errorCode, message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.epam.esm.domain.dto.bulk;
+
+/**
+ * Statuses of items of a bulk request.
+ *
+ * @since 5.0
+ */
+public enum BulkItemStatus {
+    CREATED,
+    FAILED
+}
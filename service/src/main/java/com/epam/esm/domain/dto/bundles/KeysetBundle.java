@@ -0,0 +1,13 @@
+package com.epam.esm.domain.dto.bundles;
+
+/**
+ * Bundle of found DTOs which can carry cursors of the neighbouring pages of keyset pagination.
+ *
+ * @since 5.0
+ */
+public interface KeysetBundle {
+
+    void setNextCursor(String nextCursor);
+
+    void setPreviousCursor(String previousCursor);
+}
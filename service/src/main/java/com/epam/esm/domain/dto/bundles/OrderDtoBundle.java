@@ -6,7 +6,12 @@ import lombok.Data;
 import java.util.List;
 
 @Data
-public class OrderDtoBundle {
+public class OrderDtoBundle implements KeysetBundle {
     private final List<OrderDto> orders;
     private final long count;
+    /**
+     * Cursors of the neighbouring pages, they are set only for keyset pagination.
+     */
+    private String nextCursor;
+    private String previousCursor;
 }
@@ -6,7 +6,12 @@ import lombok.Data;
 import java.util.List;
 
 @Data
-public class TagDtoBundle {
+public class TagDtoBundle implements KeysetBundle {
     private final List<TagDto> tags;
     private final long count;
+    /**
+     * Cursors of the neighbouring pages, they are set only for keyset pagination.
+     */
+    private String nextCursor;
+    private String previousCursor;
 }
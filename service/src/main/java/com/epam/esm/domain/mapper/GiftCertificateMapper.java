@@ -0,0 +1,82 @@
+package com.epam.esm.domain.mapper;
+
+import com.epam.esm.domain.dto.GiftCertificateDto;
+import com.epam.esm.domain.dto.TagDto;
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class converts GiftCertificate entities to GiftCertificateDtos and back.
+ * Dates are written in ISO-8601 format of {@link LocalDateTime#toString()}.
+ *
+ * @since 5.0
+ */
+@Component
+public class GiftCertificateMapper {
+
+    private final TagMapper tagMapper;
+
+    @Autowired
+    public GiftCertificateMapper(TagMapper tagMapper) {
+        this.tagMapper = tagMapper;
+    }
+
+    /**
+     * This method converts the certificate with its tags. Tags stay null if the entity has no list of tags.
+     *
+     * @param certificate GiftCertificate entity.
+     * @return GiftCertificateDto.
+     * @since 5.0
+     */
+    public GiftCertificateDto toDto(GiftCertificate certificate) {
+        List<Tag> tags = certificate.getTags();
+        List<TagDto> tagDtos = null;
+        if (tags != null) {
+            tagDtos = new ArrayList<>(tags.size());
+            for (Tag tag : tags) {
+                tagDtos.add(tagMapper.toDto(tag));
+            }
+        }
+        return new GiftCertificateDto(certificate.getId(), certificate.getName(), certificate.getDescription(),
+                certificate.getPrice(), certificate.getDuration(), format(certificate.getCreateDate()),
+                format(certificate.getLastUpdateDate()), tagDtos);
+    }
+
+    /**
+     * This method converts the certificate without tags, services resolve tags of a passed certificate themselves.
+     *
+     * @param certificateDto GiftCertificateDto.
+     * @return GiftCertificate entity without tags.
+     * @since 5.0
+     */
+    public GiftCertificate toEntity(GiftCertificateDto certificateDto) {
+        GiftCertificate certificate = new GiftCertificate();
+        certificate.setId(certificateDto.getId());
+        certificate.setName(certificateDto.getName());
+        certificate.setDescription(certificateDto.getDescription());
+        certificate.setPrice(certificateDto.getPrice());
+        certificate.setDuration(certificateDto.getDuration());
+        certificate.setCreateDate(parse(certificateDto.getCreateDate()));
+        certificate.setLastUpdateDate(parse(certificateDto.getLastUpdateDate()));
+        return certificate;
+    }
+
+    /**
+     * @param dateTime date of an entity.
+     * @return date in the format of DTOs, null if the date is null.
+     * @since 5.0
+     */
+    public static String format(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toString();
+    }
+
+    private static LocalDateTime parse(String dateTime) {
+        return dateTime == null ? null : LocalDateTime.parse(dateTime);
+    }
+}
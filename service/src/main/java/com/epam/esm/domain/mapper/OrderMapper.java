@@ -0,0 +1,47 @@
+package com.epam.esm.domain.mapper;
+
+import com.epam.esm.domain.dto.OrderDto;
+import com.epam.esm.domain.dto.OrderLineDto;
+import com.epam.esm.entity.Order;
+import com.epam.esm.entity.OrderLine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class converts Order entities to OrderDtos. The User of the Order is never touched.
+ *
+ * @since 5.0
+ */
+@Component
+public class OrderMapper {
+
+    private final GiftCertificateMapper giftCertificateMapper;
+
+    @Autowired
+    public OrderMapper(GiftCertificateMapper giftCertificateMapper) {
+        this.giftCertificateMapper = giftCertificateMapper;
+    }
+
+    /**
+     * This method converts the order with its lines and ordered certificates.
+     *
+     * @param order Order entity.
+     * @return OrderDto.
+     * @since 5.0
+     */
+    public OrderDto toDto(Order order) {
+        List<OrderLine> lines = order.getOrderLines();
+        List<OrderLineDto> lineDtos = null;
+        if (lines != null) {
+            lineDtos = new ArrayList<>(lines.size());
+            for (OrderLine line : lines) {
+                lineDtos.add(new OrderLineDto(giftCertificateMapper.toDto(line.getGiftCertificate()),
+                        line.getQuantity(), line.getUnitPrice()));
+            }
+        }
+        return new OrderDto(order.getId(), order.getCost(), GiftCertificateMapper.format(order.getCreationDate()), lineDtos);
+    }
+}
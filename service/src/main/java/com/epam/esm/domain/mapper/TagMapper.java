@@ -0,0 +1,35 @@
+package com.epam.esm.domain.mapper;
+
+import com.epam.esm.domain.dto.TagDto;
+import com.epam.esm.entity.Tag;
+import org.springframework.stereotype.Component;
+
+/**
+ * This class converts Tag entities to TagDtos and back. Certificates of the Tag are never touched.
+ *
+ * @since 5.0
+ */
+@Component
+public class TagMapper {
+
+    /**
+     * @param tag Tag entity.
+     * @return TagDto with id and name of the entity.
+     * @since 5.0
+     */
+    public TagDto toDto(Tag tag) {
+        return new TagDto(tag.getId(), tag.getName());
+    }
+
+    /**
+     * @param tagDto TagDto.
+     * @return Tag entity without certificates.
+     * @since 5.0
+     */
+    public Tag toEntity(TagDto tagDto) {
+        Tag tag = new Tag();
+        tag.setId(tagDto.getId());
+        tag.setName(tagDto.getName());
+        return tag;
+    }
+}
@@ -0,0 +1,47 @@
+package com.epam.esm.domain.mapper;
+
+import com.epam.esm.dao.domain.projection.UserProjection;
+import com.epam.esm.domain.dto.UserDto;
+import com.epam.esm.entity.User;
+import org.springframework.stereotype.Component;
+
+/**
+ * This class converts User entities and projections to UserDtos and back. Orders of the User are never touched.
+ *
+ * @since 5.0
+ */
+@Component
+public class UserMapper {
+
+    /**
+     * @param user User entity.
+     * @return UserDto.
+     * @since 5.0
+     */
+    public UserDto toDto(User user) {
+        return new UserDto(user.getId(), user.getLogin(), user.getPassword(), user.getRole());
+    }
+
+    /**
+     * @param user User projection.
+     * @return UserDto.
+     * @since 5.0
+     */
+    public UserDto toDto(UserProjection user) {
+        return new UserDto(user.getId(), user.getLogin(), user.getPassword(), user.getRole());
+    }
+
+    /**
+     * @param userDto UserDto.
+     * @return User entity without orders.
+     * @since 5.0
+     */
+    public User toEntity(UserDto userDto) {
+        User user = new User();
+        user.setId(userDto.getId());
+        user.setLogin(userDto.getLogin());
+        user.setPassword(userDto.getPassword());
+        user.setRole(userDto.getRole());
+        return user;
+    }
+}
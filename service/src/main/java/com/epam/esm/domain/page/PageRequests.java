@@ -0,0 +1,83 @@
+package com.epam.esm.domain.page;
+
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.dao.domain.CriteriaFindAllDao;
+import com.epam.esm.dao.domain.page.KeysetPage;
+import com.epam.esm.domain.dto.bundles.KeysetBundle;
+import com.epam.esm.domain.exceptions.GiftApplicationException;
+import com.epam.esm.querybuilder.keyset.InvalidCursorException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * This class parses pagination parameters of a request and gets pages of DTOs with keyset pagination,
+ * it is shared by services of all entities.
+ *
+ * @since 5.0
+ */
+public final class PageRequests {
+
+    private PageRequests() {
+    }
+
+    /**
+     * This method checks if keyset pagination is requested, i.e. 'after' or 'before' parameter is present.
+     *
+     * @param reqParams request parameters.
+     * @return true if keyset pagination is requested.
+     * @since 5.0
+     */
+    public static boolean isKeysetRequest(Map<String, String[]> reqParams) {
+        return reqParams.containsKey(ApplicationConstants.AFTER_KEY) || reqParams.containsKey(ApplicationConstants.BEFORE_KEY);
+    }
+
+    /**
+     * This method checks if a client needs the total count of entities. Count is skipped when
+     * 'withCount' request parameter is false.
+     *
+     * @param reqParams request parameters.
+     * @return false if count is not needed.
+     * @since 5.0
+     */
+    public static boolean isCountRequested(Map<String, String[]> reqParams) {
+        String[] withCount = reqParams.get(ApplicationConstants.WITH_COUNT_KEY);
+        return withCount == null || withCount.length == 0 || !Boolean.FALSE.toString().equalsIgnoreCase(withCount[0].trim());
+    }
+
+    /**
+     * This method gets a page of entities with keyset pagination and converts it to the bundle of DTOs.
+     * Count of entities is not calculated.
+     *
+     * @param findAllDao       dao which finds entities.
+     * @param reqParams        parameters of a request.
+     * @param limit            for pagination.
+     * @param mapper           converts an entity to DTO.
+     * @param bundleFactory    creates a bundle from DTOs and the count.
+     * @param exceptionFactory creates an exception of the service from a message of an invalid cursor.
+     * @return bundle which stores DTOs and cursors of the next and the previous pages.
+     * @since 5.0
+     */
+    public static <T, D, B extends KeysetBundle> B findKeysetPage(CriteriaFindAllDao<T> findAllDao,
+                                                                  Map<String, String[]> reqParams, int limit,
+                                                                  Function<T, D> mapper,
+                                                                  Function<List<D>, B> bundleFactory,
+                                                                  Function<String, ? extends GiftApplicationException> exceptionFactory) {
+        KeysetPage<T> page;
+        try {
+            page = findAllDao.findByKeyset(reqParams, limit);
+        } catch (InvalidCursorException e) {
+            throw exceptionFactory.apply(e.getMessage());
+        }
+
+        List<D> dtos = page.getContent().stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        B bundle = bundleFactory.apply(dtos);
+        bundle.setNextCursor(page.getNextCursor());
+        bundle.setPreviousCursor(page.getPreviousCursor());
+        return bundle;
+    }
+}
@@ -0,0 +1,31 @@
+package com.epam.esm.domain.service;
+
+import com.epam.esm.domain.dto.TopSpenderDto;
+
+import java.util.List;
+
+/**
+ * This interface represents an api of analytics across all Users.
+ * <p>
+ * Implementations : {@link com.epam.esm.domain.service.impl.AnalyticsServiceImpl} classes.
+ *
+ * @since 5.0
+ */
+public interface AnalyticsService {
+
+    /**
+     * Find Users with the highest total cost of Orders together with their most widely used Tags.
+     *
+     * @param limit max count of Users.
+     * @return Users ordered by the total cost descending.
+     * @since 5.0
+     */
+    List<TopSpenderDto> findTopSpenders(int limit);
+
+    /**
+     * Calculate analytics again, so the following reads return actual data.
+     *
+     * @since 5.0
+     */
+    void refresh();
+}
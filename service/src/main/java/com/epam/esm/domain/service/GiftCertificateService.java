@@ -1,9 +1,12 @@
 package com.epam.esm.domain.service;
 
 import com.epam.esm.domain.dto.GiftCertificateDto;
+import com.epam.esm.domain.dto.bulk.BulkItemResult;
 import com.epam.esm.domain.dto.bundles.GiftCertificateDtoBundle;
 
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * This interface represents an api to interact with the GiftCertificate dao layer.
@@ -23,6 +26,25 @@ public interface GiftCertificateService {
      */
     GiftCertificateDto findById(long id);
 
+    /**
+     * Find the last update date of GiftCertificate without loading it. The date is a version of the certificate.
+     *
+     * @param id GiftCertificate id.
+     * @return last update date in the format of {@link GiftCertificateDto#getLastUpdateDate()}.
+     * @since 5.0
+     */
+    String findLastUpdateDate(long id);
+
+    /**
+     * Find the version of GiftCertificates matching request parameters without loading them: their count and
+     * the max last update date. Sorting and pagination parameters are ignored.
+     *
+     * @param reqParams parameters of a request.
+     * @return version of matching GiftCertificates.
+     * @since 5.0
+     */
+    String findVersionForQuery(Map<String, String[]> reqParams);
+
     /**
      * Save GiftCertificate.
      *
@@ -32,6 +54,15 @@ public interface GiftCertificateService {
      */
     GiftCertificateDto save(GiftCertificateDto certificate);
 
+    /**
+     * Save chunk of GiftCertificates in one transaction.
+     *
+     * @param certificates GiftCertificates for saving.
+     * @return result for each passed GiftCertificate in the same order.
+     * @since 5.0
+     */
+    List<BulkItemResult> saveAll(List<GiftCertificateDto> certificates);
+
     /**
      * Update GiftCertificate.
      *
@@ -68,4 +99,13 @@ public interface GiftCertificateService {
      * @since 1.0
      */
     GiftCertificateDtoBundle findAllForQuery(Map<String, String[]> reqParams, int limit, int offset);
+
+    /**
+     * Pass all GiftCertificateDto matching passed request parameters to the consumer one by one.
+     *
+     * @param reqParams request parameters.
+     * @param consumer  consumer of GiftCertificateDto.
+     * @since 5.0
+     */
+    void exportForQuery(Map<String, String[]> reqParams, Consumer<GiftCertificateDto> consumer);
 }
@@ -6,6 +6,7 @@ import com.epam.esm.domain.dto.bundles.OrderDtoBundle;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * This interface represents an api to interact with the Order dao layer.
@@ -53,4 +54,14 @@ public interface OrderService {
      * @since 2.0
      */
     OrderDtoBundle findAllForQuery(long userId, Map<String, String[]> reqParams, int limit, int offset);
+
+    /**
+     * Pass all OrderDto of the User matching passed request parameters to the consumer one by one.
+     *
+     * @param userId    id of User.
+     * @param reqParams request parameters.
+     * @param consumer  consumer of OrderDto.
+     * @since 5.0
+     */
+    void exportForQuery(long userId, Map<String, String[]> reqParams, Consumer<OrderDto> consumer);
 }
@@ -4,6 +4,7 @@ import com.epam.esm.domain.dto.UserDto;
 import com.epam.esm.domain.dto.bundles.UserDtoBundle;
 
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * This interface represents an api to interact with the User dao layer.
@@ -53,6 +54,15 @@ public interface UserService {
      */
     UserDtoBundle findAllForQuery(Map<String, String[]> reqParams, int limit, int offset);
 
+    /**
+     * Pass all UserDto matching passed request parameters to the consumer one by one.
+     *
+     * @param reqParams request parameters.
+     * @param consumer  consumer of UserDto.
+     * @since 5.0
+     */
+    void exportForQuery(Map<String, String[]> reqParams, Consumer<UserDto> consumer);
+
     /**
      * Save GiftCertificate.
      *
@@ -61,4 +71,13 @@ public interface UserService {
      * @since 2.0
      */
     UserDto save(UserDto user);
+
+    /**
+     * Replace the password hash of the User, e.g. when the hash is upgraded to a stronger encoding on login.
+     *
+     * @param id              User id.
+     * @param encodedPassword new password hash.
+     * @since 5.0
+     */
+    void updatePassword(long id, String encodedPassword);
 }
@@ -0,0 +1,37 @@
+package com.epam.esm.domain.service;
+
+import java.util.List;
+
+/**
+ * This interface represents an api to maintain Tag usage counters of Users.
+ * The counters are updated with Orders, this api rebuilds and checks them.
+ * <p>
+ * Implementations : {@link com.epam.esm.domain.service.impl.UserTagUsageServiceImpl} classes.
+ *
+ * @since 5.0
+ */
+public interface UserTagUsageService {
+
+    /**
+     * Calculate counters of all Users from their Orders, e.g. to fill the counters for existing Orders.
+     *
+     * @since 5.0
+     */
+    void rebuildAll();
+
+    /**
+     * Find Users whose counters differ from their Orders.
+     *
+     * @return ids of Users.
+     * @since 5.0
+     */
+    List<Long> findInconsistentUserIds();
+
+    /**
+     * Calculate counters of Users whose counters differ from their Orders.
+     *
+     * @return ids of repaired Users.
+     * @since 5.0
+     */
+    List<Long> repair();
+}
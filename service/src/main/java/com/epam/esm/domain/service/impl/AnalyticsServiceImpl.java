@@ -0,0 +1,85 @@
+package com.epam.esm.domain.service.impl;
+
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.dao.aggregate.AnalyticsDao;
+import com.epam.esm.dao.domain.projection.UserSpendProjection;
+import com.epam.esm.dao.domain.projection.UserTagProjection;
+import com.epam.esm.domain.dto.TagDto;
+import com.epam.esm.domain.dto.TopSpenderDto;
+import com.epam.esm.domain.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Default implementation of {@link com.epam.esm.domain.service.AnalyticsService} interface.
+ * <p>
+ * Top spenders are calculated for the max limit on schedule and kept in memory, requests read a prefix of them,
+ * so heavy aggregation doesn't run on each request. Results are behind Orders at most by the refresh delay.
+ *
+ * @since 5.0
+ */
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private final AnalyticsDao analyticsDao;
+    private volatile List<TopSpenderDto> topSpenders;
+
+    @Autowired
+    public AnalyticsServiceImpl(AnalyticsDao analyticsDao) {
+        this.analyticsDao = analyticsDao;
+    }
+
+    /**
+     * This method reads top spenders calculated by the last refresh. They are calculated at once if there was no refresh yet.
+     *
+     * @param limit max count of Users.
+     * @return Users ordered by the total cost descending.
+     * @since 5.0
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TopSpenderDto> findTopSpenders(int limit) {
+        List<TopSpenderDto> spenders = topSpenders;
+        if (spenders == null) {
+            spenders = calculateTopSpenders();
+            topSpenders = spenders;
+        }
+        return new ArrayList<>(spenders.subList(0, Math.min(limit, spenders.size())));
+    }
+
+    /**
+     * This method calculates top spenders by two queries: spend of all Users is aggregated by one query and
+     * the most widely used Tags of the top Users are read from Tag usage counters by another one.
+     *
+     * @since 5.0
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Scheduled(fixedDelayString = ApplicationConstants.ANALYTICS_REFRESH_DELAY,
+            initialDelayString = ApplicationConstants.ANALYTICS_REFRESH_DELAY)
+    public void refresh() {
+        topSpenders = calculateTopSpenders();
+    }
+
+    private List<TopSpenderDto> calculateTopSpenders() {
+        List<UserSpendProjection> spends = analyticsDao.findTopSpenders(ApplicationConstants.TOP_SPENDERS_MAX_LIMIT);
+        Map<Long, List<TagDto>> tagsByUserId = analyticsDao.findMostWidelyUsedTags(spends.stream()
+                .map(UserSpendProjection::getUserId)
+                .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(UserTagProjection::getUserId,
+                        Collectors.mapping(tag -> new TagDto(tag.getTagId(), tag.getTagName()), Collectors.toList())));
+        return Collections.unmodifiableList(spends.stream()
+                .map(spend -> new TopSpenderDto(spend.getUserId(), spend.getLogin(), spend.getTotalCost(),
+                        tagsByUserId.getOrDefault(spend.getUserId(), Collections.emptyList())))
+                .collect(Collectors.toList()));
+    }
+}
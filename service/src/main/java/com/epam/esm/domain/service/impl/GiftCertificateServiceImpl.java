@@ -1,28 +1,47 @@
 package com.epam.esm.domain.service.impl;
 
 import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.dao.aggregate.UserTagUsageDao;
 import com.epam.esm.dao.domain.CriteriaFindAllDao;
 import com.epam.esm.dao.domain.GiftCertificateDao;
 import com.epam.esm.dao.domain.TagDao;
+import com.epam.esm.dao.domain.projection.VersionProjection;
 import com.epam.esm.dao.relation.CertificateTagsDao;
+import com.epam.esm.domain.cache.CachedDtoCopier;
+import com.epam.esm.domain.cache.ReadThroughCache;
 import com.epam.esm.domain.dto.GiftCertificateDto;
 import com.epam.esm.domain.dto.TagDto;
+import com.epam.esm.domain.dto.bulk.BulkItemResult;
 import com.epam.esm.domain.dto.bundles.GiftCertificateDtoBundle;
 import com.epam.esm.domain.exceptions.GiftCertificateException;
+import com.epam.esm.domain.mapper.GiftCertificateMapper;
+import com.epam.esm.domain.mapper.TagMapper;
+import com.epam.esm.domain.page.PageRequests;
 import com.epam.esm.domain.service.GiftCertificateService;
 import com.epam.esm.entity.GiftCertificate;
 import com.epam.esm.entity.Tag;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -33,48 +52,93 @@ import java.util.stream.Collectors;
 @Service
 public class GiftCertificateServiceImpl implements GiftCertificateService {
 
-    private final ModelMapper modelMapper;
+    private final GiftCertificateMapper giftCertificateMapper;
+    private final TagMapper tagMapper;
     private final GiftCertificateDao giftCertificateDao;
     private final TagDao tagDao;
     private final CriteriaFindAllDao<GiftCertificate> findAllDao;
 
     private final CertificateTagsDao certificateTagsDao;
+    private final UserTagUsageDao userTagUsageDao;
+    private final ReadThroughCache readThroughCache;
+    private final EntityManager entityManager;
 
     @Autowired
-    public GiftCertificateServiceImpl(GiftCertificateDao giftCertificateDao, ModelMapper modelMapper,
-                                      TagDao tagDao,
+    public GiftCertificateServiceImpl(GiftCertificateDao giftCertificateDao,
+                                      GiftCertificateMapper giftCertificateMapper, TagMapper tagMapper, TagDao tagDao,
                                       @Qualifier("giftCertificateCriteriaFindAllDao") CriteriaFindAllDao<GiftCertificate> findAllDao,
-                                      CertificateTagsDao certificateTagsDao) {
+                                      CertificateTagsDao certificateTagsDao, UserTagUsageDao userTagUsageDao,
+                                      ReadThroughCache readThroughCache, EntityManager entityManager) {
         this.giftCertificateDao = giftCertificateDao;
-        this.modelMapper = modelMapper;
+        this.giftCertificateMapper = giftCertificateMapper;
+        this.tagMapper = tagMapper;
         this.tagDao = tagDao;
         this.findAllDao = findAllDao;
         this.certificateTagsDao = certificateTagsDao;
+        this.userTagUsageDao = userTagUsageDao;
+        this.readThroughCache = readThroughCache;
+        this.entityManager = entityManager;
     }
 
     /**
      * This method gets a list of GiftCertificateDto according to request parameters, limit and offset.
+     * Count of GiftCertificates matching the filters is not calculated if 'withCount' parameter is false.
      *
      * @param reqParams parameters of a request.
      * @param limit     for pagination.
      * @param offset    for pagination.
-     * @return dto which stores information about count of GiftCertificates in DB and GiftCertificateDtos.
+     * @return dto which stores information about count of found GiftCertificates and GiftCertificateDtos.
      * @since 1.0
      */
     @Override
+    @Transactional(readOnly = true)
     public GiftCertificateDtoBundle findAllForQuery(Map<String, String[]> reqParams, int limit, int offset) {
+        if (PageRequests.isKeysetRequest(reqParams)) {
+            return findAllForKeysetQuery(reqParams, limit);
+        }
 
         List<GiftCertificate> foundCertificates = findAllDao.findBy(reqParams, limit, offset);
-        long count = giftCertificateDao.count();
+        long count = PageRequests.isCountRequested(reqParams) ? findAllDao.countBy(reqParams)
+                : ApplicationConstants.UNKNOWN_COUNT;
 
         List<GiftCertificateDto> giftCertificatesDto = foundCertificates.stream()
-                .map(certificate -> modelMapper.map(certificate, GiftCertificateDto.class))
+                .map(giftCertificateMapper::toDto)
                 .collect(Collectors.toList());
         return new GiftCertificateDtoBundle(giftCertificatesDto, count);
     }
 
+    /**
+     * This method passes all GiftCertificateDto matching request parameters to the consumer one by one.
+     * GiftCertificate entities are streamed from dao layer by chunks, so the number of entities is not limited by memory.
+     *
+     * @param reqParams parameters of a request.
+     * @param consumer  consumer of GiftCertificateDto.
+     * @since 5.0
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportForQuery(Map<String, String[]> reqParams, Consumer<GiftCertificateDto> consumer) {
+        findAllDao.forEachBy(reqParams, entity -> consumer.accept(giftCertificateMapper.toDto(entity)));
+    }
+
+    /**
+     * This method gets a page of GiftCertificateDto with keyset pagination. Count of GiftCertificates is not calculated.
+     *
+     * @param reqParams parameters of a request.
+     * @param limit     for pagination.
+     * @return dto which stores GiftCertificateDtos and cursors of the next and the previous pages.
+     * @throws GiftCertificateException if passed cursor is invalid.
+     * @since 5.0
+     */
+    private GiftCertificateDtoBundle findAllForKeysetQuery(Map<String, String[]> reqParams, int limit) {
+        return PageRequests.findKeysetPage(findAllDao, reqParams, limit, giftCertificateMapper::toDto,
+                giftCertificatesDto -> new GiftCertificateDtoBundle(giftCertificatesDto, ApplicationConstants.UNKNOWN_COUNT),
+                message -> new GiftCertificateException(message, ApplicationConstants.INVALID_CURSOR_ERROR_CODE));
+    }
+
     /**
      * This method gets GiftCertificate entity from dao layer with given id and converts it to GiftCertificateDto.
+     * Found GiftCertificateDto is cached until the GiftCertificate is changed.
      *
      * @param id id of necessary entity.
      * @return GiftCertificateDto with id and tags.
@@ -82,9 +146,43 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
      * @since 1.0
      */
     @Override
+    @Transactional(readOnly = true)
     public GiftCertificateDto findById(long id) {
-        GiftCertificate foundCertificate = findByIdIfExist(id);
-        return modelMapper.map(foundCertificate, GiftCertificateDto.class);
+        return readThroughCache.get(ApplicationConstants.CERTIFICATES_CACHE, id,
+                () -> giftCertificateMapper.toDto(findByIdIfExist(id)), CachedDtoCopier::copyOf);
+    }
+
+    /**
+     * This method reads the last update date of GiftCertificate by a query of one column, e.g. to check
+     * if a client has the current version of the certificate.
+     *
+     * @param id id of GiftCertificate entity.
+     * @return last update date in the format of {@link GiftCertificateDto#getLastUpdateDate()}.
+     * @throws GiftCertificateException if there is no entity with given id in database.
+     * @since 5.0
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String findLastUpdateDate(long id) {
+        return giftCertificateDao.findLastUpdateDateById(id)
+                .map(GiftCertificateMapper::format)
+                .orElseThrow(() -> new GiftCertificateException(String.format("GiftCertificate with id: %d doesn't exist in DB",
+                        id), ApplicationConstants.CERTIFICATE_NOT_FOUND_CODE, id));
+    }
+
+    /**
+     * This method reads the count and the max last update date of GiftCertificates matching request parameters
+     * by one aggregate query, e.g. to check if a client has the current version of a page.
+     *
+     * @param reqParams parameters of a request.
+     * @return version of matching GiftCertificates.
+     * @since 5.0
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String findVersionForQuery(Map<String, String[]> reqParams) {
+        VersionProjection version = findAllDao.findVersionBy(reqParams, ApplicationConstants.LAST_UPDATE_DATE_FIELD);
+        return version.getCount() + "/" + GiftCertificateMapper.format(version.getLastUpdateDate());
     }
 
 
@@ -106,11 +204,11 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
         //collection of tags which dont exist in db
         List<Tag> tagsForSaving = new ArrayList<>();
         //collection of tags which exist in db
-        List<Tag> tagsForLinking = new ArrayList<>();
+        List<TagDto> tagsForLinking = new ArrayList<>();
 
         fillTagLists(tagsForSaving, tagsForLinking, passedDto.getTags());
 
-        GiftCertificate giftCertificate = modelMapper.map(passedDto, GiftCertificate.class);
+        GiftCertificate giftCertificate = giftCertificateMapper.toEntity(passedDto);
         //set to saving certificate collection of nonexistent tags in db
         giftCertificate.setTags(tagsForSaving);
 
@@ -118,13 +216,78 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
         GiftCertificate savedCertificate = giftCertificateDao.save(giftCertificate);
 
         //for each tags in list of existing tags in db just save them in many to many table
-        tagsForLinking.forEach(tag -> certificateTagsDao.save(savedCertificate.getId(), tag.getId()));
+        certificateTagsDao.saveAll(savedCertificate.getId(), toTagIds(tagsForLinking));
 
         //union all tags for returning to client
-        giftCertificate.getTags().addAll(tagsForLinking);
+        return toDtoWithLinkedTags(savedCertificate, tagsForLinking);
 
-        return modelMapper.map(savedCertificate, GiftCertificateDto.class);
+    }
 
+    /**
+     * This method saves chunk of GiftCertificates in one transaction. Names of certificates are checked and tags of all
+     * certificates are resolved by one query each. A new tag passed with several certificates is saved once.
+     * Certificate with a name which is present in db or repeated in the chunk, ignoring case, is not saved and reported as failed.
+     * Saved entities are flushed and detached at the end of the chunk, so the persistence context doesn't grow
+     * from chunk to chunk even if it outlives the transaction.
+     *
+     * @param certificateDtos GiftCertificates for saving.
+     * @return result for each passed GiftCertificate in the same order.
+     * @since 5.0
+     */
+    @Override
+    @Transactional
+    public List<BulkItemResult> saveAll(List<GiftCertificateDto> certificateDtos) {
+        //names of certificates are case-insensitive as the unique constraint, accepted names are added as we go
+        Set<String> takenNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        takenNames.addAll(giftCertificateDao.findNamesByNameIn(certificateDtos.stream()
+                .map(GiftCertificateDto::getName)
+                .collect(Collectors.toSet())));
+
+        Set<String> tagNames = certificateDtos.stream()
+                .map(GiftCertificateDto::getTags)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .map(TagDto::getName)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, TagDto> foundTags = findTagsByNames(tagNames);
+        //new tags which are shared by all certificates of the chunk, names of tags are case-insensitive
+        Map<String, Tag> newTags = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        List<BulkItemResult> results = new ArrayList<>();
+        for (GiftCertificateDto certificateDto : certificateDtos) {
+            String certificateName = certificateDto.getName();
+            if (!takenNames.add(certificateName)) {
+                results.add(BulkItemResult.failed(ApplicationConstants.CERTIFICATE_WITH_SUCH_NAME_EXISTS_CODE,
+                        String.format("Gift certificate with name: %s already exits.", certificateName)));
+                continue;
+            }
+
+            List<Tag> tagsForSaving = new ArrayList<>();
+            List<TagDto> tagsForLinking = new ArrayList<>();
+            if (certificateDto.getTags() != null) {
+                Set<String> certificateTagNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+                certificateDto.getTags().stream()
+                        .map(TagDto::getName)
+                        .filter(certificateTagNames::add)
+                        .forEach(tagName -> {
+                            TagDto foundTag = foundTags.get(tagName);
+                            if (foundTag == null) {
+                                tagsForSaving.add(newTags.computeIfAbsent(tagName, this::createTag));
+                            } else {
+                                tagsForLinking.add(foundTag);
+                            }
+                        });
+            }
+
+            GiftCertificate giftCertificate = giftCertificateMapper.toEntity(certificateDto);
+            giftCertificate.setTags(tagsForSaving);
+            GiftCertificate savedCertificate = giftCertificateDao.save(giftCertificate);
+            certificateTagsDao.saveAll(savedCertificate.getId(), toTagIds(tagsForLinking));
+            results.add(BulkItemResult.created(savedCertificate.getId()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return results;
     }
 
     /**
@@ -145,28 +308,28 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
 
         checkIfAnotherEntityWithGivenNameExist(passedDto.getName(), certId);
 
+        readThroughCache.evictAfterCommit(ApplicationConstants.CERTIFICATES_CACHE, certId);
         certificateTagsDao.deleteAllTagLinksForCertificateId(certId);
 
         //collection of tags which dont exist in db
         List<Tag> tagsForSaving = new ArrayList<>();
         //collection of tags which exist in db
-        List<Tag> tagsForLinking = new ArrayList<>();
+        List<TagDto> tagsForLinking = new ArrayList<>();
 
         fillTagLists(tagsForSaving, tagsForLinking, passedDto.getTags());
 
         passedDto.setId(certId);
-        GiftCertificate giftCertificate = modelMapper.map(passedDto, GiftCertificate.class);
+        GiftCertificate giftCertificate = giftCertificateMapper.toEntity(passedDto);
 
         //set to saving certificate collection of nonexistent tags in db
         giftCertificate.setTags(tagsForSaving);
 
         GiftCertificate updatedCertificate = giftCertificateDao.save(giftCertificate);
 
-        tagsForLinking.forEach(tag -> certificateTagsDao.save(updatedCertificate.getId(), tag.getId()));
-
-        updatedCertificate.getTags().addAll(tagsForLinking);
+        certificateTagsDao.saveAll(updatedCertificate.getId(), toTagIds(tagsForLinking));
+        rebuildTagUsageOfBuyers(certId);
 
-        return modelMapper.map(updatedCertificate, GiftCertificateDto.class);
+        return toDtoWithLinkedTags(updatedCertificate, tagsForLinking);
     }
 
     /**
@@ -182,30 +345,32 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
     public GiftCertificateDto patch(GiftCertificateDto passedDto, long certId) {
 
         GiftCertificate foundCert = findByIdIfExist(certId);//check if id exists
+        readThroughCache.evictAfterCommit(ApplicationConstants.CERTIFICATES_CACHE, certId);
 
         changeEntityFieldsIfPresent(foundCert, passedDto, certId);//fill fields by passed GiftCertificateDto
 
         List<TagDto> passedTags = passedDto.getTags();
         if (passedTags == null) {
             GiftCertificate patchedCertificate = giftCertificateDao.save(foundCert);
-            return modelMapper.map(patchedCertificate, GiftCertificateDto.class);
+            return giftCertificateMapper.toDto(patchedCertificate);
         }
 
         //collection of tags which dont exist in db
         List<Tag> tagsForSaving = new ArrayList<>();
         //collection of tags which exist in db
-        List<Tag> tagsForLinking = new ArrayList<>();
+        List<TagDto> tagsForLinking = new ArrayList<>();
 
         fillTagLists(tagsForSaving, tagsForLinking, passedTags);
 
         foundCert.setTags(tagsForSaving);
+        //links of tags are saved by native queries, the certificate is changed to get a new last update date
+        foundCert.setLastUpdateDate(LocalDateTime.now());
         GiftCertificate patchedCertificate = giftCertificateDao.save(foundCert);//update
 
-        tagsForLinking.forEach(tag -> certificateTagsDao.save(patchedCertificate.getId(), tag.getId()));
+        certificateTagsDao.saveAll(patchedCertificate.getId(), toTagIds(tagsForLinking));
+        rebuildTagUsageOfBuyers(certId);
 
-        patchedCertificate.getTags().addAll(tagsForLinking);
-
-        return modelMapper.map(patchedCertificate, GiftCertificateDto.class);
+        return toDtoWithLinkedTags(patchedCertificate, tagsForLinking);
     }
 
 
@@ -219,9 +384,12 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
     @Transactional
     @Override
     public void delete(long id) {
+        readThroughCache.evictAfterCommit(ApplicationConstants.CERTIFICATES_CACHE, id);
         certificateTagsDao.deleteAllTagLinksForCertificateId(id);
         if (giftCertificateDao.existsById(id)) {
+            List<Long> buyerIds = userTagUsageDao.findUserIdsByCertificateId(id);
             giftCertificateDao.deleteById(id);
+            userTagUsageDao.rebuild(buyerIds);
         } else {
             throw new GiftCertificateException(String.format("GiftCertificate with id: %d doesn't exist in DB", id),
                     ApplicationConstants.CERTIFICATE_NOT_FOUND_CODE, id);
@@ -229,6 +397,16 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
     }
 
 
+    /**
+     * Tags of the GiftCertificate are changed, so Tag usage counters of Users who have ordered it are calculated again.
+     *
+     * @param certificateId id of the changed GiftCertificate entity.
+     * @since 5.0
+     */
+    private void rebuildTagUsageOfBuyers(long certificateId) {
+        userTagUsageDao.rebuild(userTagUsageDao.findUserIdsByCertificateId(certificateId));
+    }
+
     /**
      * This method fills {@param targetEntity} param by present fields of {@param fromDto} param and sets an update_time field.
      *
@@ -260,27 +438,102 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
 
     /**
      * This method fills two given lists with passed Tags depends on necessity of saving or linking the tag.
+     * Existing tags are found by {@link #findTagsByNames(Collection)}.
      *
      * @param tagsForSaving  list of Tags for saving.
-     * @param tagsForLinking list of Tags for linking.
+     * @param tagsForLinking list of existing Tags for linking.
      * @param passedDtoTags  passed Tags.
      */
-    private void fillTagLists(List<Tag> tagsForSaving, List<Tag> tagsForLinking, List<TagDto> passedDtoTags) {
+    private void fillTagLists(List<Tag> tagsForSaving, List<TagDto> tagsForLinking, List<TagDto> passedDtoTags) {
+        if (passedDtoTags == null) {
+            return;
+        }
+
+        //passed tags by their names without duplicates, names of tags are case-insensitive
+        Set<String> passedNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, Tag> passedTags = passedDtoTags.stream()
+                .map(tagMapper::toEntity)
+                .filter(tag -> passedNames.add(tag.getName()))
+                .collect(Collectors.toMap(Tag::getName, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+
+        Map<String, TagDto> foundTags = findTagsByNames(passedTags.keySet());
+
         //filling previous lists
-        if (passedDtoTags != null) {
-            passedDtoTags.stream()
-                    .distinct()
-                    .map(tagDto -> modelMapper.map(tagDto, Tag.class))
-                    .forEach(tag -> {
-                        Optional<Tag> foundTagOpt = tagDao.findByName(tag.getName());
-                        if (!foundTagOpt.isPresent()) {
-                            tagsForSaving.add(tag);
-                        } else {
-                            Tag foundTag = foundTagOpt.get();
-                            tagsForLinking.add(foundTag);
-                        }
-                    });
+        passedTags.forEach((name, tag) -> {
+            TagDto foundTag = foundTags.get(name);
+            if (foundTag == null) {
+                tagsForSaving.add(tag);
+            } else {
+                tagsForLinking.add(foundTag);
+            }
+        });
+    }
+
+    /**
+     * This method finds existing tags with given names. Tags are looked up in the cache of tags by name first,
+     * absent ones are found by one query. Names are compared case-insensitively like the database does,
+     * so a tag is found even if its name is passed in a different case.
+     *
+     * @param tagNames names of tags.
+     * @return map of passed names to found tags, names of nonexistent tags are absent.
+     * @since 5.0
+     */
+    private Map<String, TagDto> findTagsByNames(Collection<String> tagNames) {
+        if (tagNames.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return readThroughCache.getAll(ApplicationConstants.TAGS_BY_NAME_CACHE, tagNames,
+                names -> {
+                    Map<String, TagDto> foundTags = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                    tagDao.findAllByNameIn(names).forEach(tag -> foundTags.putIfAbsent(tag.getName(), tagMapper.toDto(tag)));
+                    return foundTags;
+                },
+                CachedDtoCopier::copyOf);
+    }
+
+    /**
+     * This method creates a new Tag entity for saving.
+     *
+     * @param tagName name of the Tag.
+     * @return Tag entity without id.
+     * @since 5.0
+     */
+    private Tag createTag(String tagName) {
+        Tag tag = new Tag();
+        tag.setName(tagName);
+        return tag;
+    }
+
+    /**
+     * This method gets ids of given tags.
+     *
+     * @param tags list of TagDto with ids.
+     * @return list of ids.
+     * @since 5.0
+     */
+    private List<Long> toTagIds(List<TagDto> tags) {
+        return tags.stream()
+                .map(TagDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * This method converts saved GiftCertificate to GiftCertificateDto and adds linked tags to it.
+     * Linked tags are not added to the entity because they are already saved in many to many table.
+     *
+     * @param certificate    saved GiftCertificate entity with saved tags.
+     * @param tagsForLinking linked tags.
+     * @return GiftCertificateDto with all tags.
+     * @since 5.0
+     */
+    private GiftCertificateDto toDtoWithLinkedTags(GiftCertificate certificate, List<TagDto> tagsForLinking) {
+        GiftCertificateDto certificateDto = giftCertificateMapper.toDto(certificate);
+        if (!tagsForLinking.isEmpty()) {
+            List<TagDto> tags = certificateDto.getTags() == null ? new ArrayList<>() : new ArrayList<>(certificateDto.getTags());
+            tags.addAll(tagsForLinking);
+            certificateDto.setTags(tags);
         }
+        return certificateDto;
     }
 
 
@@ -1,6 +1,7 @@
 package com.epam.esm.domain.service.impl;
 
 import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.dao.aggregate.UserTagUsageDao;
 import com.epam.esm.dao.domain.CriteriaFindAllDao;
 import com.epam.esm.dao.domain.GiftCertificateDao;
 import com.epam.esm.dao.domain.OrderDao;
@@ -11,11 +12,13 @@ import com.epam.esm.domain.dto.bundles.OrderDtoBundle;
 import com.epam.esm.domain.exceptions.GiftCertificateException;
 import com.epam.esm.domain.exceptions.OrderException;
 import com.epam.esm.domain.exceptions.UserException;
+import com.epam.esm.domain.mapper.OrderMapper;
+import com.epam.esm.domain.page.PageRequests;
 import com.epam.esm.domain.service.OrderService;
 import com.epam.esm.entity.GiftCertificate;
 import com.epam.esm.entity.Order;
+import com.epam.esm.entity.OrderLine;
 import com.epam.esm.entity.User;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Example;
@@ -23,10 +26,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -41,17 +48,19 @@ public class OrderServiceImpl implements OrderService {
     private final UserDao userDao;
     private final GiftCertificateDao giftCertificateDao;
     private final CriteriaFindAllDao<Order> findAllDao;
-    private final ModelMapper modelMapper;
+    private final UserTagUsageDao userTagUsageDao;
+    private final OrderMapper orderMapper;
 
     @Autowired
     public OrderServiceImpl(OrderDao orderDao, UserDao userDao, GiftCertificateDao giftCertificateDao,
                             @Qualifier("orderCriteriaFindAllDao") CriteriaFindAllDao<Order> findAllDao,
-                            ModelMapper modelMapper) {
+                            UserTagUsageDao userTagUsageDao, OrderMapper orderMapper) {
         this.orderDao = orderDao;
         this.userDao = userDao;
         this.giftCertificateDao = giftCertificateDao;
         this.findAllDao = findAllDao;
-        this.modelMapper = modelMapper;
+        this.userTagUsageDao = userTagUsageDao;
+        this.orderMapper = orderMapper;
     }
 
     /**
@@ -63,22 +72,29 @@ public class OrderServiceImpl implements OrderService {
      * @since 2.0
      */
     @Override
+    @Transactional(readOnly = true)
     public OrderDto findById(long id) {
         Optional<Order> foundOrderOpt = orderDao.findById(id);
         Order order = foundOrderOpt.orElseThrow(() -> new OrderException(String.format("Can't find an order with id: %d", id),
                 ApplicationConstants.ORDER_NOT_FOUND_ERROR_CODE, id));
 
-        return modelMapper.map(order, OrderDto.class);
+        return orderMapper.toDto(order);
     }
 
 
     /**
      * This method parses SaveOrderDto to GiftCertificates and their quantities and calculates the sum of the saving order.
      * After that the method saves new Order.
+     * <p>
+     * All GiftCertificates are found with one query. Quantities of the same GiftCertificate are summed up,
+     * so the Order has one line per GiftCertificate, a sum which doesn't fit into int is rejected. Each line keeps the current price of the GiftCertificate.
+     * Tag usage counters of the User are updated in the same transaction.
      *
      * @param saveOrderDtoList dto with information about GiftCertificates and their quantities for saving Order.
      * @param userId           id of user for which an order is making.
      * @return saved OrderDto.
+     * @throws GiftCertificateException if there is no GiftCertificate with one of given ids in db.
+     * @throws OrderException           if the total quantity of one GiftCertificate is too large.
      * @since 2.0
      */
     @Override
@@ -86,33 +102,38 @@ public class OrderServiceImpl implements OrderService {
     public OrderDto save(List<SaveOrderDto> saveOrderDtoList, Long userId) {
         User user = findUserByIdIfExist(userId);
 
-        List<GiftCertificate> certificatesForOrder = new ArrayList<>();
-        saveOrderDtoList
-                .forEach(saveOrderDto -> {
-                    long certificateId = saveOrderDto.getCertificateId();
-                    GiftCertificate foundCertificate = checkAndFindGiftCertificateByIdIfExist(certificateId);
-                    int count = saveOrderDto.getCount();
-                    for (int i = 0; i < count; i++) {
-                        certificatesForOrder.add(foundCertificate);
-                    }
-                });
-
-        BigDecimal orderPrice = certificatesForOrder.stream()
-                .map(GiftCertificate::getPrice)
-                .reduce(BigDecimal::add).orElse(BigDecimal.ZERO);
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (SaveOrderDto saveOrderDto : saveOrderDtoList) {
+            Long certificateId = saveOrderDto.getCertificateId();
+            try {
+                quantities.merge(certificateId, saveOrderDto.getCount(), Math::addExact);
+            } catch (ArithmeticException e) {
+                throw new OrderException(String.format("Quantity of GiftCertificate with id: %d is too large", certificateId),
+                        ApplicationConstants.ORDER_QUANTITY_TOO_LARGE_ERROR_CODE, certificateId);
+            }
+        }
+        Map<Long, GiftCertificate> certificates = findGiftCertificatesIfExist(quantities.keySet());
 
         Order order = new Order();
-        order.setCost(orderPrice);
-        order.setGiftCertificates(certificatesForOrder);
         order.setUser(user);
+        for (Map.Entry<Long, Integer> quantity : quantities.entrySet()) {
+            order.addLine(certificates.get(quantity.getKey()), quantity.getValue());
+        }
+        BigDecimal orderPrice = BigDecimal.ZERO;
+        for (OrderLine line : order.getOrderLines()) {
+            orderPrice = orderPrice.add(line.getCost());
+        }
+        order.setCost(orderPrice);
         Order savedOrder = orderDao.save(order);
+        userTagUsageDao.addOrder(savedOrder.getId());
 
-        return modelMapper.map(savedOrder, OrderDto.class);
+        return orderMapper.toDto(savedOrder);
     }
 
 
     /**
-     * This method deletes Order entity with given id from db.
+     * This method deletes Order entity with given id from db. Tag usage of the Order is subtracted
+     * from the counters of its User in the same transaction.
      *
      * @param id id of deletable Order entity.
      * @throws OrderException if Order entity with given id doesn't exist in db.
@@ -122,6 +143,7 @@ public class OrderServiceImpl implements OrderService {
     @Transactional
     public void delete(long id) {
         if (orderDao.existsById(id)) {
+            userTagUsageDao.subtractOrder(id);
             orderDao.deleteById(id);
         } else {
             throw new OrderException(String.format("Order with id: %d doesn't exist in DB", id),
@@ -131,6 +153,7 @@ public class OrderServiceImpl implements OrderService {
 
     /**
      * This method gets a list of OrderDto according to request parameters, limit and offset.
+     * Count of Orders matching the filters is not calculated if 'withCount' parameter is false.
      *
      * @param reqParams parameters of a request.
      * @param limit     for pagination.
@@ -139,19 +162,59 @@ public class OrderServiceImpl implements OrderService {
      * @since 2.0
      */
     @Override
+    @Transactional(readOnly = true)
     public OrderDtoBundle findAllForQuery(long userId, Map<String, String[]> reqParams, int limit, int offset) {
-        findUserByIdIfExist(userId);
+        checkUserExists(userId);
         reqParams.put(ApplicationConstants.USER_ID_KEY, new String[]{String.valueOf(userId)});
+        if (PageRequests.isKeysetRequest(reqParams)) {
+            return findAllForKeysetQuery(reqParams, limit);
+        }
+
         List<Order> foundOrders = findAllDao.findBy(reqParams, limit, offset);
         List<OrderDto> ordersDto = foundOrders.stream()
-                .map(entity -> modelMapper.map(entity, OrderDto.class))
+                .map(orderMapper::toDto)
                 .collect(Collectors.toList());
 
-        long count = orderDao.countByUserId(userId);//todo
+        long count = PageRequests.isCountRequested(reqParams) ? findAllDao.countBy(reqParams)
+                : ApplicationConstants.UNKNOWN_COUNT;
 
         return new OrderDtoBundle(ordersDto, count);
     }
 
+    /**
+     * This method passes all OrderDto of the User matching request parameters to the consumer one by one.
+     * Order entities are streamed from dao layer by chunks, so the number of entities is not limited by memory.
+     *
+     * @param userId    id of the User.
+     * @param reqParams parameters of a request.
+     * @param consumer  consumer of OrderDto.
+     * @throws UserException if there is no User with given id in db.
+     * @since 5.0
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportForQuery(long userId, Map<String, String[]> reqParams, Consumer<OrderDto> consumer) {
+        checkUserExists(userId);
+        Map<String, String[]> userReqParams = new HashMap<>(reqParams);
+        userReqParams.put(ApplicationConstants.USER_ID_KEY, new String[]{String.valueOf(userId)});
+        findAllDao.forEachBy(userReqParams, entity -> consumer.accept(orderMapper.toDto(entity)));
+    }
+
+    /**
+     * This method gets a page of OrderDto of the User with keyset pagination. Count of Orders is not calculated.
+     *
+     * @param reqParams parameters of a request.
+     * @param limit     for pagination.
+     * @return dto which stores OrderDtos and cursors of the next and the previous pages.
+     * @throws OrderException if passed cursor is invalid.
+     * @since 5.0
+     */
+    private OrderDtoBundle findAllForKeysetQuery(Map<String, String[]> reqParams, int limit) {
+        return PageRequests.findKeysetPage(findAllDao, reqParams, limit, orderMapper::toDto,
+                ordersDto -> new OrderDtoBundle(ordersDto, ApplicationConstants.UNKNOWN_COUNT),
+                message -> new OrderException(message, ApplicationConstants.INVALID_CURSOR_ERROR_CODE));
+    }
+
     /**
      * This method return an User entity if it exists in db.
      *
@@ -166,16 +229,36 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * This method attempts to get an GiftCertificate entity from db by it's id.
+     * This method checks if an User entity exists in db without loading it.
      *
-     * @param certificateId id of the GiftCertificate entity.
-     * @return GiftCertificate entity.
-     * @throws GiftCertificateException when there is no entity with given id in db.
-     * @since 1.0
+     * @param id User's id.
+     * @throws UserException if there is no entity with given id in db.
+     * @since 5.0
      */
-    public GiftCertificate checkAndFindGiftCertificateByIdIfExist(long certificateId) {
-        Optional<GiftCertificate> certificateOpt = giftCertificateDao.findById(certificateId);
-        return certificateOpt.orElseThrow(() -> new GiftCertificateException(String.format("GiftCertificate with id: %d doesn't exist in DB",
-                certificateId), ApplicationConstants.CERTIFICATE_NOT_FOUND_CODE, certificateId));
+    private void checkUserExists(long id) {
+        if (!userDao.existsById(id)) {
+            throw new UserException(String.format("Can't find an user with id: %d", id),
+                    ApplicationConstants.USER_NOT_FOUND_BY_ID_ERROR_CODE, id);
+        }
+    }
+
+    /**
+     * This method gets GiftCertificate entities from db by their ids with one query.
+     *
+     * @param certificateIds ids of the GiftCertificate entities.
+     * @return GiftCertificate entities by their ids.
+     * @throws GiftCertificateException when there is no entity with one of given ids in db.
+     * @since 5.0
+     */
+    private Map<Long, GiftCertificate> findGiftCertificatesIfExist(Collection<Long> certificateIds) {
+        Map<Long, GiftCertificate> certificates = giftCertificateDao.findAllById(certificateIds).stream()
+                .collect(Collectors.toMap(GiftCertificate::getId, Function.identity()));
+        for (Long certificateId : certificateIds) {
+            if (!certificates.containsKey(certificateId)) {
+                throw new GiftCertificateException(String.format("GiftCertificate with id: %d doesn't exist in DB",
+                        certificateId), ApplicationConstants.CERTIFICATE_NOT_FOUND_CODE, certificateId);
+            }
+        }
+        return certificates;
     }
 }
@@ -5,14 +5,16 @@ import com.epam.esm.dao.relation.CertificateTagsDao;
 import com.epam.esm.dao.domain.CriteriaFindAllDao;
 import com.epam.esm.dao.domain.TagDao;
 import com.epam.esm.dao.domain.UserDao;
+import com.epam.esm.domain.cache.CachedDtoCopier;
+import com.epam.esm.domain.cache.ReadThroughCache;
 import com.epam.esm.domain.dto.TagDto;
 import com.epam.esm.domain.dto.bundles.TagDtoBundle;
 import com.epam.esm.domain.exceptions.TagException;
 import com.epam.esm.domain.exceptions.UserException;
+import com.epam.esm.domain.mapper.TagMapper;
+import com.epam.esm.domain.page.PageRequests;
 import com.epam.esm.domain.service.TagService;
 import com.epam.esm.entity.Tag;
-import com.epam.esm.entity.User;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
@@ -33,22 +35,26 @@ public class TagServiceImpl implements TagService {
 
     private final TagDao tagDao;
     private final UserDao userDao;
-    private final ModelMapper modelMapper;
+    private final TagMapper tagMapper;
     private final CertificateTagsDao certificateTagsDao;
     private final CriteriaFindAllDao<Tag> findAllDao;
+    private final ReadThroughCache readThroughCache;
 
     @Autowired
-    public TagServiceImpl(TagDao tagDao, UserDao userDao, ModelMapper modelMapper, CertificateTagsDao certificateTagsDao,
-                          @Qualifier("tagCriteriaFindAllDao") CriteriaFindAllDao<Tag> findAllDao) {
+    public TagServiceImpl(TagDao tagDao, UserDao userDao, TagMapper tagMapper, CertificateTagsDao certificateTagsDao,
+                          @Qualifier("tagCriteriaFindAllDao") CriteriaFindAllDao<Tag> findAllDao,
+                          ReadThroughCache readThroughCache) {
         this.tagDao = tagDao;
         this.userDao = userDao;
-        this.modelMapper = modelMapper;
+        this.tagMapper = tagMapper;
         this.certificateTagsDao = certificateTagsDao;
         this.findAllDao = findAllDao;
+        this.readThroughCache = readThroughCache;
     }
 
     /**
      * This method gets a list of TagDto according to request parameters, limit and offset.
+     * Count of Tags matching the filters is not calculated if 'withCount' parameter is false.
      *
      * @param reqParams parameters of a request.
      * @param limit     for pagination.
@@ -57,29 +63,52 @@ public class TagServiceImpl implements TagService {
      * @since 1.0
      */
     @Override
+    @Transactional(readOnly = true)
     public TagDtoBundle findAllForQuery(Map<String, String[]> reqParams, int limit, int offset) {
+        if (PageRequests.isKeysetRequest(reqParams)) {
+            return findAllForKeysetQuery(reqParams, limit);
+        }
+
         List<Tag> foundTags = findAllDao.findBy(reqParams, limit, offset);
         List<TagDto> tagDtos = foundTags.stream()
-                .map(entity -> modelMapper.map(entity, TagDto.class))
+                .map(tagMapper::toDto)
                 .collect(Collectors.toList());
-        long count = tagDao.count();
+        long count = PageRequests.isCountRequested(reqParams) ? findAllDao.countBy(reqParams)
+                : ApplicationConstants.UNKNOWN_COUNT;
 
 
         return new TagDtoBundle(tagDtos, count);
     }
 
 
+    /**
+     * This method gets a page of TagDto with keyset pagination. Count of Tags is not calculated.
+     *
+     * @param reqParams parameters of a request.
+     * @param limit     for pagination.
+     * @return dto which stores TagDtos and cursors of the next and the previous pages.
+     * @throws TagException if passed cursor is invalid.
+     * @since 5.0
+     */
+    private TagDtoBundle findAllForKeysetQuery(Map<String, String[]> reqParams, int limit) {
+        return PageRequests.findKeysetPage(findAllDao, reqParams, limit, tagMapper::toDto,
+                tagDtos -> new TagDtoBundle(tagDtos, ApplicationConstants.UNKNOWN_COUNT),
+                message -> new TagException(message, ApplicationConstants.INVALID_CURSOR_ERROR_CODE));
+    }
+
     /**
      * This method gets Tag entity from dao layer with given id and converts it to TagDto.
+     * Found TagDto is cached until the Tag is deleted.
      *
      * @param id id of necessary entity.
      * @return TagDto.
      * @since 1.0
      */
     @Override
+    @Transactional(readOnly = true)
     public TagDto findById(long id) {
-        Tag foundTag = findByIdIfExist(id);
-        return modelMapper.map(foundTag, TagDto.class);
+        return readThroughCache.get(ApplicationConstants.TAGS_CACHE, id,
+                () -> tagMapper.toDto(findByIdIfExist(id)), CachedDtoCopier::copyOf);
     }
 
     /**
@@ -94,15 +123,17 @@ public class TagServiceImpl implements TagService {
     public TagDto save(TagDto tagDto) {
 
         checkIfEntityWithGivenNameExist(tagDto.getName());
-        Tag entity = modelMapper.map(tagDto, Tag.class);
+        Tag entity = tagMapper.toEntity(tagDto);
         Tag savedEntity = tagDao.save(entity);
+        readThroughCache.evictAfterCommit(ApplicationConstants.TAGS_BY_NAME_CACHE, tagDto.getName());
         tagDto.setId(savedEntity.getId());
         return tagDto;
 
     }
 
     /**
-     * This method deletes Tag entity with given id from db.
+     * This method deletes Tag entity with given id from db. Cached certificates and tags by name are
+     * cleared because they may contain the deleted Tag.
      *
      * @param id id of deletable Tag entity.
      * @throws TagException if Order entity with given id doesn't exist in db.
@@ -111,6 +142,9 @@ public class TagServiceImpl implements TagService {
     @Transactional
     @Override
     public void delete(long id) {
+        readThroughCache.evictAfterCommit(ApplicationConstants.TAGS_CACHE, id);
+        readThroughCache.clearAfterCommit(ApplicationConstants.TAGS_BY_NAME_CACHE);
+        readThroughCache.clearAfterCommit(ApplicationConstants.CERTIFICATES_CACHE);
         certificateTagsDao.deleteAllCertificateLinksForTagId(id);
         if (tagDao.existsById(id)) {
             tagDao.deleteById(id);
@@ -129,11 +163,16 @@ public class TagServiceImpl implements TagService {
      * @since 1.0
      */
     @Override
+    @Transactional(readOnly = true)
     public TagDto findByName(String tagName) {
-        Optional<Tag> foundTagOpt = tagDao.findByName(tagName);
-        Tag foundTag = foundTagOpt.orElseThrow(() -> new TagException(String.format("Tag with name: %s is not found in DB",
-                tagName), ApplicationConstants.TAG_NOT_FOUND_ERROR_CODE, tagName));
-        return modelMapper.map(foundTag, TagDto.class);
+        TagDto foundTag = readThroughCache.get(ApplicationConstants.TAGS_BY_NAME_CACHE, tagName,
+                () -> tagDao.findByName(tagName).map(tagMapper::toDto).orElse(null),
+                CachedDtoCopier::copyOf);
+        if (foundTag == null) {
+            throw new TagException(String.format("Tag with name: %s is not found in DB",
+                    tagName), ApplicationConstants.TAG_NOT_FOUND_ERROR_CODE, tagName);
+        }
+        return foundTag;
     }
 
 
@@ -146,16 +185,16 @@ public class TagServiceImpl implements TagService {
      * @since 2.0
      */
     @Override
+    @Transactional(readOnly = true)
     public List<TagDto> findMostWidelyUsed(long userId) {
-        Optional<User> userOpt = userDao.findById(userId);
-        if (!userOpt.isPresent()) {
+        if (!userDao.existsById(userId)) {
             throw new UserException(String.format("Can't find an user with id: %d", userId),
                     ApplicationConstants.USER_NOT_FOUND_BY_ID_ERROR_CODE, userId);
         }
 
         return tagDao.findMaxWidelyUsed(userId)
                 .stream()
-                .map(tag -> modelMapper.map(tag, TagDto.class))
+                .map(tagMapper::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -3,13 +3,14 @@ package com.epam.esm.domain.service.impl;
 import com.epam.esm.constants.ApplicationConstants;
 import com.epam.esm.dao.domain.CriteriaFindAllDao;
 import com.epam.esm.dao.domain.UserDao;
+import com.epam.esm.dao.domain.projection.UserProjection;
 import com.epam.esm.domain.dto.UserDto;
 import com.epam.esm.domain.dto.bundles.UserDtoBundle;
-import com.epam.esm.domain.exceptions.GiftCertificateException;
 import com.epam.esm.domain.exceptions.UserException;
+import com.epam.esm.domain.mapper.UserMapper;
+import com.epam.esm.domain.page.PageRequests;
 import com.epam.esm.domain.service.UserService;
 import com.epam.esm.entity.User;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -18,7 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -31,20 +32,21 @@ public class UserServiceImpl implements UserService {
 
     private final UserDao userDao;
     private final CriteriaFindAllDao<User> findAllDao;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
 
     @Autowired
     public UserServiceImpl(UserDao userDao, @Qualifier("userCriteriaFindAllDao") CriteriaFindAllDao<User> findAllDao,
-                           ModelMapper modelMapper, PasswordEncoder passwordEncoder) {
+                           UserMapper userMapper, PasswordEncoder passwordEncoder) {
         this.userDao = userDao;
         this.findAllDao = findAllDao;
-        this.modelMapper = modelMapper;
+        this.userMapper = userMapper;
         this.passwordEncoder = passwordEncoder;
     }
 
     /**
      * Find User by login and password and map it to UserDto.
+     * The User is read from the primary database, so a new user can log in right after registration.
      *
      * @param login    User login.
      * @param password User password.
@@ -53,15 +55,16 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public UserDto findByLoginAndPassword(String login, String password) {
-        User foundUser = userDao.findByLoginAndPassword(login, password)
+        UserProjection foundUser = userDao.findProjectionByLoginAndPassword(login, password)
                 .orElseThrow(() -> new UserException(String.format("Invalid user credentials: login: %s, password: %s.",
                         login, password), ApplicationConstants.INVALID_CREDENTIALS_ERROR_CODE, login, password));
 
-        return modelMapper.map(foundUser, UserDto.class);
+        return userMapper.toDto(foundUser);
     }
 
     /**
      * Find User by login and map it to UserDto.
+     * The User is read from the primary database, so a new user can log in right after registration.
      *
      * @param login User login.
      * @return UserDto
@@ -69,10 +72,10 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public UserDto findByLogin(String login) {
-        User foundUser = userDao.findByLogin(login)
+        UserProjection foundUser = userDao.findProjectionByLogin(login)
                 .orElseThrow(() -> new UserException(String.format("User with login : %s was not found", login),
                         ApplicationConstants.USER_NOT_FOUND_BY_LOGIN_ERROR_CODE, login));
-        return modelMapper.map(foundUser, UserDto.class);
+        return userMapper.toDto(foundUser);
     }
 
     /**
@@ -83,13 +86,15 @@ public class UserServiceImpl implements UserService {
      * @since 2.0
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDto findById(long id) {
-        User foundUser = findByIdIfExist(id);
-        return modelMapper.map(foundUser, UserDto.class);
+        UserProjection foundUser = findByIdIfExist(id);
+        return userMapper.toDto(foundUser);
     }
 
     /**
      * This method gets a list of UserDto according to request parameters, limit and offset.
+     * Count of Users matching the filters is not calculated if 'withCount' parameter is false.
      *
      * @param reqParams parameters of a request.
      * @param limit     for pagination.
@@ -98,17 +103,52 @@ public class UserServiceImpl implements UserService {
      * @since 2.0
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDtoBundle findAllForQuery(Map<String, String[]> reqParams, int limit, int offset) {
+        if (PageRequests.isKeysetRequest(reqParams)) {
+            return findAllForKeysetQuery(reqParams, limit);
+        }
+
         List<User> foundUsers = findAllDao.findBy(reqParams, limit, offset);
         List<UserDto> userDtos = foundUsers.stream()
-                .map(entity -> modelMapper.map(entity, UserDto.class))
+                .map(userMapper::toDto)
                 .collect(Collectors.toList());
-        long count = userDao.count();
+        long count = PageRequests.isCountRequested(reqParams) ? findAllDao.countBy(reqParams)
+                : ApplicationConstants.UNKNOWN_COUNT;
 
 
         return new UserDtoBundle(userDtos, count);
     }
 
+    /**
+     * This method passes all UserDto matching request parameters to the consumer one by one.
+     * User entities are streamed from dao layer by chunks, so the number of entities is not limited by memory.
+     *
+     * @param reqParams parameters of a request.
+     * @param consumer  consumer of UserDto.
+     * @since 5.0
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportForQuery(Map<String, String[]> reqParams, Consumer<UserDto> consumer) {
+        findAllDao.forEachBy(reqParams, entity -> consumer.accept(userMapper.toDto(entity)));
+    }
+
+    /**
+     * This method gets a page of UserDto with keyset pagination. Count of Users is not calculated.
+     *
+     * @param reqParams parameters of a request.
+     * @param limit     for pagination.
+     * @return dto which stores UserDtos and cursors of the next and the previous pages.
+     * @throws UserException if passed cursor is invalid.
+     * @since 5.0
+     */
+    private UserDtoBundle findAllForKeysetQuery(Map<String, String[]> reqParams, int limit) {
+        return PageRequests.findKeysetPage(findAllDao, reqParams, limit, userMapper::toDto,
+                userDtos -> new UserDtoBundle(userDtos, ApplicationConstants.UNKNOWN_COUNT),
+                message -> new UserException(message, ApplicationConstants.INVALID_CURSOR_ERROR_CODE));
+    }
+
     /**
      * This method saves a UserDto into db.
      *
@@ -123,20 +163,38 @@ public class UserServiceImpl implements UserService {
         String encodedPassword = passwordEncoder.encode(user.getPassword());
         user.setPassword(encodedPassword);
         user.setRole("USER");
-        User userEntity = modelMapper.map(user, User.class);
+        User userEntity = userMapper.toEntity(user);
         User savedUser = userDao.save(userEntity);
-        return modelMapper.map(savedUser, UserDto.class);
+        return userMapper.toDto(savedUser);
+    }
+
+    /**
+     * This method replaces the password hash of a User. The entity is updated with dirty checking,
+     * so the change is audited like any other change of the User.
+     *
+     * @param id              User's id.
+     * @param encodedPassword new password hash.
+     * @throws UserException if there is no entity with given id in db.
+     * @since 5.0
+     */
+    @Override
+    @Transactional
+    public void updatePassword(long id, String encodedPassword) {
+        User user = userDao.findById(id)
+                .orElseThrow(() -> new UserException(String.format("Can't find an user with id: %d", id),
+                        ApplicationConstants.USER_NOT_FOUND_BY_ID_ERROR_CODE, id));
+        user.setPassword(encodedPassword);
     }
 
     /**
-     * This method return an User if it exists.
+     * This method return an User if it exists. Orders of the User are not loaded.
      *
      * @param id User's id.
-     * @return User entity.
-     * @throws GiftCertificateException if there is no entity with given id in db.
+     * @return projection of User entity.
+     * @throws UserException if there is no entity with given id in db.
      */
-    private User findByIdIfExist(long id) {
-        return userDao.findById(id)
+    private UserProjection findByIdIfExist(long id) {
+        return userDao.findProjectionById(id)
                 .orElseThrow(() -> new UserException(String.format("Can't find an user with id: %d", id),
                         ApplicationConstants.USER_NOT_FOUND_BY_ID_ERROR_CODE, id));
     }
@@ -149,8 +207,7 @@ public class UserServiceImpl implements UserService {
      * @since 2.0
      */
     public void checkIfEntityWithGivenNameExist(String login) {
-        Optional<User> userOpt = userDao.findByLogin(login);
-        if (userOpt.isPresent()) {
+        if (userDao.existsByLogin(login)) {
             throw new UserException(String.format("User with login: %s already exists", login),
                     ApplicationConstants.USER_SUCH_LOGIN_EXISTS_CODE, login);
         }
@@ -0,0 +1,63 @@
+package com.epam.esm.domain.service.impl;
+
+import com.epam.esm.dao.aggregate.UserTagUsageDao;
+import com.epam.esm.domain.service.UserTagUsageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Default implementation of {@link com.epam.esm.domain.service.UserTagUsageService} interface.
+ *
+ * @since 5.0
+ */
+@Service
+public class UserTagUsageServiceImpl implements UserTagUsageService {
+
+    private final UserTagUsageDao userTagUsageDao;
+
+    @Autowired
+    public UserTagUsageServiceImpl(UserTagUsageDao userTagUsageDao) {
+        this.userTagUsageDao = userTagUsageDao;
+    }
+
+    /**
+     * This method replaces all counters with the ones calculated from Orders in one transaction,
+     * so readers see either old or new counters.
+     *
+     * @since 5.0
+     */
+    @Override
+    @Transactional
+    public void rebuildAll() {
+        userTagUsageDao.rebuildAll();
+    }
+
+    /**
+     * This method compares counters with the ones calculated from Orders.
+     *
+     * @return ids of Users with missing, extra or wrong counters.
+     * @since 5.0
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findInconsistentUserIds() {
+        return userTagUsageDao.findInconsistentUserIds();
+    }
+
+    /**
+     * This method rebuilds counters of inconsistent Users only.
+     *
+     * @return ids of repaired Users.
+     * @since 5.0
+     */
+    @Override
+    @Transactional
+    public List<Long> repair() {
+        List<Long> userIds = userTagUsageDao.findInconsistentUserIds();
+        userTagUsageDao.rebuild(userIds);
+        return userIds;
+    }
+}
@@ -0,0 +1,46 @@
+package com.epam.esm.routing;
+
+import com.epam.esm.dao.routing.RoutingContext;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * This filter binds the client of the request to {@link RoutingContext}, so reads of a client which has just written
+ * go to the primary database. The client is the authenticated user or the remote address for anonymous requests,
+ * e.g. registration. The filter must go after authentication.
+ *
+ * @since 5.0
+ */
+public class RoutingClientFilter extends OncePerRequestFilter {
+
+    private static final String USER_PREFIX = "user:";
+    private static final String ADDRESS_PREFIX = "address:";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RoutingContext.bindClient(getClient(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoutingContext.unbindClient();
+        }
+    }
+
+    private String getClient(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return USER_PREFIX + authentication.getName();
+        }
+        return ADDRESS_PREFIX + request.getRemoteAddr();
+    }
+}
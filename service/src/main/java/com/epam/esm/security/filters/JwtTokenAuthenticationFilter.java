@@ -1,9 +1,10 @@
 package com.epam.esm.security.filters;
 
-import com.epam.esm.constants.ApplicationConstants;
 import com.epam.esm.domain.exceptions.GiftApplicationException;
+import com.epam.esm.security.route.RouteClassifier;
 import com.epam.esm.security.token.JwtTokenProvider;
 import com.epam.esm.security.token.validator.TokenValidator;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -26,27 +27,32 @@ public class JwtTokenAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider tokenProvider;
     private final HandlerExceptionResolver resolver;
     private final TokenValidator tokenValidator;
+    private final RouteClassifier routeClassifier;
 
-    public JwtTokenAuthenticationFilter(JwtTokenProvider tokenProvider, HandlerExceptionResolver resolver, TokenValidator tokenValidator) {
+    public JwtTokenAuthenticationFilter(JwtTokenProvider tokenProvider, HandlerExceptionResolver resolver, TokenValidator tokenValidator,
+                                        RouteClassifier routeClassifier) {
         this.tokenProvider = tokenProvider;
         this.resolver = resolver;
         this.tokenValidator = tokenValidator;
+        this.routeClassifier = routeClassifier;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             String token = tokenProvider.resolveToken(request);
-            if (token != null && tokenValidator.validateAccessToken(token)) {
-                Authentication authentication = tokenProvider.getAuthenticationWithToken(token);
+            if (token != null) {
+                //the token is parsed and verified once, its claims are reused for authentication
+                Claims claims = tokenValidator.getAccessTokenClaims(token);
+                Authentication authentication = tokenProvider.getAuthenticationWithClaims(claims);
                 if (authentication != null) {
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
             }
             filterChain.doFilter(request, response);
         } catch (GiftApplicationException ex) {
-            String uri = request.getRequestURI();
-            if (uri.matches(ApplicationConstants.ACCESSIBLE_URLS_REGEX) && request.getMethod().matches("GET")) {
+            //only reading of certificates is available with an invalid token
+            if (routeClassifier.isAnonymousOnInvalidToken(request)) {
                 filterChain.doFilter(request, response);
                 return;
             }
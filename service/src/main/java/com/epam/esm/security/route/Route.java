@@ -0,0 +1,59 @@
+package com.epam.esm.security.route;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * This class represents a classified request: who has access to it and the id of the owner for owner-only routes.
+ * Routes without owner are shared, only owner-only routes are created for each request.
+ *
+ * @since 5.0
+ */
+public final class Route {
+
+    private static final Map<RouteAccess, Route> SHARED_ROUTES = new EnumMap<>(RouteAccess.class);
+
+    static {
+        for (RouteAccess access : RouteAccess.values()) {
+            SHARED_ROUTES.put(access, new Route(access, -1));
+        }
+    }
+
+    private final RouteAccess access;
+    private final long ownerId;
+
+    private Route(RouteAccess access, long ownerId) {
+        this.access = access;
+        this.ownerId = ownerId;
+    }
+
+    /**
+     * This method gets a route without owner.
+     *
+     * @param access access to the route.
+     * @return shared route.
+     * @since 5.0
+     */
+    public static Route of(RouteAccess access) {
+        return SHARED_ROUTES.get(access);
+    }
+
+    /**
+     * This method creates owner-only route.
+     *
+     * @param ownerId id of the user who owns the route.
+     * @return route with {@link RouteAccess#OWNER} access.
+     * @since 5.0
+     */
+    public static Route owner(long ownerId) {
+        return new Route(RouteAccess.OWNER, ownerId);
+    }
+
+    public RouteAccess getAccess() {
+        return access;
+    }
+
+    public long getOwnerId() {
+        return ownerId;
+    }
+}
@@ -0,0 +1,29 @@
+package com.epam.esm.security.route;
+
+/**
+ * This enum represents who has access to a route of the application.
+ *
+ * @since 5.0
+ */
+public enum RouteAccess {
+    /**
+     * Route is accessible without authentication.
+     */
+    PUBLIC,
+    /**
+     * Route is accessible for users and admins.
+     */
+    USER,
+    /**
+     * Route is accessible for users and admins if the id of the route is the id of the authenticated user.
+     */
+    OWNER,
+    /**
+     * Route is accessible for admins only.
+     */
+    ADMIN,
+    /**
+     * Route is accessible for any authenticated user.
+     */
+    AUTHENTICATED
+}
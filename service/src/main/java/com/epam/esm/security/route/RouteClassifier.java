@@ -0,0 +1,206 @@
+package com.epam.esm.security.route;
+
+import com.epam.esm.constants.ApplicationConstants;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * This class classifies requests by access to their routes. All rules of the application are compiled into one walk
+ * through segments of the path, the rules are checked in the following order:
+ * <ol>
+ *     <li>GET /**&#47;export - {@link RouteAccess#ADMIN}</li>
+ *     <li>GET /certificates/** - {@link RouteAccess#PUBLIC}</li>
+ *     <li>POST /users - {@link RouteAccess#PUBLIC}</li>
+ *     <li>/users/{id}/orders - {@link RouteAccess#OWNER}</li>
+ *     <li>GET /tags/** - {@link RouteAccess#USER}</li>
+ *     <li>GET, POST, PUT, PATCH, DELETE /** - {@link RouteAccess#ADMIN}</li>
+ *     <li>other requests - {@link RouteAccess#AUTHENTICATED}</li>
+ * </ol>
+ * A request is classified once, the route is kept as an attribute of the request for filters and authorization rules.
+ * Requests with an invalid access token are served anonymously on a narrower set of routes,
+ * see {@link #isAnonymousOnInvalidToken(HttpServletRequest)}.
+ * Query string is never a part of the path.
+ *
+ * @since 5.0
+ */
+@Component
+public class RouteClassifier {
+
+    private static final char SEPARATOR = '/';
+    private static final char MINUS = '-';
+
+    /**
+     * This method gets the route of the request, it is classified on the first call only.
+     *
+     * @param request request for classification.
+     * @return route of the request.
+     * @since 5.0
+     */
+    public Route classify(HttpServletRequest request) {
+        Object route = request.getAttribute(ApplicationConstants.ROUTE_ATTRIBUTE);
+        if (route instanceof Route) {
+            return (Route) route;
+        }
+        Route classified = classify(request.getMethod(), path(request));
+        request.setAttribute(ApplicationConstants.ROUTE_ATTRIBUTE, classified);
+        return classified;
+    }
+
+    /**
+     * This method checks if the request is served anonymously when its access token is invalid.
+     * Only GET /certificates and GET /certificates/{id} are, other public routes need a valid token or no token.
+     *
+     * @param request request with an invalid access token.
+     * @return true if the request is served anonymously.
+     * @since 5.0
+     */
+    public boolean isAnonymousOnInvalidToken(HttpServletRequest request) {
+        return isAnonymousOnInvalidToken(request.getMethod(), path(request));
+    }
+
+    /**
+     * This method checks if the path with the given method is served anonymously when its access token is invalid.
+     *
+     * @param method HTTP method of the request.
+     * @param path   path of the request without query string.
+     * @return true if the request is served anonymously.
+     * @since 5.0
+     */
+    public boolean isAnonymousOnInvalidToken(String method, String path) {
+        if (!HttpMethod.GET.matches(method)) {
+            return false;
+        }
+        int length = trimmedLength(path);
+        int firstStart = path.indexOf(SEPARATOR) + 1;
+        int firstEnd = segmentEnd(path, firstStart, length);
+        if (!isSegment(path, firstStart, firstEnd, ApplicationConstants.CERTIFICATES_SEGMENT)) {
+            return false;
+        }
+        if (firstEnd == length) {
+            return true;
+        }
+        int idStart = firstEnd + 1;
+        if (idStart < length && path.charAt(idStart) == MINUS) {
+            idStart++;
+        }
+        return idStart < length && segmentEnd(path, idStart, length) == length && isDigits(path, idStart, length);
+    }
+
+    /**
+     * This method gets a matcher of requests whose routes have any of the given accesses.
+     *
+     * @param accesses accesses to match.
+     * @return request matcher.
+     * @since 5.0
+     */
+    public RequestMatcher matcher(RouteAccess... accesses) {
+        Set<RouteAccess> matched = EnumSet.copyOf(Arrays.asList(accesses));
+        return request -> matched.contains(classify(request).getAccess());
+    }
+
+    /**
+     * This method classifies the path of the request with the given method.
+     *
+     * @param method HTTP method of the request.
+     * @param path   path of the request without query string.
+     * @return route of the request.
+     * @since 5.0
+     */
+    public Route classify(String method, String path) {
+        int length = trimmedLength(path);
+        boolean isGet = HttpMethod.GET.matches(method);
+
+        int firstStart = path.indexOf(SEPARATOR) + 1;
+        int firstEnd = segmentEnd(path, firstStart, length);
+        if (isGet && isLastSegment(path, length, ApplicationConstants.EXPORT_SEGMENT)) {
+            return Route.of(RouteAccess.ADMIN);
+        }
+        if (isGet && isSegment(path, firstStart, firstEnd, ApplicationConstants.CERTIFICATES_SEGMENT)) {
+            return Route.of(RouteAccess.PUBLIC);
+        }
+        if (isSegment(path, firstStart, firstEnd, ApplicationConstants.USERS_SEGMENT)) {
+            if (firstEnd == length) {
+                if (HttpMethod.POST.matches(method)) {
+                    return Route.of(RouteAccess.PUBLIC);
+                }
+            } else {
+                int secondEnd = segmentEnd(path, firstEnd + 1, length);
+                long ownerId = parseId(path, firstEnd + 1, secondEnd);
+                if (ownerId >= 0 && secondEnd < length
+                        && isSegment(path, secondEnd + 1, length, ApplicationConstants.ORDERS_SEGMENT)) {
+                    return Route.owner(ownerId);
+                }
+            }
+        }
+        if (isGet && isSegment(path, firstStart, firstEnd, ApplicationConstants.TAGS_SEGMENT)) {
+            return Route.of(RouteAccess.USER);
+        }
+        if (isGet || HttpMethod.POST.matches(method) || HttpMethod.PUT.matches(method)
+                || HttpMethod.PATCH.matches(method) || HttpMethod.DELETE.matches(method)) {
+            return Route.of(RouteAccess.ADMIN);
+        }
+        return Route.of(RouteAccess.AUTHENTICATED);
+    }
+
+    private String path(HttpServletRequest request) {
+        String pathInfo = request.getPathInfo();
+        return pathInfo == null ? request.getServletPath() : request.getServletPath() + pathInfo;
+    }
+
+    /**
+     * Trailing slash is ignored like in request mappings.
+     */
+    private int trimmedLength(String path) {
+        return path.length() > 1 && path.charAt(path.length() - 1) == SEPARATOR ? path.length() - 1 : path.length();
+    }
+
+    private int segmentEnd(String path, int start, int length) {
+        int end = path.indexOf(SEPARATOR, start);
+        return end < 0 || end > length ? length : end;
+    }
+
+    private boolean isSegment(String path, int start, int end, String segment) {
+        return end - start == segment.length() && path.regionMatches(start, segment, 0, segment.length());
+    }
+
+    private boolean isLastSegment(String path, int length, String segment) {
+        int start = length - segment.length();
+        return start > 0 && path.charAt(start - 1) == SEPARATOR && isSegment(path, start, length, segment);
+    }
+
+    private boolean isDigits(String path, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char digit = path.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method parses id from the segment of the path.
+     *
+     * @return id or -1 if the segment is not a number.
+     */
+    private long parseId(String path, int start, int end) {
+        if (start >= end || end - start > 18) {
+            return -1;
+        }
+        long id = 0;
+        for (int i = start; i < end; i++) {
+            char digit = path.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            id = id * 10 + (digit - '0');
+        }
+        return id;
+    }
+}
@@ -2,21 +2,29 @@ package com.epam.esm.security.service;
 
 import com.epam.esm.domain.dto.UserDto;
 import com.epam.esm.domain.service.UserService;
+import com.epam.esm.security.JwtUserDetails;
 import com.epam.esm.security.mapper.JwtObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
+
 /**
  * Custom implementation of {@link org.springframework.security.core.userdetails.UserDetails}.
  * This class looks for a user in DB by it's login and convert it to UserDetails.
+ * <p>
+ * It also stores upgraded password hashes: after a successful login the authentication provider passes
+ * a new hash here if the stored one is encoded with an outdated algorithm or cost.
  *
  * @since 4.0
  */
 @Service(value = "jwtUserDetailsService")
-public class JwtUserDetailsService implements UserDetailsService {
+public class JwtUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserService userService;
     private final JwtObjectMapper<UserDto> objectMapper;
@@ -32,4 +40,20 @@ public class JwtUserDetailsService implements UserDetailsService {
         UserDto foundUser = userService.findByLogin(login);
         return objectMapper.toJwtUserDetails(foundUser);
     }
+
+    /**
+     * Save the upgraded password hash of the user.
+     *
+     * @param user        details of the authenticated user.
+     * @param newPassword new password hash.
+     * @return user details with the new password hash.
+     * @since 5.0
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        JwtUserDetails jwtUser = (JwtUserDetails) user;
+        userService.updatePassword(jwtUser.getId(), newPassword);
+        return new JwtUserDetails(jwtUser.getId(), jwtUser.getLogin(), newPassword,
+                new HashSet<GrantedAuthority>(jwtUser.getAuthorities()));
+    }
 }
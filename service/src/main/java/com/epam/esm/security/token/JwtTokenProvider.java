@@ -114,6 +114,23 @@ public class JwtTokenProvider {
         return new UsernamePasswordAuthenticationToken(jwtUserDetails, "", jwtUserDetails.getAuthorities());
     }
 
+    /**
+     * This method create an Authentication instance with the information from already verified claims of an access token.
+     * Unlike {@link #getAuthenticationWithToken(String)} the token is not parsed again.
+     *
+     * @param claims claims of the token.
+     * @return Authentication instance with userDetails and authorities.
+     * @since 5.0
+     */
+    public Authentication getAuthenticationWithClaims(Claims claims) {
+        long userId = tokenParser.getUserId(claims);
+        String userName = tokenParser.getUserName(claims);
+        Set<GrantedAuthority> authorities = tokenParser.getGrantedAuthorities(claims);
+
+        JwtUserDetails jwtUserDetails = new JwtUserDetails(userId, userName, null, authorities);
+
+        return new UsernamePasswordAuthenticationToken(jwtUserDetails, "", jwtUserDetails.getAuthorities());
+    }
 
     private TokenDto generateToken(JwtUserDetails user, String currentSecret, Date expiredTime) {
 
@@ -26,17 +26,16 @@ public class JwtTokenParser implements TokenParser {
 
     @Override
     public String getUserNameFromToken(String token, String currentSecret) {
-        return Jwts.parser().setSigningKey(currentSecret).parseClaimsJws(token).getBody().getSubject();
+        return getUserName(Jwts.parser().setSigningKey(currentSecret).parseClaimsJws(token).getBody());
     }
 
     @Override
     public long getUserIdFromToken(String token, String currentSecret) {
-        return Long.parseLong(
+        return getUserId(
                 Jwts.parser().
                         setSigningKey(currentSecret)
                         .parseClaimsJws(token)
                         .getBody()
-                        .getId()
         );
     }
 
@@ -46,7 +45,22 @@ public class JwtTokenParser implements TokenParser {
                 .setSigningKey(currentSecret)
                 .parseClaimsJws(token).getBody();
 
-        String[] roles = payload.get("roles", String.class).split(",");
+        return getGrantedAuthorities(payload);
+    }
+
+    @Override
+    public String getUserName(Claims claims) {
+        return claims.getSubject();
+    }
+
+    @Override
+    public long getUserId(Claims claims) {
+        return Long.parseLong(claims.getId());
+    }
+
+    @Override
+    public Set<GrantedAuthority> getGrantedAuthorities(Claims claims) {
+        String[] roles = claims.get("roles", String.class).split(",");
 
         return Arrays.stream(roles)
                 .map(SimpleGrantedAuthority::new)
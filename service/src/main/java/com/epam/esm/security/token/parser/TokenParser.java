@@ -1,5 +1,6 @@
 package com.epam.esm.security.token.parser;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.GrantedAuthority;
 
 import java.util.Date;
@@ -47,4 +48,30 @@ public interface TokenParser {
      */
     Set<GrantedAuthority> getGrantedAuthoritiesFromToken(String token, String currentSecret);
 
+    /**
+     * This method returns user name from already verified claims of a token.
+     *
+     * @param claims claims of the token.
+     * @return user name of the token.
+     * @since 5.0
+     */
+    String getUserName(Claims claims);
+
+    /**
+     * This method returns user id from already verified claims of a token.
+     *
+     * @param claims claims of the token.
+     * @return user id of the token.
+     * @since 5.0
+     */
+    long getUserId(Claims claims);
+
+    /**
+     * This method returns set of granted authorities from already verified claims of a token.
+     *
+     * @param claims claims of the token.
+     * @return set of granted authorities of the token.
+     * @since 5.0
+     */
+    Set<GrantedAuthority> getGrantedAuthorities(Claims claims);
 }
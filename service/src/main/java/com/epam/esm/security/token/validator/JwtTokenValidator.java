@@ -2,18 +2,33 @@ package com.epam.esm.security.token.validator;
 
 import com.epam.esm.constants.ApplicationConstants;
 import com.epam.esm.security.exceptions.JwtAuthenticationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Default implementation of {@link com.epam.esm.security.token.validator.TokenValidator}
+ * <p>
+ * Claims of verified access tokens are cached until the tokens expire, so a token which is sent again
+ * is not parsed and its signature is not checked again. Tokens are cached by their hashes.
+ * Validation of access tokens is timed with the outcome: cached, parsed or rejected.
  *
  * @since 5.0
  */
@@ -26,6 +41,29 @@ public class JwtTokenValidator implements TokenValidator {
     @Value("${token.secret.refresh}")
     private String refreshSecret;
 
+    private final Cache<String, Claims> accessTokenClaims = Caffeine.newBuilder()
+            .maximumSize(ApplicationConstants.TOKEN_CLAIMS_CACHE_MAX_SIZE)
+            .expireAfter(new UntilTokenExpiration())
+            .build();
+
+    private final Timer cachedTimer;
+    private final Timer parsedTimer;
+    private final Timer rejectedTimer;
+
+    @Autowired
+    public JwtTokenValidator(MeterRegistry meterRegistry) {
+        this.cachedTimer = validationTimer(meterRegistry, "cached");
+        this.parsedTimer = validationTimer(meterRegistry, "parsed");
+        this.rejectedTimer = validationTimer(meterRegistry, "rejected");
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(ApplicationConstants.TOKEN_VALIDATION_TIMER)
+                .description("Time of validation of access tokens")
+                .tag(ApplicationConstants.OUTCOME_TAG, outcome)
+                .register(meterRegistry);
+    }
+
     @Override
     public boolean validateRefreshToken(String refreshToken) {
         if (refreshToken != null) {
@@ -37,11 +75,36 @@ public class JwtTokenValidator implements TokenValidator {
     @Override
     public boolean validateAccessToken(String accessToken) {
         if (accessToken != null) {
-            return validateTokenProcess(accessToken, accessSecret);
+            return getAccessTokenClaims(accessToken) != null;
         }
         return false;
     }
 
+    @Override
+    public Claims getAccessTokenClaims(String accessToken) {
+        long start = System.nanoTime();
+        String hash = hash(accessToken);
+        Claims claims = accessTokenClaims.getIfPresent(hash);
+        if (claims != null) {
+            cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        }
+        try {
+            claims = accessTokenClaims.get(hash, key -> {
+                Claims parsed = parseClaims(accessToken, accessSecret).getBody();
+                if (parsed.getExpiration() == null) {
+                    throw new JwtAuthenticationException("JWT token is invalid ", ApplicationConstants.TOKEN_INVALID);
+                }
+                return parsed;
+            });
+        } catch (JwtAuthenticationException e) {
+            rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        parsedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
+    }
+
     /**
      * This private method is the process of common validation for tokens.
      *
@@ -51,13 +114,24 @@ public class JwtTokenValidator implements TokenValidator {
      * @since 4.0
      */
     private boolean validateTokenProcess(String token, String secret) {
+        boolean isTokenExpired = parseClaims(token, secret).getBody().getExpiration().before(new Date());
+        return !isTokenExpired;
+    }
+
+    /**
+     * This method parses the token and checks its signature, expired tokens are rejected by the parser.
+     *
+     * @param token  token for parsing.
+     * @param secret secret for validation.
+     * @return verified claims of the token.
+     * @throws JwtAuthenticationException if the token is expired or invalid.
+     * @since 5.0
+     */
+    private Jws<Claims> parseClaims(String token, String secret) {
         try {
-            Jws<Claims> claims = Jwts.parser()
+            return Jwts.parser()
                     .setSigningKey(secret)
                     .parseClaimsJws(token);
-
-            boolean isTokenExpired = claims.getBody().getExpiration().before(new Date());
-            return !isTokenExpired;
         } catch (ExpiredJwtException ex) {
             throw new JwtAuthenticationException("JWT access token is expired", ApplicationConstants.ACCESS_TOKEN_EXPIRED);
         } catch (JwtException | IllegalArgumentException e) {
@@ -65,4 +139,41 @@ public class JwtTokenValidator implements TokenValidator {
         }
     }
 
+    /**
+     * This method gets a hash of the token which is used as a key of the cache instead of the token itself.
+     *
+     * @param token token for hashing.
+     * @return Base64 encoded hash of the token.
+     * @since 5.0
+     */
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(ApplicationConstants.TOKEN_HASH_ALGORITHM);
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Cached claims expire together with their token.
+     */
+    private static class UntilTokenExpiration implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long millisToExpiration = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millisToExpiration, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
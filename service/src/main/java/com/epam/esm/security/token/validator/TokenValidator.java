@@ -1,5 +1,7 @@
 package com.epam.esm.security.token.validator;
 
+import io.jsonwebtoken.Claims;
+
 /**
  * This interface is responsible for validation given tokens.
  *
@@ -22,4 +24,14 @@ public interface TokenValidator {
      * @since 5.0
      */
     boolean validateAccessToken(String accessToken);
+
+    /**
+     * This method validates a given access token and returns its verified claims.
+     *
+     * @param accessToken access token for validation.
+     * @return claims of the given access token.
+     * @throws com.epam.esm.security.exceptions.JwtAuthenticationException if the token is expired or invalid.
+     * @since 5.0
+     */
+    Claims getAccessTokenClaims(String accessToken);
 }
@@ -0,0 +1,113 @@
+package com.epam.esm.statement;
+
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.dao.statement.StatementScope;
+import com.epam.esm.dao.statement.StatementStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This filter counts SQL statements and their JDBC time for every request. The counts are recorded as metrics
+ * tagged by the URI template, and requests which exceed the budget of statements or JDBC time are logged
+ * with fingerprints of their most frequent statements. Meters are registered once per method and URI template,
+ * so the hot path only takes them from the maps.
+ * <p>
+ * Only statements of the request thread are counted, bodies which are streamed by other threads are not.
+ *
+ * @since 5.0
+ */
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatementBudgetFilter.class);
+
+    private final int maxStatements;
+    private final long maxJdbcMillis;
+    private final MeterRegistry meterRegistry;
+    private final Counter budgetExceededCounter;
+    private final ConcurrentMap<String, DistributionSummary> statementSummaries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> jdbcTimers = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxStatements budget of statements of one request.
+     * @param maxJdbcMillis budget of JDBC time of one request in milliseconds.
+     * @param meterRegistry registry of metrics.
+     */
+    public StatementBudgetFilter(int maxStatements, long maxJdbcMillis, MeterRegistry meterRegistry) {
+        this.maxStatements = maxStatements;
+        this.maxJdbcMillis = maxJdbcMillis;
+        this.meterRegistry = meterRegistry;
+        this.budgetExceededCounter = Counter.builder(ApplicationConstants.SQL_BUDGET_EXCEEDED_COUNTER)
+                .description("Requests which exceeded the budget of statements or JDBC time")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (StatementScope scope = StatementScope.open()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                record(request, scope.getStats());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? ApplicationConstants.UNKNOWN_URI : pattern.toString();
+        String method = request.getMethod();
+        String key = method + ' ' + uri;
+        long jdbcNanos = stats.getJdbcTime(TimeUnit.NANOSECONDS);
+
+        DistributionSummary statementSummary = statementSummaries.get(key);
+        if (statementSummary == null) {
+            statementSummary = statementSummaries.computeIfAbsent(key, k -> statementSummary(method, uri));
+        }
+        statementSummary.record(stats.getStatementCount());
+        Timer jdbcTimer = jdbcTimers.get(key);
+        if (jdbcTimer == null) {
+            jdbcTimer = jdbcTimers.computeIfAbsent(key, k -> jdbcTimer(method, uri));
+        }
+        jdbcTimer.record(jdbcNanos, TimeUnit.NANOSECONDS);
+
+        if (stats.getStatementCount() > maxStatements || TimeUnit.NANOSECONDS.toMillis(jdbcNanos) > maxJdbcMillis) {
+            budgetExceededCounter.increment();
+            LOGGER.warn("{} {} exceeded the statement budget: {} statements (budget {}), {} ms of JDBC time (budget {} ms), "
+                            + "most frequent statements: {}", method, request.getRequestURI(),
+                    stats.getStatementCount(), maxStatements, TimeUnit.NANOSECONDS.toMillis(jdbcNanos), maxJdbcMillis,
+                    stats.getTopFingerprints(ApplicationConstants.LOGGED_STATEMENT_FINGERPRINTS));
+        }
+    }
+
+    private DistributionSummary statementSummary(String method, String uri) {
+        return DistributionSummary.builder(ApplicationConstants.SQL_STATEMENTS_SUMMARY)
+                .description("SQL statements of one request")
+                .tag(ApplicationConstants.HTTP_METHOD_TAG, method)
+                .tag(ApplicationConstants.URI_TAG, uri)
+                .register(meterRegistry);
+    }
+
+    private Timer jdbcTimer(String method, String uri) {
+        return Timer.builder(ApplicationConstants.SQL_TIME_TIMER)
+                .description("JDBC time of one request")
+                .tag(ApplicationConstants.HTTP_METHOD_TAG, method)
+                .tag(ApplicationConstants.URI_TAG, uri)
+                .register(meterRegistry);
+    }
+}
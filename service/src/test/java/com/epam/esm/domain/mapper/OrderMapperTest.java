@@ -0,0 +1,62 @@
+package com.epam.esm.domain.mapper;
+
+import com.epam.esm.domain.dto.GiftCertificateDto;
+import com.epam.esm.domain.dto.OrderDto;
+import com.epam.esm.domain.dto.OrderLineDto;
+import com.epam.esm.domain.dto.TagDto;
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Order;
+import com.epam.esm.entity.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class OrderMapperTest {
+
+    private final OrderMapper orderMapper = new OrderMapper(new GiftCertificateMapper(new TagMapper()));
+
+    @Test
+    public void testToDto_MapLinesWithCertificatesAndTags() {
+        //given
+        LocalDateTime date = LocalDateTime.of(2021, 4, 1, 12, 30);
+        GiftCertificate certificate = new GiftCertificate();
+        certificate.setId(1L);
+        certificate.setName("certificate");
+        certificate.setDescription("description of the certificate");
+        certificate.setPrice(new BigDecimal("10"));
+        certificate.setDuration(5);
+        certificate.setCreateDate(date);
+        certificate.setLastUpdateDate(date);
+        certificate.setTags(Collections.singletonList(new Tag(2L, "tag", null)));
+        Order order = new Order();
+        order.setId(3L);
+        order.setCost(new BigDecimal("30"));
+        order.setCreationDate(date);
+        order.addLine(certificate, 3);
+        //when
+        OrderDto result = orderMapper.toDto(order);
+        //then
+        GiftCertificateDto certificateDto = new GiftCertificateDto(1L, "certificate", "description of the certificate",
+                new BigDecimal("10"), 5, "2021-04-01T12:30", "2021-04-01T12:30",
+                Collections.singletonList(new TagDto(2L, "tag")));
+        assertEquals(new OrderDto(3L, new BigDecimal("30"), "2021-04-01T12:30",
+                Collections.singletonList(new OrderLineDto(certificateDto, 3, new BigDecimal("10")))), result);
+    }
+
+    @Test
+    public void testToDto_NullTags_WhenCertificateHasNoTags() {
+        //given
+        GiftCertificate certificate = new GiftCertificate();
+        certificate.setId(1L);
+        //when
+        GiftCertificateDto result = new GiftCertificateMapper(new TagMapper()).toDto(certificate);
+        //then
+        assertNull(result.getTags());
+        assertNull(result.getCreateDate());
+    }
+}
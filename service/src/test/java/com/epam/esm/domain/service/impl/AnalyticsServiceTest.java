@@ -0,0 +1,68 @@
+package com.epam.esm.domain.service.impl;
+
+import com.epam.esm.dao.aggregate.AnalyticsDao;
+import com.epam.esm.dao.domain.projection.UserSpendProjection;
+import com.epam.esm.dao.domain.projection.UserTagProjection;
+import com.epam.esm.domain.dto.TagDto;
+import com.epam.esm.domain.dto.TopSpenderDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AnalyticsServiceTest {
+
+    @Mock
+    private AnalyticsDao analyticsDao;
+
+    @InjectMocks
+    private AnalyticsServiceImpl analyticsService;
+
+    @Test
+    public void testFindTopSpenders_CalculateOnce_WhenCalledTwice() {
+        //given
+        UserSpendProjection first = new UserSpendProjection(2L, "second", new BigDecimal("300"));
+        UserSpendProjection second = new UserSpendProjection(1L, "first", new BigDecimal("100"));
+        when(analyticsDao.findTopSpenders(anyInt())).thenReturn(Arrays.asList(first, second));
+        when(analyticsDao.findMostWidelyUsedTags(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(
+                new UserTagProjection(2L, 1L, "tag1"), new UserTagProjection(2L, 5L, "tag5")));
+        //when
+        List<TopSpenderDto> all = analyticsService.findTopSpenders(10);
+        List<TopSpenderDto> top = analyticsService.findTopSpenders(1);
+        //then
+        assertEquals(Arrays.asList(
+                new TopSpenderDto(2L, "second", new BigDecimal("300"), Arrays.asList(new TagDto(1L, "tag1"), new TagDto(5L, "tag5"))),
+                new TopSpenderDto(1L, "first", new BigDecimal("100"), Collections.emptyList())), all);
+        assertEquals(all.subList(0, 1), top);
+        verify(analyticsDao, times(1)).findTopSpenders(anyInt());
+    }
+
+    @Test
+    public void testRefresh_ReadNewSpenders_WhenRefreshed() {
+        //given
+        UserSpendProjection spend = new UserSpendProjection(1L, "first", new BigDecimal("100"));
+        when(analyticsDao.findTopSpenders(anyInt())).thenReturn(Collections.emptyList(), Collections.singletonList(spend));
+        when(analyticsDao.findMostWidelyUsedTags(Collections.emptyList())).thenReturn(Collections.emptyList());
+        when(analyticsDao.findMostWidelyUsedTags(Collections.singletonList(1L))).thenReturn(Collections.emptyList());
+        //when
+        List<TopSpenderDto> before = analyticsService.findTopSpenders(10);
+        analyticsService.refresh();
+        List<TopSpenderDto> after = analyticsService.findTopSpenders(10);
+        //then
+        assertEquals(Collections.emptyList(), before);
+        assertEquals(Collections.singletonList(new TopSpenderDto(1L, "first", new BigDecimal("100"), Collections.emptyList())), after);
+    }
+}
@@ -1,33 +1,56 @@
 package com.epam.esm.domain.service.impl;
 
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.dao.aggregate.UserTagUsageDao;
 import com.epam.esm.dao.domain.CriteriaFindAllDao;
 import com.epam.esm.dao.domain.GiftCertificateDao;
 import com.epam.esm.dao.domain.TagDao;
+import com.epam.esm.dao.domain.page.KeysetPage;
 import com.epam.esm.dao.relation.CertificateTagsDao;
+import com.epam.esm.domain.cache.ReadThroughCache;
 import com.epam.esm.domain.dto.GiftCertificateDto;
 import com.epam.esm.domain.dto.TagDto;
+import com.epam.esm.domain.dto.bulk.BulkItemResult;
+import com.epam.esm.domain.dto.bulk.BulkItemStatus;
 import com.epam.esm.domain.dto.bundles.GiftCertificateDtoBundle;
 import com.epam.esm.domain.exceptions.GiftCertificateException;
+import com.epam.esm.domain.mapper.GiftCertificateMapper;
+import com.epam.esm.domain.mapper.TagMapper;
 import com.epam.esm.entity.GiftCertificate;
 import com.epam.esm.entity.Tag;
+import com.epam.esm.querybuilder.keyset.InvalidCursorException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
+import javax.persistence.EntityManager;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -48,7 +71,18 @@ public class GiftServiceImplTest {
     private CertificateTagsDao certificateTagsDao;
 
     @Mock
-    private ModelMapper modelMapper;
+    private UserTagUsageDao userTagUsageDao;
+
+    @Mock
+    private GiftCertificateMapper giftCertificateMapper;
+    @Mock
+    private TagMapper tagMapper;
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ReadThroughCache readThroughCache = new ReadThroughCache(new ConcurrentMapCacheManager(
+            ApplicationConstants.CERTIFICATES_CACHE, ApplicationConstants.TAGS_BY_NAME_CACHE));
 
     @InjectMocks
     private GiftCertificateServiceImpl service;
@@ -106,13 +140,43 @@ public class GiftServiceImplTest {
         //given
         long testId = testEntity.getId();
         when(certDao.findById(testId)).thenReturn(Optional.of(testEntity));
-        when(modelMapper.map(testEntity, GiftCertificateDto.class)).thenReturn(testDto);
+        when(giftCertificateMapper.toDto(testEntity)).thenReturn(testDto);
         //when
         GiftCertificateDto result = service.findById(testId);
         //then
         assertEquals(result, testDto);
         verify(certDao).findById(testId);
-        verify(modelMapper).map(testEntity, GiftCertificateDto.class);
+        verify(giftCertificateMapper).toDto(testEntity);
+    }
+
+    @Test
+    public void testFindById_CopyOfCachedDto_EntityWasFoundBefore() {
+        //given
+        long testId = testEntity.getId();
+        when(certDao.findById(testId)).thenReturn(Optional.of(testEntity));
+        when(giftCertificateMapper.toDto(testEntity)).thenReturn(testDto);
+        GiftCertificateDto firstResult = service.findById(testId);
+        //when
+        GiftCertificateDto result = service.findById(testId);
+        //then
+        assertEquals(testDto, result);
+        assertNotSame(firstResult, result);
+        verify(certDao, times(1)).findById(testId);
+    }
+
+    @Test
+    public void testFindById_DtoFromDb_CachedEntityWasDeleted() {
+        //given
+        long testId = testEntity.getId();
+        when(certDao.findById(testId)).thenReturn(Optional.of(testEntity));
+        when(giftCertificateMapper.toDto(testEntity)).thenReturn(testDto);
+        when(certDao.existsById(testId)).thenReturn(true);
+        service.findById(testId);
+        service.delete(testId);
+        //when
+        service.findById(testId);
+        //then
+        verify(certDao, times(2)).findById(testId);
     }
 
     @Test
@@ -126,24 +190,188 @@ public class GiftServiceImplTest {
         verify(certDao).findById(testId);
     }
 
+    @Test
+    public void testFindLastUpdateDate_DateInDtoFormat_EntityWithGivenIdExistsInDb() {
+        //given
+        long testId = testEntity.getId();
+        when(certDao.findLastUpdateDateById(testId)).thenReturn(Optional.of(LocalDateTime.of(2021, 4, 1, 12, 30, 15)));
+        //when
+        String result = service.findLastUpdateDate(testId);
+        //then
+        assertEquals("2021-04-01T12:30:15", result);
+        verify(certDao, never()).findById(testId);
+    }
+
+    @Test
+    public void testFindLastUpdateDate_ThrowException_EntityWithGivenIdDoesNotExistInDb() {
+        //given
+        long testId = -1;
+        when(certDao.findLastUpdateDateById(testId)).thenReturn(Optional.empty());
+        //when
+        //then
+        assertThrows(GiftCertificateException.class, () -> service.findLastUpdateDate(testId));
+    }
+
     @Test
     public void testSave_DtoWithId_EntityWithGivenNameDoesNotExistInDb() {
         //given
         when(certDao.findByName(testDtoWithoutId.getName())).thenReturn(Optional.empty());
-        when(modelMapper.map(testDtoWithoutId, GiftCertificate.class)).thenReturn(testEntityWithoutId);
-        when(modelMapper.map(tagDto, Tag.class)).thenReturn(tag);
-        when(tagDao.findByName(tag.getName())).thenReturn(Optional.empty());
+        when(giftCertificateMapper.toEntity(testDtoWithoutId)).thenReturn(testEntityWithoutId);
+        when(tagMapper.toEntity(tagDto)).thenReturn(tag);
+        when(tagDao.findAllByNameIn(Collections.singletonList(tag.getName()))).thenReturn(Collections.emptyList());
         when(certDao.save(testEntityWithoutId)).thenReturn(testEntity);
-        when(modelMapper.map(testEntity, GiftCertificateDto.class)).thenReturn(testDto);
+        when(giftCertificateMapper.toDto(testEntity)).thenReturn(testDto);
         //when
         GiftCertificateDto result = service.save(testDtoWithoutId);
         //then
         assertNotNull(result.getId());
         verify(certDao).findByName(testDtoWithoutId.getName());
-        verify(modelMapper).map(testDtoWithoutId, GiftCertificate.class);
-        verify(modelMapper).map(tagDto, Tag.class);
+        verify(giftCertificateMapper).toEntity(testDtoWithoutId);
+        verify(tagMapper).toEntity(tagDto);
         verify(certDao).save(testEntityWithoutId);
-        verify(modelMapper).map(testEntity, GiftCertificateDto.class);
+        verify(giftCertificateMapper).toDto(testEntity);
+    }
+
+    @Test
+    public void testSave_DtoWithLinkedTags_PassedTagsExistInDb() {
+        //given
+        GiftCertificate entityWithoutTags = new GiftCertificate();
+        entityWithoutTags.setName(testDtoWithoutId.getName());
+        GiftCertificate savedEntity = new GiftCertificate();
+        savedEntity.setId(testEntity.getId());
+        GiftCertificateDto savedDto = new GiftCertificateDto();
+        savedDto.setId(testEntity.getId());
+        when(certDao.findByName(testDtoWithoutId.getName())).thenReturn(Optional.empty());
+        when(giftCertificateMapper.toEntity(testDtoWithoutId)).thenReturn(entityWithoutTags);
+        when(tagMapper.toEntity(tagDto)).thenReturn(tag);
+        when(tagDao.findAllByNameIn(Collections.singletonList(tag.getName()))).thenReturn(Collections.singletonList(tag));
+        when(tagMapper.toDto(tag)).thenReturn(tagDto);
+        when(certDao.save(entityWithoutTags)).thenReturn(savedEntity);
+        when(giftCertificateMapper.toDto(savedEntity)).thenReturn(savedDto);
+        //when
+        GiftCertificateDto result = service.save(testDtoWithoutId);
+        //then
+        assertEquals(Collections.singletonList(tagDto), result.getTags());
+        verify(tagDao, never()).findByName(tag.getName());
+        verify(certificateTagsDao).saveAll(savedEntity.getId(), Collections.singletonList(tag.getId()));
+    }
+
+    @Test
+    public void testSave_DtoWithLinkedTags_PassedTagNamesDifferInCaseFromDb() {
+        //given
+        TagDto upperCaseDto = new TagDto(null, tag.getName().toUpperCase());
+        TagDto lowerCaseDto = new TagDto(null, tag.getName().toLowerCase());
+        Tag upperCaseTag = new Tag(null, upperCaseDto.getName(), null);
+        Tag lowerCaseTag = new Tag(null, lowerCaseDto.getName(), null);
+        GiftCertificateDto passedDto = testDtoWithoutId.toBuilder()
+                .tags(Arrays.asList(upperCaseDto, lowerCaseDto))
+                .build();
+        GiftCertificate entityWithoutTags = new GiftCertificate();
+        entityWithoutTags.setName(passedDto.getName());
+        GiftCertificate savedEntity = new GiftCertificate();
+        savedEntity.setId(testEntity.getId());
+        GiftCertificateDto savedDto = new GiftCertificateDto();
+        savedDto.setId(testEntity.getId());
+        when(certDao.findByName(passedDto.getName())).thenReturn(Optional.empty());
+        when(giftCertificateMapper.toEntity(passedDto)).thenReturn(entityWithoutTags);
+        when(tagMapper.toEntity(upperCaseDto)).thenReturn(upperCaseTag);
+        when(tagMapper.toEntity(lowerCaseDto)).thenReturn(lowerCaseTag);
+        //database compares names case-insensitively
+        when(tagDao.findAllByNameIn(Collections.singletonList(upperCaseDto.getName())))
+                .thenReturn(Collections.singletonList(tag));
+        when(tagMapper.toDto(tag)).thenReturn(tagDto);
+        when(certDao.save(entityWithoutTags)).thenReturn(savedEntity);
+        when(giftCertificateMapper.toDto(savedEntity)).thenReturn(savedDto);
+        //when
+        GiftCertificateDto result = service.save(passedDto);
+        //then
+        assertAll(
+                () -> assertEquals(Collections.singletonList(tagDto), result.getTags()),
+                () -> assertTrue(entityWithoutTags.getTags().isEmpty())
+        );
+        verify(certificateTagsDao).saveAll(savedEntity.getId(), Collections.singletonList(tag.getId()));
+    }
+
+    @Test
+    public void testSaveAll_ResultForEachDto_ChunkContainsTakenNames() {
+        //given
+        GiftCertificateDto newDto = GiftCertificateDto.builder()
+                .name("newCertificate")
+                .tags(Collections.singletonList(new TagDto(null, "newTag")))
+                .build();
+        GiftCertificateDto repeatedDto = newDto.toBuilder().description("repeated").build();
+        GiftCertificateDto takenDto = GiftCertificateDto.builder().name(testEntity.getName()).build();
+        GiftCertificate newEntity = new GiftCertificate();
+        newEntity.setName(newDto.getName());
+        GiftCertificate savedEntity = new GiftCertificate();
+        savedEntity.setId(1L);
+        when(certDao.findNamesByNameIn(new HashSet<>(Arrays.asList(newDto.getName(), takenDto.getName()))))
+                .thenReturn(Collections.singletonList(takenDto.getName()));
+        when(tagDao.findAllByNameIn(Collections.singletonList("newTag"))).thenReturn(Collections.emptyList());
+        when(giftCertificateMapper.toEntity(newDto)).thenReturn(newEntity);
+        when(certDao.save(newEntity)).thenReturn(savedEntity);
+        //when
+        List<BulkItemResult> results = service.saveAll(Arrays.asList(newDto, repeatedDto, takenDto));
+        //then
+        assertAll(() -> assertEquals(3, results.size()),
+                () -> assertEquals(BulkItemStatus.CREATED, results.get(0).getStatus()),
+                () -> assertEquals(savedEntity.getId(), results.get(0).getId()),
+                () -> assertEquals(Integer.valueOf(ApplicationConstants.CERTIFICATE_WITH_SUCH_NAME_EXISTS_CODE),
+                        results.get(1).getErrorCode()),
+                () -> assertEquals(Integer.valueOf(ApplicationConstants.CERTIFICATE_WITH_SUCH_NAME_EXISTS_CODE),
+                        results.get(2).getErrorCode()),
+                () -> assertEquals("newTag", newEntity.getTags().get(0).getName()));
+        verify(certDao, times(1)).save(newEntity);
+    }
+
+    @Test
+    public void testSaveAll_SecondDtoFailed_ChunkContainsNamesDifferentInCase() {
+        //given
+        GiftCertificateDto upperDto = GiftCertificateDto.builder().name("Foo").build();
+        GiftCertificateDto lowerDto = GiftCertificateDto.builder().name("foo").build();
+        GiftCertificate upperEntity = new GiftCertificate();
+        upperEntity.setName(upperDto.getName());
+        GiftCertificate savedEntity = new GiftCertificate();
+        savedEntity.setId(1L);
+        when(certDao.findNamesByNameIn(anySet())).thenReturn(Collections.emptyList());
+        when(giftCertificateMapper.toEntity(upperDto)).thenReturn(upperEntity);
+        when(certDao.save(upperEntity)).thenReturn(savedEntity);
+        //when
+        List<BulkItemResult> results = service.saveAll(Arrays.asList(upperDto, lowerDto));
+        //then
+        assertAll(() -> assertEquals(2, results.size()),
+                () -> assertEquals(BulkItemStatus.CREATED, results.get(0).getStatus()),
+                () -> assertEquals(Integer.valueOf(ApplicationConstants.CERTIFICATE_WITH_SUCH_NAME_EXISTS_CODE),
+                        results.get(1).getErrorCode()));
+        verify(certDao, times(1)).save(any(GiftCertificate.class));
+    }
+
+    @Test
+    public void testSaveAll_PersistenceContextIsClearedAfterEachChunk_SeveralChunksAreSaved() {
+        //given
+        GiftCertificateDto firstDto = GiftCertificateDto.builder().name("first").build();
+        GiftCertificateDto secondDto = GiftCertificateDto.builder().name("second").build();
+        GiftCertificate firstEntity = new GiftCertificate();
+        firstEntity.setName(firstDto.getName());
+        GiftCertificate secondEntity = new GiftCertificate();
+        secondEntity.setName(secondDto.getName());
+        GiftCertificate savedEntity = new GiftCertificate();
+        savedEntity.setId(1L);
+        when(certDao.findNamesByNameIn(anySet())).thenReturn(Collections.emptyList());
+        when(giftCertificateMapper.toEntity(firstDto)).thenReturn(firstEntity);
+        when(giftCertificateMapper.toEntity(secondDto)).thenReturn(secondEntity);
+        when(certDao.save(any(GiftCertificate.class))).thenReturn(savedEntity);
+        //when
+        service.saveAll(Collections.singletonList(firstDto));
+        service.saveAll(Collections.singletonList(secondDto));
+        //then
+        InOrder inOrder = inOrder(certDao, entityManager);
+        inOrder.verify(certDao).save(firstEntity);
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(entityManager).clear();
+        inOrder.verify(certDao).save(secondEntity);
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(entityManager).clear();
     }
 
     @Test
@@ -155,13 +383,13 @@ public class GiftServiceImplTest {
         when(certDao.findByName(testDto.getName())).thenReturn(Optional.empty());
         doNothing().when(certificateTagsDao).deleteAllTagLinksForCertificateId(certificateId);
 
-        when(modelMapper.map(tagDto, Tag.class)).thenReturn(tag);
-        when(tagDao.findByName(tag.getName())).thenReturn(Optional.empty());
+        when(tagMapper.toEntity(tagDto)).thenReturn(tag);
+        when(tagDao.findAllByNameIn(Collections.singletonList(tag.getName()))).thenReturn(Collections.emptyList());
 
-        when(modelMapper.map(testDto, GiftCertificate.class)).thenReturn(testEntity);
+        when(giftCertificateMapper.toEntity(testDto)).thenReturn(testEntity);
 
         when(certDao.save(testEntity)).thenReturn(testEntity);
-        when(modelMapper.map(testEntity, GiftCertificateDto.class)).thenReturn(testDto);
+        when(giftCertificateMapper.toDto(testEntity)).thenReturn(testDto);
         //when
         GiftCertificateDto result = service.update(testDto, certificateId);
         //then
@@ -169,11 +397,11 @@ public class GiftServiceImplTest {
         verify(certDao).findById(certificateId);
         verify(certDao).findByName(testDto.getName());
         verify(certificateTagsDao).deleteAllTagLinksForCertificateId(certificateId);
-        verify(modelMapper).map(tagDto, Tag.class);
-        verify(tagDao).findByName(tag.getName());
-        verify(modelMapper).map(testDto, GiftCertificate.class);
+        verify(tagMapper).toEntity(tagDto);
+        verify(tagDao).findAllByNameIn(Collections.singletonList(tag.getName()));
+        verify(giftCertificateMapper).toEntity(testDto);
         verify(certDao).save(testEntity);
-        verify(modelMapper).map(testEntity, GiftCertificateDto.class);
+        verify(giftCertificateMapper).toDto(testEntity);
     }
 
     @Test
@@ -182,20 +410,20 @@ public class GiftServiceImplTest {
         long certificateId = testDto.getId();
         when(certDao.findById(certificateId)).thenReturn(Optional.of(testEntity));
         when(certDao.findByName(testDto.getName())).thenReturn(Optional.empty());
-        when(modelMapper.map(tagDto, Tag.class)).thenReturn(tag);
-        when(tagDao.findByName(tag.getName())).thenReturn(Optional.empty());
+        when(tagMapper.toEntity(tagDto)).thenReturn(tag);
+        when(tagDao.findAllByNameIn(Collections.singletonList(tag.getName()))).thenReturn(Collections.emptyList());
         when(certDao.save(testEntity)).thenReturn(testEntity);
-        when(modelMapper.map(testEntity, GiftCertificateDto.class)).thenReturn(testDto);
+        when(giftCertificateMapper.toDto(testEntity)).thenReturn(testDto);
         //when
         GiftCertificateDto result = service.patch(testDto, certificateId);
         //then
         assertEquals(result, testDto);
         verify(certDao).findById(certificateId);
         verify(certDao).findByName(testDto.getName());
-        verify(modelMapper).map(tagDto, Tag.class);
-        verify(tagDao).findByName(tag.getName());
+        verify(tagMapper).toEntity(tagDto);
+        verify(tagDao).findAllByNameIn(Collections.singletonList(tag.getName()));
         verify(certDao).save(testEntity);
-        verify(modelMapper).map(testEntity, GiftCertificateDto.class);
+        verify(giftCertificateMapper).toDto(testEntity);
     }
 
     @Test
@@ -204,6 +432,8 @@ public class GiftServiceImplTest {
         long certificateId = testDto.getId();
         doNothing().when(certificateTagsDao).deleteAllTagLinksForCertificateId(certificateId);
         when(certDao.existsById(certificateId)).thenReturn(true);
+        List<Long> buyerIds = Arrays.asList(1L, 2L);
+        when(userTagUsageDao.findUserIdsByCertificateId(certificateId)).thenReturn(buyerIds);
         doNothing().when(certDao).deleteById(certificateId);
         //when
         service.delete(certificateId);
@@ -211,6 +441,7 @@ public class GiftServiceImplTest {
         verify(certificateTagsDao).deleteAllTagLinksForCertificateId(certificateId);
         verify(certDao).existsById(certificateId);
         verify(certDao).deleteById(certificateId);
+        verify(userTagUsageDao).rebuild(buyerIds);
     }
 
     @Test
@@ -233,17 +464,17 @@ public class GiftServiceImplTest {
         int offset = 0;
         Map<String, String[]> reqParams = Collections.emptyMap();
         when(criteriaFindAllDao.findBy(reqParams, limit, offset)).thenReturn(Arrays.asList(testEntity, testEntity));
-        when(modelMapper.map(testEntity, GiftCertificateDto.class)).thenReturn(testDto);
+        when(giftCertificateMapper.toDto(testEntity)).thenReturn(testDto);
         long expectedSize = 2;
-        when(certDao.count()).thenReturn(expectedSize);
+        when(criteriaFindAllDao.countBy(reqParams)).thenReturn(expectedSize);
         GiftCertificateDtoBundle expectedBundle = new GiftCertificateDtoBundle(Arrays.asList(testDto, testDto), expectedSize);
         //when
         GiftCertificateDtoBundle result = service.findAllForQuery(reqParams, limit, offset);
         //then
         assertEquals(result, expectedBundle);
         verify(criteriaFindAllDao).findBy(reqParams, limit, offset);
-        verify(modelMapper, times(2)).map(testEntity, GiftCertificateDto.class);
-        verify(certDao).count();
+        verify(giftCertificateMapper, times(2)).toDto(testEntity);
+        verify(criteriaFindAllDao).countBy(reqParams);
     }
 
     @Test
@@ -254,14 +485,62 @@ public class GiftServiceImplTest {
         Map<String, String[]> reqParams = Collections.emptyMap();
         when(criteriaFindAllDao.findBy(reqParams, limit, offset)).thenReturn(Collections.emptyList());
         long expectedSize = 0L;
-        when(certDao.count()).thenReturn(expectedSize);
+        when(criteriaFindAllDao.countBy(reqParams)).thenReturn(expectedSize);
         GiftCertificateDtoBundle expectedBundle = new GiftCertificateDtoBundle(Collections.emptyList(), expectedSize);
         //when
         GiftCertificateDtoBundle result = service.findAllForQuery(reqParams, limit, offset);
         //then
         assertEquals(result, expectedBundle);
         verify(criteriaFindAllDao).findBy(reqParams, limit, offset);
-        verify(certDao).count();
+        verify(criteriaFindAllDao).countBy(reqParams);
+    }
+
+    @Test
+    public void testFindAllForQuery_BundleWithCursorsWithoutCount_KeysetPaginationIsRequested() {
+        //given
+        int limit = 5;
+        Map<String, String[]> reqParams = Collections.singletonMap(ApplicationConstants.AFTER_KEY, new String[]{""});
+        KeysetPage<GiftCertificate> page = new KeysetPage<>(Collections.singletonList(testEntity), "next", null);
+        when(criteriaFindAllDao.findByKeyset(reqParams, limit)).thenReturn(page);
+        when(giftCertificateMapper.toDto(testEntity)).thenReturn(testDto);
+        //when
+        GiftCertificateDtoBundle result = service.findAllForQuery(reqParams, limit, 0);
+        //then
+        assertAll(() -> assertEquals(Collections.singletonList(testDto), result.getGiftCertificates()),
+                () -> assertEquals(ApplicationConstants.UNKNOWN_COUNT, result.getCount()),
+                () -> assertEquals("next", result.getNextCursor()),
+                () -> assertNull(result.getPreviousCursor()));
+        verify(criteriaFindAllDao).findByKeyset(reqParams, limit);
+        verify(criteriaFindAllDao, never()).countBy(reqParams);
     }
-}
 
+    @Test
+    public void testFindAllForQuery_ThrowException_CursorIsInvalid() {
+        //given
+        int limit = 5;
+        Map<String, String[]> reqParams = Collections.singletonMap(ApplicationConstants.AFTER_KEY, new String[]{"invalid"});
+        when(criteriaFindAllDao.findByKeyset(reqParams, limit)).thenThrow(new InvalidCursorException("invalid"));
+        //when
+        //then
+        GiftCertificateException exception = assertThrows(GiftCertificateException.class,
+                () -> service.findAllForQuery(reqParams, limit, 0));
+        assertEquals(ApplicationConstants.INVALID_CURSOR_ERROR_CODE, exception.getErrorCode());
+    }
+
+    @Test
+    public void testFindAllForQuery_BundleWithUnknownCount_CountIsNotRequested() {
+        //given
+        int limit = 5;
+        int offset = 0;
+        Map<String, String[]> reqParams = Collections.singletonMap(ApplicationConstants.WITH_COUNT_KEY, new String[]{"false"});
+        when(criteriaFindAllDao.findBy(reqParams, limit, offset)).thenReturn(Collections.singletonList(testEntity));
+        when(giftCertificateMapper.toDto(testEntity)).thenReturn(testDto);
+        GiftCertificateDtoBundle expectedBundle = new GiftCertificateDtoBundle(Collections.singletonList(testDto),
+                ApplicationConstants.UNKNOWN_COUNT);
+        //when
+        GiftCertificateDtoBundle result = service.findAllForQuery(reqParams, limit, offset);
+        //then
+        assertEquals(result, expectedBundle);
+        verify(criteriaFindAllDao, never()).countBy(reqParams);
+    }
+}
@@ -1,38 +1,50 @@
 package com.epam.esm.domain.service.impl;
 
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.dao.aggregate.UserTagUsageDao;
 import com.epam.esm.dao.domain.CriteriaFindAllDao;
 import com.epam.esm.dao.domain.GiftCertificateDao;
 import com.epam.esm.dao.domain.OrderDao;
 import com.epam.esm.dao.domain.UserDao;
 import com.epam.esm.domain.dto.GiftCertificateDto;
 import com.epam.esm.domain.dto.OrderDto;
+import com.epam.esm.domain.dto.OrderLineDto;
 import com.epam.esm.domain.dto.SaveOrderDto;
 import com.epam.esm.domain.dto.bundles.OrderDtoBundle;
 import com.epam.esm.entity.GiftCertificate;
 import com.epam.esm.entity.Order;
+import com.epam.esm.entity.OrderLine;
 import com.epam.esm.entity.User;
 import com.epam.esm.domain.exceptions.GiftCertificateException;
 import com.epam.esm.domain.exceptions.OrderException;
 import com.epam.esm.domain.exceptions.UserException;
+import com.epam.esm.domain.mapper.OrderMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -54,7 +66,10 @@ public class OrderServiceTest {
     private GiftCertificateDao giftCertificateDao;
 
     @Mock
-    private ModelMapper modelMapper;
+    private UserTagUsageDao userTagUsageDao;
+
+    @Mock
+    private OrderMapper orderMapper;
 
     @InjectMocks
     private OrderServiceImpl orderService;
@@ -62,6 +77,7 @@ public class OrderServiceTest {
     private OrderDto orderDto;
     private Order order;
     private GiftCertificate giftCertificate;
+    private GiftCertificate secondGiftCertificate;
     private GiftCertificateDto giftCertificateDto;
     private User user;
     private static final int TEST_LIMIT = 5;
@@ -76,7 +92,11 @@ public class OrderServiceTest {
         user.setRole("ADMIN");
 
         giftCertificate = new GiftCertificate();
+        giftCertificate.setId(1L);
         giftCertificate.setPrice(BigDecimal.TEN);
+        secondGiftCertificate = new GiftCertificate();
+        secondGiftCertificate.setId(2L);
+        secondGiftCertificate.setPrice(BigDecimal.TEN);
 
         giftCertificateDto = new GiftCertificateDto();
         giftCertificateDto.setPrice(BigDecimal.TEN);
@@ -84,12 +104,12 @@ public class OrderServiceTest {
         orderDto = new OrderDto();
         orderDto.setId(1L);
         orderDto.setCost(new BigDecimal(30L));
-        orderDto.setGiftCertificates(Arrays.asList(giftCertificateDto, giftCertificateDto, giftCertificateDto));
+        orderDto.setOrderLines(Collections.singletonList(new OrderLineDto(giftCertificateDto, 3, BigDecimal.TEN)));
         order = new Order();
         order.setId(1L);
         order.setCost(new BigDecimal(30L));
         order.setUser(user);
-        order.setGiftCertificates(Arrays.asList(giftCertificate, giftCertificate, giftCertificate));
+        order.addLine(giftCertificate, 3);
     }
 
     @Test
@@ -97,12 +117,12 @@ public class OrderServiceTest {
         //given
         long id = order.getId();
         when(orderDao.findById(id)).thenReturn(Optional.of(order));
-        when(modelMapper.map(order, OrderDto.class)).thenReturn(orderDto);
+        when(orderMapper.toDto(order)).thenReturn(orderDto);
         //when
         OrderDto result = orderService.findById(id);
         //then
         verify(orderDao).findById(id);
-        verify(modelMapper).map(order, OrderDto.class);
+        verify(orderMapper).toDto(order);
         assertEquals(result, orderDto);
     }
 
@@ -122,19 +142,19 @@ public class OrderServiceTest {
         //given
         long userId = 1;
         Map<String, String[]> reqParams = new HashMap<>();
-        when(userDao.findById(userId)).thenReturn(Optional.of(user));
+        when(userDao.existsById(userId)).thenReturn(true);
         when(criteriaFindAllDao.findBy(reqParams, TEST_LIMIT, TEST_OFFSET)).thenReturn(Arrays.asList(order, order));
-        when(modelMapper.map(order, OrderDto.class)).thenReturn(orderDto);
+        when(orderMapper.toDto(order)).thenReturn(orderDto);
         long expectedSize = 2;
-        when(orderDao.countByUserId(userId)).thenReturn(expectedSize);
+        when(criteriaFindAllDao.countBy(reqParams)).thenReturn(expectedSize);
         OrderDtoBundle expectedBundle = new OrderDtoBundle(Arrays.asList(orderDto, orderDto), expectedSize);
         //when
         OrderDtoBundle result = orderService.findAllForQuery(userId, reqParams, TEST_LIMIT, TEST_OFFSET);
         //then
         assertEquals(result, expectedBundle);
         verify(criteriaFindAllDao).findBy(reqParams, TEST_LIMIT, TEST_OFFSET);
-        verify(modelMapper, times(2)).map(order, OrderDto.class);
-        verify(orderDao).countByUserId(userId);
+        verify(orderMapper, times(2)).toDto(order);
+        verify(criteriaFindAllDao).countBy(reqParams);
     }
 
     @Test
@@ -142,17 +162,17 @@ public class OrderServiceTest {
         //given
         long userId = 1;
         Map<String, String[]> reqParams = new HashMap<>();
-        when(userDao.findById(userId)).thenReturn(Optional.of(user));
+        when(userDao.existsById(userId)).thenReturn(true);
         when(criteriaFindAllDao.findBy(reqParams, TEST_LIMIT, TEST_OFFSET)).thenReturn(Collections.emptyList());
         long expectedSize = 0L;
-        when(orderDao.countByUserId(userId)).thenReturn(expectedSize);
+        when(criteriaFindAllDao.countBy(reqParams)).thenReturn(expectedSize);
         OrderDtoBundle expectedBundle = new OrderDtoBundle(Collections.emptyList(), expectedSize);
         //when
         OrderDtoBundle result = orderService.findAllForQuery(userId, reqParams, TEST_LIMIT, TEST_OFFSET);
         //then
         assertEquals(result, expectedBundle);
         verify(criteriaFindAllDao).findBy(reqParams, TEST_LIMIT, TEST_OFFSET);
-        verify(orderDao).countByUserId(userId);
+        verify(criteriaFindAllDao).countBy(reqParams);
     }
 
     @Test
@@ -162,24 +182,59 @@ public class OrderServiceTest {
         Order savingOrder = new Order();
         savingOrder.setUser(user);
         savingOrder.setCost(order.getCost());
-        savingOrder.setGiftCertificates(order.getGiftCertificates());
         SaveOrderDto saveOrderDto1 = new SaveOrderDto(1L, 1);
         SaveOrderDto saveOrderDto2 = new SaveOrderDto(2L, 2);
         List<SaveOrderDto> saveOrderDtoList = Arrays.asList(saveOrderDto1, saveOrderDto2);
+        Set<Long> certificateIds = new HashSet<>(Arrays.asList(1L, 2L));
         when(userDao.findById(userId)).thenReturn(Optional.of(user));
-        when(giftCertificateDao.findById(1L)).thenReturn(Optional.of(giftCertificate));
-        when(giftCertificateDao.findById(2L)).thenReturn(Optional.of(giftCertificate));
+        when(giftCertificateDao.findAllById(certificateIds)).thenReturn(Arrays.asList(giftCertificate, secondGiftCertificate));
         when(orderDao.save(savingOrder)).thenReturn(order);
-        when(modelMapper.map(order, OrderDto.class)).thenReturn(orderDto);
+        when(orderMapper.toDto(order)).thenReturn(orderDto);
         //when
         OrderDto result = orderService.save(saveOrderDtoList, userId);
         //then
         assertEquals(result, orderDto);
         verify(userDao).findById(userId);
-        verify(giftCertificateDao).findById(1L);
-        verify(giftCertificateDao).findById(2L);
+        verify(giftCertificateDao).findAllById(certificateIds);
+        verify(giftCertificateDao, never()).findById(anyLong());
         verify(orderDao).save(savingOrder);
-        verify(modelMapper).map(order, OrderDto.class);
+        verify(userTagUsageDao).addOrder(order.getId());
+        verify(orderMapper).toDto(order);
+    }
+
+    @Test
+    public void testSave_SaveOneLinePerCertificateWithPriceSnapshot_WhenCertificateIsPassedSeveralTimes() {
+        //given
+        long userId = 1;
+        List<SaveOrderDto> saveOrderDtoList = Arrays.asList(new SaveOrderDto(1L, 400), new SaveOrderDto(1L, 600));
+        when(userDao.findById(userId)).thenReturn(Optional.of(user));
+        when(giftCertificateDao.findAllById(Collections.singleton(1L))).thenReturn(Collections.singletonList(giftCertificate));
+        ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+        when(orderDao.save(orderCaptor.capture())).thenReturn(order);
+        //when
+        orderService.save(saveOrderDtoList, userId);
+        //then
+        Order savedOrder = orderCaptor.getValue();
+        assertEquals(1, savedOrder.getOrderLines().size());
+        OrderLine line = savedOrder.getOrderLines().get(0);
+        assertAll(() -> assertEquals(1000, line.getQuantity()),
+                () -> assertEquals(BigDecimal.TEN, line.getUnitPrice()),
+                () -> assertEquals(giftCertificate, line.getGiftCertificate()),
+                () -> assertEquals(new BigDecimal(10000), savedOrder.getCost()));
+    }
+
+    @Test
+    public void testSave_ThrowException_WhenSumOfQuantitiesOfCertificateOverflows() {
+        //given
+        long userId = 1;
+        List<SaveOrderDto> saveOrderDtoList = Arrays.asList(new SaveOrderDto(1L, Integer.MAX_VALUE), new SaveOrderDto(1L, 1));
+        when(userDao.findById(userId)).thenReturn(Optional.of(user));
+        //when
+        OrderException exception = assertThrows(OrderException.class, () -> orderService.save(saveOrderDtoList, userId));
+        //then
+        assertEquals(ApplicationConstants.ORDER_QUANTITY_TOO_LARGE_ERROR_CODE, exception.getErrorCode());
+        verify(giftCertificateDao, never()).findAllById(anySet());
+        verify(orderDao, never()).save(any(Order.class));
     }
 
     @Test
@@ -203,12 +258,12 @@ public class OrderServiceTest {
         SaveOrderDto saveOrderDto1 = new SaveOrderDto(1L, 1);
         List<SaveOrderDto> saveOrderDtoList = Collections.singletonList(saveOrderDto1);
         when(userDao.findById(userId)).thenReturn(Optional.of(user));
-        when(giftCertificateDao.findById(1L)).thenReturn(Optional.empty());
+        when(giftCertificateDao.findAllById(Collections.singleton(1L))).thenReturn(Collections.emptyList());
         //when
         //then
         assertThrows(GiftCertificateException.class, () -> orderService.save(saveOrderDtoList, userId));
         verify(userDao).findById(userId);
-        verify(giftCertificateDao).findById(1L);
+        verify(giftCertificateDao).findAllById(Collections.singleton(1L));
     }
 
     @Test
@@ -221,6 +276,7 @@ public class OrderServiceTest {
         orderService.delete(orderId);
         //then
         verify(orderDao).existsById(orderId);
+        verify(userTagUsageDao).subtractOrder(orderId);
         verify(orderDao).deleteById(orderId);
     }
 
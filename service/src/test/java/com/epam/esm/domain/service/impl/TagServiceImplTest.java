@@ -1,22 +1,25 @@
 package com.epam.esm.domain.service.impl;
 
+import com.epam.esm.constants.ApplicationConstants;
 import com.epam.esm.dao.domain.CriteriaFindAllDao;
 import com.epam.esm.dao.domain.TagDao;
 import com.epam.esm.dao.domain.UserDao;
 import com.epam.esm.dao.relation.CertificateTagsDao;
+import com.epam.esm.domain.cache.ReadThroughCache;
 import com.epam.esm.domain.dto.TagDto;
 import com.epam.esm.domain.dto.bundles.TagDtoBundle;
 import com.epam.esm.domain.exceptions.TagException;
 import com.epam.esm.domain.exceptions.UserException;
+import com.epam.esm.domain.mapper.TagMapper;
 import com.epam.esm.entity.Tag;
-import com.epam.esm.entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -47,7 +50,12 @@ public class TagServiceImplTest {
     private CertificateTagsDao certificateTagsDao;
 
     @Mock
-    private ModelMapper modelMapper;
+    private TagMapper tagMapper;
+
+    @Spy
+    private ReadThroughCache readThroughCache = new ReadThroughCache(new ConcurrentMapCacheManager(
+            ApplicationConstants.TAGS_CACHE, ApplicationConstants.TAGS_BY_NAME_CACHE,
+            ApplicationConstants.CERTIFICATES_CACHE));
 
     @InjectMocks
     private TagServiceImpl tagService;
@@ -72,12 +80,12 @@ public class TagServiceImplTest {
         //given
         long id = testEntity.getId();
         when(tagDao.findById(id)).thenReturn(Optional.of(testEntity));
-        when(modelMapper.map(testEntity, TagDto.class)).thenReturn(testDto);
+        when(tagMapper.toDto(testEntity)).thenReturn(testDto);
         //when
         TagDto result = tagService.findById(id);
         //then
         verify(tagDao).findById(id);
-        verify(modelMapper).map(testEntity, TagDto.class);
+        verify(tagMapper).toDto(testEntity);
         assertEquals(result, testDto);
     }
 
@@ -103,9 +111,9 @@ public class TagServiceImplTest {
         List<TagDto> expectedResult = Arrays.asList(testDto, testDto, testDto);
 
         when(criteriaFindAllDao.findBy(reqParams, TEST_LIMIT, TEST_OFFSET)).thenReturn(expectedEntitiesList);
-        when(modelMapper.map(testEntity, TagDto.class)).thenReturn(testDto);
+        when(tagMapper.toDto(testEntity)).thenReturn(testDto);
         long expectedSize = 3;
-        when(tagDao.count()).thenReturn(expectedSize);
+        when(criteriaFindAllDao.countBy(reqParams)).thenReturn(expectedSize);
         TagDtoBundle expectedBundle = new TagDtoBundle(expectedResult, expectedSize);
 
         //when
@@ -113,8 +121,8 @@ public class TagServiceImplTest {
         //then
         assertEquals(result, expectedBundle);
         verify(criteriaFindAllDao).findBy(reqParams, TEST_LIMIT, TEST_OFFSET);
-        verify(modelMapper, times(expectedEntitiesList.size())).map(testEntity, TagDto.class);
-        verify(tagDao).count();
+        verify(tagMapper, times(expectedEntitiesList.size())).toDto(testEntity);
+        verify(criteriaFindAllDao).countBy(reqParams);
     }
 
     @Test
@@ -126,7 +134,7 @@ public class TagServiceImplTest {
         when(criteriaFindAllDao.findBy(reqParams, TEST_LIMIT, TEST_OFFSET)).thenReturn(expectedEntitiesList);
         List<TagDto> expectedResult = Collections.emptyList();
         long expectedSize = 0L;
-        when(tagDao.count()).thenReturn(expectedSize);
+        when(criteriaFindAllDao.countBy(reqParams)).thenReturn(expectedSize);
         TagDtoBundle expectedBundle = new TagDtoBundle(expectedResult, expectedSize);
 
         //when
@@ -134,7 +142,7 @@ public class TagServiceImplTest {
         //then
         assertEquals(result, expectedBundle);
         verify(criteriaFindAllDao).findBy(reqParams, TEST_LIMIT, TEST_OFFSET);
-        verify(tagDao).count();
+        verify(criteriaFindAllDao).countBy(reqParams);
     }
 
     @Test
@@ -142,13 +150,13 @@ public class TagServiceImplTest {
         //given
         String tagName = testDto.getName();
         when(tagDao.findByName(tagName)).thenReturn(Optional.empty());
-        when(modelMapper.map(testDto, Tag.class)).thenReturn(testEntity);
+        when(tagMapper.toEntity(testDto)).thenReturn(testEntity);
         when(tagDao.save(testEntity)).thenReturn(testEntity);
         //when
         TagDto result = tagService.save(testDto);
         //then
         verify(tagDao).findByName(tagName);
-        verify(modelMapper).map(testDto, Tag.class);
+        verify(tagMapper).toEntity(testDto);
         verify(tagDao).save(testEntity);
         assertEquals(result, testDto);
     }
@@ -197,15 +205,29 @@ public class TagServiceImplTest {
         //given
         String name = testDto.getName();
         when(tagDao.findByName(name)).thenReturn(Optional.of(testEntity));
-        when(modelMapper.map(testEntity, TagDto.class)).thenReturn(testDto);
+        when(tagMapper.toDto(testEntity)).thenReturn(testDto);
         //when
         TagDto result = tagService.findByName(name);
         //then
         verify(tagDao).findByName(name);
-        verify(modelMapper).map(testEntity, TagDto.class);
+        verify(tagMapper).toDto(testEntity);
         assertEquals(result, testDto);
     }
 
+    @Test
+    public void testFindByName_ReturnCachedDto_EntityWasFoundBefore() {
+        //given
+        String name = testEntity.getName();
+        when(tagDao.findByName(name)).thenReturn(Optional.of(testEntity));
+        when(tagMapper.toDto(testEntity)).thenReturn(testDto);
+        tagService.findByName(name);
+        //when
+        TagDto result = tagService.findByName(name);
+        //then
+        assertEquals(testDto, result);
+        verify(tagDao, times(1)).findByName(name);
+    }
+
     @Test
     public void testFindByName_ThrowException_EntityWithSuchNameIsNotPresentInDb() {
         //given
@@ -221,16 +243,16 @@ public class TagServiceImplTest {
     public void testFindMostWidelyUser_ReturnListOfDto_UserWithGivenIdExists() {
         //given
         long userId = 1;
-        when(userDao.findById(userId)).thenReturn(Optional.of(new User()));
+        when(userDao.existsById(userId)).thenReturn(true);
         when(tagDao.findMaxWidelyUsed(userId)).thenReturn(Arrays.asList(testEntity, testEntity));
-        when(modelMapper.map(testEntity, TagDto.class)).thenReturn(testDto);
+        when(tagMapper.toDto(testEntity)).thenReturn(testDto);
         List<TagDto> expectedResult = Arrays.asList(testDto, testDto);
         //when
         List<TagDto> result = tagService.findMostWidelyUsed(userId);
         //then
-        verify(userDao).findById(userId);
+        verify(userDao).existsById(userId);
         verify(tagDao).findMaxWidelyUsed(userId);
-        verify(modelMapper, times(2)).map(testEntity, TagDto.class);
+        verify(tagMapper, times(2)).toDto(testEntity);
         assertEquals(result, expectedResult);
     }
 
@@ -238,11 +260,11 @@ public class TagServiceImplTest {
     public void testFindMostWidelyUser_ThrowException_UserWithGivenIdDoesNotExistInDb() {
         //given
         long userId = -1;
-        when(userDao.findById(userId)).thenReturn(Optional.empty());
+        when(userDao.existsById(userId)).thenReturn(false);
         //when
         //then
         assertThrows(UserException.class, () -> tagService.findMostWidelyUsed(userId));
-        verify(userDao).findById(userId);
+        verify(userDao).existsById(userId);
     }
 
 
@@ -2,9 +2,11 @@ package com.epam.esm.domain.service.impl;
 
 import com.epam.esm.dao.domain.CriteriaFindAllDao;
 import com.epam.esm.dao.domain.UserDao;
+import com.epam.esm.dao.domain.projection.UserProjection;
 import com.epam.esm.domain.dto.UserDto;
 import com.epam.esm.domain.dto.bundles.UserDtoBundle;
 import com.epam.esm.domain.exceptions.UserException;
+import com.epam.esm.domain.mapper.UserMapper;
 import com.epam.esm.entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,7 +14,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Arrays;
@@ -24,6 +25,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -41,13 +43,14 @@ public class UserServiceTest {
     private UserDao userDao;
 
     @Mock
-    private ModelMapper modelMapper;
+    private UserMapper userMapper;
 
     @InjectMocks
     private UserServiceImpl userService;
 
     private UserDto userDto;
     private User user;
+    private UserProjection userProjection;
     private static final int TEST_LIMIT = 5;
     private static final int TEST_OFFSET = 0;
 
@@ -63,19 +66,20 @@ public class UserServiceTest {
         user.setLogin("Login");
         user.setPassword("Pass");
         user.setRole("ADMIN");
+        userProjection = new UserProjection(1L, "Login", "Pass", "ADMIN");
     }
 
     @Test
     public void testFindById_ReturnDto_EntityWithGivenIdIsPresentInDb() {
         //given
         long id = user.getId();
-        when(userDao.findById(id)).thenReturn(Optional.of(user));
-        when(modelMapper.map(user, UserDto.class)).thenReturn(userDto);
+        when(userDao.findProjectionById(id)).thenReturn(Optional.of(userProjection));
+        when(userMapper.toDto(userProjection)).thenReturn(userDto);
         //when
         UserDto result = userService.findById(id);
         //then
-        verify(userDao).findById(id);
-        verify(modelMapper).map(user, UserDto.class);
+        verify(userDao).findProjectionById(id);
+        verify(userMapper).toDto(userProjection);
         assertEquals(result, userDto);
     }
 
@@ -83,11 +87,11 @@ public class UserServiceTest {
     public void testFindById_ThrowException_EntityWithGivenIdIsPresentInDb() {
         //given
         long id = user.getId();
-        when(userDao.findById(id)).thenReturn(Optional.empty());
+        when(userDao.findProjectionById(id)).thenReturn(Optional.empty());
         //when
         //then
         assertThrows(UserException.class, () -> userService.findById(id));
-        verify(userDao).findById(id);
+        verify(userDao).findProjectionById(id);
     }
 
     @Test
@@ -95,19 +99,19 @@ public class UserServiceTest {
         //given
         Map<String, String[]> reqParams = Collections.emptyMap();
         when(criteriaFindAllDao.findBy(reqParams, TEST_LIMIT, TEST_OFFSET)).thenReturn(Arrays.asList(user, user));
-        when(modelMapper.map(user, UserDto.class)).thenReturn(userDto);
+        when(userMapper.toDto(user)).thenReturn(userDto);
 
         List<UserDto> expectedResult = Arrays.asList(userDto, userDto);
         long expectedSize = 2;
-        when(userDao.count()).thenReturn(expectedSize);
+        when(criteriaFindAllDao.countBy(reqParams)).thenReturn(expectedSize);
         UserDtoBundle expectedBundle = new UserDtoBundle(expectedResult, expectedSize);
         //when
         UserDtoBundle result = userService.findAllForQuery(reqParams, TEST_LIMIT, TEST_OFFSET);
         //then
         assertEquals(result, expectedBundle);
         verify(criteriaFindAllDao).findBy(reqParams, TEST_LIMIT, TEST_OFFSET);
-        verify(modelMapper, times(2)).map(user, UserDto.class);
-        verify(userDao).count();
+        verify(userMapper, times(2)).toDto(user);
+        verify(criteriaFindAllDao).countBy(reqParams);
     }
 
     @Test
@@ -118,46 +122,79 @@ public class UserServiceTest {
 
         List<UserDto> expectedResult = Collections.emptyList();
         long expectedSize = 0L;
-        when(userDao.count()).thenReturn(expectedSize);
+        when(criteriaFindAllDao.countBy(reqParams)).thenReturn(expectedSize);
         UserDtoBundle expectedBundle = new UserDtoBundle(expectedResult, expectedSize);
         //when
         UserDtoBundle result = userService.findAllForQuery(reqParams, TEST_LIMIT, TEST_OFFSET);
         //then
         assertEquals(result, expectedBundle);
         verify(criteriaFindAllDao).findBy(reqParams, TEST_LIMIT, TEST_OFFSET);
-        verify(userDao).count();
+        verify(criteriaFindAllDao).countBy(reqParams);
+    }
+
+    @Test
+    public void testFindByLogin_ReturnDto_UserWithGivenLoginExistsInDb() {
+        //given
+        String login = userDto.getLogin();
+        when(userDao.findProjectionByLogin(login)).thenReturn(Optional.of(userProjection));
+        when(userMapper.toDto(userProjection)).thenReturn(userDto);
+        //when
+        UserDto result = userService.findByLogin(login);
+        //then
+        assertEquals(result, userDto);
+        verify(userDao).findProjectionByLogin(login);
+        verify(userDao, never()).findByLogin(login);
     }
 
     @Test
     public void testSave_ReturnDto_WhenUserWithGivenNameDoesNotExistInDb() {
         //given
         String login = userDto.getLogin();
-        when(userDao.findByLogin(login)).thenReturn(Optional.empty());
+        when(userDao.existsByLogin(login)).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("123");
-        when(modelMapper.map(userDto, User.class)).thenReturn(user);
+        when(userMapper.toEntity(userDto)).thenReturn(user);
         when(userDao.save(user)).thenReturn(user);
-        when(modelMapper.map(user, UserDto.class)).thenReturn(userDto);
+        when(userMapper.toDto(user)).thenReturn(userDto);
         //when
         UserDto result = userService.save(userDto);
         //then
         assertEquals(result, userDto);
-        verify(userDao).findByLogin(login);
+        verify(userDao).existsByLogin(login);
         verify(passwordEncoder).encode(anyString());
-        verify(modelMapper).map(userDto, User.class);
+        verify(userMapper).toEntity(userDto);
         verify(userDao).save(user);
-        verify(modelMapper).map(user, UserDto.class);
+        verify(userMapper).toDto(user);
     }
 
     @Test
     public void testSave_ThrowException_WhenUserWithGivenNameAlreadyExistInDb() {
         //given
         String login = userDto.getLogin();
-        when(userDao.findByLogin(login)).thenReturn(Optional.of(user));
+        when(userDao.existsByLogin(login)).thenReturn(true);
         //when
         //then
         assertThrows(UserException.class, () -> userService.save(userDto));
-        verify(userDao).findByLogin(login);
+        verify(userDao).existsByLogin(login);
     }
 
+    @Test
+    public void testUpdatePassword_ReplacePasswordOfEntity_WhenUserExists() {
+        //given
+        when(userDao.findById(1L)).thenReturn(Optional.of(user));
+        //when
+        userService.updatePassword(1L, "{bcrypt}hash");
+        //then
+        assertEquals("{bcrypt}hash", user.getPassword());
+        verify(userDao).findById(1L);
+    }
 
+    @Test
+    public void testUpdatePassword_ThrowException_WhenUserDoesNotExist() {
+        //given
+        when(userDao.findById(1L)).thenReturn(Optional.empty());
+        //when
+        //then
+        assertThrows(UserException.class, () -> userService.updatePassword(1L, "{bcrypt}hash"));
+        verify(userDao).findById(1L);
+    }
 }
@@ -0,0 +1,46 @@
+package com.epam.esm.domain.service.impl;
+
+import com.epam.esm.dao.aggregate.UserTagUsageDao;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserTagUsageServiceTest {
+
+    @Mock
+    private UserTagUsageDao userTagUsageDao;
+
+    @InjectMocks
+    private UserTagUsageServiceImpl userTagUsageService;
+
+    @Test
+    public void testRepair_RebuildInconsistentUsers_WhenThereAreInconsistentUsers() {
+        //given
+        List<Long> userIds = Arrays.asList(1L, 3L);
+        when(userTagUsageDao.findInconsistentUserIds()).thenReturn(userIds);
+        //when
+        List<Long> result = userTagUsageService.repair();
+        //then
+        assertEquals(userIds, result);
+        verify(userTagUsageDao).findInconsistentUserIds();
+        verify(userTagUsageDao).rebuild(userIds);
+    }
+
+    @Test
+    public void testRebuildAll_RebuildAllUsers() {
+        //when
+        userTagUsageService.rebuildAll();
+        //then
+        verify(userTagUsageDao).rebuildAll();
+    }
+}
@@ -0,0 +1,79 @@
+package com.epam.esm.security.filters;
+
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.security.exceptions.JwtAuthenticationException;
+import com.epam.esm.security.route.RouteClassifier;
+import com.epam.esm.security.token.JwtTokenProvider;
+import com.epam.esm.security.token.validator.TokenValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import javax.servlet.FilterChain;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtTokenAuthenticationFilterTest {
+
+    private static final String INVALID_TOKEN = "invalid";
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+    @Mock
+    private HandlerExceptionResolver resolver;
+    @Mock
+    private TokenValidator tokenValidator;
+    @Mock
+    private FilterChain filterChain;
+
+    private JwtTokenAuthenticationFilter filter;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final JwtAuthenticationException exception =
+            new JwtAuthenticationException("Token is invalid", ApplicationConstants.TOKEN_INVALID);
+
+    @BeforeEach
+    void init() {
+        filter = new JwtTokenAuthenticationFilter(tokenProvider, resolver, tokenValidator, new RouteClassifier());
+    }
+
+    @Test
+    public void testDoFilter_ContinueAnonymously_WhenCertificateIsReadWithInvalidToken() throws Exception {
+        //given
+        MockHttpServletRequest request = request("GET", "/certificates/1");
+        when(tokenProvider.resolveToken(request)).thenReturn(INVALID_TOKEN);
+        when(tokenValidator.getAccessTokenClaims(INVALID_TOKEN)).thenThrow(exception);
+        //when
+        filter.doFilter(request, response, filterChain);
+        //then
+        verify(filterChain).doFilter(request, response);
+        verify(resolver, never()).resolveException(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testDoFilter_ResolveException_WhenUserIsRegisteredWithInvalidToken() throws Exception {
+        //given
+        MockHttpServletRequest request = request("POST", "/users");
+        when(tokenProvider.resolveToken(request)).thenReturn(INVALID_TOKEN);
+        when(tokenValidator.getAccessTokenClaims(INVALID_TOKEN)).thenThrow(exception);
+        //when
+        filter.doFilter(request, response, filterChain);
+        //then
+        verify(resolver).resolveException(request, response, null, exception);
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    private MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+}
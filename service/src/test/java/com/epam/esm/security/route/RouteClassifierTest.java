@@ -0,0 +1,91 @@
+package com.epam.esm.security.route;
+
+import com.epam.esm.constants.ApplicationConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RouteClassifierTest {
+
+    private final RouteClassifier routeClassifier = new RouteClassifier();
+
+    @Test
+    public void testClassify_PublicRoute_WhenCertificatesAreRead() {
+        //given
+        //when
+        //then
+        assertAll(() -> assertEquals(RouteAccess.PUBLIC, routeClassifier.classify("GET", "/certificates").getAccess()),
+                () -> assertEquals(RouteAccess.PUBLIC, routeClassifier.classify("GET", "/certificates/1").getAccess()),
+                () -> assertEquals(RouteAccess.PUBLIC, routeClassifier.classify("POST", "/users").getAccess()));
+    }
+
+    @Test
+    public void testIsAnonymousOnInvalidToken_OnlyCertificatesAreRead_WhenRouteIsPublic() {
+        //given
+        //when
+        //then
+        assertAll(() -> assertTrue(routeClassifier.isAnonymousOnInvalidToken("GET", "/certificates")),
+                () -> assertTrue(routeClassifier.isAnonymousOnInvalidToken("GET", "/certificates/")),
+                () -> assertTrue(routeClassifier.isAnonymousOnInvalidToken("GET", "/certificates/12")),
+                () -> assertTrue(routeClassifier.isAnonymousOnInvalidToken("GET", "/certificates/-1")),
+                () -> assertFalse(routeClassifier.isAnonymousOnInvalidToken("GET", "/certificates/12/tags")),
+                () -> assertFalse(routeClassifier.isAnonymousOnInvalidToken("GET", "/certificates/names")),
+                () -> assertFalse(routeClassifier.isAnonymousOnInvalidToken("POST", "/certificates")),
+                () -> assertFalse(routeClassifier.isAnonymousOnInvalidToken("POST", "/users")));
+    }
+
+    @Test
+    public void testClassify_AdminRoute_WhenExportIsRequestedOrDataIsChanged() {
+        //given
+        //when
+        //then
+        assertAll(() -> assertEquals(RouteAccess.ADMIN, routeClassifier.classify("GET", "/certificates/export").getAccess()),
+                () -> assertEquals(RouteAccess.ADMIN, routeClassifier.classify("GET", "/certificates/export/").getAccess()),
+                () -> assertEquals(RouteAccess.ADMIN, routeClassifier.classify("POST", "/certificates").getAccess()),
+                () -> assertEquals(RouteAccess.ADMIN, routeClassifier.classify("DELETE", "/tags/1").getAccess()),
+                () -> assertEquals(RouteAccess.ADMIN, routeClassifier.classify("GET", "/users/1").getAccess()));
+    }
+
+    @Test
+    public void testClassify_UserRoute_WhenTagsAreRead() {
+        //given
+        //when
+        Route result = routeClassifier.classify("GET", "/tags/1");
+        //then
+        assertEquals(RouteAccess.USER, result.getAccess());
+    }
+
+    @Test
+    public void testClassify_OwnerRouteWithId_WhenOrdersOfUserAreRequested() {
+        //given
+        //when
+        Route created = routeClassifier.classify("POST", "/users/12/orders");
+        Route nested = routeClassifier.classify("GET", "/users/12/orders/3");
+        Route notNumber = routeClassifier.classify("GET", "/users/twelve/orders");
+        //then
+        assertAll(() -> assertEquals(RouteAccess.OWNER, created.getAccess()),
+                () -> assertEquals(12, created.getOwnerId()),
+                () -> assertEquals(RouteAccess.ADMIN, nested.getAccess()),
+                () -> assertEquals(RouteAccess.ADMIN, notNumber.getAccess()));
+    }
+
+    @Test
+    public void testClassify_RouteOfPathOnly_WhenRequestHasQueryString() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/3/orders");
+        request.setServletPath("/users/3/orders");
+        request.setQueryString("limit=5");
+        //when
+        Route result = routeClassifier.classify(request);
+        //then
+        assertAll(() -> assertEquals(RouteAccess.OWNER, result.getAccess()),
+                () -> assertEquals(3, result.getOwnerId()),
+                () -> assertSame(result, request.getAttribute(ApplicationConstants.ROUTE_ATTRIBUTE)),
+                () -> assertSame(result, routeClassifier.classify(request)));
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collections;
 
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,4 +58,17 @@ public class JwtUserDetailsServiceTest {
         //then
         Assertions.assertEquals(result, USER_DETAILS);
     }
+
+    @Test
+    public void testUpdatePassword_SaveNewHashAndReturnUpdatedUserDetails() {
+        //given
+        String newPassword = "{bcrypt}hash";
+        //when
+        UserDetails result = userDetailsService.updatePassword(USER_DETAILS, newPassword);
+        //then
+        verify(userService).updatePassword(1L, newPassword);
+        Assertions.assertEquals(newPassword, result.getPassword());
+        Assertions.assertEquals(USER_NAME, result.getUsername());
+        Assertions.assertEquals(USER_DETAILS.getAuthorities(), result.getAuthorities());
+    }
 }
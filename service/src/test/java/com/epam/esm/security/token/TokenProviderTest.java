@@ -7,6 +7,8 @@ import com.epam.esm.security.exceptions.JwtAuthenticationException;
 import com.epam.esm.security.token.JwtTokenProvider;
 import com.epam.esm.security.token.parser.TokenParser;
 import com.epam.esm.security.token.validator.TokenValidator;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -30,6 +32,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -155,4 +158,21 @@ public class TokenProviderTest {
         //then
         assertEquals(result, expectedResult);
     }
+
+    @Test
+    public void testGetAuthenticationWithClaims_ReturnFilledAuthentication_WithoutParsingToken() {
+        //given
+        Claims claims = Jwts.claims().setSubject(USER_LOGIN).setId(String.valueOf(USER_ID));
+        when(tokenParser.getUserId(claims)).thenReturn(USER_ID);
+        when(tokenParser.getUserName(claims)).thenReturn(USER_LOGIN);
+        when(tokenParser.getGrantedAuthorities(claims)).thenReturn(AUTHORITIES);
+
+        Authentication expectedResult = new UsernamePasswordAuthenticationToken(USER_DETAILS_TEST,
+                "", USER_DETAILS_TEST.getAuthorities());
+        //when
+        Authentication result = tokenProvider.getAuthenticationWithClaims(claims);
+        //then
+        verify(tokenParser, never()).getUserIdFromToken(anyString(), anyString());
+        assertEquals(expectedResult, result);
+    }
 }
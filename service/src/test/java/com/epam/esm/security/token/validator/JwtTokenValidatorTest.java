@@ -0,0 +1,99 @@
+package com.epam.esm.security.token.validator;
+
+import com.epam.esm.constants.ApplicationConstants;
+import com.epam.esm.security.exceptions.JwtAuthenticationException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JwtTokenValidatorTest {
+
+    private static final String ACCESS_SECRET = "accessSecret";
+
+    private MeterRegistry meterRegistry;
+    private JwtTokenValidator tokenValidator;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenValidator = new JwtTokenValidator(meterRegistry);
+        ReflectionTestUtils.setField(tokenValidator, "accessSecret", ACCESS_SECRET);
+    }
+
+    @Test
+    public void testGetAccessTokenClaims_SameClaims_WhenTokenIsValidatedAgain() {
+        //given
+        String token = createToken(ACCESS_SECRET, new Date(System.currentTimeMillis() + ApplicationConstants.ACCESS_TOKEN_EXPIRED_TIME_IN_MILLISECONDS));
+        //when
+        Claims first = tokenValidator.getAccessTokenClaims(token);
+        Claims second = tokenValidator.getAccessTokenClaims(token);
+        //then
+        assertAll(() -> assertEquals("login", first.getSubject()),
+                () -> assertSame(first, second));
+    }
+
+    @Test
+    public void testGetAccessTokenClaims_ThrowException_WhenTokenIsSignedWithAnotherSecret() {
+        //given
+        String token = createToken("anotherSecret", new Date(System.currentTimeMillis() + ApplicationConstants.ACCESS_TOKEN_EXPIRED_TIME_IN_MILLISECONDS));
+        //when
+        //then
+        JwtAuthenticationException exception = assertThrows(JwtAuthenticationException.class,
+                () -> tokenValidator.getAccessTokenClaims(token));
+        assertEquals(ApplicationConstants.TOKEN_INVALID, exception.getErrorCode());
+    }
+
+    @Test
+    public void testGetAccessTokenClaims_ThrowException_WhenTokenIsExpired() {
+        //given
+        String token = createToken(ACCESS_SECRET, new Date(System.currentTimeMillis() - 1000));
+        //when
+        //then
+        JwtAuthenticationException exception = assertThrows(JwtAuthenticationException.class,
+                () -> tokenValidator.getAccessTokenClaims(token));
+        assertEquals(ApplicationConstants.ACCESS_TOKEN_EXPIRED, exception.getErrorCode());
+    }
+
+    @Test
+    public void testGetAccessTokenClaims_RecordOutcomes_WhenTokensAreValidated() {
+        //given
+        String token = createToken(ACCESS_SECRET, new Date(System.currentTimeMillis() + ApplicationConstants.ACCESS_TOKEN_EXPIRED_TIME_IN_MILLISECONDS));
+        String invalidToken = createToken("anotherSecret", new Date(System.currentTimeMillis() + ApplicationConstants.ACCESS_TOKEN_EXPIRED_TIME_IN_MILLISECONDS));
+        //when
+        tokenValidator.getAccessTokenClaims(token);
+        tokenValidator.getAccessTokenClaims(token);
+        assertThrows(JwtAuthenticationException.class, () -> tokenValidator.getAccessTokenClaims(invalidToken));
+        //then
+        assertAll(() -> assertEquals(1, countOf("parsed")),
+                () -> assertEquals(1, countOf("cached")),
+                () -> assertEquals(1, countOf("rejected")));
+    }
+
+    private long countOf(String outcome) {
+        return meterRegistry.get(ApplicationConstants.TOKEN_VALIDATION_TIMER)
+                .tag(ApplicationConstants.OUTCOME_TAG, outcome)
+                .timer()
+                .count();
+    }
+
+    private String createToken(String secret, Date expiration) {
+        return Jwts.builder()
+                .setSubject("login")
+                .setId("1")
+                .setExpiration(expiration)
+                .signWith(SignatureAlgorithm.HS256, secret)
+                .compact();
+    }
+}
@@ -1,24 +1,44 @@
 package com.epam.esm.assemblers;
 
+import com.epam.esm.constants.WebLayerConstants;
 import com.epam.esm.uri_builder.UriBuilder;
 import com.epam.esm.uri_builder.result.UriBuilderResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Common abstract class for all ModelAssembler classes.
+ * Building of links of single entities, offset pages and keyset pages is timed separately.
+ * The base URI of the current request is resolved once per model and passed to the link templates.
  *
  * @param <T> class of DTO.
  */
 public abstract class AbstractModelAssembler<T> implements ModelAssembler<T> {
 
     private final UriBuilder uriBuilder;
+    private final Timer modelTimer;
+    private final Timer collectionTimer;
+    private final Timer keysetCollectionTimer;
 
     @Autowired
-    protected AbstractModelAssembler(UriBuilder uriBuilder) {
+    protected AbstractModelAssembler(UriBuilder uriBuilder, MeterRegistry meterRegistry) {
         this.uriBuilder = uriBuilder;
+        this.modelTimer = linksTimer(meterRegistry, "entity");
+        this.collectionTimer = linksTimer(meterRegistry, "page");
+        this.keysetCollectionTimer = linksTimer(meterRegistry, "keyset_page");
+    }
+
+    private Timer linksTimer(MeterRegistry meterRegistry, String model) {
+        return Timer.builder(WebLayerConstants.ASSEMBLER_TIMER)
+                .description("Time of building of HATEOAS links")
+                .tag(WebLayerConstants.ASSEMBLER_TAG, getClass().getSimpleName())
+                .tag(WebLayerConstants.MODEL_TAG, model)
+                .register(meterRegistry);
     }
 
     /**
@@ -28,7 +48,9 @@ public abstract class AbstractModelAssembler<T> implements ModelAssembler<T> {
      * @return DTO with links.
      */
     public T toModel(T dto) {
-        addModelLinks(dto);
+        long start = System.nanoTime();
+        addModelLinks(dto, LinkTemplate.currentBaseUri());
+        modelTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         return dto;
     }
 
@@ -37,36 +59,102 @@ public abstract class AbstractModelAssembler<T> implements ModelAssembler<T> {
      *
      * @param entities  DTOs for links.
      * @param offset    offset for pagination.
+     * @param count     count of found entities, the last page link is not added if the count is unknown.
      * @param reqParams parameters of current request.
      * @param urlParts parts of current url which were @PathVariable values.
      * @return list of DTOs with links.
      */
     public CollectionModel<T> toCollectionModel(Iterable<T> entities,
                                                 Integer offset, long count, Map<String, String[]> reqParams, String...urlParts) {
+        return collectionTimer.record(() -> buildCollectionModel(entities, offset, count, reqParams, urlParts));
+    }
+
+    private CollectionModel<T> buildCollectionModel(Iterable<T> entities, Integer offset, long count,
+                                                    Map<String, String[]> reqParams, String[] urlParts) {
         CollectionModel<T> collectionModel = CollectionModel.of(entities);
         int size = collectionModel.getContent().size();
         if (size == 0) {
             return collectionModel;
         }
+        String baseUri = LinkTemplate.currentBaseUri();
         UriBuilderResult uriBuilderResult = uriBuilder.buildRequestParams(reqParams);
-        addFirstPage(collectionModel, uriBuilderResult, urlParts);
+        addFirstPage(collectionModel, baseUri, uriBuilderResult, urlParts);
 
-        int delta = (int) count - offset;
         int limit = uriBuilderResult.getLimit();
+        if (count == WebLayerConstants.UNKNOWN_COUNT) {
+            //without count the next page may exist only if the current one is full
+            if (size >= limit) {
+                addNextPage(collectionModel, baseUri, uriBuilderResult, urlParts);
+            }
+            return collectionModel;
+        }
+
+        int delta = (int) count - offset;
         if (limit < delta) {
-            addNextPage(collectionModel, uriBuilderResult, urlParts);
+            addNextPage(collectionModel, baseUri, uriBuilderResult, urlParts);
         }
 
-        addLastPage(collectionModel, uriBuilderResult, count, urlParts);
+        addLastPage(collectionModel, baseUri, uriBuilderResult, count, urlParts);
 
         return collectionModel;
     }
 
-    protected abstract void addFirstPage(CollectionModel<T> collectionModel, UriBuilderResult uriBuilderResult, String[] urlParts);
+    /**
+     * {@link com.epam.esm.assemblers.ModelAssembler#toKeysetCollectionModel(Iterable, String, String, Map, String...)}
+     * Links of the first and the last pages have empty cursors.
+     *
+     * @param entities       DTOs for links.
+     * @param nextCursor     cursor of the next page, null if there is no next page.
+     * @param previousCursor cursor of the previous page, null if there is no previous page.
+     * @param reqParams      parameters of current request.
+     * @param urlParts       parts of current url which were @PathVariable values.
+     * @return list of DTOs with links.
+     */
+    public CollectionModel<T> toKeysetCollectionModel(Iterable<T> entities, String nextCursor, String previousCursor,
+                                                      Map<String, String[]> reqParams, String... urlParts) {
+        return keysetCollectionTimer.record(() -> buildKeysetCollectionModel(entities, nextCursor, previousCursor,
+                reqParams, urlParts));
+    }
+
+    private CollectionModel<T> buildKeysetCollectionModel(Iterable<T> entities, String nextCursor, String previousCursor,
+                                                          Map<String, String[]> reqParams, String[] urlParts) {
+        CollectionModel<T> collectionModel = CollectionModel.of(entities);
+        String baseUri = LinkTemplate.currentBaseUri();
+        UriBuilderResult uriBuilderResult = uriBuilder.buildRequestParams(reqParams);
+
+        addCursorPage(collectionModel, baseUri, uriBuilderResult, addCursor(uriBuilderResult, WebLayerConstants.AFTER, ""),
+                WebLayerConstants.FIRST_PAGE, urlParts);
+        if (previousCursor != null) {
+            addCursorPage(collectionModel, baseUri, uriBuilderResult, addCursor(uriBuilderResult, WebLayerConstants.BEFORE, previousCursor),
+                    WebLayerConstants.PREVIOUS_PAGE, urlParts);
+        }
+        if (nextCursor != null) {
+            addCursorPage(collectionModel, baseUri, uriBuilderResult, addCursor(uriBuilderResult, WebLayerConstants.AFTER, nextCursor),
+                    WebLayerConstants.NEXT_PAGE, urlParts);
+        }
+        addCursorPage(collectionModel, baseUri, uriBuilderResult, addCursor(uriBuilderResult, WebLayerConstants.BEFORE, ""),
+                WebLayerConstants.LAST_PAGE, urlParts);
+
+        return collectionModel;
+    }
+
+    private String addCursor(UriBuilderResult uriBuilderResult, String cursorKey, String cursor) {
+        String paramString = uriBuilderResult.getParamString();
+        String separator = paramString.isEmpty() ? "?" : "&";
+        return paramString + separator + cursorKey + "=" + cursor;
+    }
+
+    protected abstract void addFirstPage(CollectionModel<T> collectionModel, String baseUri,
+                                         UriBuilderResult uriBuilderResult, String[] urlParts);
+
+    protected abstract void addNextPage(CollectionModel<T> collectionModel, String baseUri,
+                                        UriBuilderResult uriBuilderResult, String[] urlParts);
 
-    protected abstract void addNextPage(CollectionModel<T> collectionModel, UriBuilderResult uriBuilderResult, String[] urlParts);
+    protected abstract void addLastPage(CollectionModel<T> collectionModel, String baseUri,
+                                        UriBuilderResult uriBuilderResult, long count, String[] urlParts);
 
-    protected abstract void addLastPage(CollectionModel<T> collectionModel, UriBuilderResult uriBuilderResult, long count, String[] urlParts);
+    protected abstract void addCursorPage(CollectionModel<T> collectionModel, String baseUri, UriBuilderResult uriBuilderResult,
+                                          String paramString, String rel, String[] urlParts);
 
-    protected abstract void addModelLinks(T dto);
+    protected abstract void addModelLinks(T dto, String baseUri);
 }
@@ -5,11 +5,11 @@ import com.epam.esm.controller.GiftCertificateController;
 import com.epam.esm.domain.dto.GiftCertificateDto;
 import com.epam.esm.uri_builder.UriBuilder;
 import com.epam.esm.uri_builder.result.UriBuilderResult;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 /**
@@ -18,44 +18,51 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Component
 public class GiftCertificateModelAssembler extends AbstractModelAssembler<GiftCertificateDto> {
 
+    private final LinkTemplate allLink = LinkTemplate.of(methodOn(GiftCertificateController.class).getAllForQuery(null, null, null));
+    private final LinkTemplate byIdLink = LinkTemplate.of(methodOn(GiftCertificateController.class).getById(0L, null));
+    private final LinkTemplate updateLink = LinkTemplate.of(methodOn(GiftCertificateController.class).updateCertificate(null, 0L));
+    private final LinkTemplate patchLink = LinkTemplate.of(methodOn(GiftCertificateController.class).patchCertificate(null, 0L));
+    private final LinkTemplate deleteLink = LinkTemplate.of(methodOn(GiftCertificateController.class).deleteById(0L));
+
     @Autowired
-    public GiftCertificateModelAssembler(UriBuilder uriBuilder) {
-        super(uriBuilder);
+    public GiftCertificateModelAssembler(UriBuilder uriBuilder, MeterRegistry meterRegistry) {
+        super(uriBuilder, meterRegistry);
     }
 
     @Override
-    protected void addFirstPage(CollectionModel<GiftCertificateDto> collectionModel, UriBuilderResult uriBuilderResult, String[] urlParts) {
-        collectionModel.add(linkTo(methodOn(GiftCertificateController.class)
-                .getAllForQuery(null, uriBuilderResult.getLimit(), WebLayerConstants.DEFAULT_OFFSET))
-                .slash(uriBuilderResult.getParamString())
-                .withRel(WebLayerConstants.FIRST_PAGE));
+    protected void addFirstPage(CollectionModel<GiftCertificateDto> collectionModel, String baseUri,
+                                UriBuilderResult uriBuilderResult, String[] urlParts) {
+        collectionModel.add(allLink.toPageLink(baseUri, WebLayerConstants.FIRST_PAGE, uriBuilderResult.getLimit(),
+                WebLayerConstants.DEFAULT_OFFSET, uriBuilderResult.getParamString()));
     }
 
     @Override
-    protected void addNextPage(CollectionModel<GiftCertificateDto> collectionModel, UriBuilderResult uriBuilderResult, String[] urlParts) {
+    protected void addNextPage(CollectionModel<GiftCertificateDto> collectionModel, String baseUri,
+                               UriBuilderResult uriBuilderResult, String[] urlParts) {
         int limit = uriBuilderResult.getLimit();
         int offset = uriBuilderResult.getOffset();
-        collectionModel.add(linkTo(methodOn(GiftCertificateController.class)
-                .getAllForQuery(null, limit, offset + limit))
-                .slash(uriBuilderResult.getParamString())
-                .withRel(WebLayerConstants.NEXT_PAGE));
+        collectionModel.add(allLink.toPageLink(baseUri, WebLayerConstants.NEXT_PAGE, limit, offset + limit, uriBuilderResult.getParamString()));
     }
 
     @Override
-    protected void addLastPage(CollectionModel<GiftCertificateDto> collectionModel, UriBuilderResult uriBuilderResult, long count, String[] urlParts) {
+    protected void addLastPage(CollectionModel<GiftCertificateDto> collectionModel, String baseUri,
+                               UriBuilderResult uriBuilderResult, long count, String[] urlParts) {
         int limit = uriBuilderResult.getLimit();
-        collectionModel.add(linkTo(methodOn(GiftCertificateController.class)
-                .getAllForQuery(null, limit, (int)count - limit))
-                .slash(uriBuilderResult.getParamString())
-                .withRel(WebLayerConstants.LAST_PAGE));
+        collectionModel.add(allLink.toPageLink(baseUri, WebLayerConstants.LAST_PAGE, limit, (int) count - limit, uriBuilderResult.getParamString()));
+    }
+
+    @Override
+    protected void addCursorPage(CollectionModel<GiftCertificateDto> collectionModel, String baseUri, UriBuilderResult uriBuilderResult,
+                                 String paramString, String rel, String[] urlParts) {
+        collectionModel.add(allLink.toPageLink(baseUri, rel, uriBuilderResult.getLimit(), null, paramString));
     }
 
     @Override
-    protected void addModelLinks(GiftCertificateDto dto) {
+    protected void addModelLinks(GiftCertificateDto dto, String baseUri) {
         Long modelId = dto.getId();
-        dto.add(linkTo(methodOn(GiftCertificateController.class).getById(modelId)).withSelfRel());
-        dto.add(linkTo(methodOn(GiftCertificateController.class).updateCertificate(null, modelId)).withRel(WebLayerConstants.UPDATE));
-        dto.add(linkTo(methodOn(GiftCertificateController.class).patchCertificate(null, modelId)).withRel(WebLayerConstants.PARTIAL_UPDATE));
-        dto.add(linkTo(methodOn(GiftCertificateController.class).deleteById(modelId)).withRel(WebLayerConstants.DELETE));
+        dto.add(byIdLink.toSelfLink(baseUri, modelId));
+        dto.add(updateLink.toLink(baseUri, WebLayerConstants.UPDATE, modelId));
+        dto.add(patchLink.toLink(baseUri, WebLayerConstants.PARTIAL_UPDATE, modelId));
+        dto.add(deleteLink.toLink(baseUri, WebLayerConstants.DELETE, modelId));
     }
 }
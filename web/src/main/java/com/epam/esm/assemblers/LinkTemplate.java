@@ -0,0 +1,106 @@
+package com.epam.esm.assemblers;
+
+import com.epam.esm.constants.WebLayerConstants;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.core.AnnotationMappingDiscoverer;
+import org.springframework.hateoas.server.core.DummyInvocationUtils;
+import org.springframework.hateoas.server.core.MappingDiscoverer;
+import org.springframework.hateoas.server.core.MethodInvocation;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriTemplate;
+
+/**
+ * Link to a controller method. The path of the method is resolved from its mappings once, when an assembler is created.
+ * Links are built by expanding path variables of the path on the base URI of the current request,
+ * so no proxy of the controller is invoked per link. The base URI is resolved by {@link #currentBaseUri()}
+ * once per model and passed to each link of the model.
+ *
+ * @since 5.0
+ */
+final class LinkTemplate {
+
+    private static final MappingDiscoverer MAPPING_DISCOVERER = new AnnotationMappingDiscoverer(RequestMapping.class);
+
+    private final UriTemplate path;
+
+    private LinkTemplate(String path) {
+        this.path = new UriTemplate(path);
+    }
+
+    /**
+     * This method resolves the path of the invoked controller method.
+     *
+     * @param invocation result of the method invoked on {@code methodOn(Controller.class)}, arguments are ignored.
+     * @return template of links to the method.
+     * @since 5.0
+     */
+    static LinkTemplate of(Object invocation) {
+        MethodInvocation methodInvocation = DummyInvocationUtils.getLastInvocationAware(invocation).getLastInvocation();
+        return new LinkTemplate(MAPPING_DISCOVERER.getMapping(methodInvocation.getTargetType(), methodInvocation.getMethod()));
+    }
+
+    /**
+     * @param baseUri       base URI of the current request.
+     * @param pathVariables values of path variables in order of the path.
+     * @return self link.
+     * @since 5.0
+     */
+    Link toSelfLink(String baseUri, Object... pathVariables) {
+        return Link.of(href(baseUri, pathVariables), IanaLinkRelations.SELF);
+    }
+
+    /**
+     * @param baseUri       base URI of the current request.
+     * @param rel           relation of the link.
+     * @param pathVariables values of path variables in order of the path.
+     * @return link with given relation.
+     * @since 5.0
+     */
+    Link toLink(String baseUri, String rel, Object... pathVariables) {
+        return Link.of(href(baseUri, pathVariables), rel);
+    }
+
+    /**
+     * This method builds link of a page, limit and offset are followed by other parameters of the request.
+     *
+     * @param baseUri       base URI of the current request.
+     * @param rel           relation of the link.
+     * @param limit         limit of the page.
+     * @param offset        offset of the page, it's not added if null.
+     * @param paramString   other parameters of the request starting with '?', or empty string.
+     * @param pathVariables values of path variables in order of the path.
+     * @return link of the page.
+     * @since 5.0
+     */
+    Link toPageLink(String baseUri, String rel, int limit, Integer offset, String paramString, Object... pathVariables) {
+        StringBuilder href = new StringBuilder(href(baseUri, pathVariables))
+                .append('?').append(WebLayerConstants.LIMIT).append('=').append(limit);
+        if (offset != null) {
+            href.append('&').append(WebLayerConstants.OFFSET).append('=').append(offset);
+        }
+        if (!paramString.isEmpty()) {
+            href.append('&').append(paramString, 1, paramString.length());
+        }
+        return Link.of(href.toString(), rel);
+    }
+
+    private String href(String baseUri, Object... pathVariables) {
+        return baseUri + path.expand(pathVariables);
+    }
+
+    /**
+     * Links are relative outside of a request, e.g. in tests.
+     *
+     * @return base URI of the current request, or empty string outside of a request.
+     * @since 5.0
+     */
+    static String currentBaseUri() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes
+                ? ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString()
+                : "";
+    }
+}
@@ -28,4 +28,16 @@ public interface ModelAssembler<T> {
      * @return collection of DTO with links.
      */
     CollectionModel<T> toCollectionModel(Iterable<T> entities, Integer offset, long count, Map<String, String[]> reqParams, String... urlParts);
+
+    /**
+     * This method add links to collection of DTOs received with keyset pagination.
+     *
+     * @param entities       DTOs for links.
+     * @param nextCursor     cursor of the next page, null if there is no next page.
+     * @param previousCursor cursor of the previous page, null if there is no previous page.
+     * @param reqParams      parameters of current request.
+     * @return collection of DTO with links.
+     */
+    CollectionModel<T> toKeysetCollectionModel(Iterable<T> entities, String nextCursor, String previousCursor,
+                                               Map<String, String[]> reqParams, String... urlParts);
 }
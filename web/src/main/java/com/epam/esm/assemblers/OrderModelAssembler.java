@@ -6,11 +6,11 @@ import com.epam.esm.controller.UserController;
 import com.epam.esm.domain.dto.OrderDto;
 import com.epam.esm.uri_builder.UriBuilder;
 import com.epam.esm.uri_builder.result.UriBuilderResult;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 /**
@@ -19,45 +19,53 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Component
 public class OrderModelAssembler extends AbstractModelAssembler<OrderDto> {
 
+    private final LinkTemplate allForUserLink = LinkTemplate.of(methodOn(UserController.class).getAllOrdersForUser(null, 0L, null, null));
+    private final LinkTemplate byIdLink = LinkTemplate.of(methodOn(OrderController.class).getById(0L));
+    private final LinkTemplate deleteLink = LinkTemplate.of(methodOn(OrderController.class).deleteById(0L));
+
     @Autowired
-    public OrderModelAssembler(UriBuilder uriBuilder) {
-        super(uriBuilder);
+    public OrderModelAssembler(UriBuilder uriBuilder, MeterRegistry meterRegistry) {
+        super(uriBuilder, meterRegistry);
     }
 
     @Override
-    protected void addFirstPage(CollectionModel<OrderDto> collectionModel, UriBuilderResult uriBuilderResult, String[] urlParts) {
+    protected void addFirstPage(CollectionModel<OrderDto> collectionModel, String baseUri,
+                                UriBuilderResult uriBuilderResult, String[] urlParts) {
         long userId = Long.parseLong(urlParts[0]);
-        collectionModel.add(linkTo(methodOn(UserController.class)
-                .getAllOrdersForUser(null, userId, uriBuilderResult.getLimit(), WebLayerConstants.DEFAULT_OFFSET))
-                .slash(uriBuilderResult.getParamString())
-                .withRel(WebLayerConstants.FIRST_PAGE));
+        collectionModel.add(allForUserLink.toPageLink(baseUri, WebLayerConstants.FIRST_PAGE, uriBuilderResult.getLimit(),
+                WebLayerConstants.DEFAULT_OFFSET, uriBuilderResult.getParamString(), userId));
     }
 
     @Override
-    protected void addNextPage(CollectionModel<OrderDto> collectionModel, UriBuilderResult uriBuilderResult, String[] urlParts) {
+    protected void addNextPage(CollectionModel<OrderDto> collectionModel, String baseUri,
+                               UriBuilderResult uriBuilderResult, String[] urlParts) {
         int limit = uriBuilderResult.getLimit();
         int offset = uriBuilderResult.getOffset();
         long userId = Long.parseLong(urlParts[0]);
-        collectionModel.add(linkTo(methodOn(UserController.class)
-                .getAllOrdersForUser(null, userId, limit, offset + limit))
-                .slash(uriBuilderResult.getParamString())
-                .withRel(WebLayerConstants.NEXT_PAGE));
+        collectionModel.add(allForUserLink.toPageLink(baseUri, WebLayerConstants.NEXT_PAGE, limit, offset + limit,
+                uriBuilderResult.getParamString(), userId));
     }
 
     @Override
-    protected void addLastPage(CollectionModel<OrderDto> collectionModel, UriBuilderResult uriBuilderResult, long count, String[] urlParts) {
+    protected void addLastPage(CollectionModel<OrderDto> collectionModel, String baseUri,
+                               UriBuilderResult uriBuilderResult, long count, String[] urlParts) {
         int limit = uriBuilderResult.getLimit();
         long userId = Long.parseLong(urlParts[0]);
-        collectionModel.add(linkTo(methodOn(UserController.class)
-                .getAllOrdersForUser(null, userId, limit, (int) count - limit))
-                .slash(uriBuilderResult.getParamString())
-                .withRel(WebLayerConstants.LAST_PAGE));
+        collectionModel.add(allForUserLink.toPageLink(baseUri, WebLayerConstants.LAST_PAGE, limit, (int) count - limit,
+                uriBuilderResult.getParamString(), userId));
+    }
+
+    @Override
+    protected void addCursorPage(CollectionModel<OrderDto> collectionModel, String baseUri, UriBuilderResult uriBuilderResult,
+                                 String paramString, String rel, String[] urlParts) {
+        long userId = Long.parseLong(urlParts[0]);
+        collectionModel.add(allForUserLink.toPageLink(baseUri, rel, uriBuilderResult.getLimit(), null, paramString, userId));
     }
 
     @Override
-    protected void addModelLinks(OrderDto dto) {
+    protected void addModelLinks(OrderDto dto, String baseUri) {
         Long id = dto.getId();
-        dto.add(linkTo(methodOn(OrderController.class).getById(id)).withSelfRel());
-        dto.add(linkTo(methodOn(OrderController.class).deleteById(id)).withRel(WebLayerConstants.DELETE));
+        dto.add(byIdLink.toSelfLink(baseUri, id));
+        dto.add(deleteLink.toLink(baseUri, WebLayerConstants.DELETE, id));
     }
 }
@@ -5,11 +5,11 @@ import com.epam.esm.controller.TagController;
 import com.epam.esm.domain.dto.TagDto;
 import com.epam.esm.uri_builder.UriBuilder;
 import com.epam.esm.uri_builder.result.UriBuilderResult;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 /**
@@ -18,39 +18,44 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Component
 public class TagModelAssembler extends AbstractModelAssembler<TagDto> {
 
+    private final LinkTemplate allLink = LinkTemplate.of(methodOn(TagController.class).getAllForQuery(null, null, null));
+    private final LinkTemplate byIdLink = LinkTemplate.of(methodOn(TagController.class).getById(0L));
+    private final LinkTemplate deleteLink = LinkTemplate.of(methodOn(TagController.class).deleteById(0L));
+
     @Autowired
-    public TagModelAssembler(UriBuilder uriBuilder) {
-        super(uriBuilder);
+    public TagModelAssembler(UriBuilder uriBuilder, MeterRegistry meterRegistry) {
+        super(uriBuilder, meterRegistry);
     }
 
-    public void addModelLinks(TagDto dto) {
+    public void addModelLinks(TagDto dto, String baseUri) {
         Long id = dto.getId();
-        dto.add(linkTo(methodOn(TagController.class).getById(id)).withSelfRel());
-        dto.add(linkTo(methodOn(TagController.class).deleteById(id)).withRel(WebLayerConstants.DELETE));
+        dto.add(byIdLink.toSelfLink(baseUri, id));
+        dto.add(deleteLink.toLink(baseUri, WebLayerConstants.DELETE, id));
     }
 
-    public void addFirstPage(CollectionModel<TagDto> collectionModel, UriBuilderResult uriBuilderResult, String[] urlParts) {
-        collectionModel.add(linkTo(methodOn(TagController.class)
-                .getAllForQuery(null, uriBuilderResult.getLimit(), WebLayerConstants.DEFAULT_OFFSET))
-                .slash(uriBuilderResult.getParamString())
-                .withRel(WebLayerConstants.FIRST_PAGE));
+    public void addFirstPage(CollectionModel<TagDto> collectionModel, String baseUri,
+                             UriBuilderResult uriBuilderResult, String[] urlParts) {
+        collectionModel.add(allLink.toPageLink(baseUri, WebLayerConstants.FIRST_PAGE, uriBuilderResult.getLimit(),
+                WebLayerConstants.DEFAULT_OFFSET, uriBuilderResult.getParamString()));
     }
 
-    public void addNextPage(CollectionModel<TagDto> collectionModel, UriBuilderResult uriBuilderResult, String[] urlParts) {
+    public void addNextPage(CollectionModel<TagDto> collectionModel, String baseUri,
+                            UriBuilderResult uriBuilderResult, String[] urlParts) {
         int limit = uriBuilderResult.getLimit();
         int offset = uriBuilderResult.getOffset();
-        collectionModel.add(linkTo(methodOn(TagController.class)
-                .getAllForQuery(null, limit, offset + limit))
-                .slash(uriBuilderResult.getParamString())
-                .withRel(WebLayerConstants.NEXT_PAGE));
+        collectionModel.add(allLink.toPageLink(baseUri, WebLayerConstants.NEXT_PAGE, limit, offset + limit, uriBuilderResult.getParamString()));
     }
 
     @Override
-    protected void addLastPage(CollectionModel<TagDto> collectionModel, UriBuilderResult uriBuilderResult, long count, String[] urlParts) {
+    protected void addLastPage(CollectionModel<TagDto> collectionModel, String baseUri,
+                               UriBuilderResult uriBuilderResult, long count, String[] urlParts) {
         int limit = uriBuilderResult.getLimit();
-        collectionModel.add(linkTo(methodOn(TagController.class)
-                .getAllForQuery(null, limit, (int)count - limit))
-                .slash(uriBuilderResult.getParamString())
-                .withRel(WebLayerConstants.LAST_PAGE));
+        collectionModel.add(allLink.toPageLink(baseUri, WebLayerConstants.LAST_PAGE, limit, (int) count - limit, uriBuilderResult.getParamString()));
+    }
+
+    @Override
+    protected void addCursorPage(CollectionModel<TagDto> collectionModel, String baseUri, UriBuilderResult uriBuilderResult,
+                                 String paramString, String rel, String[] urlParts) {
+        collectionModel.add(allLink.toPageLink(baseUri, rel, uriBuilderResult.getLimit(), null, paramString));
     }
 }
@@ -5,11 +5,11 @@ import com.epam.esm.controller.UserController;
 import com.epam.esm.domain.dto.UserDto;
 import com.epam.esm.uri_builder.UriBuilder;
 import com.epam.esm.uri_builder.result.UriBuilderResult;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 /**
@@ -18,42 +18,47 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Component
 public class UserModelAssembler extends AbstractModelAssembler<UserDto> {
 
+    private final LinkTemplate allLink = LinkTemplate.of(methodOn(UserController.class).getAllForQuery(null, null, null));
+    private final LinkTemplate byIdLink = LinkTemplate.of(methodOn(UserController.class).getById(0L));
+    private final LinkTemplate createOrderLink = LinkTemplate.of(methodOn(UserController.class).createOrder(0L, null));
+
     @Autowired
-    public UserModelAssembler(UriBuilder uriBuilder) {
-        super(uriBuilder);
+    public UserModelAssembler(UriBuilder uriBuilder, MeterRegistry meterRegistry) {
+        super(uriBuilder, meterRegistry);
     }
 
     @Override
-    protected void addFirstPage(CollectionModel<UserDto> collectionModel, UriBuilderResult uriBuilderResult, String[] urlParts) {
-        collectionModel.add(linkTo(methodOn(UserController.class)
-                .getAllForQuery(null, uriBuilderResult.getLimit(), WebLayerConstants.DEFAULT_OFFSET))
-                .slash(uriBuilderResult.getParamString())
-                .withRel(WebLayerConstants.FIRST_PAGE));
+    protected void addFirstPage(CollectionModel<UserDto> collectionModel, String baseUri,
+                                UriBuilderResult uriBuilderResult, String[] urlParts) {
+        collectionModel.add(allLink.toPageLink(baseUri, WebLayerConstants.FIRST_PAGE, uriBuilderResult.getLimit(),
+                WebLayerConstants.DEFAULT_OFFSET, uriBuilderResult.getParamString()));
     }
 
     @Override
-    protected void addNextPage(CollectionModel<UserDto> collectionModel, UriBuilderResult uriBuilderResult, String[] urlParts) {
+    protected void addNextPage(CollectionModel<UserDto> collectionModel, String baseUri,
+                               UriBuilderResult uriBuilderResult, String[] urlParts) {
         int limit = uriBuilderResult.getLimit();
         int offset = uriBuilderResult.getOffset();
-        collectionModel.add(linkTo(methodOn(UserController.class)
-                .getAllForQuery(null, limit, offset + limit))
-                .slash(uriBuilderResult.getParamString())
-                .withRel(WebLayerConstants.NEXT_PAGE));
+        collectionModel.add(allLink.toPageLink(baseUri, WebLayerConstants.NEXT_PAGE, limit, offset + limit, uriBuilderResult.getParamString()));
     }
 
     @Override
-    protected void addLastPage(CollectionModel<UserDto> collectionModel, UriBuilderResult uriBuilderResult, long count, String[] urlParts) {
+    protected void addLastPage(CollectionModel<UserDto> collectionModel, String baseUri,
+                               UriBuilderResult uriBuilderResult, long count, String[] urlParts) {
         int limit = uriBuilderResult.getLimit();
-        collectionModel.add(linkTo(methodOn(UserController.class)
-                .getAllForQuery(null, limit, (int)count - limit))
-                .slash(uriBuilderResult.getParamString())
-                .withRel(WebLayerConstants.LAST_PAGE));
+        collectionModel.add(allLink.toPageLink(baseUri, WebLayerConstants.LAST_PAGE, limit, (int) count - limit, uriBuilderResult.getParamString()));
+    }
+
+    @Override
+    protected void addCursorPage(CollectionModel<UserDto> collectionModel, String baseUri, UriBuilderResult uriBuilderResult,
+                                 String paramString, String rel, String[] urlParts) {
+        collectionModel.add(allLink.toPageLink(baseUri, rel, uriBuilderResult.getLimit(), null, paramString));
     }
 
     @Override
-    protected void addModelLinks(UserDto dto) {
+    protected void addModelLinks(UserDto dto, String baseUri) {
         Long id = dto.getId();
-        dto.add(linkTo(methodOn(UserController.class).getById(id)).withSelfRel());
-        dto.add(linkTo(methodOn(UserController.class).createOrder(id, null)).withRel(WebLayerConstants.MAKE_ORDER));
+        dto.add(byIdLink.toSelfLink(baseUri, id));
+        dto.add(createOrderLink.toLink(baseUri, WebLayerConstants.MAKE_ORDER, id));
     }
 }
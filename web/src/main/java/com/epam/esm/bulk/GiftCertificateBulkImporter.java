@@ -0,0 +1,191 @@
+package com.epam.esm.bulk;
+
+import com.epam.esm.constants.WebLayerConstants;
+import com.epam.esm.domain.dto.GiftCertificateDto;
+import com.epam.esm.domain.dto.bulk.BulkItemResult;
+import com.epam.esm.domain.dto.groups.UpdateGroup;
+import com.epam.esm.domain.service.GiftCertificateService;
+import com.epam.esm.exceptionhandling.error.enums.ResponseErrorEnum;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.ValidationUtils;
+import org.springframework.validation.Validator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * This class imports GiftCertificates from a JSON array or a stream of JSON objects (NDJSON).
+ * <p>
+ * Certificates are read one by one, validated with {@link UpdateGroup} like a single certificate and saved by chunks,
+ * every chunk is saved in its own transaction. Result of each certificate is written as a line of NDJSON after its
+ * chunk is saved, so only one chunk is kept in memory whatever the size of the request is.
+ *
+ * @since 5.0
+ */
+@Component
+public class GiftCertificateBulkImporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GiftCertificateBulkImporter.class);
+
+    private final GiftCertificateService giftCertificateService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final MessageSource messageSource;
+
+    @Autowired
+    public GiftCertificateBulkImporter(GiftCertificateService giftCertificateService, ObjectMapper objectMapper,
+                                       @Qualifier("getValidator") Validator validator, MessageSource messageSource) {
+        this.giftCertificateService = giftCertificateService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.messageSource = messageSource;
+    }
+
+    /**
+     * This method reads GiftCertificates from the source, saves them and writes results to the target.
+     * Reading stops on malformed JSON, results of all certificates read before are written.
+     *
+     * @param source    JSON array or NDJSON with GiftCertificates.
+     * @param target    stream for NDJSON results.
+     * @param chunkSize count of certificates saved in one transaction.
+     * @throws IOException if the source can't be read or the target can't be written.
+     * @since 5.0
+     */
+    public void importCertificates(InputStream source, OutputStream target, int chunkSize) throws IOException {
+        ObjectWriter resultWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (MappingIterator<GiftCertificateDto> items = objectMapper.readerFor(GiftCertificateDto.class).readValues(source);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+            generator.setRootValueSeparator(null);
+
+            Chunk chunk = new Chunk(chunkSize);
+            boolean readable = true;
+            while (readable) {
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    chunk.add(items.nextValue());
+                } catch (JsonMappingException e) {
+                    //the item is not a GiftCertificate, the next one can still be read
+                    chunk.add(BulkItemResult.failed(WebLayerConstants.UNREADABLE_BULK_ITEM_ERROR_CODE, e.getOriginalMessage()));
+                } catch (JsonProcessingException e) {
+                    chunk.add(BulkItemResult.failed(WebLayerConstants.UNREADABLE_BULK_ITEM_ERROR_CODE, e.getOriginalMessage()));
+                    readable = false;
+                }
+
+                if (chunk.isFull() || !readable) {
+                    writeChunk(chunk, generator, resultWriter);
+                }
+            }
+            writeChunk(chunk, generator, resultWriter);
+        }
+    }
+
+    /**
+     * This method saves valid certificates of the chunk and writes results of all its items.
+     */
+    private void writeChunk(Chunk chunk, JsonGenerator generator, ObjectWriter resultWriter) throws IOException {
+        Iterator<BulkItemResult> savedResults = saveCertificates(chunk.certificates).iterator();
+        for (BulkItemResult result : chunk.results) {
+            BulkItemResult itemResult = result == null ? savedResults.next() : result;
+            itemResult.setIndex(chunk.nextIndex());
+            resultWriter.writeValue(generator, itemResult);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        chunk.clear();
+    }
+
+    /**
+     * This method saves certificates in one transaction. If the transaction fails all certificates are failed
+     * with a fixed message, the cause is logged and is not sent to the client.
+     */
+    private List<BulkItemResult> saveCertificates(List<GiftCertificateDto> certificates) {
+        if (certificates.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            return giftCertificateService.saveAll(certificates);
+        } catch (RuntimeException e) {
+            LOGGER.error("Chunk of {} gift certificates is not saved", certificates.size(), e);
+            String message = messageSource.getMessage(ResponseErrorEnum.BULK_CHUNK_FAILED.getPropertyKey(), null,
+                    LocaleContextHolder.getLocale());
+            return certificates.stream()
+                    .map(certificate -> BulkItemResult.failed(WebLayerConstants.BULK_CHUNK_FAILED_ERROR_CODE, message))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Items of the request which are read but not saved yet. Results of invalid items are known at once,
+     * null result means that the item is waiting for saving.
+     */
+    private class Chunk {
+        private final int size;
+        private final List<BulkItemResult> results;
+        private final List<GiftCertificateDto> certificates;
+        private int index;
+
+        private Chunk(int size) {
+            this.size = size;
+            this.results = new ArrayList<>(size);
+            this.certificates = new ArrayList<>(size);
+        }
+
+        private void add(GiftCertificateDto certificate) {
+            if (certificate == null) {
+                add(BulkItemResult.failed(WebLayerConstants.UNREADABLE_BULK_ITEM_ERROR_CODE, "Gift certificate is null"));
+                return;
+            }
+            Errors errors = new BeanPropertyBindingResult(certificate, "giftCertificateDto");
+            ValidationUtils.invokeValidator(validator, certificate, errors, UpdateGroup.class);
+            if (!errors.hasErrors()) {
+                results.add(null);
+                certificates.add(certificate);
+            } else {
+                add(BulkItemResult.failed(WebLayerConstants.DEFAULT_VALIDATION_ERROR_CODE, errors.getAllErrors().stream()
+                        .map(DefaultMessageSourceResolvable::getDefaultMessage)
+                        .collect(Collectors.joining("; "))));
+            }
+        }
+
+        private void add(BulkItemResult failedResult) {
+            results.add(failedResult);
+        }
+
+        private boolean isFull() {
+            return results.size() >= size;
+        }
+
+        private int nextIndex() {
+            return index++;
+        }
+
+        private void clear() {
+            results.clear();
+            certificates.clear();
+        }
+    }
+}
@@ -1,30 +1,40 @@
 package com.epam.esm.config;
 
 import com.epam.esm.constants.WebLayerConstants;
+import com.epam.esm.password.TimedPasswordEncoder;
 import com.epam.esm.security.token.JwtTokenProvider;
 import com.epam.esm.security.accessdeniedhandler.GiftApplicationAccessDeniedHandler;
 import com.epam.esm.security.authentrypoint.UnauthorizedEntryPoint;
 import com.epam.esm.security.filters.JwtTokenAuthenticationFilter;
 import com.epam.esm.security.filters.UserIdFilter;
+import com.epam.esm.security.route.RouteAccess;
+import com.epam.esm.security.route.RouteClassifier;
 import com.epam.esm.security.token.validator.TokenValidator;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
@@ -32,18 +42,35 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private final JwtTokenProvider tokenProvider;
     private final TokenValidator tokenValidator;
     private final HandlerExceptionResolver resolver;
+    private final RouteClassifier routeClassifier;
 
     @Autowired
     public SecurityConfig(JwtTokenProvider tokenProvider,
-                          TokenValidator tokenValidator, @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver) {
+                          TokenValidator tokenValidator, @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver,
+                          RouteClassifier routeClassifier) {
         this.tokenProvider = tokenProvider;
         this.tokenValidator = tokenValidator;
         this.resolver = resolver;
+        this.routeClassifier = routeClassifier;
     }
 
+    /**
+     * New passwords are hashed with the configured encoder and stored with its id prefix, e.g. {bcrypt}.
+     * Hashes without a prefix are the old BCrypt ones. A hash with another id or a lower BCrypt cost
+     * is replaced with a new one after a successful login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(@Value("${security.password.encoder:bcrypt}") String encoderId,
+                                           @Value("${security.password.bcrypt-strength:12}") int bcryptStrength,
+                                           MeterRegistry meterRegistry) {
+        BCryptPasswordEncoder bcryptEncoder = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(WebLayerConstants.BCRYPT_ENCODER_ID, bcryptEncoder);
+        encoders.put(WebLayerConstants.ARGON2_ENCODER_ID, new Argon2PasswordEncoder());
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(encoderId, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcryptEncoder);
+        return new TimedPasswordEncoder(encoder, meterRegistry);
     }
 
     @Bean
@@ -55,6 +82,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Override
     public void configure(WebSecurity web) {
         web.ignoring().antMatchers(WebLayerConstants.ALL_AUTH_URL_REGEX_PATTERN);
+        //actuator is served on the separate management port only, which is not published outside
+        web.ignoring().requestMatchers(EndpointRequest.to(WebLayerConstants.PUBLIC_ENDPOINTS));
     }
 
     @Override
@@ -65,23 +94,18 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
                 .authorizeRequests()
-                .antMatchers(HttpMethod.GET, WebLayerConstants.ALL_CERTIFICATES_URL_REGEX_PATTERN).permitAll()
-                .antMatchers(HttpMethod.POST, "/users").permitAll()
-                .regexMatchers(WebLayerConstants.MAKE_ORDER_URL_REGEX_PATTERN).hasAnyAuthority("USER", "ADMIN")
-                .antMatchers(HttpMethod.GET, WebLayerConstants.ALL_TAGS_URL_REGEX_PATTERN).hasAnyAuthority("ADMIN", "USER")
-                .antMatchers(HttpMethod.GET, WebLayerConstants.ALL_URL_REGEX_PATTERN).hasAnyAuthority("ADMIN")
-                .antMatchers(HttpMethod.POST, WebLayerConstants.ALL_URL_REGEX_PATTERN).hasAuthority("ADMIN")
-                .antMatchers(HttpMethod.PUT, WebLayerConstants.ALL_URL_REGEX_PATTERN).hasAuthority("ADMIN")
-                .antMatchers(HttpMethod.PATCH, WebLayerConstants.ALL_URL_REGEX_PATTERN).hasAuthority("ADMIN")
-                .antMatchers(HttpMethod.DELETE, WebLayerConstants.ALL_URL_REGEX_PATTERN).hasAuthority("ADMIN")
+                .requestMatchers(routeClassifier.matcher(RouteAccess.PUBLIC)).permitAll()
+                .requestMatchers(routeClassifier.matcher(RouteAccess.USER, RouteAccess.OWNER)).hasAnyAuthority("USER", "ADMIN")
+                .requestMatchers(routeClassifier.matcher(RouteAccess.ADMIN)).hasAuthority("ADMIN")
                 .anyRequest().authenticated()
                 .and()
                 .exceptionHandling()
                 .accessDeniedHandler(accessDeniedHandler())
                 .authenticationEntryPoint(authenticationEntryPoint())
                 .and()
-                .addFilterBefore(new JwtTokenAuthenticationFilter(tokenProvider, resolver, tokenValidator), BasicAuthenticationFilter.class)
-                .addFilterAfter(new UserIdFilter(), BasicAuthenticationFilter.class);
+                .addFilterBefore(new JwtTokenAuthenticationFilter(tokenProvider, resolver, tokenValidator, routeClassifier),
+                        BasicAuthenticationFilter.class)
+                .addFilterAfter(new UserIdFilter(routeClassifier), BasicAuthenticationFilter.class);
     }
 
     @Bean
@@ -1,16 +1,25 @@
 package com.epam.esm.config;
 
+import com.epam.esm.constants.WebLayerConstants;
+import com.epam.esm.export.ExportFormat;
+import com.epam.esm.routing.RoutingClientFilter;
+import com.epam.esm.statement.StatementBudgetFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.factory.PasswordEncoderFactories;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
+import org.springframework.core.Ordered;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.validation.Validator;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -34,4 +43,76 @@ public class WebConfig implements WebMvcConfigurer {
         bean.setValidationMessageSource(messageSource());
         return bean;
     }
+
+    /**
+     * Executor of streaming response bodies. Exports hold a database connection while they are written,
+     * so only a few of them may run at once.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor exportTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(WebLayerConstants.EXPORT_MAX_CONCURRENCY);
+        executor.setMaxPoolSize(WebLayerConstants.EXPORT_MAX_CONCURRENCY);
+        executor.setQueueCapacity(WebLayerConstants.EXPORT_MAX_CONCURRENCY);
+        executor.setThreadNamePrefix("export-");
+        return executor;
+    }
+
+    /**
+     * Executor of password checks. Hashing a password takes a lot of CPU, so logins are checked by a pool
+     * of the size of the CPU count and don't take request threads. When the queue is full new logins are rejected.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordCheckExecutor(MeterRegistry meterRegistry) {
+        int poolSize = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(WebLayerConstants.PASSWORD_CHECK_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("password-check-");
+
+        Gauge.builder(WebLayerConstants.PASSWORD_CHECK_QUEUE_GAUGE, executor,
+                        passwordExecutor -> passwordExecutor.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder(WebLayerConstants.PASSWORD_CHECK_ACTIVE_GAUGE, executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Counts SQL statements of every request. The filter goes before security, so statements of authentication
+     * are counted too.
+     */
+    @Bean
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter(
+            @Value("${sql.budget.statements:20}") int maxStatements,
+            @Value("${sql.budget.jdbc-millis:500}") long maxJdbcMillis,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementBudgetFilter> registration =
+                new FilterRegistrationBean<>(new StatementBudgetFilter(maxStatements, maxJdbcMillis, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    /**
+     * Binds the client of the request for routing of reads between the primary database and the replica.
+     * The filter goes after security, so authenticated users are known.
+     */
+    @Bean
+    public FilterRegistrationBean<RoutingClientFilter> routingClientFilter() {
+        FilterRegistrationBean<RoutingClientFilter> registration = new FilterRegistrationBean<>(new RoutingClientFilter());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportTaskExecutor());
+        configurer.setDefaultTimeout(WebLayerConstants.EXPORT_TIMEOUT_MILLIS);
+    }
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, ExportFormat.class, ExportFormat::fromValue);
+    }
 }
@@ -4,10 +4,26 @@ public class WebLayerConstants {
     //defaults
     public final static int DEFAULT_LIMIT = 5;
     public final static int DEFAULT_OFFSET = 0;
+    public final static long UNKNOWN_COUNT = -1;
+    public final static int DEFAULT_BULK_CHUNK_SIZE = 100;
+    public final static int MAX_BULK_CHUNK_SIZE = 1000;
+    public final static int DEFAULT_TOP_SPENDERS_LIMIT = 10;
+    public final static int MAX_TOP_SPENDERS_LIMIT = 100;
+    public final static String DEFAULT_EXPORT_FORMAT = "ndjson";
+    public final static long EXPORT_TIMEOUT_MILLIS = 60 * 60 * 1000;
+    public final static int EXPORT_MAX_CONCURRENCY = 4;
+    public final static int PASSWORD_CHECK_QUEUE_CAPACITY = 64;
+    public final static int SERVICE_BUSY_RETRY_AFTER_SECONDS = 1;
+
+    //media types
+    public final static String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    public final static String CSV_MEDIA_TYPE = "text/csv";
 
     //keys
     public final static String LIMIT = "limit";
     public final static String OFFSET = "offset";
+    public final static String AFTER = "after";
+    public final static String BEFORE = "before";
 
     //hateoas
     public final static String UPDATE = "update";
@@ -16,6 +32,7 @@ public class WebLayerConstants {
     public final static String FIRST_PAGE = "firstPage";
     public final static String NEXT_PAGE = "nextPage";
     public final static String LAST_PAGE = "lastPage";
+    public final static String PREVIOUS_PAGE = "previousPage";
     public final static String MAKE_ORDER = "make_an_order";
 
     //Codes
@@ -29,6 +46,11 @@ public class WebLayerConstants {
     public final static int TAG_WITH_SUCH_NAME_EXISTS_ERROR_CODE = 42000;
     public final static int DEFAULT_VALIDATION_ERROR_CODE = 50000;
     public final static int MISMATCH_PARAMETER_ERROR_CODE = 50001;
+    public final static int INVALID_CURSOR_ERROR_CODE = 50002;
+    public final static int UNREADABLE_BULK_ITEM_ERROR_CODE = 50003;
+    public final static int BULK_CHUNK_FAILED_ERROR_CODE = 50004;
+    public final static int ORDER_QUANTITY_TOO_LARGE_ERROR_CODE = 50005;
+    public final static int SERVICE_BUSY_ERROR_CODE = 50300;
     public final static int REFRESH_TOKEN_EXPIRED = 30010;
     public final static int ACCESS_TOKEN_EXPIRED = 30011;
     public final static int ACCESS_TOKEN_INVALID = 30200;
@@ -40,10 +62,21 @@ public class WebLayerConstants {
     //security
     public static final String AUTH_HEADER = "Authorization";
     public static final String BEARER_PREFIX = "Bearer";
-    public static final String ALL_URL_REGEX_PATTERN = "/**";
     public static final String ALL_AUTH_URL_REGEX_PATTERN = "/auth/**";
+    public static final String BCRYPT_ENCODER_ID = "bcrypt";
+    public static final String ARGON2_ENCODER_ID = "argon2";
 
-    public static final String ALL_CERTIFICATES_URL_REGEX_PATTERN = "/certificates/**";
-    public static final String ALL_TAGS_URL_REGEX_PATTERN = "/tags/**";
-    public static final String MAKE_ORDER_URL_REGEX_PATTERN = "/users/(\\d+)/orders";
+    //metrics
+    public static final String PASSWORD_HASH_TIMER = "password.hash";
+    public static final String PASSWORD_CHECK_QUEUE_GAUGE = "password.check.queue";
+    public static final String PASSWORD_CHECK_ACTIVE_GAUGE = "password.check.active";
+    public static final String SERVICE_TIMER = "service.call";
+    public static final String ASSEMBLER_TIMER = "assembler.links";
+    public static final String SERVICE_TAG = "service";
+    public static final String METHOD_TAG = "method";
+    public static final String EXCEPTION_TAG = "exception";
+    public static final String ASSEMBLER_TAG = "assembler";
+    public static final String MODEL_TAG = "model";
+    public static final String NO_EXCEPTION = "none";
+    public static final String[] PUBLIC_ENDPOINTS = {"health", "info", "prometheus"};
 }
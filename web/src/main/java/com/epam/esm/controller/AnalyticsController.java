@@ -0,0 +1,39 @@
+package com.epam.esm.controller;
+
+import com.epam.esm.constants.WebLayerConstants;
+import com.epam.esm.domain.dto.TopSpenderDto;
+import com.epam.esm.domain.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.util.List;
+
+/**
+ * Analytics across all Users. Endpoints are available to ADMIN only, results are refreshed on schedule.
+ *
+ * @since 5.0
+ */
+@RestController
+@RequestMapping(path = "/analytics", produces = "application/json")
+@Validated
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @Autowired
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/top_spenders")
+    public ResponseEntity<List<TopSpenderDto>> getTopSpenders(@RequestParam(required = false, defaultValue = WebLayerConstants.DEFAULT_TOP_SPENDERS_LIMIT + "") @Min(value = 1, message = "Limit parameter must be greater or equal 1") @Max(value = WebLayerConstants.MAX_TOP_SPENDERS_LIMIT, message = "Limit parameter must be less or equal " + WebLayerConstants.MAX_TOP_SPENDERS_LIMIT) Integer limit) {
+        return ResponseEntity.ok(analyticsService.findTopSpenders(limit));
+    }
+}
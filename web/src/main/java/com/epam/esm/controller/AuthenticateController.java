@@ -6,11 +6,12 @@ import com.epam.esm.domain.dto.token.LoginPasswordDto;
 import com.epam.esm.security.token.JwtTokenProvider;
 import com.epam.esm.security.exceptions.JwtAuthenticationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping(path = "/auth", produces = {"application/json; charset=UTF-8"})
@@ -25,19 +27,29 @@ public class AuthenticateController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final TaskExecutor passwordCheckExecutor;
 
     @Autowired
-    public AuthenticateController(AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider) {
+    public AuthenticateController(AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider,
+                                  @Qualifier("passwordCheckExecutor") TaskExecutor passwordCheckExecutor) {
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
+        this.passwordCheckExecutor = passwordCheckExecutor;
     }
 
+    /**
+     * Password is checked by the password check executor, so the request thread is released while the hash is computed.
+     * If the executor queue is full, TaskRejectedException is thrown at once and the client gets 503.
+     */
     @PostMapping("/authenticate")
-    public ResponseEntity<JwtTokenDto> authenticate(@RequestBody @Valid LoginPasswordDto loginPasswordDto) {
-        Authentication authenticate = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(loginPasswordDto.getLogin(),
-                loginPasswordDto.getPassword()));
-        JwtTokenDto token = tokenProvider.createToken(authenticate);
-        return new ResponseEntity<>(token, HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<JwtTokenDto>> authenticate(@RequestBody @Valid LoginPasswordDto loginPasswordDto) {
+        UsernamePasswordAuthenticationToken credentials = new UsernamePasswordAuthenticationToken(loginPasswordDto.getLogin(),
+                loginPasswordDto.getPassword());
+        return CompletableFuture.supplyAsync(() -> authenticationManager.authenticate(credentials), passwordCheckExecutor)
+                .thenApply(authenticate -> {
+                    JwtTokenDto token = tokenProvider.createToken(authenticate);
+                    return new ResponseEntity<>(token, HttpStatus.OK);
+                });
     }
 
     @PostMapping("/refresh_token")
@@ -2,14 +2,23 @@ package com.epam.esm.controller;
 
 import com.epam.esm.assemblers.GiftCertificateModelAssembler;
 import com.epam.esm.assemblers.ModelAssembler;
+import com.epam.esm.bulk.GiftCertificateBulkImporter;
 import com.epam.esm.constants.WebLayerConstants;
 import com.epam.esm.domain.dto.GiftCertificateDto;
 import com.epam.esm.domain.dto.bundles.GiftCertificateDtoBundle;
 import com.epam.esm.domain.dto.groups.PatchGroup;
 import com.epam.esm.domain.dto.groups.UpdateGroup;
+import com.epam.esm.domain.page.PageRequests;
 import com.epam.esm.domain.service.GiftCertificateService;
+import com.epam.esm.etag.CertificateETags;
+import com.epam.esm.export.ExportColumns;
+import com.epam.esm.export.ExportFormat;
+import com.epam.esm.export.StreamingExporter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -23,9 +32,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -36,11 +52,16 @@ public class GiftCertificateController {
 
     private final GiftCertificateService giftCertificateService;
     private final ModelAssembler<GiftCertificateDto> assembler;
+    private final GiftCertificateBulkImporter bulkImporter;
+    private final StreamingExporter exporter;
 
     @Autowired
-    public GiftCertificateController(GiftCertificateService giftCertificateService, GiftCertificateModelAssembler assembler) {
+    public GiftCertificateController(GiftCertificateService giftCertificateService, GiftCertificateModelAssembler assembler,
+                                     GiftCertificateBulkImporter bulkImporter, StreamingExporter exporter) {
         this.giftCertificateService = giftCertificateService;
         this.assembler = assembler;
+        this.bulkImporter = bulkImporter;
+        this.exporter = exporter;
     }
 
     @GetMapping
@@ -48,14 +69,43 @@ public class GiftCertificateController {
                                                                               @RequestParam(required = false, defaultValue = WebLayerConstants.DEFAULT_LIMIT + "") @Min(value = 0, message = "Limit parameter must be greater or equal 0") Integer limit,
                                                                               @RequestParam(required = false, defaultValue = WebLayerConstants.DEFAULT_OFFSET + "") @Min(value = 0, message = "Offset parameter must be greater or equal 0") Integer offset) {
         Map<String, String[]> parameterMap = webRequest.getParameterMap();
+        //the page is not even found if the client has it already, the version is checked by one aggregate query
+        String eTag = CertificateETags.ofPage(giftCertificateService.findVersionForQuery(parameterMap), parameterMap);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         GiftCertificateDtoBundle bundle = giftCertificateService.findAllForQuery(parameterMap, limit, offset);
-        return ResponseEntity.ok(assembler.toCollectionModel(bundle.getGiftCertificates(), offset, bundle.getCount(), parameterMap));
+        if (PageRequests.isKeysetRequest(parameterMap)) {
+            return ResponseEntity.ok().eTag(eTag).body(assembler.toKeysetCollectionModel(bundle.getGiftCertificates(),
+                    bundle.getNextCursor(), bundle.getPreviousCursor(), parameterMap));
+        }
+        return ResponseEntity.ok().eTag(eTag)
+                .body(assembler.toCollectionModel(bundle.getGiftCertificates(), offset, bundle.getCount(), parameterMap));
+    }
+
+    @GetMapping(path = "/export", produces = {WebLayerConstants.NDJSON_MEDIA_TYPE, WebLayerConstants.CSV_MEDIA_TYPE})
+    public ResponseEntity<StreamingResponseBody> exportForQuery(WebRequest webRequest,
+                                                                @RequestParam(required = false, defaultValue = WebLayerConstants.DEFAULT_EXPORT_FORMAT) ExportFormat format) {
+        Map<String, String[]> parameterMap = new HashMap<>(webRequest.getParameterMap());
+        return exporter.export("certificates", format, ExportColumns.CERTIFICATE_COLUMNS,
+                consumer -> giftCertificateService.exportForQuery(parameterMap, consumer));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<GiftCertificateDto> getById(@PathVariable long id) {
+    public ResponseEntity<GiftCertificateDto> getById(@PathVariable long id, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            //the version is checked without loading the certificate
+            String lastUpdateDate = giftCertificateService.findLastUpdateDate(id);
+            String eTag = CertificateETags.of(id, lastUpdateDate);
+            if (webRequest.checkNotModified(eTag, CertificateETags.lastModified(lastUpdateDate))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
         GiftCertificateDto certificate = giftCertificateService.findById(id);
-        return ResponseEntity.ok(assembler.toModel(certificate));
+        return ResponseEntity.ok()
+                .eTag(CertificateETags.of(certificate))
+                .lastModified(CertificateETags.lastModified(certificate.getLastUpdateDate()))
+                .body(assembler.toModel(certificate));
     }
 
     @DeleteMapping("/{id}")
@@ -70,6 +120,15 @@ public class GiftCertificateController {
         return ResponseEntity.ok(assembler.toModel(certificate));
     }
 
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, WebLayerConstants.NDJSON_MEDIA_TYPE},
+            produces = WebLayerConstants.NDJSON_MEDIA_TYPE)
+    public void createCertificates(HttpServletRequest request, HttpServletResponse response,
+                                   @RequestParam(required = false, defaultValue = WebLayerConstants.DEFAULT_BULK_CHUNK_SIZE + "") @Min(value = 1, message = "Chunk size parameter must be greater or equal 1") @Max(value = WebLayerConstants.MAX_BULK_CHUNK_SIZE, message = "Chunk size parameter must be less or equal " + WebLayerConstants.MAX_BULK_CHUNK_SIZE) Integer chunkSize) throws IOException {
+        response.setContentType(WebLayerConstants.NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        bulkImporter.importCertificates(request.getInputStream(), response.getOutputStream(), chunkSize);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<GiftCertificateDto> updateCertificate(@RequestBody @Validated(UpdateGroup.class) @Valid GiftCertificateDto giftCertificateDto,
                                                                 @PathVariable long id) {
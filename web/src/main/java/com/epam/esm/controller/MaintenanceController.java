@@ -0,0 +1,44 @@
+package com.epam.esm.controller;
+
+import com.epam.esm.domain.service.UserTagUsageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Maintenance jobs of precomputed data. Endpoints are available to ADMIN only.
+ *
+ * @since 5.0
+ */
+@RestController
+@RequestMapping(path = "/maintenance", produces = "application/json")
+public class MaintenanceController {
+
+    private final UserTagUsageService userTagUsageService;
+
+    @Autowired
+    public MaintenanceController(UserTagUsageService userTagUsageService) {
+        this.userTagUsageService = userTagUsageService;
+    }
+
+    @PostMapping("/user_tag_usage/rebuild")
+    public ResponseEntity<Void> rebuildUserTagUsage() {
+        userTagUsageService.rebuildAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/user_tag_usage/inconsistencies")
+    public ResponseEntity<List<Long>> getUserTagUsageInconsistencies() {
+        return ResponseEntity.ok(userTagUsageService.findInconsistentUserIds());
+    }
+
+    @PostMapping("/user_tag_usage/repair")
+    public ResponseEntity<List<Long>> repairUserTagUsage() {
+        return ResponseEntity.ok(userTagUsageService.repair());
+    }
+}
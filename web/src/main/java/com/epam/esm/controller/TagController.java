@@ -6,6 +6,7 @@ import com.epam.esm.domain.dto.TagDto;
 import com.epam.esm.domain.dto.bundles.TagDtoBundle;
 import com.epam.esm.domain.dto.groups.PatchGroup;
 import com.epam.esm.domain.dto.groups.UpdateGroup;
+import com.epam.esm.domain.page.PageRequests;
 import com.epam.esm.domain.service.TagService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
@@ -51,6 +52,10 @@ public class TagController {
                                                                   @RequestParam(required = false, defaultValue = WebLayerConstants.DEFAULT_OFFSET + "") @Min(value = 0, message = "Offset parameter must be greater or equal 0") Integer offset) {
         Map<String, String[]> reqParams = request.getParameterMap();
         TagDtoBundle bundle = tagService.findAllForQuery(reqParams, limit, offset);
+        if (PageRequests.isKeysetRequest(reqParams)) {
+            return ResponseEntity.ok(assembler.toKeysetCollectionModel(bundle.getTags(), bundle.getNextCursor(),
+                    bundle.getPreviousCursor(), reqParams));
+        }
         return ResponseEntity.ok(assembler.toCollectionModel(bundle.getTags(), offset, bundle.getCount(), reqParams));
     }
 
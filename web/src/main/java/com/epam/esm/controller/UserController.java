@@ -9,9 +9,13 @@ import com.epam.esm.domain.dto.UserDto;
 import com.epam.esm.domain.dto.bundles.OrderDtoBundle;
 import com.epam.esm.domain.dto.bundles.UserDtoBundle;
 import com.epam.esm.domain.dto.groups.SaveGroup;
+import com.epam.esm.domain.page.PageRequests;
 import com.epam.esm.domain.service.OrderService;
 import com.epam.esm.domain.service.TagService;
 import com.epam.esm.domain.service.UserService;
+import com.epam.esm.export.ExportColumns;
+import com.epam.esm.export.ExportFormat;
+import com.epam.esm.export.StreamingExporter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +28,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
@@ -43,15 +48,18 @@ public class UserController {
     private final ModelAssembler<UserDto> userAssembler;
     private final ModelAssembler<OrderDto> orderAssembler;
     private final ModelAssembler<TagDto> tagAssembler;
+    private final StreamingExporter exporter;
 
     @Autowired
-    public UserController(UserService userService, OrderService orderService, TagService tagService, ModelAssembler<UserDto> assembler, ModelAssembler<OrderDto> orderAssembler, ModelAssembler<TagDto> tagAssembler) {
+    public UserController(UserService userService, OrderService orderService, TagService tagService, ModelAssembler<UserDto> assembler, ModelAssembler<OrderDto> orderAssembler, ModelAssembler<TagDto> tagAssembler,
+                          StreamingExporter exporter) {
         this.userService = userService;
         this.orderService = orderService;
         this.tagService = tagService;
         this.userAssembler = assembler;
         this.orderAssembler = orderAssembler;
         this.tagAssembler = tagAssembler;
+        this.exporter = exporter;
     }
 
     @GetMapping("/{id}")
@@ -66,9 +74,20 @@ public class UserController {
                                                                    @RequestParam(required = false, defaultValue = WebLayerConstants.DEFAULT_OFFSET + "") @Min(value = 0, message = "Offset parameter must be greater or equal 0") Integer offset) {
         Map<String, String[]> reqParams = request.getParameterMap();
         UserDtoBundle bundle = userService.findAllForQuery(reqParams, limit, offset);
+        if (PageRequests.isKeysetRequest(reqParams)) {
+            return ResponseEntity.ok(userAssembler.toKeysetCollectionModel(bundle.getUsers(), bundle.getNextCursor(),
+                    bundle.getPreviousCursor(), reqParams));
+        }
         return ResponseEntity.ok(userAssembler.toCollectionModel(bundle.getUsers(), offset, bundle.getCount(), reqParams));
     }
 
+    @GetMapping(path = "/export", produces = {WebLayerConstants.NDJSON_MEDIA_TYPE, WebLayerConstants.CSV_MEDIA_TYPE})
+    public ResponseEntity<StreamingResponseBody> exportForQuery(WebRequest request,
+                                                                @RequestParam(required = false, defaultValue = WebLayerConstants.DEFAULT_EXPORT_FORMAT) ExportFormat format) {
+        Map<String, String[]> reqParams = new HashMap<>(request.getParameterMap());
+        return exporter.export("users", format, ExportColumns.USER_COLUMNS,
+                consumer -> userService.exportForQuery(reqParams, consumer));
+    }
 
     @GetMapping(path = "/{userId}/orders")
     public ResponseEntity<CollectionModel<OrderDto>> getAllOrdersForUser(WebRequest webRequest, @PathVariable long userId,
@@ -76,10 +95,24 @@ public class UserController {
                                                                          @RequestParam(required = false, defaultValue = WebLayerConstants.DEFAULT_OFFSET + "") @Min(value = 0, message = "Offset parameter must be greater or equal 0") Integer offset) {
         Map<String, String[]> reqParamMap = new HashMap<>(webRequest.getParameterMap());
         OrderDtoBundle bundle = orderService.findAllForQuery(userId, reqParamMap, limit, offset);
+        if (PageRequests.isKeysetRequest(reqParamMap)) {
+            return ResponseEntity.ok(orderAssembler.toKeysetCollectionModel(bundle.getOrders(), bundle.getNextCursor(),
+                    bundle.getPreviousCursor(), reqParamMap, String.valueOf(userId)));
+        }
         return ResponseEntity.ok(orderAssembler.toCollectionModel(bundle.getOrders(), offset, bundle.getCount(),
                 reqParamMap, String.valueOf(userId)));
     }
 
+    @GetMapping(path = "/{userId}/orders/export", produces = {WebLayerConstants.NDJSON_MEDIA_TYPE, WebLayerConstants.CSV_MEDIA_TYPE})
+    public ResponseEntity<StreamingResponseBody> exportOrdersForUser(WebRequest webRequest, @PathVariable long userId,
+                                                                     @RequestParam(required = false, defaultValue = WebLayerConstants.DEFAULT_EXPORT_FORMAT) ExportFormat format) {
+        //check the user before the response is committed
+        userService.findById(userId);
+        Map<String, String[]> reqParamMap = new HashMap<>(webRequest.getParameterMap());
+        return exporter.export("user_" + userId + "_orders", format, ExportColumns.ORDER_COLUMNS,
+                consumer -> orderService.exportForQuery(userId, reqParamMap, consumer));
+    }
+
     @PostMapping(path = "/{userId}/orders")
     public ResponseEntity<OrderDto> createOrder(@PathVariable Long userId,
                                                 @RequestBody @Valid List<SaveOrderDto> saveOrderDtoList) {
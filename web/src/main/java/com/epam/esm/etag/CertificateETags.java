@@ -0,0 +1,68 @@
+package com.epam.esm.etag;
+
+import com.epam.esm.domain.dto.GiftCertificateDto;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class derives validators of conditional requests from last update dates of GiftCertificates.
+ * A certificate has a strong ETag of its id and last update date, a page of certificates has a weak ETag
+ * of the version of all matching certificates and the parameters of the request.
+ *
+ * @since 5.0
+ */
+public final class CertificateETags {
+
+    private CertificateETags() {
+    }
+
+    /**
+     * @param id             id of GiftCertificate.
+     * @param lastUpdateDate last update date of GiftCertificate in the format of DTOs.
+     * @return strong ETag of the certificate.
+     * @since 5.0
+     */
+    public static String of(long id, String lastUpdateDate) {
+        return "\"" + id + "-" + lastUpdateDate + "\"";
+    }
+
+    /**
+     * @param certificate GiftCertificate.
+     * @return strong ETag of the certificate.
+     * @since 5.0
+     */
+    public static String of(GiftCertificateDto certificate) {
+        return of(certificate.getId(), certificate.getLastUpdateDate());
+    }
+
+    /**
+     * This method derives ETag of a page without loading it. A page changes only if a matching certificate
+     * is changed, added or removed, which changes the version. Parameters are included, so pages of other
+     * offsets, cursors or sorting have other ETags. Order of parameters doesn't matter.
+     *
+     * @param version   count and max last update date of all matching certificates.
+     * @param reqParams parameters of the request.
+     * @return weak ETag of the page.
+     * @since 5.0
+     */
+    public static String ofPage(String version, Map<String, String[]> reqParams) {
+        StringBuilder page = new StringBuilder(version);
+        new TreeMap<>(reqParams).forEach((key, values) -> page.append('/').append(key).append('=')
+                .append(String.join(",", values)));
+        return "W/\"" + DigestUtils.md5DigestAsHex(page.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * @param lastUpdateDate last update date of GiftCertificate in the format of DTOs.
+     * @return milliseconds since epoch, dates are stored in the time zone of the application.
+     * @since 5.0
+     */
+    public static long lastModified(String lastUpdateDate) {
+        return LocalDateTime.parse(lastUpdateDate).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
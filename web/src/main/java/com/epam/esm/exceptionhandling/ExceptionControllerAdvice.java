@@ -16,6 +16,7 @@ import org.springframework.beans.TypeMismatchException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -65,6 +66,18 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
         return getResponseEntity(WebLayerConstants.INVALID_CREDENTIALS_ERROR_CODE, null, locale);
     }
 
+    /**
+     * Queue of an executor is full, e.g. too many logins are waiting for password check. The client is asked
+     * to retry later instead of making the queue longer.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResult> handleTaskRejectedException(TaskRejectedException exception, Locale locale) {
+        ResponseEntity<ErrorResult> response = getResponseEntity(WebLayerConstants.SERVICE_BUSY_ERROR_CODE, null, locale);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(WebLayerConstants.SERVICE_BUSY_RETRY_AFTER_SECONDS))
+                .body(response.getBody());
+    }
+
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorResult> handleConstraintViolationException(ConstraintViolationException exception, Locale locale) {
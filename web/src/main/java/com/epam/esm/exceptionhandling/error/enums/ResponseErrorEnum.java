@@ -12,7 +12,11 @@ public enum ResponseErrorEnum {
     USER_NOT_FOUND("user_not_found_by_id", HttpStatus.NOT_FOUND, WebLayerConstants.USER_NOT_FOUND_BY_ID_ERROR_CODE),
     USER_WITH_SUCH_LOGIN_EXISTS("user_already_exists", HttpStatus.BAD_REQUEST, WebLayerConstants.USER_SUCH_LOGIN_EXISTS_CODE),
     ORDER_NOT_FOUND("order_not_found", HttpStatus.NOT_FOUND, WebLayerConstants.ORDER_NOT_FOUND_ERROR_CODE),
+    ORDER_QUANTITY_TOO_LARGE("order_quantity_too_large", HttpStatus.BAD_REQUEST, WebLayerConstants.ORDER_QUANTITY_TOO_LARGE_ERROR_CODE),
     MISMATCH_PARAMETER("mismatch_parameter", HttpStatus.BAD_REQUEST, WebLayerConstants.MISMATCH_PARAMETER_ERROR_CODE),
+    INVALID_CURSOR("invalid_cursor", HttpStatus.BAD_REQUEST, WebLayerConstants.INVALID_CURSOR_ERROR_CODE),
+    BULK_CHUNK_FAILED("bulk_chunk_failed", HttpStatus.INTERNAL_SERVER_ERROR, WebLayerConstants.BULK_CHUNK_FAILED_ERROR_CODE),
+    SERVICE_BUSY("service_busy", HttpStatus.SERVICE_UNAVAILABLE, WebLayerConstants.SERVICE_BUSY_ERROR_CODE),
     REFRESH_TOKEN_EXPIRED("refresh_token_expired", HttpStatus.FORBIDDEN, WebLayerConstants.REFRESH_TOKEN_EXPIRED),
     ACCESS_TOKEN_EXPIRED("access_token_expired", HttpStatus.UNAUTHORIZED, WebLayerConstants.ACCESS_TOKEN_EXPIRED),
     TOKEN_INVALID("token_invalid", HttpStatus.UNAUTHORIZED, WebLayerConstants.ACCESS_TOKEN_INVALID),
@@ -0,0 +1,28 @@
+package com.epam.esm.export;
+
+import java.util.function.Function;
+
+/**
+ * Column of exported CSV.
+ *
+ * @param <T> type of exported DTO.
+ * @since 5.0
+ */
+public class CsvColumn<T> {
+
+    private final String header;
+    private final Function<T, Object> value;
+
+    public CsvColumn(String header, Function<T, Object> value) {
+        this.header = header;
+        this.value = value;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public Object getValue(T dto) {
+        return value.apply(dto);
+    }
+}
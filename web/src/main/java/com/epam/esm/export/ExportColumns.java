@@ -0,0 +1,58 @@
+package com.epam.esm.export;
+
+import com.epam.esm.domain.dto.GiftCertificateDto;
+import com.epam.esm.domain.dto.OrderDto;
+import com.epam.esm.domain.dto.TagDto;
+import com.epam.esm.domain.dto.UserDto;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * CSV columns of exported DTOs. Nested collections are written as values joined with '|'.
+ *
+ * @since 5.0
+ */
+public final class ExportColumns {
+
+    private static final String NESTED_VALUES_DELIMITER = "|";
+
+    public static final List<CsvColumn<GiftCertificateDto>> CERTIFICATE_COLUMNS = Collections.unmodifiableList(Arrays.<CsvColumn<GiftCertificateDto>>asList(
+            new CsvColumn<>("id", GiftCertificateDto::getId),
+            new CsvColumn<>("name", GiftCertificateDto::getName),
+            new CsvColumn<>("description", GiftCertificateDto::getDescription),
+            new CsvColumn<>("price", GiftCertificateDto::getPrice),
+            new CsvColumn<>("duration", GiftCertificateDto::getDuration),
+            new CsvColumn<>("createDate", GiftCertificateDto::getCreateDate),
+            new CsvColumn<>("lastUpdateDate", GiftCertificateDto::getLastUpdateDate),
+            new CsvColumn<>("tags", certificate -> join(certificate.getTags(), TagDto::getName))));
+
+    public static final List<CsvColumn<OrderDto>> ORDER_COLUMNS = Collections.unmodifiableList(Arrays.<CsvColumn<OrderDto>>asList(
+            new CsvColumn<>("id", OrderDto::getId),
+            new CsvColumn<>("cost", OrderDto::getCost),
+            new CsvColumn<>("creationDate", OrderDto::getCreationDate),
+            new CsvColumn<>("orderLines", order -> join(order.getOrderLines(),
+                    line -> line.getGiftCertificate().getId() + "x" + line.getQuantity()))));
+
+    public static final List<CsvColumn<UserDto>> USER_COLUMNS = Collections.unmodifiableList(Arrays.<CsvColumn<UserDto>>asList(
+            new CsvColumn<>("id", UserDto::getId),
+            new CsvColumn<>("login", UserDto::getLogin),
+            new CsvColumn<>("role", UserDto::getRole)));
+
+    private ExportColumns() {
+    }
+
+    private static <E> String join(Collection<E> elements, Function<E, Object> value) {
+        if (elements == null) {
+            return null;
+        }
+        return elements.stream()
+                .map(value)
+                .map(String::valueOf)
+                .collect(Collectors.joining(NESTED_VALUES_DELIMITER));
+    }
+}
@@ -0,0 +1,45 @@
+package com.epam.esm.export;
+
+import com.epam.esm.constants.WebLayerConstants;
+
+import java.util.stream.Stream;
+
+/**
+ * Formats of exported entities.
+ *
+ * @since 5.0
+ */
+public enum ExportFormat {
+    NDJSON(WebLayerConstants.NDJSON_MEDIA_TYPE, "ndjson"),
+    CSV(WebLayerConstants.CSV_MEDIA_TYPE, "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * This method finds format by its name ignoring case.
+     *
+     * @param value name of the format.
+     * @return found format.
+     * @throws IllegalArgumentException if there is no format with given name.
+     */
+    public static ExportFormat fromValue(String value) {
+        return Stream.of(values())
+                .filter(format -> format.name().equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.format("Unknown export format: %s", value)));
+    }
+}
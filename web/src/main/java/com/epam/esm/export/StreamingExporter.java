@@ -0,0 +1,148 @@
+package com.epam.esm.export;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * This class writes exported DTOs straight to the response as NDJSON or CSV.
+ * <p>
+ * DTOs are written one by one while the source produces them, so the response is not buffered in memory.
+ * The source is called in the thread of the response body, i.e. it must open its own transaction.
+ *
+ * @since 5.0
+ */
+@Component
+public class StreamingExporter {
+
+    private static final char CSV_SEPARATOR = ',';
+    private static final String CSV_LINE_SEPARATOR = "\r\n";
+
+    private final ObjectMapper exportMapper;
+
+    @Autowired
+    public StreamingExporter(ObjectMapper objectMapper) {
+        this.exportMapper = objectMapper.copy().addMixIn(RepresentationModel.class, WithoutLinks.class);
+    }
+
+    /**
+     * This method creates response which streams DTOs produced by the source.
+     *
+     * @param fileName   name of the exported file without extension.
+     * @param format     format of the exported file.
+     * @param csvColumns columns of the file in CSV format.
+     * @param source     producer of exported DTOs, it passes DTOs to the given consumer.
+     * @param <T>        type of exported DTOs.
+     * @return response with streaming body.
+     * @since 5.0
+     */
+    public <T> ResponseEntity<StreamingResponseBody> export(String fileName, ExportFormat format, List<CsvColumn<T>> csvColumns,
+                                                            Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = format == ExportFormat.CSV
+                ? outputStream -> writeCsv(outputStream, csvColumns, source)
+                : outputStream -> writeNdjson(outputStream, source);
+        ContentDisposition contentDisposition = ContentDisposition.builder("attachment")
+                .filename(fileName + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                .body(body);
+    }
+
+    private <T> void writeNdjson(OutputStream outputStream, Consumer<Consumer<T>> source) throws IOException {
+        ObjectWriter writer = exportMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = exportMapper.getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            writeAll(source, dto -> {
+                writer.writeValue(generator, dto);
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    private <T> void writeCsv(OutputStream outputStream, List<CsvColumn<T>> columns, Consumer<Consumer<T>> source) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+            writeCsvLine(writer, columns.stream()
+                    .map(CsvColumn::getHeader)
+                    .collect(Collectors.toList()));
+            writeAll(source, dto -> writeCsvLine(writer, columns.stream()
+                    .map(column -> column.getValue(dto))
+                    .collect(Collectors.toList())));
+        }
+    }
+
+    private void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(CSV_SEPARATOR);
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write(CSV_LINE_SEPARATOR);
+    }
+
+    /**
+     * This method escapes CSV value according to RFC 4180. Null is written as an empty value.
+     */
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(CSV_SEPARATOR) < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * This method passes DTOs of the source to the writer, IOException of the writer is rethrown.
+     */
+    private <T> void writeAll(Consumer<Consumer<T>> source, DtoWriter<T> dtoWriter) throws IOException {
+        try {
+            source.accept(dto -> {
+                try {
+                    dtoWriter.write(dto);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface DtoWriter<T> {
+        void write(T dto) throws IOException;
+    }
+
+    /**
+     * Links are added by the web layer to returned models only, exported DTOs don't have them.
+     */
+    @JsonIgnoreProperties("links")
+    private abstract static class WithoutLinks {
+    }
+}
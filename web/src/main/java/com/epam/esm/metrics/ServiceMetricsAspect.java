@@ -0,0 +1,71 @@
+package com.epam.esm.metrics;
+
+import com.epam.esm.constants.WebLayerConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This aspect times public methods of service implementations. Timers are tagged by the service, the method
+ * and the simple name of the thrown exception. Timers of successful calls are registered once per method,
+ * so the hot path only takes the timer from the map.
+ *
+ * @since 5.0
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * This method records the time of the service call.
+     *
+     * @param joinPoint call of the service method.
+     * @return result of the call.
+     * @throws Throwable exception of the call, it is rethrown as is.
+     */
+    @Around("execution(public * com.epam.esm.domain.service.impl.*ServiceImpl.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            timer(method, e.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, key -> timer(key, WebLayerConstants.NO_EXCEPTION));
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(WebLayerConstants.SERVICE_TIMER)
+                .description("Time of calls of service methods")
+                .tag(WebLayerConstants.SERVICE_TAG, method.getDeclaringClass().getSimpleName())
+                .tag(WebLayerConstants.METHOD_TAG, method.getName())
+                .tag(WebLayerConstants.EXCEPTION_TAG, exception)
+                .register(meterRegistry);
+    }
+}
@@ -33,6 +33,10 @@ public class DefaultUriBuilder implements UriBuilder{
                         result.setOffset(Integer.parseInt(entry.getValue()[0]));
                         return;
                     }
+                    if (WebLayerConstants.AFTER.equalsIgnoreCase(key) || WebLayerConstants.BEFORE.equalsIgnoreCase(key)){
+                        //cursors are set by a link of a concrete page
+                        return;
+                    }
                     Arrays.stream(entry.getValue())
                             .forEach(value -> {
                                 StringBuilder stringBuilder = new StringBuilder();
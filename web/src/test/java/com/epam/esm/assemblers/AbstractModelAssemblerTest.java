@@ -12,7 +12,9 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import java.util.Arrays;
 import java.util.Collections;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(classes = WebTestConfig.class)
 @ExtendWith(SpringExtension.class)
@@ -44,4 +46,17 @@ public abstract class AbstractModelAssemblerTest<T extends RepresentationModel<T
         assertFalse(result.getLinks().isEmpty());
     }
 
+    @Test
+    public void testToCollectionModel_ReturnCollectionWithoutLastPageLink_WhenCountIsUnknown() {
+        //given
+        ModelAssembler<T> modelAssembler = getModelAssembler();
+        //when
+        CollectionModel<T> result = modelAssembler.toCollectionModel(Arrays.asList(getDto(), getDto()), WebLayerConstants.DEFAULT_OFFSET,
+                WebLayerConstants.UNKNOWN_COUNT, Collections.emptyMap(), "1");
+        //then
+        assertAll(() -> assertTrue(result.getLink(WebLayerConstants.FIRST_PAGE).isPresent()),
+                () -> assertFalse(result.getLink(WebLayerConstants.NEXT_PAGE).isPresent()),
+                () -> assertFalse(result.getLink(WebLayerConstants.LAST_PAGE).isPresent()));
+    }
+
 }
@@ -1,10 +1,20 @@
 package com.epam.esm.assemblers;
 
 
+import com.epam.esm.constants.WebLayerConstants;
 import com.epam.esm.domain.dto.GiftCertificateDto;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 
 public class GiftCertificateModelAssemblerTest extends AbstractModelAssemblerTest<GiftCertificateDto> {
@@ -29,5 +39,30 @@ public class GiftCertificateModelAssemblerTest extends AbstractModelAssemblerTes
                 .build();
     }
 
+    @Test
+    public void testToModel_ExpandIdInLinkTemplates() {
+        //when
+        GiftCertificateDto result = modelAssembler.toModel(getDto());
+        //then
+        assertAll(() -> assertEquals("/certificates/100", result.getRequiredLink(IanaLinkRelations.SELF).getHref()),
+                () -> assertEquals("/certificates/100", result.getRequiredLink(WebLayerConstants.DELETE).getHref()));
+    }
 
+    @Test
+    public void testToCollectionModel_AddLimitOffsetAndRequestParamsToPageLinks() {
+        //given
+        Map<String, String[]> reqParams = new HashMap<>();
+        reqParams.put(WebLayerConstants.LIMIT, new String[]{"2"});
+        reqParams.put("name", new String[]{"abc"});
+        //when
+        CollectionModel<GiftCertificateDto> result = modelAssembler.toCollectionModel(Arrays.asList(getDto(), getDto()),
+                WebLayerConstants.DEFAULT_OFFSET, 10, reqParams);
+        //then
+        assertAll(() -> assertEquals("/certificates?limit=2&offset=0&name=abc",
+                        result.getRequiredLink(WebLayerConstants.FIRST_PAGE).getHref()),
+                () -> assertEquals("/certificates?limit=2&offset=2&name=abc",
+                        result.getRequiredLink(WebLayerConstants.NEXT_PAGE).getHref()),
+                () -> assertEquals("/certificates?limit=2&offset=8&name=abc",
+                        result.getRequiredLink(WebLayerConstants.LAST_PAGE).getHref()));
+    }
 }
@@ -0,0 +1,121 @@
+package com.epam.esm.bulk;
+
+import com.epam.esm.constants.WebLayerConstants;
+import com.epam.esm.domain.dto.bulk.BulkItemResult;
+import com.epam.esm.domain.dto.bulk.BulkItemStatus;
+import com.epam.esm.domain.service.GiftCertificateService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class GiftCertificateBulkImporterTest {
+
+    private static final String FIRST_CERTIFICATE = "{\"name\":\"first\",\"description\":\"description of the first certificate\"," +
+            "\"price\":10,\"duration\":5,\"tags\":[{\"name\":\"tag\"}]}";
+    private static final String INVALID_CERTIFICATE = "{\"name\":\"\",\"description\":\"short\",\"price\":10,\"duration\":5}";
+    private static final String SECOND_CERTIFICATE = "{\"name\":\"second\",\"description\":\"description of the second certificate\"," +
+            "\"price\":10,\"duration\":5,\"tags\":[{\"name\":\"tag\"}]}";
+    private static final String CHUNK_FAILED_MESSAGE = "Certificates of the chunk are not saved.";
+
+    @Mock
+    private GiftCertificateService serviceMock;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private GiftCertificateBulkImporter importer;
+
+    @BeforeEach
+    void init() {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("bulk_chunk_failed", Locale.getDefault(), CHUNK_FAILED_MESSAGE);
+        importer = new GiftCertificateBulkImporter(serviceMock, objectMapper,
+                new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator()), messageSource);
+    }
+
+    @Test
+    public void testImportCertificates_ResultForEachItem_NdjsonWithInvalidItemIsPassed() throws IOException {
+        //given
+        String body = FIRST_CERTIFICATE + "\n" + INVALID_CERTIFICATE + "\n" + SECOND_CERTIFICATE + "\n";
+        when(serviceMock.saveAll(anyList())).thenReturn(Collections.singletonList(BulkItemResult.created(1)),
+                Collections.singletonList(BulkItemResult.created(2)));
+        //when
+        List<BulkItemResult> results = importCertificates(body, 2);
+        //then
+        assertAll(() -> assertEquals(3, results.size()),
+                () -> assertEquals(0, results.get(0).getIndex()),
+                () -> assertEquals(Long.valueOf(1), results.get(0).getId()),
+                () -> assertEquals(1, results.get(1).getIndex()),
+                () -> assertEquals(BulkItemStatus.FAILED, results.get(1).getStatus()),
+                () -> assertEquals(Integer.valueOf(WebLayerConstants.DEFAULT_VALIDATION_ERROR_CODE), results.get(1).getErrorCode()),
+                () -> assertNull(results.get(1).getId()),
+                () -> assertEquals(2, results.get(2).getIndex()),
+                () -> assertEquals(Long.valueOf(2), results.get(2).getId()));
+        verify(serviceMock, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    public void testImportCertificates_AllItemsOfChunkFailed_ChunkTransactionFailed() throws IOException {
+        //given
+        String body = "[" + FIRST_CERTIFICATE + "," + SECOND_CERTIFICATE + "]";
+        when(serviceMock.saveAll(anyList())).thenThrow(new IllegalStateException("constraint gift_certificate_name violated"));
+        //when
+        List<BulkItemResult> results = importCertificates(body, 10);
+        //then
+        assertAll(() -> assertEquals(2, results.size()),
+                () -> assertEquals(BulkItemStatus.FAILED, results.get(0).getStatus()),
+                () -> assertEquals(Integer.valueOf(WebLayerConstants.BULK_CHUNK_FAILED_ERROR_CODE), results.get(0).getErrorCode()),
+                () -> assertEquals(CHUNK_FAILED_MESSAGE, results.get(0).getMessage()),
+                () -> assertFalse(results.get(1).getMessage().contains("constraint")),
+                () -> assertEquals(BulkItemStatus.FAILED, results.get(1).getStatus()));
+        verify(serviceMock).saveAll(anyList());
+    }
+
+    @Test
+    public void testImportCertificates_StopReading_MalformedJsonIsPassed() throws IOException {
+        //given
+        String body = FIRST_CERTIFICATE + "\n}";
+        when(serviceMock.saveAll(anyList())).thenReturn(Collections.singletonList(BulkItemResult.created(1)));
+        //when
+        List<BulkItemResult> results = importCertificates(body, 10);
+        //then
+        assertAll(() -> assertEquals(2, results.size()),
+                () -> assertEquals(BulkItemStatus.CREATED, results.get(0).getStatus()),
+                () -> assertEquals(Integer.valueOf(WebLayerConstants.UNREADABLE_BULK_ITEM_ERROR_CODE), results.get(1).getErrorCode()));
+    }
+
+    private List<BulkItemResult> importCertificates(String body, int chunkSize) throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        importer.importCertificates(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), target, chunkSize);
+
+        List<BulkItemResult> results = new ArrayList<>();
+        for (String line : new String(target.toByteArray(), StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, BulkItemResult.class));
+        }
+        return results;
+    }
+}
@@ -6,6 +6,7 @@ import com.epam.esm.domain.dto.GiftCertificateDto;
 import com.epam.esm.domain.dto.TagDto;
 import com.epam.esm.domain.dto.bundles.GiftCertificateDtoBundle;
 import com.epam.esm.domain.service.GiftCertificateService;
+import com.epam.esm.etag.CertificateETags;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +14,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.context.request.WebRequest;
 
@@ -23,6 +26,11 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,6 +50,8 @@ public class GiftCertificateControllerTest {
     private static final int TEST_LIMIT = 5;
     private static final int TEST_OFFSET = 0;
     private static final long TEST_COUNT = 1000;
+    private static final String TEST_LAST_UPDATE_DATE = "2021-04-01T12:30:15";
+    private static final String TEST_VERSION = TEST_COUNT + "/" + TEST_LAST_UPDATE_DATE;
 
     private static GiftCertificateDto defaultCertDto;
     private static GiftCertificateDto testDto;
@@ -60,6 +70,7 @@ public class GiftCertificateControllerTest {
         defaultCertDto.setDescription("description");
         defaultCertDto.setPrice(new BigDecimal("1.5"));
         defaultCertDto.setDuration(10);
+        defaultCertDto.setLastUpdateDate(TEST_LAST_UPDATE_DATE);
         defaultCertDto.setTags(Arrays.asList(defaultTagDto, defaultTagDto, defaultTagDto));
 
         testDto = new GiftCertificateDto();
@@ -78,9 +89,12 @@ public class GiftCertificateControllerTest {
         Map<String, String[]> paramMap = new HashMap<>();
         List<GiftCertificateDto> listDto = Arrays.asList(defaultCertDto, defaultCertDto);
         when(webRequestMock.getParameterMap()).thenReturn(paramMap);
+        when(serviceMock.findVersionForQuery(paramMap)).thenReturn(TEST_VERSION);
         when(serviceMock.findAllForQuery(paramMap, TEST_LIMIT, TEST_OFFSET)).thenReturn(new GiftCertificateDtoBundle(listDto, TEST_COUNT));
         when(assemblerMock.toCollectionModel(listDto, TEST_OFFSET, TEST_COUNT, paramMap)).thenReturn(CollectionModel.of(listDto));
-        ResponseEntity<CollectionModel<GiftCertificateDto>> expectedResult = ResponseEntity.ok(CollectionModel.of(listDto));
+        ResponseEntity<CollectionModel<GiftCertificateDto>> expectedResult = ResponseEntity.ok()
+                .eTag(CertificateETags.ofPage(TEST_VERSION, paramMap))
+                .body(CollectionModel.of(listDto));
 
         //when
         ResponseEntity<CollectionModel<GiftCertificateDto>> result = giftCertificateController.getAllForQuery(webRequestMock, TEST_LIMIT, TEST_OFFSET);
@@ -91,6 +105,24 @@ public class GiftCertificateControllerTest {
         verify(assemblerMock).toCollectionModel(listDto, TEST_OFFSET, TEST_COUNT, paramMap);
     }
 
+    @Test
+    public void testGetAllForQuery_ReturnHttpStatusNotModifiedWithoutPageQuery_WhenClientHasCurrentVersion() {
+        //given
+        Map<String, String[]> paramMap = new HashMap<>();
+        paramMap.put("name", new String[]{"spa"});
+        String eTag = CertificateETags.ofPage(TEST_VERSION, paramMap);
+        when(webRequestMock.getParameterMap()).thenReturn(paramMap);
+        when(serviceMock.findVersionForQuery(paramMap)).thenReturn(TEST_VERSION);
+        when(webRequestMock.checkNotModified(eTag)).thenReturn(true);
+        //when
+        ResponseEntity<CollectionModel<GiftCertificateDto>> result = giftCertificateController.getAllForQuery(webRequestMock, TEST_LIMIT, TEST_OFFSET);
+        //then
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertNull(result.getBody());
+        verify(serviceMock, never()).findAllForQuery(any(), anyInt(), anyInt());
+        verify(assemblerMock, never()).toCollectionModel(any(), any(), anyLong(), any());
+    }
+
 
     @Test
     public void testGetById_ReturnHttpStatusOkWithDto() {
@@ -98,15 +130,35 @@ public class GiftCertificateControllerTest {
         Long certId = defaultCertDto.getId();
         when(serviceMock.findById(certId)).thenReturn(defaultCertDto);
         when(assemblerMock.toModel(defaultCertDto)).thenReturn(defaultCertDto);
-        ResponseEntity<GiftCertificateDto> expected = ResponseEntity.ok(defaultCertDto);
+        ResponseEntity<GiftCertificateDto> expected = ResponseEntity.ok()
+                .eTag(CertificateETags.of(certId, TEST_LAST_UPDATE_DATE))
+                .lastModified(CertificateETags.lastModified(TEST_LAST_UPDATE_DATE))
+                .body(defaultCertDto);
         //when
-        ResponseEntity<GiftCertificateDto> result = giftCertificateController.getById(certId);
+        ResponseEntity<GiftCertificateDto> result = giftCertificateController.getById(certId, webRequestMock);
         //then
         assertEquals(result, expected);
         verify(serviceMock).findById(certId);
         verify(assemblerMock).toModel(defaultCertDto);
     }
 
+    @Test
+    public void testGetById_ReturnHttpStatusNotModifiedWithoutDto_WhenClientHasCurrentVersion() {
+        //given
+        long certId = defaultCertDto.getId();
+        String eTag = CertificateETags.of(certId, TEST_LAST_UPDATE_DATE);
+        when(webRequestMock.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn(eTag);
+        when(serviceMock.findLastUpdateDate(certId)).thenReturn(TEST_LAST_UPDATE_DATE);
+        when(webRequestMock.checkNotModified(eTag, CertificateETags.lastModified(TEST_LAST_UPDATE_DATE))).thenReturn(true);
+        //when
+        ResponseEntity<GiftCertificateDto> result = giftCertificateController.getById(certId, webRequestMock);
+        //then
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertNull(result.getBody());
+        verify(serviceMock, never()).findById(certId);
+        verify(assemblerMock, never()).toModel(any());
+    }
+
     @Test
     public void testDeleteById_ReturnHttpStatusNoContent() {
         //given
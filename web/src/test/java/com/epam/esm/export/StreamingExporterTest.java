@@ -0,0 +1,69 @@
+package com.epam.esm.export;
+
+import com.epam.esm.domain.dto.TagDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamingExporterTest {
+
+    private static final List<CsvColumn<TagDto>> TAG_COLUMNS = Arrays.asList(
+            new CsvColumn<>("id", TagDto::getId),
+            new CsvColumn<>("name", TagDto::getName));
+
+    private final StreamingExporter exporter = new StreamingExporter(new ObjectMapper());
+
+    @Test
+    public void testExport_EscapedCsv_WhenValuesContainSpecialCharacters() throws IOException {
+        //given
+        List<TagDto> tags = Arrays.asList(new TagDto(1L, "plain"), new TagDto(2L, "with, comma"),
+                new TagDto(3L, "with \"quotes\""), new TagDto(null, "with\nline"));
+        String expected = "id,name\r\n" +
+                "1,plain\r\n" +
+                "2,\"with, comma\"\r\n" +
+                "3,\"with \"\"quotes\"\"\"\r\n" +
+                ",\"with\nline\"\r\n";
+        //when
+        ResponseEntity<StreamingResponseBody> response = exporter.export("tags", ExportFormat.CSV, TAG_COLUMNS,
+                consumer -> tags.forEach(consumer));
+        //then
+        assertAll(() -> assertEquals(expected, write(response)),
+                () -> assertEquals("attachment; filename=\"tags.csv\"", response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)));
+    }
+
+    @Test
+    public void testExport_JsonObjectPerLineWithoutLinks_WhenFormatIsNdjson() throws IOException {
+        //given
+        TagDto first = new TagDto(1L, "first");
+        first.add(Link.of("http://localhost/tags/1"));
+        TagDto second = new TagDto(2L, "second");
+        //when
+        ResponseEntity<StreamingResponseBody> response = exporter.export("tags", ExportFormat.NDJSON, TAG_COLUMNS,
+                consumer -> Arrays.asList(first, second).forEach(consumer));
+        //then
+        String[] lines = write(response).split("\n");
+        assertAll(() -> assertEquals(2, lines.length),
+                () -> assertTrue(lines[0].contains("\"first\"")),
+                () -> assertTrue(lines[1].contains("\"second\"")),
+                () -> assertTrue(Arrays.stream(lines).noneMatch(line -> line.contains("links"))));
+    }
+
+    private String write(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
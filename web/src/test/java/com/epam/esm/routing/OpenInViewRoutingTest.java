@@ -0,0 +1,152 @@
+package com.epam.esm.routing;
+
+import com.epam.esm.dao.routing.DataSourceType;
+import com.epam.esm.dao.routing.ReadWriteRoutingDataSource;
+import com.epam.esm.dao.routing.ReplicaLagGuard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.orm.jpa.vendor.Database;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.test.web.servlet.setup.StandaloneMockMvcBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.handler.WebRequestHandlerInterceptorAdapter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica, each of them knows its own name.
+ * The entity manager is open in view as configured in application.yaml, an entity manager held for the whole request
+ * would keep the connection of its first, read-only, transaction.
+ */
+public class OpenInViewRoutingTest {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+    private static final String OPEN_IN_VIEW_PROPERTY = "spring.jpa.open-in-view";
+    private static final String SELECT_NAME_QUERY = "SELECT name FROM node";
+    private static final String SELECT_WRITES_QUERY = "SELECT writes FROM node";
+
+    private DataSource primary;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void init() {
+        Map<Object, Object> pools = new HashMap<>();
+        primary = createDatabase(PRIMARY);
+        pools.put(DataSourceType.PRIMARY, primary);
+        pools.put(DataSourceType.REPLICA, createDatabase(REPLICA));
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(new ReplicaLagGuard(60000));
+        routingDataSource.setTargetDataSources(pools);
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+
+        HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
+        vendorAdapter.setDatabase(Database.H2);
+        entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactoryBean.setDataSource(new LazyConnectionDataSourceProxy(routingDataSource));
+        entityManagerFactoryBean.setJpaVendorAdapter(vendorAdapter);
+        entityManagerFactoryBean.setPackagesToScan(getClass().getPackage().getName());
+        entityManagerFactoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = entityManagerFactoryBean.getObject();
+
+        StandaloneMockMvcBuilder mockMvcBuilder = MockMvcBuilders.standaloneSetup(
+                new NodeController(entityManagerFactory, new JpaTransactionManager(entityManagerFactory)));
+        if (isOpenInView()) {
+            OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+            interceptor.setEntityManagerFactory(entityManagerFactory);
+            mockMvcBuilder.addInterceptors(new WebRequestHandlerInterceptorAdapter(interceptor));
+        }
+        mockMvc = mockMvcBuilder.build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactoryBean.destroy();
+    }
+
+    @Test
+    public void testRequest_WriteGoesToPrimary_WhenReadOnlyTransactionReadsFirst() throws Exception {
+        //when
+        mockMvc.perform(post("/nodes/writes"))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(content().string(PRIMARY));
+        assertEquals(1, new JdbcTemplate(primary).queryForObject(SELECT_WRITES_QUERY, Integer.class));
+    }
+
+    /**
+     * Spring Boot keeps the entity manager open in view unless the property is false.
+     */
+    private boolean isOpenInView() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yaml"));
+        Properties properties = yaml.getObject();
+        return properties == null || !"false".equals(properties.getProperty(OPEN_IN_VIEW_PROPERTY));
+    }
+
+    private DataSource createDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:view_" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("DROP TABLE IF EXISTS node");
+        template.execute("CREATE TABLE node (name VARCHAR(20), writes INT)");
+        template.update("INSERT INTO node (name, writes) VALUES (?, 0)", name);
+        return dataSource;
+    }
+
+    /**
+     * Reads in a read-only transaction, then writes and returns the name of the database which took the write.
+     */
+    @RestController
+    static class NodeController {
+
+        private final EntityManager entityManager;
+        private final TransactionTemplate readOnlyTransaction;
+        private final TransactionTemplate readWriteTransaction;
+
+        NodeController(EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager) {
+            entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+            readOnlyTransaction = new TransactionTemplate(transactionManager);
+            readOnlyTransaction.setReadOnly(true);
+            readWriteTransaction = new TransactionTemplate(transactionManager);
+        }
+
+        @PostMapping("/nodes/writes")
+        public String write() {
+            readOnlyTransaction.execute(status -> selectName());
+            return readWriteTransaction.execute(status -> {
+                entityManager.createNativeQuery("UPDATE node SET writes = writes + 1").executeUpdate();
+                return selectName();
+            });
+        }
+
+        private String selectName() {
+            return (String) entityManager.createNativeQuery(SELECT_NAME_QUERY).getSingleResult();
+        }
+    }
+}
@@ -15,6 +15,7 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(classes = WebTestConfig.class)
@@ -56,5 +57,22 @@ public class UriBuilderTest {
         );
     }
 
+    @Test
+    public void testBuildRequestParams_returnUriResultWithoutCursors_WhenKeysetParamsWerePassed() {
+        //given
+        Map<String, String[]> parameters = new HashMap<>();
+        parameters.put("hello", new String[]{"world"});
+        parameters.put(WebLayerConstants.AFTER, new String[]{"cursor1"});
+        parameters.put(WebLayerConstants.BEFORE, new String[]{"cursor2"});
+        //when
+        UriBuilderResult result = uriBuilder.buildRequestParams(parameters);
+        //then
+        assertAll(
+                () -> assertTrue(result.getParamString().contains("hello=world")),
+                () -> assertFalse(result.getParamString().contains(WebLayerConstants.AFTER)),
+                () -> assertFalse(result.getParamString().contains(WebLayerConstants.BEFORE))
+        );
+    }
+
 
 }